@@ -35,4 +35,12 @@ public @interface GType {
      * Useful for conditional inclusion.
      */
     boolean enabled() default true;
+    
+    /**
+     * How long, in seconds, a cached response selecting this type may be served.
+     * A response is kept for the shortest duration of the types it selects;
+     * 0 makes responses selecting this type uncacheable, and a negative value
+     * uses the configured default.
+     */
+    int responseCacheTtl() default -1;
 }
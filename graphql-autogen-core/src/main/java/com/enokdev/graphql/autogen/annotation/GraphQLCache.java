@@ -0,0 +1,57 @@
+package com.enokdev.graphql.autogen.annotation;
+
+import java.lang.annotation.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caches the resolved value of a {@code @GraphQLField} or {@code @GraphQLQuery}.
+ * 
+ * Values are cached per parent object, identified by its {@code @GraphQLId} or
+ * {@code id} property, and per argument values. A {@code @GraphQLMutation} drops
+ * cached values by listing their tags, or their {@code Type.field} coordinate, in
+ * its {@code invalidates} attribute.
+ * 
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+@Target({ElementType.FIELD, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface GraphQLCache {
+    
+    /**
+     * How long a value is served from the cache, in {@link #unit()}.
+     * Ignored for the {@link Scope#REQUEST} scope.
+     */
+    long ttl() default 60;
+    
+    /**
+     * Unit of {@link #ttl()}.
+     */
+    TimeUnit unit() default TimeUnit.SECONDS;
+    
+    /**
+     * How widely a cached value is shared.
+     */
+    Scope scope() default Scope.GLOBAL;
+    
+    /**
+     * Tags a mutation can name to drop the cached values of this field.
+     */
+    String[] tags() default {};
+    
+    /**
+     * Cache scopes.
+     */
+    enum Scope {
+        /**
+         * Values are shared by the fields of a single operation only.
+         */
+        REQUEST,
+        
+        /**
+         * Values are shared by all operations until they expire.
+         */
+        GLOBAL
+    }
+}
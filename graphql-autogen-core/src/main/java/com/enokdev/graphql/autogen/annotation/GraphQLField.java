@@ -46,4 +46,12 @@ public @interface GraphQLField {
      * If specified, the field will be marked as @deprecated in GraphQL.
      */
     String deprecationReason() default "";
+    
+    /**
+     * Static cost of resolving this field, counted against the configured
+     * maximum query complexity.
+     * For a list field, the cost of the selected sub-fields is multiplied by its
+     * {@code first}, {@code last} or {@code pageSize} argument.
+     */
+    int complexity() default 1;
 }
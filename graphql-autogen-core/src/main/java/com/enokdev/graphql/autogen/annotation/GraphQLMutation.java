@@ -35,4 +35,18 @@ public @interface GraphQLMutation {
      * Custom deprecation reason if this mutation is deprecated.
      */
     String deprecationReason() default "";
+    
+    /**
+     * Static cost of running this mutation, counted against the configured
+     * maximum query complexity.
+     * For a list field, the cost of the selected sub-fields is multiplied by its
+     * {@code first}, {@code last} or {@code pageSize} argument.
+     */
+    int complexity() default 1;
+    
+    /**
+     * Tags, or {@code Type.field} coordinates, of the {@code @GraphQLCache} values
+     * dropped once this mutation has run.
+     */
+    String[] invalidates() default {};
 }
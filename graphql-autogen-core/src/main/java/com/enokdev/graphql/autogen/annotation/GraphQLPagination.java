@@ -158,6 +158,16 @@ public @interface GraphQLPagination {
      */
     boolean generateSorting() default false;
     
+    /**
+     * The maximum complexity of a generated filter argument: every comparison counts one,
+     * comparisons nested under {@code or} count two since disjunctions rarely use an index.
+     * Filters above this limit are rejected before any query runs.
+     * Default: 10
+     * 
+     * @return the maximum filter complexity
+     */
+    int maxFilterComplexity() default 10;
+    
     /**
      * Whether this pagination should be enabled.
      * Default: true
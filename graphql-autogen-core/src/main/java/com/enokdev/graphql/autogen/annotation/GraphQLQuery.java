@@ -38,4 +38,12 @@ public @interface GraphQLQuery {
      * Custom deprecation reason if this query is deprecated.
      */
     String deprecationReason() default "";
+    
+    /**
+     * Static cost of running this query, counted against the configured
+     * maximum query complexity.
+     * For a list field, the cost of the selected sub-fields is multiplied by its
+     * {@code first}, {@code last} or {@code pageSize} argument.
+     */
+    int complexity() default 1;
 }
@@ -36,4 +36,46 @@ public @interface GraphQLSubscription {
      * Custom deprecation reason if this subscription is deprecated.
      */
     String deprecationReason() default "";
+    
+    /**
+     * Maximum number of events buffered for a subscriber that reads slower than events
+     * are published. A value of 0 or less uses the configured default.
+     */
+    int bufferSize() default 0;
+    
+    /**
+     * What happens to an event that arrives when the buffer of a subscriber is full.
+     */
+    OverflowPolicy overflow() default OverflowPolicy.DEFAULT;
+    
+    /**
+     * Overflow policies for subscription buffers.
+     */
+    enum OverflowPolicy {
+        /**
+         * Use the configured default policy.
+         */
+        DEFAULT,
+        
+        /**
+         * Discard the oldest buffered event to make room.
+         */
+        DROP_OLDEST,
+        
+        /**
+         * Discard the incoming event.
+         */
+        DROP_NEWEST,
+        
+        /**
+         * Replace the buffered event with the same {@code @GraphQLId} by the incoming one,
+         * falling back to dropping the oldest event.
+         */
+        CONFLATE,
+        
+        /**
+         * Terminate the subscription with an error.
+         */
+        DISCONNECT
+    }
 }
@@ -12,6 +12,7 @@ public enum ErrorCodes {
     BAD_REQUEST,
     NOT_FOUND,
     SERVICE_UNAVAILABLE,
+    TOO_MANY_REQUESTS,
     DUPLICATE_ENTRY,
     INVALID_ARGUMENT,
     SCHEMA_GENERATION_ERROR,
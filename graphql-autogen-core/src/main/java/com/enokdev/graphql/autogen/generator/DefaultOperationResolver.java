@@ -2,7 +2,10 @@ package com.enokdev.graphql.autogen.generator;
 
 import com.enokdev.graphql.autogen.annotation.*;
 import graphql.Scalars;
+import graphql.schema.GraphQLArgument;
 import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLInputType;
+import graphql.schema.GraphQLNonNull;
 import graphql.schema.GraphQLOutputType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -10,8 +13,11 @@ import org.springframework.stereotype.Component;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Default implementation of OperationResolver for converting controller methods to GraphQL operations.
@@ -20,6 +26,8 @@ import java.util.List;
 public class DefaultOperationResolver implements OperationResolver {
     
     private static final Logger log = LoggerFactory.getLogger(DefaultOperationResolver.class);
+    private static final Set<String> PUBLISHER_TYPES = Set.of(
+        "org.reactivestreams.Publisher", "reactor.core.publisher.Flux", "reactor.core.publisher.Mono");
     private final TypeResolver typeResolver;
     
     public DefaultOperationResolver(TypeResolver typeResolver) {
@@ -105,14 +113,41 @@ public class DefaultOperationResolver implements OperationResolver {
         }
         
         String fieldName = getOperationName(method);
-        GraphQLOutputType returnType = resolveReturnType(method);
+        GraphQLOutputType returnType = resolveSubscriptionReturnType(method);
         
         return GraphQLFieldDefinition.newFieldDefinition()
             .name(fieldName)
             .type(returnType)
+            .arguments(resolveSubscriptionFilters(method))
             .build();
     }
     
+    /**
+     * Resolves the {@code @GraphQLSubscriptionFilter} parameters of a subscription method
+     * to arguments, non-null unless the filter is optional.
+     */
+    private List<GraphQLArgument> resolveSubscriptionFilters(Method method) {
+        List<GraphQLArgument> arguments = new ArrayList<>();
+        for (Parameter parameter : method.getParameters()) {
+            GraphQLSubscriptionFilter filter = parameter.getAnnotation(GraphQLSubscriptionFilter.class);
+            if (filter == null) {
+                continue;
+            }
+            graphql.schema.GraphQLType type = typeResolver.resolveType(parameter.getParameterizedType());
+            if (!(type instanceof GraphQLInputType inputType)) {
+                log.warn("Skipping subscription filter {} of {}: {} is not an input type",
+                        parameter.getName(), method.getName(), parameter.getType().getSimpleName());
+                continue;
+            }
+            arguments.add(GraphQLArgument.newArgument()
+                .name(filter.name().isEmpty() ? parameter.getName() : filter.name())
+                .description(filter.description().isEmpty() ? null : filter.description())
+                .type(filter.optional() ? inputType : GraphQLNonNull.nonNull(inputType))
+                .build());
+        }
+        return arguments;
+    }
+    
     @Override
     public boolean isQuery(Method method) {
         return method.isAnnotationPresent(GraphQLQuery.class) && 
@@ -178,6 +213,19 @@ public class DefaultOperationResolver implements OperationResolver {
         return isSubscription(method);
     }
     
+    /**
+     * A subscription publishes events of its element type, whereas a query returning a
+     * {@code Flux} resolves to a list.
+     */
+    private GraphQLOutputType resolveSubscriptionReturnType(Method method) {
+        if (method.getGenericReturnType() instanceof ParameterizedType publisher
+                && publisher.getActualTypeArguments().length == 1
+                && PUBLISHER_TYPES.contains(((Class<?>) publisher.getRawType()).getName())) {
+            return (GraphQLOutputType) typeResolver.resolveType(publisher.getActualTypeArguments()[0]);
+        }
+        return resolveReturnType(method);
+    }
+    
     private GraphQLOutputType resolveReturnType(Method method) {
         if (method.getReturnType() == void.class) {
             return Scalars.GraphQLBoolean;
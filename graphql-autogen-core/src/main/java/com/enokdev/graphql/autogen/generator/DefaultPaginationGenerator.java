@@ -1,20 +1,36 @@
 package com.enokdev.graphql.autogen.generator;
 
+import com.enokdev.graphql.autogen.annotation.GraphQLEnum;
+import com.enokdev.graphql.autogen.annotation.GraphQLField;
+import com.enokdev.graphql.autogen.annotation.GraphQLId;
+import com.enokdev.graphql.autogen.annotation.GraphQLIgnore;
 import com.enokdev.graphql.autogen.annotation.GraphQLPagination;
 import graphql.Scalars;
+import graphql.language.EnumValue;
 import graphql.language.IntValue;
 import graphql.schema.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Default implementation of PaginationGenerator for creating GraphQL pagination fields.
@@ -27,6 +43,40 @@ public class DefaultPaginationGenerator implements PaginationGenerator {
     
     private static final Logger log = LoggerFactory.getLogger(DefaultPaginationGenerator.class);
     
+    /**
+     * Java types of the scalar fields that filters can compare.
+     */
+    private static final Set<Class<?>> FILTERABLE_TYPES = Set.of(
+        String.class, Integer.class, int.class, Long.class, long.class, Float.class, float.class,
+        Double.class, double.class, BigDecimal.class, Boolean.class, boolean.class, UUID.class,
+        BigInteger.class, LocalDateTime.class, LocalDate.class, LocalTime.class);
+    
+    private static final GraphQLEnumType SORT_DIRECTION = GraphQLEnumType.newEnum()
+        .name("SortDirection")
+        .description("Sort direction")
+        .value("ASC", "ASC", "Ascending order")
+        .value("DESC", "DESC", "Descending order")
+        .build();
+    
+    /**
+     * Comparison input types, shared by all filters so that each name is defined once per schema.
+     */
+    private final Map<String, GraphQLInputObjectType> operatorTypes = new ConcurrentHashMap<>();
+    
+    private final TypeResolver typeResolver;
+    
+    public DefaultPaginationGenerator() {
+        this(new DefaultTypeResolver());
+    }
+    
+    /**
+     * @param typeResolver resolves the scalars of the filtered fields
+     */
+    @Autowired
+    public DefaultPaginationGenerator(TypeResolver typeResolver) {
+        this.typeResolver = typeResolver;
+    }
+    
     @Override
     public List<PaginationConfiguration> generatePaginationConfigurations(Class<?> clazz) {
         List<PaginationConfiguration> configurations = new ArrayList<>();
@@ -89,6 +139,7 @@ public class DefaultPaginationGenerator implements PaginationGenerator {
         config.setCustomArguments(annotation.customArguments());
         config.setGenerateFilters(annotation.generateFilters());
         config.setGenerateSorting(annotation.generateSorting());
+        config.setMaxFilterComplexity(annotation.maxFilterComplexity());
         config.setSourceMethod(method);
         
         return config;
@@ -129,6 +180,7 @@ public class DefaultPaginationGenerator implements PaginationGenerator {
         config.setCustomArguments(annotation.customArguments());
         config.setGenerateFilters(annotation.generateFilters());
         config.setGenerateSorting(annotation.generateSorting());
+        config.setMaxFilterComplexity(annotation.maxFilterComplexity());
         config.setSourceField(field);
         
         return config;
@@ -274,9 +326,197 @@ public class DefaultPaginationGenerator implements PaginationGenerator {
                 break;
         }
         
+        if (configuration.isGenerateFilters()) {
+            arguments.add(GraphQLArgument.newArgument()
+                .name("filter")
+                .type(generateFilterType(configuration))
+                .description("Filter applied to the " + configuration.getNodeTypeName() + " items")
+                .build());
+        }
+        
+        if (configuration.isGenerateSorting()) {
+            GraphQLInputObjectType sortType = generateSortType(configuration);
+            if (sortType != null) {
+                arguments.add(GraphQLArgument.newArgument()
+                    .name("sort")
+                    .type(GraphQLList.list(GraphQLNonNull.nonNull(sortType)))
+                    .description("Sort criteria, applied in order")
+                    .build());
+            }
+        }
+        
         return arguments;
     }
     
+    @Override
+    public GraphQLInputObjectType generateFilterType(PaginationConfiguration configuration) {
+        String filterName = configuration.getNodeTypeName() + "Filter";
+        GraphQLInputObjectType.Builder builder = GraphQLInputObjectType.newInputObject()
+            .name(filterName)
+            .description("Filter for " + configuration.getNodeTypeName()
+                + ". Conditions on different fields are combined with AND.");
+        
+        for (Map.Entry<String, Class<?>> entry : filterableFields(configuration.getNodeType()).entrySet()) {
+            GraphQLInputObjectType operatorType = operatorType(entry.getValue(), entry.getKey());
+            if (operatorType != null) {
+                builder.field(GraphQLInputObjectField.newInputObjectField()
+                    .name(entry.getKey())
+                    .type(operatorType)
+                    .build());
+            }
+        }
+        
+        builder.field(GraphQLInputObjectField.newInputObjectField()
+            .name("and")
+            .type(GraphQLList.list(GraphQLNonNull.nonNull(GraphQLTypeReference.typeRef(filterName))))
+            .description("All of the given filters must match")
+            .build());
+        builder.field(GraphQLInputObjectField.newInputObjectField()
+            .name("or")
+            .type(GraphQLList.list(GraphQLNonNull.nonNull(GraphQLTypeReference.typeRef(filterName))))
+            .description("At least one of the given filters must match")
+            .build());
+        
+        return builder.build();
+    }
+    
+    @Override
+    public GraphQLInputObjectType generateSortType(PaginationConfiguration configuration) {
+        GraphQLEnumType.Builder sortFields = GraphQLEnumType.newEnum()
+            .name(configuration.getNodeTypeName() + "SortField")
+            .description("Sortable fields of " + configuration.getNodeTypeName());
+        
+        int count = 0;
+        for (Map.Entry<String, Class<?>> entry : filterableFields(configuration.getNodeType()).entrySet()) {
+            if (entry.getValue() != Boolean.class && entry.getValue() != boolean.class) {
+                sortFields.value(entry.getKey(), entry.getKey());
+                count++;
+            }
+        }
+        
+        if (count == 0) {
+            log.warn("No sortable @GraphQLField found on {}, sort argument not generated", configuration.getNodeTypeName());
+            return null;
+        }
+        
+        return GraphQLInputObjectType.newInputObject()
+            .name(configuration.getNodeTypeName() + "Sort")
+            .description("Sort criterion for " + configuration.getNodeTypeName())
+            .field(GraphQLInputObjectField.newInputObjectField()
+                .name("field")
+                .type(GraphQLNonNull.nonNull(sortFields.build())))
+            .field(GraphQLInputObjectField.newInputObjectField()
+                .name("direction")
+                .type(SORT_DIRECTION)
+                .defaultValueLiteral(EnumValue.of("ASC")))
+            .build();
+    }
+    
+    /**
+     * Collects the scalar {@code @GraphQLField} / {@code @GraphQLId} fields of the node type,
+     * keyed by GraphQL field name.
+     */
+    private Map<String, Class<?>> filterableFields(Class<?> nodeType) {
+        Map<String, Class<?>> fields = new LinkedHashMap<>();
+        for (Class<?> current = nodeType; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || field.isAnnotationPresent(GraphQLIgnore.class)) {
+                    continue;
+                }
+                GraphQLField graphQLField = field.getAnnotation(GraphQLField.class);
+                GraphQLId graphQLId = field.getAnnotation(GraphQLId.class);
+                if ((graphQLField == null || !graphQLField.enabled()) && graphQLId == null) {
+                    continue;
+                }
+                String name = graphQLField != null && !graphQLField.name().isEmpty() ? graphQLField.name()
+                    : graphQLId != null && !graphQLId.name().isEmpty() ? graphQLId.name()
+                    : field.getName();
+                Class<?> type = graphQLId != null ? UUID.class : field.getType();
+                if (scalarName(type) != null) {
+                    fields.putIfAbsent(name, type);
+                }
+            }
+        }
+        return fields;
+    }
+    
+    private GraphQLInputObjectType operatorType(Class<?> javaType, String fieldName) {
+        String scalarName = scalarName(javaType);
+        GraphQLInputType valueType = inputType(javaType, scalarName);
+        return operatorTypes.computeIfAbsent(scalarName + "Filter", name -> {
+            log.debug("Generating {} for field {}", name, fieldName);
+            GraphQLInputObjectType.Builder builder = GraphQLInputObjectType.newInputObject()
+                .name(name)
+                .description("Comparisons on a " + scalarName + " value")
+                .field(operator("eq", valueType, "Equal to"))
+                .field(operator("ne", valueType, "Not equal to"));
+            
+            boolean ordered = valueType != Scalars.GraphQLBoolean;
+            if (ordered) {
+                builder.field(operator("in", GraphQLList.list(GraphQLNonNull.nonNull(valueType)), "Equal to one of"));
+            }
+            if (ordered && !javaType.isEnum() && valueType != Scalars.GraphQLID) {
+                builder.field(operator("lt", valueType, "Less than"))
+                    .field(operator("lte", valueType, "Less than or equal to"))
+                    .field(operator("gt", valueType, "Greater than"))
+                    .field(operator("gte", valueType, "Greater than or equal to"));
+            }
+            if (valueType == Scalars.GraphQLString) {
+                builder.field(operator("startsWith", valueType, "Starts with (prefix match, index friendly)"));
+            }
+            return builder
+                .field(operator("isNull", Scalars.GraphQLBoolean, "Whether the value is null"))
+                .build();
+        });
+    }
+    
+    private static GraphQLInputObjectField operator(String name, GraphQLInputType type, String description) {
+        return GraphQLInputObjectField.newInputObjectField()
+            .name(name)
+            .type(type)
+            .description(description)
+            .build();
+    }
+    
+    private static GraphQLInputType inputType(Class<?> javaType, String scalarName) {
+        switch (scalarName) {
+            case "String":
+                return Scalars.GraphQLString;
+            case "Int":
+                return Scalars.GraphQLInt;
+            case "Float":
+                return Scalars.GraphQLFloat;
+            case "Boolean":
+                return Scalars.GraphQLBoolean;
+            case "ID":
+                return Scalars.GraphQLID;
+            default:
+                return GraphQLTypeReference.typeRef(scalarName);
+        }
+    }
+    
+    /**
+     * Maps a Java type to the GraphQL scalar or enum used by the generated schema,
+     * or {@code null} when the type cannot be filtered. The scalars are those of the type
+     * resolver, so that a filter compares values of the same scalar as the field.
+     */
+    private String scalarName(Class<?> type) {
+        if (type == char.class || type == Character.class) {
+            return "String";
+        }
+        if (type == Short.class || type == short.class || type == Byte.class || type == byte.class) {
+            return "Int";
+        }
+        if (FILTERABLE_TYPES.contains(type) && typeResolver.resolveType(type) instanceof GraphQLScalarType scalar) {
+            return scalar.getName();
+        }
+        if (type.isEnum()) {
+            GraphQLEnum graphQLEnum = type.getAnnotation(GraphQLEnum.class);
+            return graphQLEnum != null && !graphQLEnum.name().isEmpty() ? graphQLEnum.name() : type.getSimpleName();
+        }
+        return null;
+    }
+    
     @Override
     public GraphQLFieldDefinition generatePaginatedField(PaginationConfiguration configuration, GraphQLFieldDefinition originalField) {
         List<GraphQLArgument> paginationArgs = generatePaginationArguments(configuration);
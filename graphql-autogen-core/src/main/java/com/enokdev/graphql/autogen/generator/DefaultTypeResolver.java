@@ -2,7 +2,13 @@ package com.enokdev.graphql.autogen.generator;
 
 import com.enokdev.graphql.autogen.annotation.*;
 import com.enokdev.graphql.autogen.exception.TypeResolutionException;
+import com.enokdev.graphql.autogen.jfr.TypeResolutionEvent;
+import com.enokdev.graphql.autogen.scalar.ScalarCoercings;
+import graphql.GraphQLContext;
 import graphql.Scalars;
+import graphql.execution.CoercedVariables;
+import graphql.language.StringValue;
+import graphql.language.Value;
 import graphql.schema.*;
 import graphql.schema.Coercing;
 import org.slf4j.Logger;
@@ -18,6 +24,7 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
 @Component
 public class DefaultTypeResolver implements TypeResolver {
@@ -25,6 +32,7 @@ public class DefaultTypeResolver implements TypeResolver {
     private static final Logger log = LoggerFactory.getLogger(DefaultTypeResolver.class);
     private final Map<Class<?>, graphql.schema.GraphQLType> typeCache = new ConcurrentHashMap<>();
     private final Map<Class<?>, String> customTypeMappings = new ConcurrentHashMap<>();
+    private final Map<String, GraphQLScalarType> customScalars = new ConcurrentHashMap<>();
     private static final Map<Class<?>, GraphQLScalarType> SCALAR_MAPPINGS;
 
     static {
@@ -45,6 +53,13 @@ public class DefaultTypeResolver implements TypeResolver {
         SCALAR_MAPPINGS = Collections.unmodifiableMap(scalarMap);
     }
 
+    private static final Map<String, GraphQLScalarType> BUILT_IN_SCALARS = Map.of(
+        "String", Scalars.GraphQLString,
+        "Int", Scalars.GraphQLInt,
+        "Float", Scalars.GraphQLFloat,
+        "Boolean", Scalars.GraphQLBoolean,
+        "ID", Scalars.GraphQLID);
+
     public DefaultTypeResolver() {
         registerTypeMapping(LocalDateTime.class, "DateTime");
         registerTypeMapping(LocalDate.class, "Date");
@@ -68,10 +83,18 @@ public class DefaultTypeResolver implements TypeResolver {
             return cachedType;
         }
 
+        TypeResolutionEvent event = new TypeResolutionEvent();
+        event.begin();
         graphql.schema.GraphQLType resolvedType = doResolveType(javaType);
         if (resolvedType != null) {
             typeCache.put(javaType, resolvedType);
         }
+        event.end();
+        if (event.shouldCommit()) {
+            event.javaType = javaType;
+            event.graphQLType = resolvedType != null ? GraphQLTypeUtil.simplePrint(resolvedType) : null;
+            event.commit();
+        }
 
         return resolvedType;
     }
@@ -126,18 +149,18 @@ public class DefaultTypeResolver implements TypeResolver {
     }
     
     private graphql.schema.GraphQLType doResolveType(Class<?> javaType) {
+        // Handle custom scalar mappings, which take precedence over the built-in scalars
+        String customTypeName = customTypeMappings.get(javaType);
+        if (customTypeName != null) {
+            return createCustomScalar(customTypeName, javaType);
+        }
+        
         // Handle built-in scalar types
         GraphQLScalarType scalarType = SCALAR_MAPPINGS.get(javaType);
         if (scalarType != null) {
             return scalarType;
         }
         
-        // Handle custom scalar mappings
-        String customTypeName = customTypeMappings.get(javaType);
-        if (customTypeName != null) {
-            return createCustomScalar(customTypeName, javaType);
-        }
-        
         // Handle @GraphQLId annotation
         if (hasGraphQLIdAnnotation(javaType)) {
             return Scalars.GraphQLID;
@@ -155,8 +178,8 @@ public class DefaultTypeResolver implements TypeResolver {
             return createGraphQLEnum(javaType);
         }
         
-        // Handle Collections (List, Set, etc.)
-        if (Collection.class.isAssignableFrom(javaType)) {
+        // Handle Collections (List, Set, etc.) and lazily produced sequences
+        if (Collection.class.isAssignableFrom(javaType) || isSequence(javaType)) {
             return GraphQLList.list(Scalars.GraphQLString);
         }
         
@@ -192,7 +215,7 @@ public class DefaultTypeResolver implements TypeResolver {
         Class<?> rawType = (Class<?>) parameterizedType.getRawType();
         Type[] typeArguments = parameterizedType.getActualTypeArguments();
         
-        if (Collection.class.isAssignableFrom(rawType) && typeArguments.length > 0) {
+        if ((Collection.class.isAssignableFrom(rawType) || isSequence(rawType)) && typeArguments.length > 0) {
             graphql.schema.GraphQLType elementType = resolveType(typeArguments[0]);
             return GraphQLList.list(elementType);
         }
@@ -204,12 +227,34 @@ public class DefaultTypeResolver implements TypeResolver {
         return resolveType(rawType);
     }
     
+    /**
+     * Stream, Iterator and Flux results are exposed as lists; their elements are produced
+     * while the response is written. Flux is matched by name so that Reactor stays optional.
+     */
+    private static boolean isSequence(Class<?> javaType) {
+        return Stream.class.isAssignableFrom(javaType)
+            || Iterator.class.isAssignableFrom(javaType)
+            || "reactor.core.publisher.Flux".equals(javaType.getName());
+    }
+    
+    /**
+     * Returns the scalar of a name, created with the coercing of the first Java type mapped to
+     * it, so that a schema holds a single type of each name. A mapping to a built-in scalar
+     * name, such as {@code UUID -> ID}, resolves to the built-in scalar itself.
+     */
     private GraphQLScalarType createCustomScalar(String typeName, Class<?> javaType) {
-        return GraphQLScalarType.newScalar()
-            .name(typeName)
-            .description("Custom scalar type for " + javaType.getSimpleName())
-            .coercing(new CustomScalarCoercing(javaType))
-            .build();
+        GraphQLScalarType builtInScalar = BUILT_IN_SCALARS.get(typeName);
+        if (builtInScalar != null) {
+            return builtInScalar;
+        }
+        return customScalars.computeIfAbsent(typeName, name -> {
+            Coercing<?, ?> coercing = ScalarCoercings.forType(javaType);
+            return GraphQLScalarType.newScalar()
+                .name(name)
+                .description("Custom scalar type for " + javaType.getSimpleName())
+                .coercing(coercing != null ? coercing : new CustomScalarCoercing())
+                .build();
+        });
     }
     
     private GraphQLEnumType createGraphQLEnum(Class<?> enumClass) {
@@ -275,28 +320,35 @@ public class DefaultTypeResolver implements TypeResolver {
             .anyMatch(field -> field.isAnnotationPresent(GraphQLId.class));
     }
     
+    /**
+     * Coercing of the scalars of Java types without a specialized coercing, written with
+     * their {@code toString()} and read as strings.
+     */
     private static class CustomScalarCoercing implements Coercing<Object, Object> {
-        private final Class<?> javaType;
-        
-        public CustomScalarCoercing(Class<?> javaType) {
-            this.javaType = javaType;
-        }
         
         @Override
-        public Object serialize(Object dataFetcherResult) {
-            if (dataFetcherResult == null) return null;
+        public Object serialize(Object dataFetcherResult, GraphQLContext graphQLContext, Locale locale) {
             return dataFetcherResult.toString();
         }
         
         @Override
-        public Object parseValue(Object input) {
-            if (input == null) return null;
+        public Object parseValue(Object input, GraphQLContext graphQLContext, Locale locale) {
             return input.toString();
         }
         
         @Override
-        public Object parseLiteral(Object input) {
-            return parseValue(input);
+        public Object parseLiteral(Value<?> input, CoercedVariables variables, GraphQLContext graphQLContext,
+                                   Locale locale) {
+            if (input instanceof StringValue stringValue) {
+                return stringValue.getValue();
+            }
+            throw new CoercingParseLiteralException("Expected a StringValue but was "
+                + (input == null ? "null" : input.getClass().getSimpleName()));
+        }
+        
+        @Override
+        public Value<?> valueToLiteral(Object input, GraphQLContext graphQLContext, Locale locale) {
+            return StringValue.of(input.toString());
         }
     }
 }
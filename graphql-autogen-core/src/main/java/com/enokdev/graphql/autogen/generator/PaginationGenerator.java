@@ -4,6 +4,7 @@ import com.enokdev.graphql.autogen.annotation.GraphQLPagination;
 import graphql.schema.GraphQLObjectType;
 import graphql.schema.GraphQLArgument;
 import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLInputObjectType;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Field;
@@ -73,6 +74,22 @@ public interface PaginationGenerator {
      */
     List<GraphQLArgument> generatePaginationArguments(PaginationConfiguration configuration);
     
+    /**
+     * Generates the {@code <Type>Filter} input type of the node's {@code @GraphQLField}s.
+     * 
+     * @param configuration the pagination configuration
+     * @return GraphQL filter input type
+     */
+    GraphQLInputObjectType generateFilterType(PaginationConfiguration configuration);
+    
+    /**
+     * Generates the {@code <Type>Sort} input type of the node's sortable {@code @GraphQLField}s.
+     * 
+     * @param configuration the pagination configuration
+     * @return GraphQL sort input type
+     */
+    GraphQLInputObjectType generateSortType(PaginationConfiguration configuration);
+    
     /**
      * Generates a paginated field definition.
      * 
@@ -119,6 +136,7 @@ public interface PaginationGenerator {
         private String[] customArguments;
         private boolean generateFilters;
         private boolean generateSorting;
+        private int maxFilterComplexity = 10;
         private Method sourceMethod;
         private Field sourceField;
         
@@ -244,6 +262,14 @@ public interface PaginationGenerator {
             this.generateSorting = generateSorting;
         }
         
+        public int getMaxFilterComplexity() {
+            return maxFilterComplexity;
+        }
+        
+        public void setMaxFilterComplexity(int maxFilterComplexity) {
+            this.maxFilterComplexity = maxFilterComplexity;
+        }
+        
         public Method getSourceMethod() {
             return sourceMethod;
         }
@@ -0,0 +1,31 @@
+package com.enokdev.graphql.autogen.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event recorded around a classpath scan for GraphQL annotations.
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+@Name("com.enokdev.graphql.autogen.AnnotationScan")
+@Label("Annotation Scan")
+@Category({"GraphQL AutoGen", "Schema Generation"})
+@Description("Classpath scan of a base package for GraphQL annotations")
+@StackTrace(false)
+public class AnnotationScanEvent extends jdk.jfr.Event {
+
+    @Label("Base Package")
+    public String basePackage;
+
+    @Label("Annotation")
+    @Description("Simple name of the annotation scanned for, or * for every GraphQL annotation")
+    public String annotation;
+
+    @Label("Class Count")
+    public int classCount;
+}
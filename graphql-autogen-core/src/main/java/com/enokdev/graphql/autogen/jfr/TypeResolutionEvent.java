@@ -0,0 +1,31 @@
+package com.enokdev.graphql.autogen.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event recorded when a Java type is resolved to a GraphQL type. Cache hits are not
+ * recorded. Disabled unless turned on by the recording settings, as resolution is recursive
+ * and frequent.
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+@Name("com.enokdev.graphql.autogen.TypeResolution")
+@Label("Type Resolution")
+@Category({"GraphQL AutoGen", "Schema Generation"})
+@Description("Resolution of a Java type to a GraphQL type")
+@Enabled(false)
+@StackTrace(false)
+public class TypeResolutionEvent extends jdk.jfr.Event {
+
+    @Label("Java Type")
+    public Class<?> javaType;
+
+    @Label("GraphQL Type")
+    public String graphQLType;
+}
@@ -0,0 +1,27 @@
+package com.enokdev.graphql.autogen.scalar;
+
+import java.time.LocalDate;
+
+/**
+ * Coercing of the Date scalar: an ISO-8601 local date, such as {@code 2024-01-31}, bound to
+ * {@link LocalDate}.
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class DateCoercing extends StringScalarCoercing<LocalDate> {
+
+    public DateCoercing() {
+        super(LocalDate.class, "Date");
+    }
+
+    @Override
+    protected String format(LocalDate value) {
+        return TemporalFormat.format(value);
+    }
+
+    @Override
+    protected LocalDate parse(String text) {
+        return TemporalFormat.parseDate(text);
+    }
+}
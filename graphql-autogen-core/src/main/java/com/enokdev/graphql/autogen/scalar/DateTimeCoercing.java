@@ -0,0 +1,27 @@
+package com.enokdev.graphql.autogen.scalar;
+
+import java.time.LocalDateTime;
+
+/**
+ * Coercing of the DateTime scalar: an ISO-8601 local date-time, such as {@code 2024-01-31T12:30:15.250}, bound to
+ * {@link LocalDateTime}.
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class DateTimeCoercing extends StringScalarCoercing<LocalDateTime> {
+
+    public DateTimeCoercing() {
+        super(LocalDateTime.class, "DateTime");
+    }
+
+    @Override
+    protected String format(LocalDateTime value) {
+        return TemporalFormat.format(value);
+    }
+
+    @Override
+    protected LocalDateTime parse(String text) {
+        return TemporalFormat.parseDateTime(text);
+    }
+}
@@ -0,0 +1,102 @@
+package com.enokdev.graphql.autogen.scalar;
+
+import graphql.GraphQLContext;
+import graphql.execution.CoercedVariables;
+import graphql.language.FloatValue;
+import graphql.language.IntValue;
+import graphql.language.StringValue;
+import graphql.language.Value;
+import graphql.schema.Coercing;
+import graphql.schema.CoercingParseLiteralException;
+import graphql.schema.CoercingParseValueException;
+import graphql.schema.CoercingSerializeException;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Locale;
+
+/**
+ * Coercing of the Decimal scalar, bound to {@link BigDecimal}.
+ *
+ * <p>Values are serialized as {@code BigDecimal} numbers, which JSON writers output with
+ * every digit, where a Float would round them to a {@code double}. Inputs are numbers, or
+ * strings for clients which cannot write large numbers exactly.</p>
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class DecimalCoercing implements Coercing<BigDecimal, BigDecimal> {
+
+    @Override
+    public BigDecimal serialize(Object dataFetcherResult, GraphQLContext graphQLContext, Locale locale) {
+        BigDecimal value = toDecimal(dataFetcherResult);
+        if (value == null) {
+            throw new CoercingSerializeException(invalid(dataFetcherResult));
+        }
+        return value;
+    }
+
+    @Override
+    public BigDecimal parseValue(Object input, GraphQLContext graphQLContext, Locale locale) {
+        BigDecimal value = toDecimal(input);
+        if (value == null) {
+            throw new CoercingParseValueException(invalid(input));
+        }
+        return value;
+    }
+
+    @Override
+    public BigDecimal parseLiteral(Value<?> input, CoercedVariables variables, GraphQLContext graphQLContext,
+                                   Locale locale) {
+        if (input instanceof FloatValue floatValue) {
+            return floatValue.getValue();
+        }
+        if (input instanceof IntValue intValue) {
+            return new BigDecimal(intValue.getValue());
+        }
+        BigDecimal value = input instanceof StringValue stringValue ? parse(stringValue.getValue()) : null;
+        if (value == null) {
+            throw new CoercingParseLiteralException("Expected a FloatValue, IntValue or StringValue for Decimal but was "
+                    + (input instanceof StringValue stringValue ? "'" + stringValue.getValue() + "'"
+                    : input == null ? "null" : input.getClass().getSimpleName()));
+        }
+        return value;
+    }
+
+    @Override
+    public Value<?> valueToLiteral(Object input, GraphQLContext graphQLContext, Locale locale) {
+        return new FloatValue(serialize(input, graphQLContext, locale));
+    }
+
+    private static BigDecimal toDecimal(Object value) {
+        if (value instanceof BigDecimal decimal) {
+            return decimal;
+        }
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            return BigDecimal.valueOf(((Number) value).longValue());
+        }
+        if (value instanceof BigInteger integer) {
+            return new BigDecimal(integer);
+        }
+        if (value instanceof Double number) {
+            return Double.isFinite(number) ? BigDecimal.valueOf(number) : null;
+        }
+        if (value instanceof Float number) {
+            return Float.isFinite(number) ? new BigDecimal(number.toString()) : null;
+        }
+        return value instanceof String text ? parse(text) : null;
+    }
+
+    private static BigDecimal parse(String text) {
+        try {
+            return new BigDecimal(text);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String invalid(Object value) {
+        return "Expected a number or numeric String for Decimal but was "
+                + (value instanceof String text ? "'" + text + "'" : value == null ? "null" : value.getClass().getSimpleName());
+    }
+}
@@ -0,0 +1,40 @@
+package com.enokdev.graphql.autogen.scalar;
+
+import graphql.schema.Coercing;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Coercings of the custom scalars by Java type.
+ *
+ * <p>The coercings are stateless and shared by every scalar of their type.</p>
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public final class ScalarCoercings {
+
+    private static final Map<Class<?>, Coercing<?, ?>> COERCINGS = Map.of(
+            LocalDateTime.class, new DateTimeCoercing(),
+            LocalDate.class, new DateCoercing(),
+            LocalTime.class, new TimeCoercing(),
+            UUID.class, new UuidCoercing(),
+            BigDecimal.class, new DecimalCoercing());
+
+    private ScalarCoercings() {
+    }
+
+    /**
+     * Returns the coercing of the scalars of a Java type.
+     *
+     * @return the coercing, or {@code null} if the type has no specialized coercing
+     */
+    public static Coercing<?, ?> forType(Class<?> javaType) {
+        return COERCINGS.get(javaType);
+    }
+}
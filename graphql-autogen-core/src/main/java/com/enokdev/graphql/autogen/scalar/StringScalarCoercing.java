@@ -0,0 +1,114 @@
+package com.enokdev.graphql.autogen.scalar;
+
+import graphql.GraphQLContext;
+import graphql.execution.CoercedVariables;
+import graphql.language.StringValue;
+import graphql.language.Value;
+import graphql.schema.Coercing;
+import graphql.schema.CoercingParseLiteralException;
+import graphql.schema.CoercingParseValueException;
+import graphql.schema.CoercingSerializeException;
+
+import java.time.DateTimeException;
+import java.util.Locale;
+
+/**
+ * Base coercing of the scalars whose values are written as strings.
+ *
+ * <p>Results are serialized from an instance of the Java type, or from a string already in
+ * the scalar format, which is checked. Inputs, variables and literals alike, are parsed to
+ * the Java type so that data fetchers receive a {@code LocalDateTime} or a {@code UUID} rather
+ * than its text.</p>
+ *
+ * @param <T> the Java type of the scalar
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public abstract class StringScalarCoercing<T> implements Coercing<T, String> {
+
+    private final Class<T> javaType;
+    private final String typeName;
+
+    protected StringScalarCoercing(Class<T> javaType, String typeName) {
+        this.javaType = javaType;
+        this.typeName = typeName;
+    }
+
+    /**
+     * Returns the Java type of the scalar.
+     */
+    public Class<T> getJavaType() {
+        return javaType;
+    }
+
+    /**
+     * Formats a value of the scalar.
+     */
+    protected abstract String format(T value);
+
+    /**
+     * Parses the text of a value of the scalar.
+     *
+     * @throws IllegalArgumentException or {@link DateTimeException} when the text is not a value
+     *         of the scalar
+     */
+    protected abstract T parse(String text);
+
+    @Override
+    public String serialize(Object dataFetcherResult, GraphQLContext graphQLContext, Locale locale) {
+        if (javaType.isInstance(dataFetcherResult)) {
+            return format(javaType.cast(dataFetcherResult));
+        }
+        if (dataFetcherResult instanceof String text) {
+            try {
+                parse(text);
+                return text;
+            } catch (IllegalArgumentException | DateTimeException e) {
+                throw new CoercingSerializeException(invalid(text), e);
+            }
+        }
+        throw new CoercingSerializeException(unexpected(dataFetcherResult));
+    }
+
+    @Override
+    public T parseValue(Object input, GraphQLContext graphQLContext, Locale locale) {
+        if (javaType.isInstance(input)) {
+            return javaType.cast(input);
+        }
+        if (input instanceof String text) {
+            try {
+                return parse(text);
+            } catch (IllegalArgumentException | DateTimeException e) {
+                throw new CoercingParseValueException(invalid(text), e);
+            }
+        }
+        throw new CoercingParseValueException(unexpected(input));
+    }
+
+    @Override
+    public T parseLiteral(Value<?> input, CoercedVariables variables, GraphQLContext graphQLContext, Locale locale) {
+        if (!(input instanceof StringValue stringValue)) {
+            throw new CoercingParseLiteralException("Expected a StringValue for " + typeName + " but was "
+                    + (input == null ? "null" : input.getClass().getSimpleName()));
+        }
+        try {
+            return parse(stringValue.getValue());
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new CoercingParseLiteralException(invalid(stringValue.getValue()), e);
+        }
+    }
+
+    @Override
+    public Value<?> valueToLiteral(Object input, GraphQLContext graphQLContext, Locale locale) {
+        return StringValue.of(serialize(input, graphQLContext, locale));
+    }
+
+    private String invalid(String text) {
+        return "Invalid " + typeName + " value: '" + text + "'";
+    }
+
+    private String unexpected(Object value) {
+        return "Expected a " + javaType.getSimpleName() + " or String for " + typeName + " but was "
+                + (value == null ? "null" : value.getClass().getSimpleName());
+    }
+}
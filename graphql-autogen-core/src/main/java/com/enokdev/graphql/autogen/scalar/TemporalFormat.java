@@ -0,0 +1,213 @@
+package com.enokdev.graphql.autogen.scalar;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Formats and parses the ISO-8601 local dates and times of the DateTime, Date and Time
+ * scalars.
+ *
+ * <p>Values are formatted digit by digit into a character buffer of their exact length, in
+ * the form of their {@code toString()}: seconds are omitted when zero and the fraction has
+ * 3, 6 or 9 digits. Input in that form, with a fraction of any length, is parsed position by
+ * position. Years beyond 9999 are formatted by {@code toString()}, and other input is parsed
+ * by the shared ISO formatters.</p>
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+final class TemporalFormat {
+
+    static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+    static final DateTimeFormatter DATE = DateTimeFormatter.ISO_LOCAL_DATE;
+    static final DateTimeFormatter TIME = DateTimeFormatter.ISO_LOCAL_TIME;
+
+    private static final int DATE_LENGTH = 10;
+    private static final int[] FRACTION_SCALES = {
+        0, 100_000_000, 10_000_000, 1_000_000, 100_000, 10_000, 1_000, 100, 10, 1
+    };
+
+    private TemporalFormat() {
+    }
+
+    static String format(LocalDateTime value) {
+        LocalDate date = value.toLocalDate();
+        if (!isFourDigitYear(date.getYear())) {
+            return value.toString();
+        }
+        LocalTime time = value.toLocalTime();
+        char[] buffer = new char[DATE_LENGTH + 1 + timeLength(time)];
+        writeDate(buffer, date);
+        buffer[DATE_LENGTH] = 'T';
+        writeTime(buffer, DATE_LENGTH + 1, time);
+        return new String(buffer);
+    }
+
+    static String format(LocalDate value) {
+        if (!isFourDigitYear(value.getYear())) {
+            return value.toString();
+        }
+        char[] buffer = new char[DATE_LENGTH];
+        writeDate(buffer, value);
+        return new String(buffer);
+    }
+
+    static String format(LocalTime value) {
+        char[] buffer = new char[timeLength(value)];
+        writeTime(buffer, 0, value);
+        return new String(buffer);
+    }
+
+    /**
+     * Parses a local date-time.
+     *
+     * @throws DateTimeException when the input is not a valid local date-time
+     */
+    static LocalDateTime parseDateTime(String input) {
+        int length = input.length();
+        if (length > DATE_LENGTH && input.charAt(DATE_LENGTH) == 'T') {
+            LocalDate date = parseDate(input, 0, DATE_LENGTH);
+            LocalTime time = date != null ? parseTime(input, DATE_LENGTH + 1, length) : null;
+            if (time != null) {
+                return LocalDateTime.of(date, time);
+            }
+        }
+        return LocalDateTime.parse(input, DATE_TIME);
+    }
+
+    /**
+     * Parses a local date.
+     *
+     * @throws DateTimeException when the input is not a valid local date
+     */
+    static LocalDate parseDate(String input) {
+        LocalDate date = parseDate(input, 0, input.length());
+        return date != null ? date : LocalDate.parse(input, DATE);
+    }
+
+    /**
+     * Parses a local time.
+     *
+     * @throws DateTimeException when the input is not a valid local time
+     */
+    static LocalTime parseTime(String input) {
+        LocalTime time = parseTime(input, 0, input.length());
+        return time != null ? time : LocalTime.parse(input, TIME);
+    }
+
+    /**
+     * Parses {@code yyyy-MM-dd}, returning {@code null} for any other form.
+     */
+    private static LocalDate parseDate(String input, int start, int end) {
+        if (end - start != DATE_LENGTH || input.charAt(start + 4) != '-' || input.charAt(start + 7) != '-') {
+            return null;
+        }
+        int year = digits(input, start, 4);
+        int month = digits(input, start + 5, 2);
+        int day = digits(input, start + 8, 2);
+        if ((year | month | day) < 0) {
+            return null;
+        }
+        return LocalDate.of(year, month, day);
+    }
+
+    /**
+     * Parses {@code HH:mm[:ss[.f]]} with up to 9 fraction digits, returning {@code null} for
+     * any other form.
+     */
+    private static LocalTime parseTime(String input, int start, int end) {
+        int length = end - start;
+        if (length < 5 || input.charAt(start + 2) != ':') {
+            return null;
+        }
+        int hour = digits(input, start, 2);
+        int minute = digits(input, start + 3, 2);
+        int second = 0;
+        int nano = 0;
+        if (length > 5) {
+            if (length < 8 || input.charAt(start + 5) != ':') {
+                return null;
+            }
+            second = digits(input, start + 6, 2);
+            if (length > 8) {
+                int fractionDigits = length - 9;
+                if (input.charAt(start + 8) != '.' || fractionDigits < 1 || fractionDigits > 9) {
+                    return null;
+                }
+                nano = digits(input, start + 9, fractionDigits);
+                if (nano < 0) {
+                    return null;
+                }
+                nano *= FRACTION_SCALES[fractionDigits];
+            }
+        }
+        if ((hour | minute | second) < 0) {
+            return null;
+        }
+        return LocalTime.of(hour, minute, second, nano);
+    }
+
+    /**
+     * Returns the value of {@code count} decimal digits, or -1 if any is not a digit.
+     */
+    private static int digits(String input, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            int digit = input.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static boolean isFourDigitYear(int year) {
+        return year >= 0 && year <= 9999;
+    }
+
+    private static int timeLength(LocalTime time) {
+        int nano = time.getNano();
+        if (nano == 0) {
+            return time.getSecond() == 0 ? 5 : 8;
+        }
+        return nano % 1_000_000 == 0 ? 12 : nano % 1000 == 0 ? 15 : 18;
+    }
+
+    private static void writeDate(char[] buffer, LocalDate date) {
+        writeDigits(buffer, 0, date.getYear(), 4);
+        buffer[4] = '-';
+        writeDigits(buffer, 5, date.getMonthValue(), 2);
+        buffer[7] = '-';
+        writeDigits(buffer, 8, date.getDayOfMonth(), 2);
+    }
+
+    /**
+     * Writes {@code HH:mm[:ss[.SSS[SSS[SSS]]]]} at a position, filling the rest of the buffer.
+     */
+    private static void writeTime(char[] buffer, int position, LocalTime time) {
+        writeDigits(buffer, position, time.getHour(), 2);
+        buffer[position + 2] = ':';
+        writeDigits(buffer, position + 3, time.getMinute(), 2);
+        int fractionDigits = buffer.length - position - 9;
+        if (fractionDigits < -1) {
+            return;
+        }
+        buffer[position + 5] = ':';
+        writeDigits(buffer, position + 6, time.getSecond(), 2);
+        if (fractionDigits > 0) {
+            buffer[position + 8] = '.';
+            writeDigits(buffer, position + 9, time.getNano() / FRACTION_SCALES[fractionDigits], fractionDigits);
+        }
+    }
+
+    private static void writeDigits(char[] buffer, int position, int value, int count) {
+        for (int i = position + count - 1; i >= position; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
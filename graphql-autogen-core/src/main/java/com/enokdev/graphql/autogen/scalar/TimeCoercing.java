@@ -0,0 +1,27 @@
+package com.enokdev.graphql.autogen.scalar;
+
+import java.time.LocalTime;
+
+/**
+ * Coercing of the Time scalar: an ISO-8601 local time, such as {@code 12:30:15.250}, bound to
+ * {@link LocalTime}.
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class TimeCoercing extends StringScalarCoercing<LocalTime> {
+
+    public TimeCoercing() {
+        super(LocalTime.class, "Time");
+    }
+
+    @Override
+    protected String format(LocalTime value) {
+        return TemporalFormat.format(value);
+    }
+
+    @Override
+    protected LocalTime parse(String text) {
+        return TemporalFormat.parseTime(text);
+    }
+}
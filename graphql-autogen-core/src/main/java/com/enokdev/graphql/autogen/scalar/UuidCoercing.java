@@ -0,0 +1,57 @@
+package com.enokdev.graphql.autogen.scalar;
+
+import java.util.UUID;
+
+/**
+ * Coercing of the UUID scalar of {@link UUID} values, written in their canonical 36 character
+ * form, in upper or lower case.
+ *
+ * <p>It applies to a scalar of its own, mapped with {@code java.util.UUID -> UUID}: the ID
+ * scalar stays the lenient built-in one, as it also holds numbers and other identifiers.</p>
+ *
+ * <p>{@link UUID#toString()} already formats into a buffer of the exact length. Parsing reads
+ * the ASCII hexadecimal digits in place, where {@link UUID#fromString(String)} also accepts
+ * shortened groups such as {@code 1-2-3-4-5}, signs and non-ASCII digits.</p>
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class UuidCoercing extends StringScalarCoercing<UUID> {
+
+    private static final int LENGTH = 36;
+
+    public UuidCoercing() {
+        super(UUID.class, "UUID");
+    }
+
+    @Override
+    protected String format(UUID value) {
+        return value.toString();
+    }
+
+    @Override
+    protected UUID parse(String text) {
+        if (text.length() != LENGTH || text.charAt(8) != '-' || text.charAt(13) != '-'
+                || text.charAt(18) != '-' || text.charAt(23) != '-') {
+            throw new IllegalArgumentException("Expected a UUID of 36 characters");
+        }
+        long mostSignificantBits = hex(text, 0, 8) << 32 | hex(text, 9, 13) << 16 | hex(text, 14, 18);
+        long leastSignificantBits = hex(text, 19, 23) << 48 | hex(text, 24, LENGTH);
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+
+    private static long hex(String text, int start, int end) {
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            int digit = c >= '0' && c <= '9' ? c - '0'
+                    : c >= 'a' && c <= 'f' ? c - 'a' + 10
+                    : c >= 'A' && c <= 'F' ? c - 'A' + 10 : -1;
+            if (digit < 0) {
+                throw new IllegalArgumentException("Invalid hexadecimal digit at index " + i);
+            }
+            value = value << 4 | digit;
+        }
+        return value;
+    }
+}
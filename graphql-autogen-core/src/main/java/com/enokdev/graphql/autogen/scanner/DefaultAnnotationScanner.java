@@ -1,6 +1,7 @@
 package com.enokdev.graphql.autogen.scanner;
 
 import com.enokdev.graphql.autogen.annotation.*;
+import com.enokdev.graphql.autogen.jfr.AnnotationScanEvent;
 import org.reflections.Reflections;
 import org.reflections.scanners.Scanners;
 import org.reflections.util.ClasspathHelper;
@@ -47,6 +48,9 @@ public class DefaultAnnotationScanner implements AnnotationScanner {
         Set<Class<?>> allClasses = new HashSet<>();
         
         for (String basePackage : basePackages) {
+            AnnotationScanEvent event = new AnnotationScanEvent();
+            event.begin();
+            int found = allClasses.size();
             try {
                 Reflections reflections = createReflections(basePackage);
                 
@@ -61,6 +65,7 @@ public class DefaultAnnotationScanner implements AnnotationScanner {
             } catch (Exception e) {
                 log.error("Error scanning package: " + basePackage, e);
             }
+            commit(event, basePackage, "*", allClasses.size() - found);
         }
         
         log.info("Found {} total classes with GraphQL annotations", allClasses.size());
@@ -125,10 +130,14 @@ public class DefaultAnnotationScanner implements AnnotationScanner {
         Set<Class<?>> result = new HashSet<>();
         
         for (String basePackage : basePackages) {
+            AnnotationScanEvent event = new AnnotationScanEvent();
+            event.begin();
+            int found = 0;
             try {
                 Reflections reflections = createReflections(basePackage);
                 Set<Class<?>> annotatedClasses = reflections.getTypesAnnotatedWith(annotationClass);
                 result.addAll(annotatedClasses);
+                found = annotatedClasses.size();
                 
                 log.debug("Found {} classes with @{} in package {}", 
                          annotatedClasses.size(), annotationClass.getSimpleName(), basePackage);
@@ -136,11 +145,25 @@ public class DefaultAnnotationScanner implements AnnotationScanner {
             } catch (Exception e) {
                 log.error("Error scanning package {} for annotation {}", basePackage, annotationClass.getSimpleName(), e);
             }
+            commit(event, basePackage, annotationClass.getSimpleName(), found);
         }
         
         return result;
     }
     
+    /**
+     * Commits a scan event if the recording keeps it.
+     */
+    private static void commit(AnnotationScanEvent event, String basePackage, String annotation, int classCount) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.basePackage = basePackage;
+            event.annotation = annotation;
+            event.classCount = classCount;
+            event.commit();
+        }
+    }
+    
     /**
      * Creates a Reflections instance for the given package.
      */
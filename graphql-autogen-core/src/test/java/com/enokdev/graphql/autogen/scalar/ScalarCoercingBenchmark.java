@@ -0,0 +1,207 @@
+package com.enokdev.graphql.autogen.scalar;
+
+import graphql.GraphQLContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the scalar coercings with {@code toString()} and the JDK parsers for 100 values
+ * of each scalar.
+ *
+ * <p>Run the {@link #main(String[])} method from the test classpath, adding {@code -prof gc}
+ * to compare the allocation rates.</p>
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScalarCoercingBenchmark {
+
+    private static final int VALUES = 100;
+
+    private final GraphQLContext context = GraphQLContext.getDefault();
+    private final Locale locale = Locale.getDefault();
+    private final DateTimeCoercing dateTimeCoercing = new DateTimeCoercing();
+    private final DateCoercing dateCoercing = new DateCoercing();
+    private final TimeCoercing timeCoercing = new TimeCoercing();
+    private final UuidCoercing uuidCoercing = new UuidCoercing();
+    private final DecimalCoercing decimalCoercing = new DecimalCoercing();
+    private final LocalDateTime[] dateTimes = new LocalDateTime[VALUES];
+    private final LocalDate[] dates = new LocalDate[VALUES];
+    private final LocalTime[] times = new LocalTime[VALUES];
+    private final UUID[] ids = new UUID[VALUES];
+    private final BigDecimal[] decimals = new BigDecimal[VALUES];
+    private final String[] dateTimeTexts = new String[VALUES];
+    private final String[] dateTexts = new String[VALUES];
+    private final String[] timeTexts = new String[VALUES];
+    private final String[] idTexts = new String[VALUES];
+    private final String[] decimalTexts = new String[VALUES];
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < VALUES; i++) {
+            dateTimes[i] = LocalDateTime.of(2025, 1, 1, 0, 0).plusSeconds(i * 86_437L).plusNanos(i * 1_000_000L);
+            dates[i] = dateTimes[i].toLocalDate();
+            times[i] = dateTimes[i].toLocalTime();
+            ids[i] = new UUID(0x1234_5678_9abc_def0L * (i + 1), 0x0fed_cba9_8765_4321L * (i + 1));
+            decimals[i] = BigDecimal.valueOf(1_999L * (i + 1), 2);
+            dateTimeTexts[i] = dateTimes[i].toString();
+            dateTexts[i] = dates[i].toString();
+            timeTexts[i] = times[i].toString();
+            idTexts[i] = ids[i].toString();
+            decimalTexts[i] = decimals[i].toString();
+        }
+    }
+
+    @Benchmark
+    public void toStringDateTime(Blackhole blackhole) {
+        for (LocalDateTime value : dateTimes) {
+            blackhole.consume(value.toString());
+        }
+    }
+
+    @Benchmark
+    public void serializeDateTime(Blackhole blackhole) {
+        for (LocalDateTime value : dateTimes) {
+            blackhole.consume(dateTimeCoercing.serialize(value, context, locale));
+        }
+    }
+
+    @Benchmark
+    public void jdkParseDateTime(Blackhole blackhole) {
+        for (String text : dateTimeTexts) {
+            blackhole.consume(LocalDateTime.parse(text));
+        }
+    }
+
+    @Benchmark
+    public void parseValueDateTime(Blackhole blackhole) {
+        for (String text : dateTimeTexts) {
+            blackhole.consume(dateTimeCoercing.parseValue(text, context, locale));
+        }
+    }
+
+    @Benchmark
+    public void toStringDate(Blackhole blackhole) {
+        for (LocalDate value : dates) {
+            blackhole.consume(value.toString());
+        }
+    }
+
+    @Benchmark
+    public void serializeDate(Blackhole blackhole) {
+        for (LocalDate value : dates) {
+            blackhole.consume(dateCoercing.serialize(value, context, locale));
+        }
+    }
+
+    @Benchmark
+    public void jdkParseDate(Blackhole blackhole) {
+        for (String text : dateTexts) {
+            blackhole.consume(LocalDate.parse(text));
+        }
+    }
+
+    @Benchmark
+    public void parseValueDate(Blackhole blackhole) {
+        for (String text : dateTexts) {
+            blackhole.consume(dateCoercing.parseValue(text, context, locale));
+        }
+    }
+
+    @Benchmark
+    public void toStringTime(Blackhole blackhole) {
+        for (LocalTime value : times) {
+            blackhole.consume(value.toString());
+        }
+    }
+
+    @Benchmark
+    public void serializeTime(Blackhole blackhole) {
+        for (LocalTime value : times) {
+            blackhole.consume(timeCoercing.serialize(value, context, locale));
+        }
+    }
+
+    @Benchmark
+    public void jdkParseTime(Blackhole blackhole) {
+        for (String text : timeTexts) {
+            blackhole.consume(LocalTime.parse(text));
+        }
+    }
+
+    @Benchmark
+    public void parseValueTime(Blackhole blackhole) {
+        for (String text : timeTexts) {
+            blackhole.consume(timeCoercing.parseValue(text, context, locale));
+        }
+    }
+
+    @Benchmark
+    public void serializeUuid(Blackhole blackhole) {
+        for (UUID value : ids) {
+            blackhole.consume(uuidCoercing.serialize(value, context, locale));
+        }
+    }
+
+    @Benchmark
+    public void jdkParseUuid(Blackhole blackhole) {
+        for (String text : idTexts) {
+            blackhole.consume(UUID.fromString(text));
+        }
+    }
+
+    @Benchmark
+    public void parseValueUuid(Blackhole blackhole) {
+        for (String text : idTexts) {
+            blackhole.consume(uuidCoercing.parseValue(text, context, locale));
+        }
+    }
+
+    @Benchmark
+    public void toStringDecimal(Blackhole blackhole) {
+        for (BigDecimal value : decimals) {
+            blackhole.consume(value.toString());
+        }
+    }
+
+    @Benchmark
+    public void serializeDecimal(Blackhole blackhole) {
+        for (BigDecimal value : decimals) {
+            blackhole.consume(decimalCoercing.serialize(value, context, locale));
+        }
+    }
+
+    @Benchmark
+    public void parseValueDecimal(Blackhole blackhole) {
+        for (String text : decimalTexts) {
+            blackhole.consume(decimalCoercing.parseValue(text, context, locale));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(args.length > 0 ? args : new String[]{ScalarCoercingBenchmark.class.getSimpleName()});
+    }
+}
@@ -0,0 +1,147 @@
+package com.enokdev.graphql.autogen.scalar;
+
+import com.enokdev.graphql.autogen.generator.DefaultTypeResolver;
+import graphql.GraphQLContext;
+import graphql.Scalars;
+import graphql.execution.CoercedVariables;
+import graphql.language.FloatValue;
+import graphql.language.IntValue;
+import graphql.language.StringValue;
+import graphql.schema.CoercingParseLiteralException;
+import graphql.schema.CoercingParseValueException;
+import graphql.schema.CoercingSerializeException;
+import graphql.schema.GraphQLScalarType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ScalarCoercingsTest {
+
+    private final GraphQLContext context = GraphQLContext.getDefault();
+    private final Locale locale = Locale.ROOT;
+
+    @Test
+    void formatsTemporalValuesLikeTheirToString() {
+        DateTimeCoercing dateTimes = new DateTimeCoercing();
+        TimeCoercing times = new TimeCoercing();
+        LocalDateTime base = LocalDateTime.of(2024, 2, 29, 7, 5);
+        List<LocalDateTime> values = List.of(base, base.withSecond(9), base.withNano(120_000_000),
+                base.withNano(120_400_000), base.withNano(123_456_789), base.withNano(1),
+                LocalDateTime.of(1, 1, 1, 0, 0), LocalDateTime.of(9999, 12, 31, 23, 59, 59, 999_999_999),
+                LocalDateTime.of(12_345, 6, 7, 8, 9), LocalDateTime.of(-5, 6, 7, 8, 9));
+
+        for (LocalDateTime value : values) {
+            assertThat(dateTimes.serialize(value, context, locale)).isEqualTo(value.toString());
+            assertThat(times.serialize(value.toLocalTime(), context, locale)).isEqualTo(value.toLocalTime().toString());
+            assertThat(new DateCoercing().serialize(value.toLocalDate(), context, locale))
+                    .isEqualTo(value.toLocalDate().toString());
+            assertThat(dateTimes.parseValue(value.toString(), context, locale)).isEqualTo(value);
+        }
+    }
+
+    @Test
+    void parsesTemporalInputToJavaValues() {
+        DateTimeCoercing dateTimes = new DateTimeCoercing();
+
+        assertThat(dateTimes.parseValue("2024-01-31T12:30:15.25", context, locale))
+                .isEqualTo(LocalDateTime.of(2024, 1, 31, 12, 30, 15, 250_000_000));
+        assertThat(dateTimes.parseLiteral(StringValue.of("2024-01-31T12:30"), CoercedVariables.emptyVariables(),
+                context, locale)).isEqualTo(LocalDateTime.of(2024, 1, 31, 12, 30));
+        assertThat(new DateCoercing().parseValue("+12345-06-07", context, locale)).isEqualTo(LocalDate.of(12_345, 6, 7));
+        assertThat(new TimeCoercing().parseValue("23:59:59.000000001", context, locale))
+                .isEqualTo(LocalTime.of(23, 59, 59, 1));
+        // a string result is checked and written as is
+        assertThat(dateTimes.serialize("2024-01-31T12:30", context, locale)).isEqualTo("2024-01-31T12:30");
+    }
+
+    @Test
+    void rejectsInvalidTemporalValues() {
+        DateTimeCoercing dateTimes = new DateTimeCoercing();
+
+        assertThatThrownBy(() -> dateTimes.parseValue("2024-02-30T12:30", context, locale))
+                .isInstanceOf(CoercingParseValueException.class);
+        assertThatThrownBy(() -> dateTimes.parseValue("2024-01-31 12:30", context, locale))
+                .isInstanceOf(CoercingParseValueException.class);
+        assertThatThrownBy(() -> new TimeCoercing().parseValue("24:00", context, locale))
+                .isInstanceOf(CoercingParseValueException.class);
+        assertThatThrownBy(() -> new DateCoercing().parseValue("2024-1-31", context, locale))
+                .isInstanceOf(CoercingParseValueException.class);
+        assertThatThrownBy(() -> dateTimes.serialize(42, context, locale))
+                .isInstanceOf(CoercingSerializeException.class);
+        assertThatThrownBy(() -> dateTimes.parseLiteral(IntValue.of(42), CoercedVariables.emptyVariables(), context, locale))
+                .isInstanceOf(CoercingParseLiteralException.class);
+    }
+
+    @Test
+    void coercesUuids() {
+        UuidCoercing ids = new UuidCoercing();
+        UUID id = UUID.randomUUID();
+
+        assertThat(ids.serialize(id, context, locale)).isEqualTo(id.toString());
+        assertThat(ids.parseValue(id.toString(), context, locale)).isEqualTo(id);
+        assertThat(ids.parseValue(id.toString().toUpperCase(Locale.ROOT), context, locale)).isEqualTo(id);
+        assertThatThrownBy(() -> ids.parseValue("1-2-3-4-5", context, locale))
+                .isInstanceOf(CoercingParseValueException.class);
+        assertThatThrownBy(() -> ids.parseValue(id.toString().replace('-', '_'), context, locale))
+                .isInstanceOf(CoercingParseValueException.class);
+        assertThatThrownBy(() -> ids.parseValue(id.toString().substring(1) + "g", context, locale))
+                .isInstanceOf(CoercingParseValueException.class);
+    }
+
+    @Test
+    void coercesDecimalsExactly() {
+        DecimalCoercing decimals = new DecimalCoercing();
+
+        assertThat(decimals.serialize(new BigDecimal("12345678901234567890.123456789"), context, locale))
+                .isEqualTo(new BigDecimal("12345678901234567890.123456789"));
+        assertThat(decimals.serialize(0.1f, context, locale)).isEqualTo(new BigDecimal("0.1"));
+        assertThat(decimals.parseValue("19.99", context, locale)).isEqualTo(new BigDecimal("19.99"));
+        assertThat(decimals.parseValue(BigInteger.TEN, context, locale)).isEqualTo(BigDecimal.TEN);
+        assertThat(decimals.parseLiteral(FloatValue.of(2.5), CoercedVariables.emptyVariables(), context, locale))
+                .isEqualTo(new BigDecimal("2.5"));
+        assertThat(decimals.parseLiteral(IntValue.of(7), CoercedVariables.emptyVariables(), context, locale))
+                .isEqualTo(BigDecimal.valueOf(7));
+        assertThatThrownBy(() -> decimals.parseValue("ten", context, locale))
+                .isInstanceOf(CoercingParseValueException.class);
+        assertThatThrownBy(() -> decimals.serialize(Double.NaN, context, locale))
+                .isInstanceOf(CoercingSerializeException.class);
+    }
+
+    @Test
+    void resolvesEachScalarNameToASharedType() {
+        DefaultTypeResolver resolver = new DefaultTypeResolver();
+        resolver.registerTypeMapping(BigDecimal.class, "Decimal");
+        resolver.registerTypeMapping(String.class, "ID");
+
+        GraphQLScalarType dateTime = (GraphQLScalarType) resolver.resolveType(LocalDateTime.class);
+        assertThat(dateTime.getCoercing()).isSameAs(ScalarCoercings.forType(LocalDateTime.class));
+        assertThat(resolver.resolveType(UUID.class)).isSameAs(resolver.resolveType(String.class))
+                .isSameAs(Scalars.GraphQLID);
+        assertThat(((GraphQLScalarType) resolver.resolveType(BigDecimal.class)).getName()).isEqualTo("Decimal");
+        assertThat(new DefaultTypeResolver().resolveType(LocalDate.class))
+                .isNotSameAs(resolver.resolveType(LocalDate.class));
+    }
+
+    @Test
+    void validatesUuidsOnlyUnderTheirOwnScalar() {
+        DefaultTypeResolver defaults = new DefaultTypeResolver();
+        DefaultTypeResolver uuids = new DefaultTypeResolver();
+        uuids.registerTypeMapping(UUID.class, "UUID");
+
+        assertThat(defaults.resolveType(UUID.class)).isSameAs(Scalars.GraphQLID);
+        assertThat(defaults.resolveType(BigDecimal.class)).isSameAs(Scalars.GraphQLFloat);
+        GraphQLScalarType uuid = (GraphQLScalarType) uuids.resolveType(UUID.class);
+        assertThat(uuid.getName()).isEqualTo("UUID");
+        assertThat(uuid.getCoercing()).isSameAs(ScalarCoercings.forType(UUID.class));
+    }
+}
@@ -1,26 +1,137 @@
 package com.enokdev.graphql.autogen.starter;
 
+import com.enokdev.graphql.autogen.config.GraphQLAutoGenConfig;
 import com.enokdev.graphql.autogen.generator.*;
 import com.enokdev.graphql.autogen.generator.GraphQLSchemaValidator;
 import com.enokdev.graphql.autogen.scanner.AnnotationScanner;
 import com.enokdev.graphql.autogen.scanner.DefaultAnnotationScanner;
+import com.enokdev.graphql.autogen.starter.batching.BatchExecution;
+import com.enokdev.graphql.autogen.starter.batching.BatchRequestFilter;
+import com.enokdev.graphql.autogen.starter.cache.FieldCacheDefinitions;
+import com.enokdev.graphql.autogen.starter.cache.FieldCacheTypeVisitor;
+import com.enokdev.graphql.autogen.starter.cache.FieldResultCache;
+import com.enokdev.graphql.autogen.starter.cache.ResponseCache;
+import com.enokdev.graphql.autogen.starter.cache.ResponseCacheFilter;
+import com.enokdev.graphql.autogen.starter.cache.ResponseCacheInterceptor;
+import com.enokdev.graphql.autogen.starter.cache.ResponseCacheInvalidationInstrumentation;
+import com.enokdev.graphql.autogen.starter.cache.ResponseCacheKeyResolver;
+import com.enokdev.graphql.autogen.starter.cache.ResponseCachePolicy;
+import com.enokdev.graphql.autogen.starter.cache.ResponseCacheWebFilter;
+import com.enokdev.graphql.autogen.starter.dataloader.DataLoaderPrimingInstrumentation;
+import com.enokdev.graphql.autogen.starter.execution.DocumentCacheMeterBinder;
+import com.enokdev.graphql.autogen.starter.execution.FieldComplexityWeights;
+import com.enokdev.graphql.autogen.starter.execution.FilePersistedQueryStore;
+import com.enokdev.graphql.autogen.starter.execution.InMemoryPersistedQueryStore;
+import com.enokdev.graphql.autogen.starter.execution.PersistedQueryDocumentProvider;
+import com.enokdev.graphql.autogen.starter.execution.PersistedQueryManifest;
+import com.enokdev.graphql.autogen.starter.execution.PersistedQueryRequestFilter;
+import com.enokdev.graphql.autogen.starter.execution.PersistedQueryStore;
+import com.enokdev.graphql.autogen.starter.execution.PersistedQueryWebFilter;
+import com.enokdev.graphql.autogen.starter.execution.PreparsedDocumentCache;
+import com.enokdev.graphql.autogen.starter.execution.QueryComplexityAnalyzer;
+import com.enokdev.graphql.autogen.starter.execution.QueryComplexityInstrumentation;
+import com.enokdev.graphql.autogen.starter.incremental.IncrementalDelivery;
+import com.enokdev.graphql.autogen.starter.incremental.IncrementalDeliveryFilter;
+import com.enokdev.graphql.autogen.starter.incremental.IncrementalDeliveryWebFilter;
+import com.enokdev.graphql.autogen.starter.incremental.IncrementalDirectivesConfigurer;
+import com.enokdev.graphql.autogen.starter.instrumentation.AuditInstrumentation;
+import com.enokdev.graphql.autogen.starter.instrumentation.AuditMeterBinder;
+import com.enokdev.graphql.autogen.starter.instrumentation.BoundedOperationObservationConvention;
+import com.enokdev.graphql.autogen.starter.instrumentation.ExecutionEventLog;
+import com.enokdev.graphql.autogen.starter.instrumentation.FieldTimingRecorder;
+import com.enokdev.graphql.autogen.starter.instrumentation.OperationMeterBinder;
+import com.enokdev.graphql.autogen.starter.instrumentation.OperationMetricsInstrumentation;
+import com.enokdev.graphql.autogen.starter.instrumentation.OperationNameLimiter;
+import com.enokdev.graphql.autogen.starter.instrumentation.SchemaMeterBinder;
+import com.enokdev.graphql.autogen.starter.instrumentation.SchemaMetrics;
+import com.enokdev.graphql.autogen.starter.jfr.JfrInstrumentation;
+import com.enokdev.graphql.autogen.starter.jpa.FilterSpecificationCompiler;
+import com.enokdev.graphql.autogen.starter.jpa.SelectionFetchPlanner;
+import com.enokdev.graphql.autogen.starter.json.ExecutionResultHttpMessageConverter;
+import com.enokdev.graphql.autogen.starter.json.ExecutionResultJsonWriter;
+import com.enokdev.graphql.autogen.starter.json.GraphQlHttpHandlerPostProcessor;
+import com.enokdev.graphql.autogen.starter.pagination.CachingTotalCountProvider;
+import com.enokdev.graphql.autogen.starter.pagination.CursorCodec;
+import com.enokdev.graphql.autogen.starter.pagination.KeysetPaginator;
+import com.enokdev.graphql.autogen.starter.pagination.TotalCountProvider;
+import com.enokdev.graphql.autogen.starter.ratelimit.ClientIdentityInterceptor;
+import com.enokdev.graphql.autogen.starter.ratelimit.ClientIdentityResolver;
+import com.enokdev.graphql.autogen.starter.ratelimit.ClientPrincipalFilter;
+import com.enokdev.graphql.autogen.starter.ratelimit.ClientPrincipalWebFilter;
+import com.enokdev.graphql.autogen.starter.ratelimit.CostRateLimitInstrumentation;
+import com.enokdev.graphql.autogen.starter.ratelimit.RateLimiter;
+import com.enokdev.graphql.autogen.starter.ratelimit.TokenBucketRateLimiter;
+import com.enokdev.graphql.autogen.starter.streaming.StreamingExecution;
+import com.enokdev.graphql.autogen.starter.streaming.StreamingExecutionStrategy;
+import com.enokdev.graphql.autogen.starter.streaming.StreamingFields;
+import com.enokdev.graphql.autogen.starter.streaming.StreamingResponseFilter;
+import com.enokdev.graphql.autogen.starter.streaming.StreamingTypeVisitor;
+import com.enokdev.graphql.autogen.starter.subscription.EventBusAdapter;
+import com.enokdev.graphql.autogen.starter.subscription.GraphQLEventBus;
+import com.enokdev.graphql.autogen.starter.subscription.GraphQLEventListener;
+import com.enokdev.graphql.autogen.starter.subscription.RingBufferEventBus;
+import com.enokdev.graphql.autogen.starter.subscription.SharedSubscriptionWebSocketHandler;
+import com.enokdev.graphql.autogen.starter.subscription.SubscriptionBroadcaster;
+import com.enokdev.graphql.autogen.starter.subscription.SubscriptionBufferMeterBinder;
+import com.enokdev.graphql.autogen.starter.subscription.SubscriptionBufferMetrics;
+import com.enokdev.graphql.autogen.starter.subscription.SubscriptionRegistry;
+import com.enokdev.graphql.autogen.starter.subscription.SubscriptionRuntimeWiringConfigurer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import graphql.execution.DataFetcherExceptionHandler;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import io.micrometer.observation.ObservationRegistry;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
 import java.util.Map;
 
 import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackages;
+import org.springframework.boot.autoconfigure.condition.AnyNestedCondition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.graphql.GraphQlSourceBuilderCustomizer;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.graphql.execution.DataFetcherExceptionResolver;
+import org.springframework.graphql.execution.GraphQlSource;
+import org.springframework.graphql.observation.DataFetcherObservationConvention;
+import org.springframework.graphql.observation.DefaultDataFetcherObservationConvention;
+import org.springframework.graphql.observation.DefaultExecutionRequestObservationConvention;
+import org.springframework.graphql.observation.ExecutionRequestObservationConvention;
+import org.springframework.graphql.observation.GraphQlObservationInstrumentation;
+import org.springframework.graphql.server.WebGraphQlHandler;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.reactive.handler.SimpleUrlHandlerMapping;
+import org.springframework.web.reactive.socket.server.support.WebSocketHandlerAdapter;
 
 /**
  * Auto-configuration for GraphQL Auto-Generator.
@@ -41,7 +152,7 @@ import org.springframework.context.annotation.Lazy;
  * @author GraphQL AutoGen Team
  * @since 1.0.0
  */
-@AutoConfiguration
+@AutoConfiguration(afterName = "org.springframework.boot.actuate.autoconfigure.observation.ObservationAutoConfiguration")
 @ConditionalOnClass(name = {
     "graphql.schema.GraphQLSchema",
     "com.enokdev.graphql.autogen.generator.SchemaGenerator"
@@ -170,9 +281,12 @@ public class GraphQLAutoGenAutoConfiguration implements ApplicationContextAware
     public GraphQLSchemaGenerationService schemaGenerationService(
             SchemaGenerator schemaGenerator,
             AnnotationScanner annotationScanner,
-            GraphQLAutoGenProperties properties) {
+            GraphQLAutoGenProperties properties,
+            ObjectProvider<SchemaMetrics> schemaMetrics) {
         log.debug("Creating GraphQLSchemaGenerationService bean");
-        return new GraphQLSchemaGenerationService(schemaGenerator, annotationScanner, properties);
+        GraphQLSchemaGenerationService service = new GraphQLSchemaGenerationService(schemaGenerator, annotationScanner, properties);
+        schemaMetrics.ifAvailable(service::setSchemaMetrics);
+        return service;
     }
 
     /**
@@ -191,6 +305,43 @@ public class GraphQLAutoGenAutoConfiguration implements ApplicationContextAware
         return new GraphQLSchemaGenerationApplicationListener(schemaGenerationService);
     }
 
+    /**
+     * Registers the outermost document provider: persisted queries when enabled, which
+     * delegate to the document cache, or the document cache alone.
+     */
+    @Bean
+    @Conditional(DocumentProviderCondition.class)
+    public GraphQlSourceBuilderCustomizer preparsedDocumentProviderCustomizer(
+            ObjectProvider<PersistedQueryDocumentProvider> persistedQueries,
+            ObjectProvider<PreparsedDocumentCache> documentCache) {
+        return builder -> {
+            PreparsedDocumentProvider provider = persistedQueries.getIfAvailable();
+            if (provider == null) {
+                provider = documentCache.getIfAvailable();
+            }
+            if (provider != null) {
+                PreparsedDocumentProvider documentProvider = provider;
+                builder.configureGraphQl(graphQl -> graphQl.preparsedDocumentProvider(documentProvider));
+            }
+        };
+    }
+
+    /**
+     * Resolves the packages scanned for annotated types at runtime: the configured base packages,
+     * or the auto-configuration packages of the application when none are configured.
+     */
+    static List<String> resolveBasePackages(GraphQLAutoGenProperties properties, BeanFactory beanFactory) {
+        if (!properties.getBasePackages().isEmpty()) {
+            return properties.getBasePackages();
+        }
+        if (AutoConfigurationPackages.has(beanFactory)) {
+            return AutoConfigurationPackages.get(beanFactory);
+        }
+        log.warn("No base packages configured and no auto-configuration package found. " +
+                "Please configure spring.graphql.autogen.base-packages");
+        return List.of();
+    }
+
     /**
      * Inner configuration for additional beans that might need different conditions.
      */
@@ -211,6 +362,995 @@ public class GraphQLAutoGenAutoConfiguration implements ApplicationContextAware
         }
     }
 
+    /**
+     * Configuration for priming DataLoaders with the entities returned by root queries.
+     */
+    @Configuration
+    @ConditionalOnProperty(
+        prefix = "spring.graphql.autogen.data-loader",
+        name = "prime-from-queries",
+        havingValue = "true"
+    )
+    static class DataLoaderPrimingConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public DataLoaderPrimingInstrumentation dataLoaderPrimingInstrumentation(
+                DataLoaderGenerator dataLoaderGenerator,
+                AnnotationScanner annotationScanner,
+                GraphQLAutoGenProperties properties,
+                BeanFactory beanFactory) {
+            log.debug("Creating DataLoaderPrimingInstrumentation bean");
+            List<String> basePackages = resolveBasePackages(properties, beanFactory);
+            return new DataLoaderPrimingInstrumentation(dataLoaderGenerator,
+                    annotationScanner.scanForGraphQLTypes(basePackages));
+        }
+    }
+
+    /**
+     * Configuration for the execution log and sampled per-field resolver timing.
+     */
+    @Configuration
+    static class InstrumentationConfiguration {
+
+        @Bean(destroyMethod = "close")
+        @ConditionalOnMissingBean
+        @ConditionalOnProperty(
+            prefix = "spring.graphql.autogen.instrumentation.execution-log",
+            name = "enabled",
+            havingValue = "true"
+        )
+        public ExecutionEventLog executionEventLog(GraphQLAutoGenProperties properties) {
+            log.debug("Creating ExecutionEventLog bean");
+            GraphQLAutoGenProperties.Instrumentation.ExecutionLog settings = properties.getInstrumentation().getExecutionLog();
+            ExecutionEventLog executionLog = new ExecutionEventLog(settings.getMode(), settings.getSlowThreshold(),
+                    settings.getCapacity(), settings.getFlushInterval());
+            executionLog.start();
+            return executionLog;
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnProperty(
+            prefix = "spring.graphql.autogen.instrumentation.field-timing",
+            name = "enabled",
+            havingValue = "true"
+        )
+        public FieldTimingRecorder fieldTimingRecorder(GraphQLAutoGenProperties properties) {
+            log.debug("Creating FieldTimingRecorder bean");
+            return new FieldTimingRecorder(properties.getInstrumentation().getFieldTiming().getSampleRate());
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        @Conditional(AuditCondition.class)
+        public AuditInstrumentation auditInstrumentation(ObjectProvider<ExecutionEventLog> executionEventLog,
+                                                         ObjectProvider<FieldTimingRecorder> fieldTimingRecorder) {
+            log.debug("Creating AuditInstrumentation bean");
+            return new AuditInstrumentation(executionEventLog.getIfAvailable(), fieldTimingRecorder.getIfAvailable());
+        }
+
+        /**
+         * Publishes the dropped executions and the field timings when Micrometer is on the
+         * classpath.
+         */
+        @Configuration
+        @ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+        @Conditional(AuditCondition.class)
+        static class AuditMeterBinderConfiguration {
+
+            @Bean
+            @ConditionalOnMissingBean
+            public AuditMeterBinder auditMeterBinder(ObjectProvider<ExecutionEventLog> executionEventLog,
+                                                     ObjectProvider<FieldTimingRecorder> fieldTimingRecorder) {
+                return new AuditMeterBinder(executionEventLog.getIfAvailable(), fieldTimingRecorder.getIfAvailable());
+            }
+        }
+
+        /**
+         * Matches when the execution log or the field timing is enabled, the only two things
+         * the audit instrumentation records.
+         */
+        static class AuditCondition extends AnyNestedCondition {
+
+            AuditCondition() {
+                super(ConfigurationPhase.REGISTER_BEAN);
+            }
+
+            @ConditionalOnProperty(
+                prefix = "spring.graphql.autogen.instrumentation.execution-log",
+                name = "enabled",
+                havingValue = "true"
+            )
+            static class ExecutionLogEnabled {
+            }
+
+            @ConditionalOnProperty(
+                prefix = "spring.graphql.autogen.instrumentation.field-timing",
+                name = "enabled",
+                havingValue = "true"
+            )
+            static class FieldTimingEnabled {
+            }
+        }
+    }
+
+    /**
+     * Configuration for the Java Flight Recorder events of GraphQL executions.
+     */
+    @Configuration
+    @ConditionalOnClass(name = "jdk.jfr.Event")
+    @ConditionalOnProperty(
+        prefix = "spring.graphql.autogen.instrumentation.jfr",
+        name = "enabled",
+        havingValue = "true",
+        matchIfMissing = true
+    )
+    static class JfrConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public JfrInstrumentation jfrInstrumentation() {
+            log.debug("Creating JfrInstrumentation bean");
+            return new JfrInstrumentation();
+        }
+    }
+
+    /**
+     * Configuration for schema and operation metrics.
+     */
+    @Configuration
+    @ConditionalOnProperty(
+        prefix = "spring.graphql.autogen.instrumentation.metrics",
+        name = "enabled",
+        havingValue = "true",
+        matchIfMissing = true
+    )
+    static class MetricsConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public OperationNameLimiter operationNameLimiter(GraphQLAutoGenProperties properties) {
+            return new OperationNameLimiter(properties.getInstrumentation().getMetrics().getMaxOperationNames());
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        public OperationMetricsInstrumentation operationMetricsInstrumentation(OperationNameLimiter operationNameLimiter) {
+            log.debug("Creating OperationMetricsInstrumentation bean");
+            return new OperationMetricsInstrumentation(operationNameLimiter);
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        public SchemaMetrics schemaMetrics(ObjectProvider<ObservationRegistry> observationRegistry,
+                                           ObjectProvider<GraphQlSource> graphQlSource) {
+            log.debug("Creating SchemaMetrics bean");
+            return new SchemaMetrics(observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP), () -> {
+                GraphQlSource source = graphQlSource.getIfAvailable();
+                return source != null ? source.schema() : null;
+            });
+        }
+
+        /**
+         * Publishes the operation and schema metrics when Micrometer is on the classpath.
+         */
+        @Configuration
+        @ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+        static class MeterBinderConfiguration {
+
+            @Bean
+            @ConditionalOnMissingBean
+            public OperationMeterBinder operationMeterBinder(
+                    OperationMetricsInstrumentation operationMetricsInstrumentation) {
+                return new OperationMeterBinder(operationMetricsInstrumentation);
+            }
+
+            @Bean
+            @ConditionalOnMissingBean
+            public SchemaMeterBinder schemaMeterBinder(SchemaMetrics schemaMetrics) {
+                return new SchemaMeterBinder(schemaMetrics);
+            }
+        }
+
+        /**
+         * Tags the Spring for GraphQL request observations with bounded operation names.
+         */
+        @Configuration
+        @ConditionalOnBean(ObservationRegistry.class)
+        static class ObservationConfiguration {
+
+            @Bean
+            @ConditionalOnMissingBean(ExecutionRequestObservationConvention.class)
+            public BoundedOperationObservationConvention boundedOperationObservationConvention(
+                    OperationNameLimiter operationNameLimiter) {
+                return new BoundedOperationObservationConvention(operationNameLimiter);
+            }
+
+            @Bean
+            @ConditionalOnMissingBean
+            public GraphQlObservationInstrumentation graphQlObservationInstrumentation(
+                    ObservationRegistry observationRegistry,
+                    ObjectProvider<ExecutionRequestObservationConvention> requestConvention,
+                    ObjectProvider<DataFetcherObservationConvention> dataFetcherConvention) {
+                log.debug("Creating GraphQlObservationInstrumentation bean");
+                return new GraphQlObservationInstrumentation(observationRegistry,
+                        requestConvention.getIfAvailable(DefaultExecutionRequestObservationConvention::new),
+                        dataFetcherConvention.getIfAvailable(DefaultDataFetcherObservationConvention::new));
+            }
+        }
+    }
+
+    /**
+     * Matches when the document cache or persisted queries provide the parsed documents.
+     */
+    static class DocumentProviderCondition extends AnyNestedCondition {
+
+        DocumentProviderCondition() {
+            super(ConfigurationPhase.REGISTER_BEAN);
+        }
+
+        @ConditionalOnProperty(prefix = "spring.graphql.autogen.document-cache", name = "enabled", havingValue = "true")
+        static class DocumentCacheEnabled {
+        }
+
+        @ConditionalOnProperty(prefix = "spring.graphql.autogen.persisted-queries", name = "enabled", havingValue = "true")
+        static class PersistedQueriesEnabled {
+        }
+    }
+
+    /**
+     * Configuration for the parsed document cache.
+     */
+    @Configuration
+    @ConditionalOnProperty(
+        prefix = "spring.graphql.autogen.document-cache",
+        name = "enabled",
+        havingValue = "true"
+    )
+    static class DocumentCacheConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public PreparsedDocumentCache preparsedDocumentCache(GraphQLAutoGenProperties properties,
+                                                             ObjectProvider<GraphQlSource> graphQlSource) {
+            log.debug("Creating PreparsedDocumentCache bean");
+            return new PreparsedDocumentCache(properties.getDocumentCache().getMaximumSize(), () -> {
+                GraphQlSource source = graphQlSource.getIfAvailable();
+                return source != null ? source.schema() : null;
+            });
+        }
+
+        /**
+         * Publishes the cache statistics when Micrometer is on the classpath.
+         */
+        @Configuration
+        @ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+        static class DocumentCacheMeterBinderConfiguration {
+
+            @Bean
+            @ConditionalOnMissingBean
+            public DocumentCacheMeterBinder documentCacheMeterBinder(PreparsedDocumentCache preparsedDocumentCache) {
+                return new DocumentCacheMeterBinder(preparsedDocumentCache);
+            }
+        }
+    }
+
+    /**
+     * Configuration for automatic persisted queries.
+     */
+    @Configuration
+    @ConditionalOnProperty(
+        prefix = "spring.graphql.autogen.persisted-queries",
+        name = "enabled",
+        havingValue = "true"
+    )
+    static class PersistedQueryConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public PersistedQueryStore persistedQueryStore(GraphQLAutoGenProperties properties,
+                                                       ResourceLoader resourceLoader,
+                                                       ObjectProvider<ObjectMapper> objectMapper) throws IOException {
+            GraphQLAutoGenProperties.PersistedQueries settings = properties.getPersistedQueries();
+            Map<String, String> manifest = Map.of();
+            if (settings.getManifest() != null) {
+                try (InputStream input = resourceLoader.getResource(settings.getManifest()).getInputStream()) {
+                    manifest = PersistedQueryManifest.read(input, objectMapper.getIfAvailable(ObjectMapper::new));
+                }
+                log.info("Loaded {} persisted queries from {}", manifest.size(), settings.getManifest());
+            }
+
+            PersistedQueryStore store;
+            if (settings.getStore() == GraphQLAutoGenProperties.PersistedQueries.Store.FILE) {
+                log.debug("Creating FilePersistedQueryStore bean in {}", settings.getDirectory());
+                store = new FilePersistedQueryStore(Path.of(settings.getDirectory()));
+            } else {
+                log.debug("Creating InMemoryPersistedQueryStore bean");
+                // the manifest operations must all fit, or the allowlist would forget some of them
+                store = new InMemoryPersistedQueryStore(Math.max(settings.getMaximumSize(), manifest.size()));
+            }
+            manifest.forEach(store::putQuery);
+            return store;
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        public PersistedQueryDocumentProvider persistedQueryDocumentProvider(PersistedQueryStore persistedQueryStore,
+                                                                             ObjectProvider<PreparsedDocumentCache> documentCache,
+                                                                             GraphQLAutoGenProperties properties) {
+            log.debug("Creating PersistedQueryDocumentProvider bean");
+            return new PersistedQueryDocumentProvider(persistedQueryStore, documentCache.getIfAvailable(),
+                    properties.getPersistedQueries().isAllowlist());
+        }
+
+        @Configuration
+        @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+        static class ServletPersistedQueryConfiguration {
+
+            @Bean
+            public PersistedQueryRequestFilter persistedQueryRequestFilter(
+                    @Value("${spring.graphql.path:/graphql}") String graphQlPath,
+                    ObjectProvider<ObjectMapper> objectMapper,
+                    PersistedQueryStore persistedQueryStore) {
+                return new PersistedQueryRequestFilter(graphQlPath, objectMapper.getIfAvailable(ObjectMapper::new),
+                        persistedQueryStore);
+            }
+        }
+
+        @Configuration
+        @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+        static class ReactivePersistedQueryConfiguration {
+
+            @Bean
+            public PersistedQueryWebFilter persistedQueryWebFilter(
+                    @Value("${spring.graphql.path:/graphql}") String graphQlPath,
+                    ObjectProvider<ObjectMapper> objectMapper,
+                    PersistedQueryStore persistedQueryStore) {
+                return new PersistedQueryWebFilter(graphQlPath, objectMapper.getIfAvailable(ObjectMapper::new),
+                        persistedQueryStore);
+            }
+        }
+    }
+
+    /**
+     * Configuration for query depth and complexity limits, and for the cost analysis they
+     * share with rate limiting.
+     */
+    @Configuration
+    static class ComplexityConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public FieldComplexityWeights fieldComplexityWeights(AnnotationScanner annotationScanner,
+                                                             GraphQLAutoGenProperties properties,
+                                                             BeanFactory beanFactory) {
+            log.debug("Creating FieldComplexityWeights bean");
+            return FieldComplexityWeights.fromAnnotatedClasses(
+                    annotationScanner.scanForAnnotatedClasses(resolveBasePackages(properties, beanFactory)),
+                    properties.getComplexity().getFieldWeights());
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        public QueryComplexityAnalyzer queryComplexityAnalyzer(FieldComplexityWeights fieldComplexityWeights,
+                                                               GraphQLAutoGenProperties properties) {
+            return new QueryComplexityAnalyzer(fieldComplexityWeights, QueryComplexityAnalyzer.DEFAULT_MAXIMUM_PLANS,
+                    properties.getComplexity().getMaxListSize());
+        }
+
+        @Bean
+        @Order(0)
+        @ConditionalOnMissingBean
+        @ConditionalOnProperty(
+            prefix = "spring.graphql.autogen.complexity",
+            name = "enabled",
+            havingValue = "true",
+            matchIfMissing = true
+        )
+        public QueryComplexityInstrumentation queryComplexityInstrumentation(QueryComplexityAnalyzer queryComplexityAnalyzer,
+                                                                             GraphQLAutoGenProperties properties,
+                                                                             ObjectProvider<GraphQLAutoGenConfig> config) {
+            log.debug("Creating QueryComplexityInstrumentation bean");
+            GraphQLAutoGenConfig limits = config.getIfAvailable();
+            if (limits != null) {
+                return new QueryComplexityInstrumentation(queryComplexityAnalyzer, limits.getMaxDepth(), limits.getMaxComplexity());
+            }
+            GraphQLAutoGenProperties.Complexity complexity = properties.getComplexity();
+            return new QueryComplexityInstrumentation(queryComplexityAnalyzer, complexity.getMaxDepth(),
+                    complexity.getMaxComplexity());
+        }
+    }
+
+    /**
+     * Configuration for cost-based rate limiting.
+     */
+    @Configuration
+    @ConditionalOnProperty(
+        prefix = "spring.graphql.autogen.rate-limit",
+        name = "enabled",
+        havingValue = "true"
+    )
+    static class RateLimitConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public RateLimiter rateLimiter(GraphQLAutoGenProperties properties) {
+            GraphQLAutoGenProperties.RateLimit rateLimit = properties.getRateLimit();
+            log.debug("Creating TokenBucketRateLimiter bean ({} tokens, {} per second)",
+                    rateLimit.getCapacity(), rateLimit.getRefillPerSecond());
+            return new TokenBucketRateLimiter(rateLimit.getCapacity(), rateLimit.getRefillPerSecond(),
+                    rateLimit.getMaximumClients(), System::nanoTime);
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        public ClientIdentityResolver clientIdentityResolver(GraphQLAutoGenProperties properties) {
+            GraphQLAutoGenProperties.RateLimit rateLimit = properties.getRateLimit();
+            if (!StringUtils.hasText(rateLimit.getClientHeader())) {
+                return ClientIdentityResolver.principalOrRemoteAddress();
+            }
+            if (rateLimit.getTrustedProxies().isEmpty()) {
+                log.warn("Ignoring the rate limit client header {}: no trusted proxy is configured",
+                        rateLimit.getClientHeader());
+            }
+            return ClientIdentityResolver.trustedHeader(rateLimit.getClientHeader(), rateLimit.getTrustedProxies());
+        }
+
+        @Bean
+        public ClientIdentityInterceptor clientIdentityInterceptor(ClientIdentityResolver clientIdentityResolver) {
+            return new ClientIdentityInterceptor(clientIdentityResolver);
+        }
+
+        @Configuration
+        @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+        static class ServletClientPrincipalConfiguration {
+
+            @Bean
+            public ClientPrincipalFilter clientPrincipalFilter() {
+                return new ClientPrincipalFilter();
+            }
+        }
+
+        @Configuration
+        @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+        static class ReactiveClientPrincipalConfiguration {
+
+            @Bean
+            public ClientPrincipalWebFilter clientPrincipalWebFilter() {
+                return new ClientPrincipalWebFilter();
+            }
+        }
+
+        @Bean
+        @Order(1)
+        @ConditionalOnMissingBean
+        public CostRateLimitInstrumentation costRateLimitInstrumentation(QueryComplexityAnalyzer queryComplexityAnalyzer,
+                                                                         RateLimiter rateLimiter) {
+            log.debug("Creating CostRateLimitInstrumentation bean");
+            return new CostRateLimitInstrumentation(queryComplexityAnalyzer, rateLimiter);
+        }
+    }
+
+    /**
+     * Configuration for {@code @GraphQLCache} field result caching.
+     */
+    @Configuration
+    @ConditionalOnProperty(
+        prefix = "spring.graphql.autogen.field-cache",
+        name = "enabled",
+        havingValue = "true",
+        matchIfMissing = true
+    )
+    static class FieldCacheConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public FieldCacheDefinitions fieldCacheDefinitions(AnnotationScanner annotationScanner,
+                                                           GraphQLAutoGenProperties properties,
+                                                           BeanFactory beanFactory) {
+            log.debug("Creating FieldCacheDefinitions bean");
+            return FieldCacheDefinitions.fromAnnotatedClasses(
+                    annotationScanner.scanForAnnotatedClasses(resolveBasePackages(properties, beanFactory)));
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        public FieldResultCache fieldResultCache(GraphQLAutoGenProperties properties) {
+            log.debug("Creating FieldResultCache bean");
+            return new FieldResultCache(properties.getFieldCache().getMaximumSize());
+        }
+
+        @Bean
+        public GraphQlSourceBuilderCustomizer fieldCacheCustomizer(FieldCacheDefinitions fieldCacheDefinitions,
+                                                                   FieldResultCache fieldResultCache) {
+            return builder -> {
+                if (!fieldCacheDefinitions.isEmpty()) {
+                    builder.typeVisitors(List.of(new FieldCacheTypeVisitor(fieldCacheDefinitions, fieldResultCache)));
+                }
+            };
+        }
+    }
+
+    /**
+     * Configuration for whole-response caching.
+     */
+    @Configuration
+    @ConditionalOnProperty(
+        prefix = "spring.graphql.autogen.response-cache",
+        name = "enabled",
+        havingValue = "true"
+    )
+    static class ResponseCacheConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public ResponseCachePolicy responseCachePolicy(AnnotationScanner annotationScanner,
+                                                       GraphQLAutoGenProperties properties,
+                                                       BeanFactory beanFactory) {
+            log.debug("Creating ResponseCachePolicy bean");
+            return ResponseCachePolicy.fromAnnotatedClasses(
+                    annotationScanner.scanForAnnotatedClasses(resolveBasePackages(properties, beanFactory)),
+                    properties.getResponseCache().getDefaultTtl());
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        public ResponseCache responseCache(GraphQLAutoGenProperties properties) {
+            log.debug("Creating ResponseCache bean");
+            return new ResponseCache(properties.getResponseCache().getMaximumSize());
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        public ResponseCacheKeyResolver responseCacheKeyResolver(ResponseCachePolicy responseCachePolicy,
+                                                                 ResponseCache responseCache,
+                                                                 GraphQLAutoGenProperties properties,
+                                                                 ObjectProvider<GraphQlSource> graphQlSource,
+                                                                 ObjectProvider<ObjectMapper> objectMapper) {
+            return new ResponseCacheKeyResolver(objectMapper.getIfAvailable(ObjectMapper::new), () -> {
+                GraphQlSource source = graphQlSource.getIfAvailable();
+                return source != null ? source.schema() : null;
+            }, responseCachePolicy, properties.getResponseCache().getVaryHeaders(), responseCache);
+        }
+
+        @Bean
+        public ResponseCacheInterceptor responseCacheInterceptor(ResponseCache responseCache,
+                                                                 ObjectProvider<ObjectMapper> objectMapper) {
+            return new ResponseCacheInterceptor(responseCache, objectMapper.getIfAvailable(ObjectMapper::new));
+        }
+
+        @Bean
+        public ResponseCacheInvalidationInstrumentation responseCacheInvalidationInstrumentation(
+                ResponseCachePolicy responseCachePolicy, ResponseCache responseCache) {
+            return new ResponseCacheInvalidationInstrumentation(responseCachePolicy, responseCache);
+        }
+
+        @Configuration
+        @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+        static class ServletResponseCacheConfiguration {
+
+            @Bean
+            public ResponseCacheFilter responseCacheFilter(@Value("${spring.graphql.path:/graphql}") String graphQlPath,
+                                                           ResponseCacheKeyResolver responseCacheKeyResolver,
+                                                           ResponseCache responseCache) {
+                return new ResponseCacheFilter(graphQlPath, responseCacheKeyResolver, responseCache);
+            }
+        }
+
+        @Configuration
+        @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+        static class ReactiveResponseCacheConfiguration {
+
+            @Bean
+            public ResponseCacheWebFilter responseCacheWebFilter(@Value("${spring.graphql.path:/graphql}") String graphQlPath,
+                                                                 ResponseCacheKeyResolver responseCacheKeyResolver,
+                                                                 ResponseCache responseCache) {
+                return new ResponseCacheWebFilter(graphQlPath, responseCacheKeyResolver, responseCache);
+            }
+        }
+    }
+
+    /**
+     * Configuration for incremental delivery of {@code @defer} responses.
+     */
+    @Configuration
+    @ConditionalOnProperty(
+        prefix = "spring.graphql.autogen.incremental",
+        name = "enabled",
+        havingValue = "true"
+    )
+    static class IncrementalDeliveryConfiguration {
+
+        @Bean
+        public GraphQlSourceBuilderCustomizer incrementalDirectivesCustomizer() {
+            return builder -> builder.configureTypeDefinitions(new IncrementalDirectivesConfigurer());
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        public IncrementalDelivery incrementalDelivery(ObjectProvider<WebGraphQlHandler> webGraphQlHandler,
+                                                       ObjectProvider<ObjectMapper> objectMapper) {
+            log.debug("Creating IncrementalDelivery bean");
+            return new IncrementalDelivery(webGraphQlHandler::getObject, objectMapper.getIfAvailable(ObjectMapper::new));
+        }
+
+        @Configuration
+        @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+        static class ServletIncrementalDeliveryConfiguration {
+
+            @Bean
+            public IncrementalDeliveryFilter incrementalDeliveryFilter(@Value("${spring.graphql.path:/graphql}") String graphQlPath,
+                                                                       IncrementalDelivery incrementalDelivery) {
+                return new IncrementalDeliveryFilter(graphQlPath, incrementalDelivery);
+            }
+        }
+
+        @Configuration
+        @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+        static class ReactiveIncrementalDeliveryConfiguration {
+
+            @Bean
+            public IncrementalDeliveryWebFilter incrementalDeliveryWebFilter(
+                    @Value("${spring.graphql.path:/graphql}") String graphQlPath,
+                    IncrementalDelivery incrementalDelivery) {
+                return new IncrementalDeliveryWebFilter(graphQlPath, incrementalDelivery);
+            }
+        }
+    }
+
+    /**
+     * Configuration for the query fields returning a Stream, an Iterator or a Flux, whose
+     * elements are collected to a list unless their responses are streamed.
+     */
+    @Configuration
+    static class StreamingConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public StreamingFields streamingFields(AnnotationScanner annotationScanner,
+                                               GraphQLAutoGenProperties properties,
+                                               BeanFactory beanFactory) {
+            log.debug("Creating StreamingFields bean");
+            return StreamingFields.fromAnnotatedClasses(
+                    annotationScanner.scanForAnnotatedClasses(resolveBasePackages(properties, beanFactory)));
+        }
+
+        @Bean
+        public GraphQlSourceBuilderCustomizer streamingCustomizer(StreamingFields streamingFields) {
+            return builder -> {
+                if (!streamingFields.isEmpty()) {
+                    builder.typeVisitors(List.of(new StreamingTypeVisitor(streamingFields)));
+                }
+            };
+        }
+
+        @Configuration
+        @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+        @ConditionalOnProperty(
+            prefix = "spring.graphql.autogen.streaming",
+            name = "enabled",
+            havingValue = "true"
+        )
+        static class ServletStreamingConfiguration {
+
+            @Bean
+            public GraphQlSourceBuilderCustomizer streamingExecutionStrategyCustomizer(
+                    StreamingFields streamingFields,
+                    ObjectProvider<DataFetcherExceptionResolver> exceptionResolvers) {
+                return builder -> {
+                    if (!streamingFields.isEmpty()) {
+                        // replaces the default query strategy, with the same exception handling
+                        DataFetcherExceptionHandler exceptionHandler = DataFetcherExceptionResolver
+                                .createExceptionHandler(exceptionResolvers.orderedStream().toList());
+                        builder.configureGraphQl(graphQl -> graphQl
+                                .queryExecutionStrategy(new StreamingExecutionStrategy(exceptionHandler)));
+                    }
+                };
+            }
+
+            /**
+             * Produces the chunks of a request in a read-only transaction, which keeps the
+             * JDBC cursor of a JPA {@code Stream} open, and detaches the entities of each
+             * chunk once written.
+             */
+            @Configuration
+            @ConditionalOnClass(name = {
+                "org.springframework.transaction.support.TransactionTemplate",
+                "org.springframework.orm.jpa.EntityManagerFactoryUtils"
+            })
+            static class TransactionalStreamingConfiguration {
+
+                @Bean
+                @ConditionalOnMissingBean
+                public StreamingExecution transactionalStreamingExecution(
+                        ObjectProvider<WebGraphQlHandler> webGraphQlHandler,
+                        ObjectProvider<ObjectMapper> objectMapper,
+                        StreamingFields streamingFields,
+                        GraphQLAutoGenProperties properties,
+                        ObjectProvider<PlatformTransactionManager> transactionManager,
+                        ObjectProvider<EntityManagerFactory> entityManagerFactory) {
+                    log.debug("Creating StreamingExecution bean");
+                    return new StreamingExecution(webGraphQlHandler::getObject, objectMapper.getIfAvailable(ObjectMapper::new),
+                            streamingFields, properties.getStreaming().getChunkSize(), work -> {
+                                PlatformTransactionManager manager = transactionManager.getIfUnique();
+                                if (manager == null) {
+                                    work.run();
+                                    return;
+                                }
+                                TransactionTemplate transaction = new TransactionTemplate(manager);
+                                transaction.setReadOnly(true);
+                                transaction.executeWithoutResult(status -> work.run());
+                            }, () -> {
+                                EntityManagerFactory factory = entityManagerFactory.getIfUnique();
+                                EntityManager entityManager = factory != null
+                                        ? EntityManagerFactoryUtils.getTransactionalEntityManager(factory)
+                                        : null;
+                                if (entityManager != null) {
+                                    entityManager.clear();
+                                }
+                            });
+                }
+            }
+
+            @Bean
+            @ConditionalOnMissingBean
+            public StreamingExecution streamingExecution(ObjectProvider<WebGraphQlHandler> webGraphQlHandler,
+                                                         ObjectProvider<ObjectMapper> objectMapper,
+                                                         StreamingFields streamingFields,
+                                                         GraphQLAutoGenProperties properties) {
+                log.debug("Creating StreamingExecution bean");
+                return new StreamingExecution(webGraphQlHandler::getObject, objectMapper.getIfAvailable(ObjectMapper::new),
+                        streamingFields, properties.getStreaming().getChunkSize());
+            }
+
+            @Bean
+            public StreamingResponseFilter streamingResponseFilter(@Value("${spring.graphql.path:/graphql}") String graphQlPath,
+                                                                   StreamingExecution streamingExecution,
+                                                                   StreamingFields streamingFields) {
+                return new StreamingResponseFilter(graphQlPath, streamingExecution, streamingFields);
+            }
+        }
+    }
+
+    /**
+     * Configuration for direct JSON serialization of the HTTP responses.
+     */
+    @Configuration
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    @ConditionalOnClass(name = "org.springframework.graphql.server.webmvc.GraphQlHttpHandler")
+    @ConditionalOnProperty(
+        prefix = "spring.graphql.autogen.json-writer",
+        name = "enabled",
+        havingValue = "true"
+    )
+    static class JsonWriterConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public ExecutionResultJsonWriter executionResultJsonWriter(ObjectProvider<ObjectMapper> objectMapper) {
+            log.debug("Creating ExecutionResultJsonWriter bean");
+            return new ExecutionResultJsonWriter(objectMapper.getIfAvailable(ObjectMapper::new));
+        }
+
+        @Bean
+        public static GraphQlHttpHandlerPostProcessor graphQlHttpHandlerPostProcessor(
+                ObjectProvider<WebGraphQlHandler> webGraphQlHandler,
+                ObjectProvider<ExecutionResultJsonWriter> executionResultJsonWriter,
+                ObjectProvider<ObjectMapper> objectMapper) {
+            return new GraphQlHttpHandlerPostProcessor(webGraphQlHandler::getObject, () -> new ExecutionResultHttpMessageConverter(
+                    objectMapper.getIfAvailable(ObjectMapper::new), executionResultJsonWriter.getObject()));
+        }
+    }
+
+    /**
+     * Configuration for array-batched requests.
+     */
+    @Configuration
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    @ConditionalOnProperty(
+        prefix = "spring.graphql.autogen.batching",
+        name = "enabled",
+        havingValue = "true"
+    )
+    static class BatchingConfiguration {
+
+        @Bean(destroyMethod = "close")
+        @ConditionalOnMissingBean
+        public BatchExecution batchExecution(ObjectProvider<WebGraphQlHandler> webGraphQlHandler,
+                                             ObjectProvider<ObjectMapper> objectMapper,
+                                             GraphQLAutoGenProperties properties) {
+            GraphQLAutoGenProperties.Batching batching = properties.getBatching();
+            log.debug("Creating BatchExecution bean ({} operations per batch, {} at once)",
+                    batching.getMaxOperations(), batching.getMaxConcurrency());
+            return new BatchExecution(webGraphQlHandler::getObject, objectMapper.getIfAvailable(ObjectMapper::new),
+                    batching.getMaxOperations(), batching.getMaxConcurrency());
+        }
+
+        @Bean
+        public BatchRequestFilter batchRequestFilter(@Value("${spring.graphql.path:/graphql}") String graphQlPath,
+                                                     BatchExecution batchExecution) {
+            return new BatchRequestFilter(graphQlPath, batchExecution);
+        }
+    }
+
+    /**
+     * Configuration for keyset pagination, filtering and fetch planning of connections over Spring Data JPA.
+     */
+    @Configuration
+    @ConditionalOnClass(name = "org.springframework.data.jpa.repository.JpaSpecificationExecutor")
+    static class KeysetPaginationConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public TotalCountProvider totalCountProvider(GraphQLAutoGenProperties properties) {
+            log.debug("Creating TotalCountProvider bean");
+            Duration cacheTtl = properties.getPagination().getTotalCountCacheTtl();
+            return cacheTtl != null ? new CachingTotalCountProvider(cacheTtl) : TotalCountProvider.exact();
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        public CursorCodec cursorCodec(GraphQLAutoGenProperties properties) {
+            log.debug("Creating CursorCodec bean");
+            String signingKey = properties.getPagination().getCursorSigningKey();
+            return new CursorCodec(signingKey != null ? signingKey.getBytes(StandardCharsets.UTF_8) : null);
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        public SelectionFetchPlanner selectionFetchPlanner() {
+            log.debug("Creating SelectionFetchPlanner bean");
+            return new SelectionFetchPlanner();
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        public FilterSpecificationCompiler filterSpecificationCompiler() {
+            log.debug("Creating FilterSpecificationCompiler bean");
+            return new FilterSpecificationCompiler();
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        public KeysetPaginator keysetPaginator(TotalCountProvider totalCountProvider, CursorCodec cursorCodec,
+                                               SelectionFetchPlanner selectionFetchPlanner,
+                                               GraphQLAutoGenProperties properties) {
+            log.debug("Creating KeysetPaginator bean");
+            return new KeysetPaginator(totalCountProvider, cursorCodec,
+                    properties.getPagination().isSelectionFetchPlan() ? selectionFetchPlanner : null);
+        }
+    }
+
+    /**
+     * Configuration for serving {@code @GraphQLSubscription} fields with published {@code @GraphQLEvent} objects.
+     */
+    @Configuration
+    @ConditionalOnClass(name = "reactor.core.publisher.Flux")
+    @ConditionalOnProperty(
+        prefix = "spring.graphql.autogen.subscription",
+        name = "enabled",
+        havingValue = "true",
+        matchIfMissing = true
+    )
+    static class SubscriptionConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public SubscriptionBufferMetrics subscriptionBufferMetrics() {
+            return new SubscriptionBufferMetrics();
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        public SubscriptionRegistry subscriptionRegistry(GraphQLAutoGenProperties properties,
+                                                         SubscriptionBufferMetrics subscriptionBufferMetrics) {
+            log.debug("Creating SubscriptionRegistry bean");
+            GraphQLAutoGenProperties.Subscription subscription = properties.getSubscription();
+            return new SubscriptionRegistry(subscription.getBufferSize(), subscription.getOverflowPolicy(),
+                    subscriptionBufferMetrics);
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        public GraphQLEventListener graphQLEventListener(SubscriptionRegistry subscriptionRegistry,
+                                                         ObjectProvider<GraphQLEventBus> eventBus) {
+            log.debug("Creating GraphQLEventListener bean");
+            return new GraphQLEventListener(eventBus.getIfAvailable(() -> subscriptionRegistry::publish));
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        public SubscriptionRuntimeWiringConfigurer subscriptionRuntimeWiringConfigurer(
+                SubscriptionRegistry subscriptionRegistry, ListableBeanFactory beanFactory) {
+            log.debug("Creating SubscriptionRuntimeWiringConfigurer bean");
+            return new SubscriptionRuntimeWiringConfigurer(subscriptionRegistry, beanFactory);
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        public SubscriptionBroadcaster subscriptionBroadcaster(ObjectProvider<GraphQlSource> graphQlSource,
+                                                               ObjectProvider<ObjectMapper> objectMapper) {
+            log.debug("Creating SubscriptionBroadcaster bean");
+            return new SubscriptionBroadcaster(() -> graphQlSource.getObject().graphQl(),
+                    objectMapper.getIfAvailable(ObjectMapper::new));
+        }
+
+        /**
+         * Publishes the subscription buffer metrics when Micrometer is on the classpath.
+         */
+        @Configuration
+        @ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+        static class SubscriptionMeterBinderConfiguration {
+
+            @Bean
+            @ConditionalOnMissingBean
+            public SubscriptionBufferMeterBinder subscriptionBufferMeterBinder(
+                    SubscriptionBufferMetrics subscriptionBufferMetrics) {
+                return new SubscriptionBufferMeterBinder(subscriptionBufferMetrics);
+            }
+        }
+    }
+
+    /**
+     * Configuration for the asynchronous ring buffer event bus feeding subscriptions.
+     */
+    @Configuration
+    @ConditionalOnClass(name = "reactor.core.publisher.Flux")
+    @ConditionalOnProperty(prefix = "spring.graphql.autogen.subscription.event-bus", name = "enabled", havingValue = "true")
+    static class SubscriptionEventBusConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean(GraphQLEventBus.class)
+        public RingBufferEventBus graphQLEventBus(SubscriptionRegistry subscriptionRegistry,
+                                                  ObjectProvider<EventBusAdapter> eventBusAdapter,
+                                                  GraphQLAutoGenProperties properties) {
+            log.debug("Creating RingBufferEventBus bean");
+            GraphQLAutoGenProperties.Subscription.EventBus settings = properties.getSubscription().getEventBus();
+            RingBufferEventBus eventBus = new RingBufferEventBus(subscriptionRegistry, eventBusAdapter.getIfAvailable(),
+                    settings.getCapacity(), settings.getConsumers(), settings.getBatchSize());
+            eventBus.start();
+            return eventBus;
+        }
+    }
+
+    /**
+     * Configuration for the WebFlux WebSocket endpoint delivering shared subscription payloads.
+     */
+    @Configuration
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    @ConditionalOnClass(name = "org.springframework.web.reactive.socket.WebSocketHandler")
+    @ConditionalOnProperty(prefix = "spring.graphql.autogen.subscription", name = "shared-websocket-path")
+    static class SharedSubscriptionWebSocketConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public SharedSubscriptionWebSocketHandler sharedSubscriptionWebSocketHandler(
+                SubscriptionBroadcaster subscriptionBroadcaster, ObjectProvider<WebGraphQlHandler> webGraphQlHandler,
+                ObjectProvider<ObjectMapper> objectMapper, SubscriptionBufferMetrics subscriptionBufferMetrics,
+                GraphQLAutoGenProperties properties) {
+            log.debug("Creating SharedSubscriptionWebSocketHandler bean");
+            GraphQLAutoGenProperties.Subscription subscription = properties.getSubscription();
+            return new SharedSubscriptionWebSocketHandler(subscriptionBroadcaster, webGraphQlHandler::getObject,
+                    objectMapper.getIfAvailable(ObjectMapper::new), subscription.getBufferSize(),
+                    subscription.getOverflowPolicy(), subscriptionBufferMetrics);
+        }
+
+        @Bean
+        public HandlerMapping sharedSubscriptionHandlerMapping(SharedSubscriptionWebSocketHandler handler,
+                                                               GraphQLAutoGenProperties properties) {
+            log.debug("Mapping shared subscriptions to {}", properties.getSubscription().getSharedWebsocketPath());
+            return new SimpleUrlHandlerMapping(
+                    Map.of(properties.getSubscription().getSharedWebsocketPath(), handler), -1);
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        public WebSocketHandlerAdapter webSocketHandlerAdapter() {
+            return new WebSocketHandlerAdapter();
+        }
+    }
+
     /**
      * Configuration for DevTools integration.
      */
@@ -220,9 +1360,10 @@ public class GraphQLAutoGenAutoConfiguration implements ApplicationContextAware
 
         @Bean
         public GraphQLSchemaGenerationDevToolsListener devToolsListener(
-                @Lazy GraphQLSchemaGenerationService schemaGenerationService) {  // Ajout de @Lazy
+                @Lazy GraphQLSchemaGenerationService schemaGenerationService,  // Ajout de @Lazy
+                ObjectProvider<PreparsedDocumentCache> documentCache) {
             log.debug("Creating GraphQLSchemaGenerationDevToolsListener bean");
-            return new GraphQLSchemaGenerationDevToolsListener(schemaGenerationService);
+            return new GraphQLSchemaGenerationDevToolsListener(schemaGenerationService, documentCache.getIfAvailable());
         }
     }
 }
@@ -1,11 +1,23 @@
 package com.enokdev.graphql.autogen.starter;
 
+import com.enokdev.graphql.autogen.annotation.GraphQLSubscription.OverflowPolicy;
+import com.enokdev.graphql.autogen.starter.instrumentation.ExecutionEventLog;
+import com.enokdev.graphql.autogen.starter.cache.FieldResultCache;
+import com.enokdev.graphql.autogen.starter.execution.InMemoryPersistedQueryStore;
+import com.enokdev.graphql.autogen.starter.execution.PreparsedDocumentCache;
+import com.enokdev.graphql.autogen.starter.instrumentation.FieldTimingRecorder;
+import com.enokdev.graphql.autogen.starter.instrumentation.OperationNameLimiter;
+import com.enokdev.graphql.autogen.starter.ratelimit.TokenBucketRateLimiter;
+import com.enokdev.graphql.autogen.starter.subscription.SubscriptionRegistry;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Configuration properties for GraphQL Auto-Generator.
@@ -72,8 +84,11 @@ public class GraphQLAutoGenProperties {
     private boolean generatePayloads = true;
 
     /**
-     * Custom type mappings from Java types to GraphQL scalar names.
-     * Example: LocalDateTime -> DateTime, BigDecimal -> Decimal
+     * Custom type mappings from Java types to GraphQL scalar names, which take precedence
+     * over the built-in scalars. A mapping to a built-in name such as ID uses the built-in
+     * scalar. Example: LocalDateTime -> DateTime, BigDecimal -> Decimal
+     * Default: the java.time types to DateTime, Date and Time, and UUID to ID. BigDecimal
+     * stays a Float unless mapped to Decimal, and UUID is validated when mapped to UUID.
      */
     private Map<String, String> typeMapping = new HashMap<>();
 
@@ -115,6 +130,76 @@ public class GraphQLAutoGenProperties {
      */
     private boolean validateSchema = true;
 
+    /**
+     * Runtime DataLoader settings.
+     */
+    private final DataLoader dataLoader = new DataLoader();
+
+    /**
+     * Runtime pagination settings.
+     */
+    private final Pagination pagination = new Pagination();
+
+    /**
+     * Runtime subscription settings.
+     */
+    private final Subscription subscription = new Subscription();
+
+    /**
+     * Runtime instrumentation settings.
+     */
+    private final Instrumentation instrumentation = new Instrumentation();
+
+    /**
+     * Parsed document cache settings.
+     */
+    private final DocumentCache documentCache = new DocumentCache();
+
+    /**
+     * Automatic persisted query settings.
+     */
+    private final PersistedQueries persistedQueries = new PersistedQueries();
+
+    /**
+     * Query depth and complexity limits.
+     */
+    private final Complexity complexity = new Complexity();
+
+    /**
+     * Cost-based rate limiting settings.
+     */
+    private final RateLimit rateLimit = new RateLimit();
+
+    /**
+     * {@code @GraphQLCache} field result cache settings.
+     */
+    private final FieldCache fieldCache = new FieldCache();
+
+    /**
+     * Whole-response cache settings.
+     */
+    private final ResponseCache responseCache = new ResponseCache();
+
+    /**
+     * Incremental delivery settings.
+     */
+    private final Incremental incremental = new Incremental();
+
+    /**
+     * Streamed list settings.
+     */
+    private final Streaming streaming = new Streaming();
+
+    /**
+     * Response serialization settings.
+     */
+    private final JsonWriter jsonWriter = new JsonWriter();
+
+    /**
+     * Array-batched request settings.
+     */
+    private final Batching batching = new Batching();
+
     public enum NamingStrategy {
         CAMEL_CASE,
         PASCAL_CASE,
@@ -126,13 +211,965 @@ public class GraphQLAutoGenProperties {
         BUILD_TIME
     }
 
+    /**
+     * DataLoader properties, bound to {@code spring.graphql.autogen.data-loader}.
+     */
+    public static class DataLoader {
+
+        /**
+         * Whether entities returned by root queries are primed into the matching
+         * per-request DataLoaders, so later loads for the same keys skip the batch loader.
+         * Default: false
+         */
+        private boolean primeFromQueries = false;
+
+        public boolean isPrimeFromQueries() {
+            return primeFromQueries;
+        }
+
+        public void setPrimeFromQueries(boolean primeFromQueries) {
+            this.primeFromQueries = primeFromQueries;
+        }
+    }
+
+    /**
+     * Pagination properties, bound to {@code spring.graphql.autogen.pagination}.
+     */
+    public static class Pagination {
+
+        /**
+         * How long the total count of an unfiltered connection is cached. When unset, every
+         * page that selects {@code totalCount} runs an exact count query.
+         */
+        private Duration totalCountCacheTtl;
+
+        /**
+         * Secret used to sign pagination cursors with HMAC-SHA256, at least 16 bytes long.
+         * When unset, cursors are not signed.
+         */
+        private String cursorSigningKey;
+
+        /**
+         * Whether keyset connections load only the to-one associations selected under
+         * {@code edges/node}, fetch-joined through a JPA fetch graph.
+         * Default: false
+         */
+        private boolean selectionFetchPlan = false;
+
+        public Duration getTotalCountCacheTtl() {
+            return totalCountCacheTtl;
+        }
+
+        public void setTotalCountCacheTtl(Duration totalCountCacheTtl) {
+            this.totalCountCacheTtl = totalCountCacheTtl;
+        }
+
+        public String getCursorSigningKey() {
+            return cursorSigningKey;
+        }
+
+        public void setCursorSigningKey(String cursorSigningKey) {
+            this.cursorSigningKey = cursorSigningKey;
+        }
+
+        public boolean isSelectionFetchPlan() {
+            return selectionFetchPlan;
+        }
+
+        public void setSelectionFetchPlan(boolean selectionFetchPlan) {
+            this.selectionFetchPlan = selectionFetchPlan;
+        }
+    }
+
+    /**
+     * Subscription properties, bound to {@code spring.graphql.autogen.subscription}.
+     */
+    public static class Subscription {
+
+        /**
+         * Whether {@code @GraphQLSubscription} methods returning an event type are served
+         * with the {@code @GraphQLEvent} objects published through the application context.
+         * Default: true
+         */
+        private boolean enabled = true;
+
+        /**
+         * Path of a {@code graphql-transport-ws} endpoint, WebFlux only, that runs identical
+         * subscriptions once and sends every subscriber the same serialized payload.
+         * When unset, the endpoint is not exposed.
+         */
+        private String sharedWebsocketPath;
+
+        /**
+         * Number of events buffered for a subscriber that reads slower than events are
+         * published, unless the subscription declares its own.
+         * Default: 256
+         */
+        private int bufferSize = SubscriptionRegistry.DEFAULT_BUFFER_SIZE;
+
+        /**
+         * What happens to an event arriving when a subscriber buffer is full, unless the
+         * subscription declares its own policy.
+         * Default: DROP_OLDEST
+         */
+        private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_OLDEST;
+
+        /**
+         * Asynchronous event bus settings.
+         */
+        private final EventBus eventBus = new EventBus();
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getSharedWebsocketPath() {
+            return sharedWebsocketPath;
+        }
+
+        public void setSharedWebsocketPath(String sharedWebsocketPath) {
+            this.sharedWebsocketPath = sharedWebsocketPath;
+        }
+
+        public int getBufferSize() {
+            return bufferSize;
+        }
+
+        public void setBufferSize(int bufferSize) {
+            this.bufferSize = bufferSize;
+        }
+
+        public OverflowPolicy getOverflowPolicy() {
+            return overflowPolicy;
+        }
+
+        public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+            this.overflowPolicy = overflowPolicy;
+        }
+
+        public EventBus getEventBus() {
+            return eventBus;
+        }
+
+        /**
+         * Event bus properties, bound to {@code spring.graphql.autogen.subscription.event-bus}.
+         */
+        public static class EventBus {
+
+            /**
+             * Whether published {@code @GraphQLEvent} objects are queued on a ring buffer and
+             * fanned out to subscribers on dedicated threads instead of the publishing thread.
+             * Default: false
+             */
+            private boolean enabled = false;
+
+            /**
+             * Number of slots of the ring buffer, rounded up to a power of two.
+             * Default: 8192
+             */
+            private int capacity = 8192;
+
+            /**
+             * Number of consumer threads. Events are dispatched in order with a single consumer.
+             * Default: 1
+             */
+            private int consumers = 1;
+
+            /**
+             * Maximum number of events a consumer takes from the ring buffer at once.
+             * Default: 256
+             */
+            private int batchSize = 256;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public int getCapacity() {
+                return capacity;
+            }
+
+            public void setCapacity(int capacity) {
+                this.capacity = capacity;
+            }
+
+            public int getConsumers() {
+                return consumers;
+            }
+
+            public void setConsumers(int consumers) {
+                this.consumers = consumers;
+            }
+
+            public int getBatchSize() {
+                return batchSize;
+            }
+
+            public void setBatchSize(int batchSize) {
+                this.batchSize = batchSize;
+            }
+        }
+    }
+
+    /**
+     * Instrumentation properties, bound to {@code spring.graphql.autogen.instrumentation}.
+     */
+    public static class Instrumentation {
+
+        /**
+         * Per-field resolver timing settings.
+         */
+        private final FieldTiming fieldTiming = new FieldTiming();
+
+        /**
+         * Execution log settings.
+         */
+        private final ExecutionLog executionLog = new ExecutionLog();
+
+        /**
+         * Java Flight Recorder settings.
+         */
+        private final Jfr jfr = new Jfr();
+
+        /**
+         * Schema and operation metrics settings.
+         */
+        private final Metrics metrics = new Metrics();
+
+        public FieldTiming getFieldTiming() {
+            return fieldTiming;
+        }
+
+        public ExecutionLog getExecutionLog() {
+            return executionLog;
+        }
+
+        public Jfr getJfr() {
+            return jfr;
+        }
+
+        public Metrics getMetrics() {
+            return metrics;
+        }
+
+        /**
+         * Field timing properties, bound to {@code spring.graphql.autogen.instrumentation.field-timing}.
+         */
+        public static class FieldTiming {
+
+            /**
+             * Whether the durations of non-trivial field fetches are sampled into
+             * per-field histograms.
+             * Default: false
+             */
+            private boolean enabled = false;
+
+            /**
+             * Fraction of the field fetches that are timed, between 0 and 1.
+             * Default: 0.1
+             */
+            private double sampleRate = FieldTimingRecorder.DEFAULT_SAMPLE_RATE;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public double getSampleRate() {
+                return sampleRate;
+            }
+
+            public void setSampleRate(double sampleRate) {
+                this.sampleRate = sampleRate;
+            }
+        }
+
+        /**
+         * Execution log properties, bound to {@code spring.graphql.autogen.instrumentation.execution-log}.
+         */
+        public static class ExecutionLog {
+
+            /**
+             * Whether completed executions are recorded and logged by a background thread.
+             * Default: false
+             */
+            private boolean enabled = false;
+
+            /**
+             * Which executions are logged: OFF, SLOW (slow or failed ones) or ALL.
+             * Default: SLOW
+             */
+            private ExecutionEventLog.Mode mode = ExecutionEventLog.Mode.SLOW;
+
+            /**
+             * Duration from which an execution is logged as slow.
+             * Default: 500ms
+             */
+            private Duration slowThreshold = Duration.ofMillis(500);
+
+            /**
+             * Number of executions buffered between two flushes; executions recorded while
+             * the buffer is full are dropped.
+             * Default: 1024
+             */
+            private int capacity = ExecutionEventLog.DEFAULT_CAPACITY;
+
+            /**
+             * How often the buffered executions are written by the background thread.
+             * Default: 1s
+             */
+            private Duration flushInterval = Duration.ofSeconds(1);
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public ExecutionEventLog.Mode getMode() {
+                return mode;
+            }
+
+            public void setMode(ExecutionEventLog.Mode mode) {
+                this.mode = mode;
+            }
+
+            public Duration getSlowThreshold() {
+                return slowThreshold;
+            }
+
+            public void setSlowThreshold(Duration slowThreshold) {
+                this.slowThreshold = slowThreshold;
+            }
+
+            public int getCapacity() {
+                return capacity;
+            }
+
+            public void setCapacity(int capacity) {
+                this.capacity = capacity;
+            }
+
+            public Duration getFlushInterval() {
+                return flushInterval;
+            }
+
+            public void setFlushInterval(Duration flushInterval) {
+                this.flushInterval = flushInterval;
+            }
+        }
+
+        /**
+         * JFR properties, bound to {@code spring.graphql.autogen.instrumentation.jfr}.
+         */
+        public static class Jfr {
+
+            /**
+             * Whether GraphQL executions and slow field fetches are recorded as JFR events
+             * while a recording enables them.
+             * Default: true
+             */
+            private boolean enabled = true;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+        }
+
+        /**
+         * Metrics properties, bound to {@code spring.graphql.autogen.instrumentation.metrics}.
+         */
+        public static class Metrics {
+
+            /**
+             * Whether schema size, generation phase durations and per-operation counts,
+             * errors and latencies are recorded, and {@code graphql.request} observations
+             * are tagged with the operation name when an ObservationRegistry is available.
+             * Default: true
+             */
+            private boolean enabled = true;
+
+            /**
+             * Number of distinct operation names used as tags; later names are reported
+             * as OTHER.
+             * Default: 100
+             */
+            private int maxOperationNames = OperationNameLimiter.DEFAULT_MAX_NAMES;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public int getMaxOperationNames() {
+                return maxOperationNames;
+            }
+
+            public void setMaxOperationNames(int maxOperationNames) {
+                this.maxOperationNames = maxOperationNames;
+            }
+        }
+    }
+
+    /**
+     * Document cache properties, bound to {@code spring.graphql.autogen.document-cache}.
+     */
+    public static class DocumentCache {
+
+        /**
+         * Whether parsed and validated documents are cached, so that repeated queries
+         * skip parsing and validation.
+         * Default: false
+         */
+        private boolean enabled = false;
+
+        /**
+         * Maximum number of cached documents; the least recently used one is evicted
+         * beyond it.
+         * Default: 1000
+         */
+        private int maximumSize = PreparsedDocumentCache.DEFAULT_MAXIMUM_SIZE;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(int maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+    }
+
+    /**
+     * Persisted query properties, bound to {@code spring.graphql.autogen.persisted-queries}.
+     */
+    public static class PersistedQueries {
+
+        /**
+         * Whether requests may send {@code extensions.persistedQuery.sha256Hash} instead of
+         * their query.
+         * Default: false
+         */
+        private boolean enabled = false;
+
+        /**
+         * Where registered queries are kept.
+         * Default: MEMORY
+         */
+        private Store store = Store.MEMORY;
+
+        /**
+         * Maximum number of queries kept by the MEMORY store; the least recently used one
+         * is forgotten beyond it.
+         * Default: 10000
+         */
+        private int maximumSize = InMemoryPersistedQueryStore.DEFAULT_MAXIMUM_SIZE;
+
+        /**
+         * Directory of the FILE store, one {@code <hash>.graphql} file per query.
+         * Default: persisted-queries
+         */
+        private String directory = "persisted-queries";
+
+        /**
+         * Location of a persisted query manifest loaded into the store at startup, e.g.
+         * {@code classpath:persisted-queries.json}.
+         * Default: none
+         */
+        private String manifest;
+
+        /**
+         * Whether only the queries already in the store, usually those of the manifest,
+         * can run; no query is registered at runtime.
+         * Default: false
+         */
+        private boolean allowlist = false;
+
+        public enum Store {
+            MEMORY,
+            FILE
+        }
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Store getStore() {
+            return store;
+        }
+
+        public void setStore(Store store) {
+            this.store = store;
+        }
+
+        public int getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(int maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+
+        public String getManifest() {
+            return manifest;
+        }
+
+        public void setManifest(String manifest) {
+            this.manifest = manifest;
+        }
+
+        public boolean isAllowlist() {
+            return allowlist;
+        }
+
+        public void setAllowlist(boolean allowlist) {
+            this.allowlist = allowlist;
+        }
+    }
+
+    /**
+     * Query complexity properties, bound to {@code spring.graphql.autogen.complexity}.
+     *
+     * <p>A {@link com.enokdev.graphql.autogen.config.GraphQLAutoGenConfig} bean, when
+     * defined, provides the limits instead.</p>
+     */
+    public static class Complexity {
+
+        /**
+         * Whether operations exceeding the depth or complexity limit are rejected before
+         * execution.
+         * Default: true
+         */
+        private boolean enabled = true;
+
+        /**
+         * Maximum nesting of fields, introspection fields excluded.
+         * Default: 10
+         */
+        private int maxDepth = 10;
+
+        /**
+         * Maximum static cost of an operation.
+         * Default: 1000
+         */
+        private long maxComplexity = 1000;
+
+        /**
+         * Size counted for a list field whose {@code first}, {@code last} or
+         * {@code pageSize} argument has no value, from the request or a default.
+         * Default: 100
+         */
+        private int maxListSize = 100;
+
+        /**
+         * Weights by {@code Type.field} coordinate, replacing those declared with the
+         * {@code complexity} attribute of the annotations.
+         */
+        private Map<String, Integer> fieldWeights = new HashMap<>();
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxDepth() {
+            return maxDepth;
+        }
+
+        public void setMaxDepth(int maxDepth) {
+            this.maxDepth = maxDepth;
+        }
+
+        public long getMaxComplexity() {
+            return maxComplexity;
+        }
+
+        public void setMaxComplexity(long maxComplexity) {
+            this.maxComplexity = maxComplexity;
+        }
+
+        public int getMaxListSize() {
+            return maxListSize;
+        }
+
+        public void setMaxListSize(int maxListSize) {
+            this.maxListSize = maxListSize;
+        }
+
+        public Map<String, Integer> getFieldWeights() {
+            return fieldWeights;
+        }
+
+        public void setFieldWeights(Map<String, Integer> fieldWeights) {
+            this.fieldWeights = fieldWeights;
+        }
+    }
+
+    /**
+     * Rate limiting properties, bound to {@code spring.graphql.autogen.rate-limit}.
+     */
+    public static class RateLimit {
+
+        /**
+         * Whether the static cost of operations is charged to a per-client token bucket,
+         * rejecting operations once it is empty.
+         * Default: false
+         */
+        private boolean enabled = false;
+
+        /**
+         * Number of tokens a client can spend at once.
+         * Default: 10000
+         */
+        private long capacity = 10_000;
+
+        /**
+         * Number of tokens given back to each client per second.
+         * Default: 1000
+         */
+        private double refillPerSecond = 1000;
+
+        /**
+         * Header identifying the client, set by the trusted proxies. Clients are identified
+         * by their principal, then their remote address, without it.
+         */
+        private String clientHeader;
+
+        /**
+         * IP addresses of the proxies whose client header is trusted.
+         */
+        private Set<String> trustedProxies = new HashSet<>();
+
+        /**
+         * Maximum number of tracked clients; a new client replaces the least recently
+         * active one.
+         * Default: 100000
+         */
+        private int maximumClients = TokenBucketRateLimiter.DEFAULT_MAXIMUM_CLIENTS;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(long capacity) {
+            this.capacity = capacity;
+        }
+
+        public double getRefillPerSecond() {
+            return refillPerSecond;
+        }
+
+        public void setRefillPerSecond(double refillPerSecond) {
+            this.refillPerSecond = refillPerSecond;
+        }
+
+        public String getClientHeader() {
+            return clientHeader;
+        }
+
+        public void setClientHeader(String clientHeader) {
+            this.clientHeader = clientHeader;
+        }
+
+        public Set<String> getTrustedProxies() {
+            return trustedProxies;
+        }
+
+        public void setTrustedProxies(Set<String> trustedProxies) {
+            this.trustedProxies = trustedProxies;
+        }
+
+        public int getMaximumClients() {
+            return maximumClients;
+        }
+
+        public void setMaximumClients(int maximumClients) {
+            this.maximumClients = maximumClients;
+        }
+    }
+
+    /**
+     * Field result cache properties, bound to {@code spring.graphql.autogen.field-cache}.
+     */
+    public static class FieldCache {
+
+        /**
+         * Whether the values of {@code @GraphQLCache} fields are cached.
+         * Default: true
+         */
+        private boolean enabled = true;
+
+        /**
+         * Maximum number of globally cached field values.
+         * Default: 10000
+         */
+        private int maximumSize = FieldResultCache.DEFAULT_MAXIMUM_SIZE;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(int maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+    }
+
+    /**
+     * Response cache properties, bound to {@code spring.graphql.autogen.response-cache}.
+     */
+    public static class ResponseCache {
+
+        /**
+         * Whether the serialized responses of queries are cached and served without
+         * executing them again.
+         * Default: false
+         */
+        private boolean enabled = false;
+
+        /**
+         * Maximum number of cached responses.
+         * Default: 1000
+         */
+        private int maximumSize = 1000;
+
+        /**
+         * How long a response selecting no type with a responseCacheTtl hint is cached.
+         * Default: 60s
+         */
+        private Duration defaultTtl = Duration.ofSeconds(60);
+
+        /**
+         * Request headers identifying the caller, whose values are part of the cache key.
+         * Default: Authorization
+         */
+        private List<String> varyHeaders = new ArrayList<>(List.of("Authorization"));
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(int maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        public Duration getDefaultTtl() {
+            return defaultTtl;
+        }
+
+        public void setDefaultTtl(Duration defaultTtl) {
+            this.defaultTtl = defaultTtl;
+        }
+
+        public List<String> getVaryHeaders() {
+            return varyHeaders;
+        }
+
+        public void setVaryHeaders(List<String> varyHeaders) {
+            this.varyHeaders = varyHeaders;
+        }
+    }
+
+    /**
+     * Incremental delivery properties, bound to {@code spring.graphql.autogen.incremental}.
+     */
+    public static class Incremental {
+
+        /**
+         * Whether the @defer and @stream directives are declared and @defer requests
+         * accepting multipart/mixed are answered incrementally.
+         * Default: false
+         */
+        private boolean enabled = false;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+    }
+
+    /**
+     * Streamed list properties, bound to {@code spring.graphql.autogen.streaming}.
+     */
+    public static class Streaming {
+
+        /**
+         * Whether queries selecting a single field whose method returns a Stream, an Iterator
+         * or a Flux are written to the response as the elements are produced, with the
+         * servlet stack. Otherwise the elements are collected to a list.
+         * Default: false
+         */
+        private boolean enabled;
+
+        /**
+         * Number of elements written at a time, which should match the fetch
+         * size of the underlying JDBC cursor.
+         * Default: 500
+         */
+        private int chunkSize = 500;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+    }
+
+    /**
+     * Response serialization properties, bound to {@code spring.graphql.autogen.json-writer}.
+     */
+    public static class JsonWriter {
+
+        /**
+         * Whether the GraphQL HTTP handler writes its JSON responses directly from the
+         * result tree instead of going through Jackson. This replaces the handler registered
+         * by Spring Boot.
+         * Default: false
+         */
+        private boolean enabled;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+    }
+
+    /**
+     * Array-batched request properties, bound to {@code spring.graphql.autogen.batching}.
+     */
+    public static class Batching {
+
+        /**
+         * Whether POST requests whose body is a JSON array of GraphQL requests are executed
+         * concurrently and answered with the array of their results.
+         * Default: false
+         */
+        private boolean enabled = false;
+
+        /**
+         * Maximum number of operations of a batch, larger batches being rejected.
+         * Default: 20
+         */
+        private int maxOperations = 20;
+
+        /**
+         * Number of operations executed at once across all the batches.
+         * Default: 8
+         */
+        private int maxConcurrency = 8;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxOperations() {
+            return maxOperations;
+        }
+
+        public void setMaxOperations(int maxOperations) {
+            this.maxOperations = maxOperations;
+        }
+
+        public int getMaxConcurrency() {
+            return maxConcurrency;
+        }
+
+        public void setMaxConcurrency(int maxConcurrency) {
+            this.maxConcurrency = maxConcurrency;
+        }
+    }
+
     // Constructors
     public GraphQLAutoGenProperties() {
         // Set default type mappings
         typeMapping.put("java.time.LocalDateTime", "DateTime");
         typeMapping.put("java.time.LocalDate", "Date");
         typeMapping.put("java.time.LocalTime", "Time");
-        typeMapping.put("java.math.BigDecimal", "Decimal");
         typeMapping.put("java.util.UUID", "ID");
     }
 
@@ -241,6 +1278,62 @@ public class GraphQLAutoGenProperties {
         this.validateSchema = validateSchema;
     }
 
+    public DataLoader getDataLoader() {
+        return dataLoader;
+    }
+
+    public Pagination getPagination() {
+        return pagination;
+    }
+
+    public Subscription getSubscription() {
+        return subscription;
+    }
+
+    public Instrumentation getInstrumentation() {
+        return instrumentation;
+    }
+
+    public DocumentCache getDocumentCache() {
+        return documentCache;
+    }
+
+    public PersistedQueries getPersistedQueries() {
+        return persistedQueries;
+    }
+
+    public Complexity getComplexity() {
+        return complexity;
+    }
+
+    public RateLimit getRateLimit() {
+        return rateLimit;
+    }
+
+    public FieldCache getFieldCache() {
+        return fieldCache;
+    }
+
+    public ResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    public Incremental getIncremental() {
+        return incremental;
+    }
+
+    public Streaming getStreaming() {
+        return streaming;
+    }
+
+    public JsonWriter getJsonWriter() {
+        return jsonWriter;
+    }
+
+    public Batching getBatching() {
+        return batching;
+    }
+
     @Override
     public String toString() {
         return "GraphQLAutoGenProperties{" +
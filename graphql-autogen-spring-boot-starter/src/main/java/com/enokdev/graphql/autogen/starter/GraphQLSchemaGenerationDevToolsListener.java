@@ -1,6 +1,7 @@
 
 package com.enokdev.graphql.autogen.starter;
 
+import com.enokdev.graphql.autogen.starter.execution.PreparsedDocumentCache;
 import org.springframework.boot.devtools.restart.Restarter;
 import org.springframework.context.ApplicationListener;
 import org.springframework.context.event.ContextRefreshedEvent;
@@ -8,15 +9,28 @@ import org.springframework.context.event.ContextRefreshedEvent;
 public class GraphQLSchemaGenerationDevToolsListener implements ApplicationListener<ContextRefreshedEvent> {
 
     private final GraphQLSchemaGenerationService schemaGenerationService;
+    private final PreparsedDocumentCache documentCache;
 
     public GraphQLSchemaGenerationDevToolsListener(GraphQLSchemaGenerationService schemaGenerationService) {
+        this(schemaGenerationService, null);
+    }
+
+    /**
+     * @param documentCache the document cache emptied when the schema is regenerated, or {@code null}
+     */
+    public GraphQLSchemaGenerationDevToolsListener(GraphQLSchemaGenerationService schemaGenerationService,
+                                                   PreparsedDocumentCache documentCache) {
         this.schemaGenerationService = schemaGenerationService;
+        this.documentCache = documentCache;
     }
 
     @Override
     public void onApplicationEvent(ContextRefreshedEvent event) {
         if (isDevToolsRestart()) {
             schemaGenerationService.generateSchema();
+            if (documentCache != null) {
+                documentCache.invalidate();
+            }
         }
     }
 
@@ -2,6 +2,8 @@ package com.enokdev.graphql.autogen.starter;
 
 import com.enokdev.graphql.autogen.generator.SchemaGenerator;
 import com.enokdev.graphql.autogen.scanner.AnnotationScanner;
+import com.enokdev.graphql.autogen.starter.instrumentation.SchemaMetrics;
+import com.enokdev.graphql.autogen.starter.jfr.SchemaWriteEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.io.Resource;
@@ -34,6 +36,7 @@ public class GraphQLSchemaGenerationService {
     private final AnnotationScanner annotationScanner;
     private final GraphQLAutoGenProperties properties;
     private final ResourceLoader resourceLoader;
+    private SchemaMetrics schemaMetrics = new SchemaMetrics();
 
     public GraphQLSchemaGenerationService(
             SchemaGenerator schemaGenerator,
@@ -56,6 +59,13 @@ public class GraphQLSchemaGenerationService {
         this.resourceLoader = resourceLoader;
     }
 
+    /**
+     * Sets the metrics the generation phases are recorded in.
+     */
+    public void setSchemaMetrics(SchemaMetrics schemaMetrics) {
+        this.schemaMetrics = schemaMetrics;
+    }
+
     /**
      * Generates the GraphQL schema and writes it to the configured location.
      * 
@@ -70,7 +80,10 @@ public class GraphQLSchemaGenerationService {
             log.debug("Scanning packages: {}", packagesToScan);
             
             // Scan for annotated classes
-            Set<Class<?>> annotatedClasses = scanForAnnotatedClasses(packagesToScan);
+            Set<Class<?>> annotatedClasses;
+            try (SchemaMetrics.Phase phase = schemaMetrics.phase("scan")) {
+                annotatedClasses = scanForAnnotatedClasses(packagesToScan);
+            }
             log.info("Found {} annotated classes to generate schema from.", annotatedClasses.size());
             
             if (annotatedClasses.isEmpty()) {
@@ -79,19 +92,28 @@ public class GraphQLSchemaGenerationService {
             }
             
             // Generate schema
-            String schemaContent = schemaGenerator.generateSchemaString(new ArrayList<>(annotatedClasses));
+            String schemaContent;
+            try (SchemaMetrics.Phase phase = schemaMetrics.phase("generate")) {
+                schemaContent = schemaGenerator.generateSchemaString(new ArrayList<>(annotatedClasses));
+            }
             
             // Apply formatting and sorting if enabled
             if (properties.isFormatSchema() || properties.isSortSchema()) {
-                schemaContent = processSchemaContent(schemaContent);
+                try (SchemaMetrics.Phase phase = schemaMetrics.phase("format")) {
+                    schemaContent = processSchemaContent(schemaContent);
+                }
             }
             
             // Write schema to file
-            writeSchemaToFile(schemaContent);
+            try (SchemaMetrics.Phase phase = schemaMetrics.phase("write")) {
+                writeSchemaToFile(schemaContent);
+            }
             
             // Validate schema if enabled
             if (properties.isValidateSchema()) {
-                validateGeneratedSchema(schemaContent);
+                try (SchemaMetrics.Phase phase = schemaMetrics.phase("validate")) {
+                    validateGeneratedSchema(schemaContent);
+                }
             }
             
             log.info("GraphQL schema generation completed successfully.");
@@ -232,10 +254,19 @@ public class GraphQLSchemaGenerationService {
         }
 
         // Write schema to file
+        SchemaWriteEvent event = new SchemaWriteEvent();
+        event.begin();
+        byte[] bytes = schemaContent.getBytes();
         try (OutputStream out = Files.newOutputStream(schemaPath, 
                 StandardOpenOption.CREATE, 
                 StandardOpenOption.TRUNCATE_EXISTING)) {
-            out.write(schemaContent.getBytes());
+            out.write(bytes);
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.path = schemaPath.toString();
+            event.bytes = bytes.length;
+            event.commit();
         }
         
         // Vérifier que le fichier a bien été créé avec du contenu
@@ -0,0 +1,44 @@
+package com.enokdev.graphql.autogen.starter.batching;
+
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderRegistry;
+
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Registry of one operation of a batched request, holding the DataLoaders shared by all
+ * the operations of the batch.
+ *
+ * <p>Spring for GraphQL registers new DataLoaders for every operation. The first one
+ * registered under a name is kept for the whole batch, and the operations registering the
+ * same name afterwards get it instead of their own, so that keys loaded by concurrent
+ * operations are cached once and may be dispatched in the same batch. A shared DataLoader
+ * keeps the batch loader context of the operation that registered it.</p>
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class BatchDataLoaderRegistry extends DataLoaderRegistry {
+
+    private final ConcurrentMap<String, DataLoader<?, ?>> shared;
+
+    /**
+     * @param shared the DataLoaders of the batch by name
+     */
+    public BatchDataLoaderRegistry(ConcurrentMap<String, DataLoader<?, ?>> shared) {
+        this.shared = shared;
+    }
+
+    @Override
+    public DataLoaderRegistry register(String key, DataLoader<?, ?> dataLoader) {
+        dataLoaders.put(key, shared.computeIfAbsent(key, name -> dataLoader));
+        return this;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <K, V> DataLoader<K, V> computeIfAbsent(String key, Function<String, DataLoader<?, ?>> mappingFunction) {
+        return (DataLoader<K, V>) dataLoaders.computeIfAbsent(key, name -> shared.computeIfAbsent(name, mappingFunction));
+    }
+}
@@ -0,0 +1,185 @@
+package com.enokdev.graphql.autogen.starter.batching;
+
+import com.enokdev.graphql.autogen.error.CustomGraphQLError;
+import com.enokdev.graphql.autogen.error.ErrorCodes;
+import com.enokdev.graphql.autogen.starter.execution.BatchComplexity;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import graphql.ExecutionResult;
+import io.micrometer.context.ContextSnapshot;
+import io.micrometer.context.ContextSnapshotFactory;
+import org.dataloader.DataLoader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.graphql.server.WebGraphQlHandler;
+import org.springframework.graphql.server.WebGraphQlRequest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Executes the operations of array-batched requests, whose body is a JSON array of GraphQL
+ * requests, and writes their results as a JSON array in the same order.
+ *
+ * <p>The operations of a batch run concurrently through the {@link WebGraphQlHandler} on a
+ * pool of {@code maxConcurrency} threads shared by all the batches. When every thread is
+ * busy and the queue is full, the thread handling the request executes the operation
+ * itself, which bounds the work accepted at once. The thread locals of the request, such as
+ * the security context, are propagated to the operations. The operations share their DataLoaders
+ * through a {@link BatchDataLoaderRegistry}, and a {@link BatchComplexity} which charges
+ * their cost to the complexity limit of a single operation.</p>
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class BatchExecution implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchExecution.class);
+
+    private final Supplier<WebGraphQlHandler> handler;
+    private final ObjectMapper objectMapper;
+    private final int maxOperations;
+    private final ThreadPoolExecutor executor;
+    private final ContextSnapshotFactory contextSnapshotFactory = ContextSnapshotFactory.builder().build();
+
+    /**
+     * @param handler supplies the handler executing the operations
+     * @param objectMapper reads the requests and writes the results
+     * @param maxOperations the maximum number of operations of a batch
+     * @param maxConcurrency the number of operations executed at once across all batches
+     */
+    public BatchExecution(Supplier<WebGraphQlHandler> handler, ObjectMapper objectMapper,
+                          int maxOperations, int maxConcurrency) {
+        if (maxOperations < 1 || maxConcurrency < 1) {
+            throw new IllegalArgumentException("Maximum operations and concurrency must be at least 1");
+        }
+        this.handler = handler;
+        this.objectMapper = objectMapper;
+        this.maxOperations = maxOperations;
+        AtomicInteger threads = new AtomicInteger();
+        ThreadFactory threadFactory = task -> {
+            Thread thread = new Thread(task, "graphql-batch-" + threads.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+        // unlike CallerRunsPolicy, also runs the operations submitted after shutdown, whose
+        // results are awaited
+        RejectedExecutionHandler callerRuns = (task, pool) -> task.run();
+        this.executor = new ThreadPoolExecutor(maxConcurrency, maxConcurrency, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(maxOperations), threadFactory, callerRuns);
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Returns whether a request body, read without parsing, is a JSON array.
+     */
+    public boolean isBatch(byte[] body) {
+        for (byte b : body) {
+            if (b != ' ' && b != '\t' && b != '\n' && b != '\r') {
+                return b == '[';
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reads the operations of a batched request body.
+     */
+    public List<Map<String, Object>> readOperations(byte[] body) throws IOException {
+        return objectMapper.readValue(body, objectMapper.getTypeFactory().constructCollectionType(List.class,
+                objectMapper.getTypeFactory().constructMapType(Map.class, String.class, Object.class)));
+    }
+
+    /**
+     * Returns the maximum number of operations of a batch.
+     */
+    public int getMaxOperations() {
+        return maxOperations;
+    }
+
+    /**
+     * Executes the operations of a batch concurrently and returns the specification of
+     * their results, in order. An operation whose request cannot be created or executed
+     * gets a result with a single error.
+     *
+     * @param operations supply the request of each operation
+     */
+    public List<Map<String, Object>> execute(List<Supplier<WebGraphQlRequest>> operations) {
+        ConcurrentMap<String, DataLoader<?, ?>> dataLoaders = new ConcurrentHashMap<>();
+        BatchComplexity complexity = new BatchComplexity();
+        List<CompletableFuture<Map<String, Object>>> results = new ArrayList<>(operations.size());
+        // the thread locals of the request, such as the security context, are restored on the pool threads
+        ContextSnapshot snapshot = contextSnapshotFactory.captureAll();
+        for (Supplier<WebGraphQlRequest> operation : operations) {
+            results.add(CompletableFuture.supplyAsync(() -> {
+                        try (ContextSnapshot.Scope scope = snapshot.setThreadLocals()) {
+                            WebGraphQlRequest request = operation.get();
+                            request.configureExecutionInput((input, builder) -> {
+                                input.getGraphQLContext().put(BatchComplexity.class, complexity);
+                                builder.dataLoaderRegistry(new BatchDataLoaderRegistry(dataLoaders));
+                                return input;
+                            });
+                            // subscribed here, so that the operation runs on the pool thread
+                            return handler.get().handleRequest(request).toFuture();
+                        }
+                    }, executor)
+                    .thenCompose(Function.identity())
+                    .thenApply(response -> response.getExecutionResult().toSpecification())
+                    .exceptionally(BatchExecution::failed));
+        }
+        List<Map<String, Object>> specifications = new ArrayList<>(results.size());
+        for (CompletableFuture<Map<String, Object>> result : results) {
+            specifications.add(result.join());
+        }
+        return specifications;
+    }
+
+    /**
+     * Writes the results of a batch as a JSON array.
+     */
+    public void write(List<Map<String, Object>> results, OutputStream output) throws IOException {
+        objectMapper.writeValue(output, results);
+    }
+
+    /**
+     * Writes a response rejecting a whole batch.
+     */
+    public void writeRejection(String message, Map<String, Object> extensions, OutputStream output) throws IOException {
+        objectMapper.writeValue(output, error(new CustomGraphQLError(message, ErrorCodes.BAD_REQUEST, extensions)));
+    }
+
+    /**
+     * Stops the threads executing the operations.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    /**
+     * The cause is logged rather than returned, as its message may disclose internal details.
+     */
+    private static Map<String, Object> failed(Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+        log.error("Batched operation failed", cause);
+        return error(new CustomGraphQLError("Operation failed", ErrorCodes.INTERNAL_SERVER_ERROR));
+    }
+
+    private static Map<String, Object> error(CustomGraphQLError error) {
+        return ExecutionResult.newExecutionResult().addError(error).build().toSpecification();
+    }
+}
@@ -0,0 +1,80 @@
+package com.enokdev.graphql.autogen.starter.batching;
+
+import com.enokdev.graphql.autogen.starter.execution.GraphQlRequestFilter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.util.ObjectUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Servlet filter answering array-batched requests at the GraphQL endpoint with the array of
+ * their results.
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ * @see BatchExecution
+ */
+public class BatchRequestFilter extends GraphQlRequestFilter {
+
+    private final BatchExecution execution;
+
+    public BatchRequestFilter(String graphQlPath, BatchExecution execution) {
+        super(graphQlPath, BATCH_ORDER);
+        this.execution = execution;
+    }
+
+    @Override
+    protected void doFilterBody(HttpServletRequest request, byte[] body, HttpServletResponse response,
+                                FilterChain filterChain) throws ServletException, IOException {
+        if (!execution.isBatch(body)) {
+            proceed(request, body, response, filterChain);
+            return;
+        }
+
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        response.setContentType((accept != null && accept.contains(MediaType.APPLICATION_GRAPHQL_RESPONSE_VALUE)
+                ? MediaType.APPLICATION_GRAPHQL_RESPONSE : MediaType.APPLICATION_JSON).toString());
+        response.setCharacterEncoding("UTF-8");
+        List<Map<String, Object>> operations;
+        try {
+            operations = execution.readOperations(body);
+        } catch (IOException e) {
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            execution.writeRejection("Malformed batch: every element must be a GraphQL request object",
+                    Map.of("code", "BATCH_MALFORMED"), response.getOutputStream());
+            return;
+        }
+        if (operations.isEmpty() || operations.size() > execution.getMaxOperations()) {
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            execution.writeRejection("Batch of " + operations.size() + " operations, expected 1 to "
+                            + execution.getMaxOperations(),
+                    Map.of("code", "BATCH_TOO_LARGE", "operations", operations.size(),
+                            "maxOperations", execution.getMaxOperations()), response.getOutputStream());
+            return;
+        }
+
+        ServletServerHttpRequest httpRequest = new ServletServerHttpRequest(request);
+        Map<String, Object> attributes = attributes(request);
+        String id = ObjectUtils.getIdentityHexString(request);
+        List<Supplier<WebGraphQlRequest>> requests = new ArrayList<>(operations.size());
+        for (int i = 0; i < operations.size(); i++) {
+            Map<String, Object> operation = operations.get(i);
+            String operationId = id + "-" + i;
+            requests.add(() -> graphQlRequest(httpRequest, attributes, operation, operationId));
+        }
+        List<Map<String, Object>> results = execution.execute(requests);
+        response.setStatus(HttpServletResponse.SC_OK);
+        execution.write(results, response.getOutputStream());
+    }
+}
@@ -0,0 +1,91 @@
+package com.enokdev.graphql.autogen.starter.cache;
+
+import com.enokdev.graphql.autogen.annotation.GraphQLCache;
+import graphql.GraphQLContext;
+import graphql.execution.DataFetcherResult;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import org.reactivestreams.Publisher;
+
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link DataFetcher} serving the values of a {@code @GraphQLCache} field from a cache,
+ * and caching the values resolved by the wrapped data fetcher.
+ *
+ * <p>Values of {@link GraphQLCache.Scope#GLOBAL global} fields are kept in the
+ * {@link FieldResultCache}; values of {@link GraphQLCache.Scope#REQUEST request} fields in a
+ * map of the {@link GraphQLContext} of the operation. A nested field whose parent object
+ * has no id, {@code null} values, results with errors and reactive publishers are never
+ * cached.</p>
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class CachingDataFetcher implements DataFetcher<Object> {
+
+    /**
+     * Key of the map of request-scoped values in the {@link GraphQLContext}.
+     */
+    public static final String REQUEST_CACHE_KEY = "graphql.autogen.fieldCache";
+
+    private final DataFetcher<?> delegate;
+    private final FieldCachePolicy policy;
+    private final FieldResultCache cache;
+
+    public CachingDataFetcher(DataFetcher<?> delegate, FieldCachePolicy policy, FieldResultCache cache) {
+        this.delegate = delegate;
+        this.policy = policy;
+        this.cache = cache;
+    }
+
+    @Override
+    public Object get(DataFetchingEnvironment environment) throws Exception {
+        Object parentId = null;
+        if (environment.getExecutionStepInfo().getPath().getLevel() > 1) {
+            parentId = ParentIds.of(environment.getSource());
+            if (parentId == null) {
+                return delegate.get(environment);
+            }
+        }
+        FieldCacheKey key = new FieldCacheKey(policy.getCoordinate(), parentId, environment.getArguments());
+        Map<FieldCacheKey, Object> requestCache = policy.getScope() == GraphQLCache.Scope.REQUEST
+                ? environment.getGraphQlContext().computeIfAbsent(REQUEST_CACHE_KEY, k -> new ConcurrentHashMap<>())
+                : null;
+
+        Object cached = requestCache != null ? requestCache.get(key) : cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        Object value = delegate.get(environment);
+        if (value instanceof CompletionStage<?> stage) {
+            stage.whenComplete((result, throwable) -> {
+                if (throwable == null) {
+                    store(key, result, requestCache);
+                }
+            });
+        } else {
+            store(key, value, requestCache);
+        }
+        return value;
+    }
+
+    private void store(FieldCacheKey key, Object value, Map<FieldCacheKey, Object> requestCache) {
+        if (value instanceof DataFetcherResult<?> result) {
+            if (result.hasErrors() || result.getLocalContext() != null) {
+                return;
+            }
+            value = result.getData();
+        }
+        if (value == null || value instanceof Publisher<?>) {
+            return;
+        }
+        if (requestCache != null) {
+            requestCache.put(key, value);
+        } else {
+            cache.put(key, value, policy.getTtlNanos(), policy.getTags());
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.enokdev.graphql.autogen.starter.cache;
+
+import com.enokdev.graphql.autogen.annotation.GType;
+import com.enokdev.graphql.autogen.annotation.GraphQLCache;
+import com.enokdev.graphql.autogen.annotation.GraphQLField;
+import com.enokdev.graphql.autogen.annotation.GraphQLMutation;
+import com.enokdev.graphql.autogen.annotation.GraphQLQuery;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cache policies of the {@link GraphQLCache} fields and cache tags invalidated by
+ * {@link GraphQLMutation} fields, by {@code Type.field} coordinate, named the way the
+ * schema generator names the fields.
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class FieldCacheDefinitions {
+
+    private final Map<String, FieldCachePolicy> policies;
+    private final Map<String, Set<String>> invalidations;
+
+    /**
+     * @param policies the cache policies by {@code Type.field} coordinate
+     * @param invalidations the tags invalidated by each mutation, by {@code Type.field} coordinate
+     */
+    public FieldCacheDefinitions(Map<String, FieldCachePolicy> policies, Map<String, Set<String>> invalidations) {
+        this.policies = Map.copyOf(policies);
+        this.invalidations = Map.copyOf(invalidations);
+    }
+
+    /**
+     * Collects the cache policies and invalidations declared on annotated classes.
+     *
+     * @param annotatedClasses the {@code @GType} and controller classes
+     */
+    public static FieldCacheDefinitions fromAnnotatedClasses(Collection<Class<?>> annotatedClasses) {
+        Map<String, FieldCachePolicy> policies = new HashMap<>();
+        Map<String, Set<String>> invalidations = new HashMap<>();
+        for (Class<?> annotatedClass : annotatedClasses) {
+            GType type = annotatedClass.getAnnotation(GType.class);
+            String typeName = type == null ? null : type.name().isEmpty() ? annotatedClass.getSimpleName() : type.name();
+            if (typeName != null) {
+                for (Field field : annotatedClass.getDeclaredFields()) {
+                    GraphQLField annotation = field.getAnnotation(GraphQLField.class);
+                    GraphQLCache cache = field.getAnnotation(GraphQLCache.class);
+                    if (annotation != null && cache != null) {
+                        String name = annotation.name().isEmpty() ? field.getName() : annotation.name();
+                        add(policies, typeName + "." + name, cache);
+                    }
+                }
+            }
+            for (Method method : annotatedClass.getDeclaredMethods()) {
+                GraphQLCache cache = method.getAnnotation(GraphQLCache.class);
+                GraphQLField field = method.getAnnotation(GraphQLField.class);
+                if (typeName != null && field != null && cache != null) {
+                    add(policies, typeName + "." + (field.name().isEmpty() ? propertyName(method.getName()) : field.name()), cache);
+                }
+                GraphQLQuery query = method.getAnnotation(GraphQLQuery.class);
+                if (query != null && cache != null) {
+                    add(policies, "Query." + (query.name().isEmpty() ? method.getName() : query.name()), cache);
+                }
+                GraphQLMutation mutation = method.getAnnotation(GraphQLMutation.class);
+                if (mutation != null && mutation.invalidates().length > 0) {
+                    invalidations.put("Mutation." + (mutation.name().isEmpty() ? method.getName() : mutation.name()),
+                            Set.of(mutation.invalidates()));
+                }
+            }
+        }
+        return new FieldCacheDefinitions(policies, invalidations);
+    }
+
+    /**
+     * Returns the cache policy of a field, or {@code null} when its values are not cached.
+     */
+    public FieldCachePolicy getPolicy(String typeName, String fieldName) {
+        return policies.get(typeName + "." + fieldName);
+    }
+
+    /**
+     * Returns the tags invalidated once a field has been resolved, empty for most fields.
+     */
+    public Set<String> getInvalidations(String typeName, String fieldName) {
+        return invalidations.getOrDefault(typeName + "." + fieldName, Set.of());
+    }
+
+    public boolean isEmpty() {
+        return policies.isEmpty();
+    }
+
+    private static void add(Map<String, FieldCachePolicy> policies, String coordinate, GraphQLCache cache) {
+        // a field can always be invalidated by its coordinate
+        Set<String> tags = new LinkedHashSet<>(Arrays.asList(cache.tags()));
+        tags.add(coordinate);
+        policies.put(coordinate, new FieldCachePolicy(coordinate, cache.unit().toNanos(cache.ttl()), cache.scope(), tags));
+    }
+
+    private static String propertyName(String methodName) {
+        if (methodName.startsWith("get") && methodName.length() > 3) {
+            return Character.toLowerCase(methodName.charAt(3)) + methodName.substring(4);
+        }
+        if (methodName.startsWith("is") && methodName.length() > 2) {
+            return Character.toLowerCase(methodName.charAt(2)) + methodName.substring(3);
+        }
+        return methodName;
+    }
+}
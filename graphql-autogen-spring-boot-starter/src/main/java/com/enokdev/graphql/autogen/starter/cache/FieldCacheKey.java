@@ -0,0 +1,49 @@
+package com.enokdev.graphql.autogen.starter.cache;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Identifies a cached field value: the field coordinate, the id of the parent object
+ * ({@code null} for root fields) and the argument values.
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public final class FieldCacheKey {
+
+    private final String coordinate;
+    private final Object parentId;
+    private final Map<String, Object> arguments;
+    private final int hash;
+
+    public FieldCacheKey(String coordinate, Object parentId, Map<String, Object> arguments) {
+        this.coordinate = coordinate;
+        this.parentId = parentId;
+        this.arguments = arguments;
+        this.hash = Objects.hash(coordinate, parentId, arguments);
+    }
+
+    public String getCoordinate() {
+        return coordinate;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof FieldCacheKey key
+                && key.hash == hash
+                && key.coordinate.equals(coordinate)
+                && Objects.equals(key.parentId, parentId)
+                && key.arguments.equals(arguments);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return coordinate + "(" + parentId + ", " + arguments + ")";
+    }
+}
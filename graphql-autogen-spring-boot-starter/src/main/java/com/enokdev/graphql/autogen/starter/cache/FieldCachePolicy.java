@@ -0,0 +1,48 @@
+package com.enokdev.graphql.autogen.starter.cache;
+
+import com.enokdev.graphql.autogen.annotation.GraphQLCache;
+
+import java.util.Set;
+
+/**
+ * How the values of a {@code @GraphQLCache} field are cached.
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class FieldCachePolicy {
+
+    private final String coordinate;
+    private final long ttlNanos;
+    private final GraphQLCache.Scope scope;
+    private final Set<String> tags;
+
+    /**
+     * @param coordinate the {@code Type.field} coordinate of the field
+     * @param ttlNanos how long a value is served, in nanoseconds
+     * @param scope how widely a value is shared
+     * @param tags the invalidation tags of the field, its coordinate included
+     */
+    public FieldCachePolicy(String coordinate, long ttlNanos, GraphQLCache.Scope scope, Set<String> tags) {
+        this.coordinate = coordinate;
+        this.ttlNanos = ttlNanos;
+        this.scope = scope;
+        this.tags = Set.copyOf(tags);
+    }
+
+    public String getCoordinate() {
+        return coordinate;
+    }
+
+    public long getTtlNanos() {
+        return ttlNanos;
+    }
+
+    public GraphQLCache.Scope getScope() {
+        return scope;
+    }
+
+    public Set<String> getTags() {
+        return tags;
+    }
+}
@@ -0,0 +1,58 @@
+package com.enokdev.graphql.autogen.starter.cache;
+
+import graphql.schema.DataFetcher;
+import graphql.schema.FieldCoordinates;
+import graphql.schema.GraphQLCodeRegistry;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLSchemaElement;
+import graphql.schema.GraphQLTypeVisitorStub;
+import graphql.util.TraversalControl;
+import graphql.util.TraverserContext;
+
+import java.util.Set;
+
+/**
+ * Schema visitor wrapping the data fetchers of {@code @GraphQLCache} fields in a
+ * {@link CachingDataFetcher}, and those of mutations declaring invalidation tags in an
+ * {@link InvalidatingDataFetcher}. Registered with the {@code GraphQlSource} builder so
+ * that it applies to the data fetchers of annotated controllers as well.
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class FieldCacheTypeVisitor extends GraphQLTypeVisitorStub {
+
+    private final FieldCacheDefinitions definitions;
+    private final FieldResultCache cache;
+
+    public FieldCacheTypeVisitor(FieldCacheDefinitions definitions, FieldResultCache cache) {
+        this.definitions = definitions;
+        this.cache = cache;
+    }
+
+    @Override
+    public TraversalControl visitGraphQLFieldDefinition(GraphQLFieldDefinition field,
+                                                        TraverserContext<GraphQLSchemaElement> context) {
+        if (!(context.getParentNode() instanceof GraphQLObjectType parent)) {
+            return TraversalControl.CONTINUE;
+        }
+        FieldCachePolicy policy = definitions.getPolicy(parent.getName(), field.getName());
+        Set<String> invalidations = definitions.getInvalidations(parent.getName(), field.getName());
+        if (policy == null && invalidations.isEmpty()) {
+            return TraversalControl.CONTINUE;
+        }
+
+        GraphQLCodeRegistry.Builder codeRegistry = context.getVarFromParents(GraphQLCodeRegistry.Builder.class);
+        FieldCoordinates coordinates = FieldCoordinates.coordinates(parent, field);
+        DataFetcher<?> dataFetcher = codeRegistry.getDataFetcher(coordinates, field);
+        if (policy != null) {
+            dataFetcher = new CachingDataFetcher(dataFetcher, policy, cache);
+        }
+        if (!invalidations.isEmpty()) {
+            dataFetcher = new InvalidatingDataFetcher(dataFetcher, invalidations, cache);
+        }
+        codeRegistry.dataFetcher(coordinates, dataFetcher);
+        return TraversalControl.CONTINUE;
+    }
+}
@@ -0,0 +1,214 @@
+package com.enokdev.graphql.autogen.starter.cache;
+
+import com.enokdev.graphql.autogen.annotation.GraphQLCache;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded cache of the values of {@code @GraphQLCache} fields with the
+ * {@link GraphQLCache.Scope#GLOBAL global} scope.
+ *
+ * <p>Hits are lock-free reads of a {@link ConcurrentHashMap}; an expired entry is dropped
+ * when it is read. When the cache is full, a store first drops the expired entries and
+ * then the least recently used ones. Evictions, expirations and invalidations are
+ * counted separately.</p>
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class FieldResultCache {
+
+    /**
+     * Default maximum number of cached values.
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+
+    private static final long TOUCH_GRANULARITY_NANOS = 1_000_000L;
+
+    private final int maximumSize;
+    private final LongSupplier clock;
+    private final Map<FieldCacheKey, CachedValue> values = new ConcurrentHashMap<>();
+    private final Object evictionLock = new Object();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public FieldResultCache(int maximumSize) {
+        this(maximumSize, System::nanoTime);
+    }
+
+    /**
+     * @param maximumSize the maximum number of cached values
+     * @param clock the nanosecond clock
+     */
+    public FieldResultCache(int maximumSize, LongSupplier clock) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be positive");
+        }
+        this.maximumSize = maximumSize;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the cached value, or {@code null} when there is none or it has expired.
+     */
+    public Object get(FieldCacheKey key) {
+        CachedValue cached = values.get(key);
+        if (cached == null) {
+            misses.increment();
+            return null;
+        }
+        long now = clock.getAsLong();
+        if (now - cached.expiresAt >= 0) {
+            if (values.remove(key, cached)) {
+                expirations.increment();
+            }
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        // hot entries are touched at most once per millisecond to keep hits write-free
+        if (now - cached.lastUsed > TOUCH_GRANULARITY_NANOS) {
+            cached.lastUsed = now;
+        }
+        return cached.value;
+    }
+
+    /**
+     * Caches a value.
+     *
+     * @param key the key of the value
+     * @param value the value, never {@code null}
+     * @param ttlNanos how long the value is served
+     * @param tags the tags invalidating the value
+     */
+    public void put(FieldCacheKey key, Object value, long ttlNanos, Set<String> tags) {
+        long now = clock.getAsLong();
+        values.put(key, new CachedValue(value, now + ttlNanos, tags, now));
+        if (values.size() > maximumSize) {
+            evict(now);
+        }
+    }
+
+    /**
+     * Drops the values carrying any of the tags.
+     *
+     * @return the number of dropped values
+     */
+    public int invalidate(Collection<String> tags) {
+        int dropped = 0;
+        // mutations are rare compared to reads, so a scan beats maintaining a tag index
+        for (Map.Entry<FieldCacheKey, CachedValue> entry : values.entrySet()) {
+            CachedValue cached = entry.getValue();
+            for (String tag : tags) {
+                if (cached.tags.contains(tag)) {
+                    if (values.remove(entry.getKey(), cached)) {
+                        dropped++;
+                    }
+                    break;
+                }
+            }
+        }
+        invalidations.add(dropped);
+        return dropped;
+    }
+
+    /**
+     * Drops every cached value.
+     */
+    public void invalidateAll() {
+        int size = values.size();
+        values.clear();
+        invalidations.add(size);
+    }
+
+    public int size() {
+        return values.size();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the number of values dropped to keep the cache within its maximum size.
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Returns the number of values dropped because their time to live had elapsed.
+     */
+    public long getExpirationCount() {
+        return expirations.sum();
+    }
+
+    /**
+     * Returns the number of values dropped by mutations.
+     */
+    public long getInvalidationCount() {
+        return invalidations.sum();
+    }
+
+    /**
+     * Returns the fraction of lookups served from the cache, or 0 before the first lookup.
+     */
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    private void evict(long now) {
+        synchronized (evictionLock) {
+            values.entrySet().removeIf(entry -> {
+                if (now - entry.getValue().expiresAt >= 0) {
+                    expirations.increment();
+                    return true;
+                }
+                return false;
+            });
+            while (values.size() > maximumSize) {
+                FieldCacheKey eldest = null;
+                long eldestUse = Long.MAX_VALUE;
+                for (Map.Entry<FieldCacheKey, CachedValue> entry : values.entrySet()) {
+                    long lastUsed = entry.getValue().lastUsed;
+                    if (eldest == null || lastUsed - eldestUse < 0) {
+                        eldest = entry.getKey();
+                        eldestUse = lastUsed;
+                    }
+                }
+                if (eldest == null || values.remove(eldest) == null) {
+                    return;
+                }
+                evictions.increment();
+            }
+        }
+    }
+
+    private static final class CachedValue {
+        private final Object value;
+        private final long expiresAt;
+        private final Set<String> tags;
+        private volatile long lastUsed;
+
+        private CachedValue(Object value, long expiresAt, Set<String> tags, long lastUsed) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+            this.tags = tags;
+            this.lastUsed = lastUsed;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.enokdev.graphql.autogen.starter.cache;
+
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * {@link DataFetcher} of a mutation dropping the cached values carrying its
+ * {@code invalidates} tags once it has run, whether it succeeded or not, as well as the
+ * request-scoped values of the operation.
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class InvalidatingDataFetcher implements DataFetcher<Object> {
+
+    private final DataFetcher<?> delegate;
+    private final Set<String> tags;
+    private final FieldResultCache cache;
+
+    public InvalidatingDataFetcher(DataFetcher<?> delegate, Set<String> tags, FieldResultCache cache) {
+        this.delegate = delegate;
+        this.tags = Set.copyOf(tags);
+        this.cache = cache;
+    }
+
+    @Override
+    public Object get(DataFetchingEnvironment environment) throws Exception {
+        Object value;
+        try {
+            value = delegate.get(environment);
+        } catch (Exception ex) {
+            invalidate(environment);
+            throw ex;
+        }
+        if (value instanceof CompletionStage<?> stage) {
+            stage.whenComplete((result, throwable) -> invalidate(environment));
+        } else {
+            invalidate(environment);
+        }
+        return value;
+    }
+
+    private void invalidate(DataFetchingEnvironment environment) {
+        cache.invalidate(tags);
+        Map<?, ?> requestCache = environment.getGraphQlContext().get(CachingDataFetcher.REQUEST_CACHE_KEY);
+        if (requestCache != null) {
+            requestCache.clear();
+        }
+    }
+}
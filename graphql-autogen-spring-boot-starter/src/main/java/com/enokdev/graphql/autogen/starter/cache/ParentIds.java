@@ -0,0 +1,77 @@
+package com.enokdev.graphql.autogen.starter.cache;
+
+import com.enokdev.graphql.autogen.annotation.GraphQLId;
+import org.springframework.beans.BeanUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Reads the id of parent objects: their {@code @GraphQLId} member, falling back to
+ * {@code id}, resolved once per type.
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+final class ParentIds {
+
+    private static final ClassValue<Optional<Function<Object, Object>>> ID_ACCESSORS = new ClassValue<>() {
+        @Override
+        protected Optional<Function<Object, Object>> computeValue(Class<?> type) {
+            return Optional.ofNullable(idAccessor(type));
+        }
+    };
+
+    private ParentIds() {
+    }
+
+    /**
+     * Returns the id of a parent object, or {@code null} when it has none.
+     */
+    static Object of(Object source) {
+        if (source == null) {
+            return null;
+        }
+        if (source instanceof Map<?, ?> map) {
+            return map.get("id");
+        }
+        return ID_ACCESSORS.get(source.getClass()).map(accessor -> accessor.apply(source)).orElse(null);
+    }
+
+    private static Function<Object, Object> idAccessor(Class<?> type) {
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (field.isAnnotationPresent(GraphQLId.class)) {
+                    return propertyAccessor(type, field.getName());
+                }
+            }
+            for (Method method : current.getDeclaredMethods()) {
+                if (method.isAnnotationPresent(GraphQLId.class) && method.getParameterCount() == 0) {
+                    ReflectionUtils.makeAccessible(method);
+                    return source -> ReflectionUtils.invokeMethod(method, source);
+                }
+            }
+        }
+        return propertyAccessor(type, "id");
+    }
+
+    private static Function<Object, Object> propertyAccessor(Class<?> type, String property) {
+        PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(type, property);
+        if (descriptor != null && descriptor.getReadMethod() != null) {
+            Method getter = descriptor.getReadMethod();
+            ReflectionUtils.makeAccessible(getter);
+            return source -> ReflectionUtils.invokeMethod(getter, source);
+        }
+        Field field = ReflectionUtils.findField(type, property);
+        if (field != null) {
+            ReflectionUtils.makeAccessible(field);
+            return source -> ReflectionUtils.getField(field, source);
+        }
+        return null;
+    }
+}
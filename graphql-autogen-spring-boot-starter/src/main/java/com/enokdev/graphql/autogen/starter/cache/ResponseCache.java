@@ -0,0 +1,210 @@
+package com.enokdev.graphql.autogen.starter.cache;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded cache of serialized GraphQL responses, tagged with the types they select.
+ *
+ * <p>Hits are lock-free reads of a {@link ConcurrentHashMap} returning the stored bytes.
+ * When the cache is full, a store first drops the expired entries and then the least
+ * recently used ones. Invalidating a type drops every response selecting it; a response
+ * computed while an invalidation ran is not stored, since it may predate the mutation.</p>
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class ResponseCache {
+
+    /**
+     * Default maximum number of cached responses.
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 1000;
+
+    private static final long TOUCH_GRANULARITY_NANOS = 1_000_000L;
+
+    private final int maximumSize;
+    private final LongSupplier clock;
+    private final Map<String, CachedResponse> responses = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final Object evictionLock = new Object();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public ResponseCache(int maximumSize) {
+        this(maximumSize, System::nanoTime);
+    }
+
+    /**
+     * @param maximumSize the maximum number of cached responses
+     * @param clock the nanosecond clock
+     */
+    public ResponseCache(int maximumSize, LongSupplier clock) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be positive");
+        }
+        this.maximumSize = maximumSize;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the cached response body, or {@code null} when there is none or it has expired.
+     */
+    public byte[] get(String key) {
+        CachedResponse cached = responses.get(key);
+        long now = clock.getAsLong();
+        if (cached == null || now - cached.expiresAt >= 0) {
+            if (cached != null) {
+                responses.remove(key, cached);
+            }
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        // hot entries are touched at most once per millisecond to keep hits write-free
+        if (now - cached.lastUsed > TOUCH_GRANULARITY_NANOS) {
+            cached.lastUsed = now;
+        }
+        return cached.body;
+    }
+
+    /**
+     * Returns the number of invalidations so far, to be passed to
+     * {@link #put(String, byte[], long, Set, long)} once the response is computed.
+     */
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * Caches a response body, unless an invalidation ran since {@code generation} was read.
+     *
+     * @param key the key of the request
+     * @param body the serialized response
+     * @param ttlNanos how long the response is served
+     * @param types the types selected by the operation
+     * @param generation the {@link #getGeneration() generation} read before execution
+     * @return whether the response was cached
+     */
+    public boolean put(String key, byte[] body, long ttlNanos, Set<String> types, long generation) {
+        if (this.generation.get() != generation) {
+            return false;
+        }
+        long now = clock.getAsLong();
+        CachedResponse response = new CachedResponse(body, now + ttlNanos, types, now);
+        responses.put(key, response);
+        // an invalidation may have scanned the cache just before this entry was added
+        if (this.generation.get() != generation) {
+            responses.remove(key, response);
+            return false;
+        }
+        if (responses.size() > maximumSize) {
+            evict(now);
+        }
+        return true;
+    }
+
+    /**
+     * Drops the responses selecting any of the types.
+     *
+     * @return the number of dropped responses
+     */
+    public int invalidate(Collection<String> types) {
+        generation.incrementAndGet();
+        int dropped = 0;
+        for (Map.Entry<String, CachedResponse> entry : responses.entrySet()) {
+            CachedResponse cached = entry.getValue();
+            for (String type : types) {
+                if (cached.types.contains(type)) {
+                    if (responses.remove(entry.getKey(), cached)) {
+                        dropped++;
+                    }
+                    break;
+                }
+            }
+        }
+        invalidations.add(dropped);
+        return dropped;
+    }
+
+    /**
+     * Drops every cached response.
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        int size = responses.size();
+        responses.clear();
+        invalidations.add(size);
+    }
+
+    public int size() {
+        return responses.size();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public long getInvalidationCount() {
+        return invalidations.sum();
+    }
+
+    /**
+     * Returns the fraction of lookups served from the cache, or 0 before the first lookup.
+     */
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    private void evict(long now) {
+        synchronized (evictionLock) {
+            responses.values().removeIf(response -> now - response.expiresAt >= 0);
+            while (responses.size() > maximumSize) {
+                String eldest = null;
+                long eldestUse = Long.MAX_VALUE;
+                for (Map.Entry<String, CachedResponse> entry : responses.entrySet()) {
+                    long lastUsed = entry.getValue().lastUsed;
+                    if (eldest == null || lastUsed - eldestUse < 0) {
+                        eldest = entry.getKey();
+                        eldestUse = lastUsed;
+                    }
+                }
+                if (eldest == null || responses.remove(eldest) == null) {
+                    return;
+                }
+                evictions.increment();
+            }
+        }
+    }
+
+    private static final class CachedResponse {
+        private final byte[] body;
+        private final long expiresAt;
+        private final Set<String> types;
+        private volatile long lastUsed;
+
+        private CachedResponse(byte[] body, long expiresAt, Set<String> types, long lastUsed) {
+            this.body = body;
+            this.expiresAt = expiresAt;
+            this.types = types;
+            this.lastUsed = lastUsed;
+        }
+    }
+}
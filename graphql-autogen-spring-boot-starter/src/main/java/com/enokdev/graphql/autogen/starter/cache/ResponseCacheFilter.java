@@ -0,0 +1,52 @@
+package com.enokdev.graphql.autogen.starter.cache;
+
+import com.enokdev.graphql.autogen.starter.execution.GraphQlRequestFilter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+
+import java.io.IOException;
+import java.security.Principal;
+
+/**
+ * Servlet filter answering cacheable GraphQL requests from the {@link ResponseCache}: a
+ * hit writes the stored bytes without parsing, executing or serializing anything, and a
+ * miss is marked for the {@link ResponseCacheInterceptor} to store its response.
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ * @see ResponseCacheKeyResolver
+ */
+public class ResponseCacheFilter extends GraphQlRequestFilter {
+
+    private final ResponseCacheKeyResolver keyResolver;
+    private final ResponseCache cache;
+
+    public ResponseCacheFilter(String graphQlPath, ResponseCacheKeyResolver keyResolver, ResponseCache cache) {
+        super(graphQlPath, RESPONSE_CACHE_ORDER);
+        this.keyResolver = keyResolver;
+        this.cache = cache;
+    }
+
+    @Override
+    protected void doFilterBody(HttpServletRequest request, byte[] body, HttpServletResponse response,
+                                FilterChain filterChain) throws ServletException, IOException {
+        Principal principal = request.getUserPrincipal();
+        ResponseCacheKeyResolver.CacheableRequest cacheable = keyResolver.resolve(body, request::getHeader,
+                principal != null ? principal.getName() : null);
+        if (cacheable != null) {
+            byte[] cached = cache.get(cacheable.getKey());
+            if (cached != null) {
+                response.setStatus(HttpServletResponse.SC_OK);
+                response.setContentType(ResponseCacheInterceptor.contentType(request.getHeader(HttpHeaders.ACCEPT)).toString());
+                response.setContentLength(cached.length);
+                response.getOutputStream().write(cached);
+                return;
+            }
+            request.setAttribute(ResponseCacheInterceptor.CACHEABLE_REQUEST_ATTRIBUTE, cacheable);
+        }
+        proceed(request, body, response, filterChain);
+    }
+}
@@ -0,0 +1,65 @@
+package com.enokdev.graphql.autogen.starter.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.graphql.server.WebGraphQlInterceptor;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Mono;
+
+/**
+ * Stores the serialized response of the requests the response cache filters marked as
+ * cacheable, when the operation succeeded without errors.
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ * @see ResponseCacheFilter
+ * @see ResponseCacheWebFilter
+ */
+public class ResponseCacheInterceptor implements WebGraphQlInterceptor {
+
+    /**
+     * Request attribute holding the {@link ResponseCacheKeyResolver.CacheableRequest} of a cache miss.
+     */
+    public static final String CACHEABLE_REQUEST_ATTRIBUTE = ResponseCacheInterceptor.class.getName() + ".cacheableRequest";
+
+    private static final Logger log = LoggerFactory.getLogger(ResponseCacheInterceptor.class);
+
+    private final ResponseCache cache;
+    private final ObjectMapper objectMapper;
+
+    public ResponseCacheInterceptor(ResponseCache cache, ObjectMapper objectMapper) {
+        this.cache = cache;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Mono<WebGraphQlResponse> intercept(WebGraphQlRequest request, Chain chain) {
+        if (!(request.getAttributes().get(CACHEABLE_REQUEST_ATTRIBUTE) instanceof ResponseCacheKeyResolver.CacheableRequest cacheable)) {
+            return chain.next(request);
+        }
+        return chain.next(request).doOnNext(response -> {
+            if (!response.isValid() || !response.getErrors().isEmpty()) {
+                return;
+            }
+            try {
+                cache.put(cacheable.getKey(), objectMapper.writeValueAsBytes(response.toMap()),
+                        cacheable.getTtlNanos(), cacheable.getTypes(), cacheable.getGeneration());
+            } catch (JsonProcessingException e) {
+                log.debug("Response of {} not cached", request.getOperationName(), e);
+            }
+        });
+    }
+
+    /**
+     * Returns the media type Spring for GraphQL answers with for an {@code Accept} header.
+     */
+    static MediaType contentType(String accept) {
+        return accept != null && accept.contains(MediaType.APPLICATION_GRAPHQL_RESPONSE_VALUE)
+                ? MediaType.APPLICATION_GRAPHQL_RESPONSE
+                : MediaType.APPLICATION_JSON;
+    }
+}
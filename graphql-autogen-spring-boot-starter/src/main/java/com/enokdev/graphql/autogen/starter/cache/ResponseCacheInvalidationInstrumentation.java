@@ -0,0 +1,53 @@
+package com.enokdev.graphql.autogen.starter.cache;
+
+import graphql.ExecutionResult;
+import graphql.execution.ExecutionContext;
+import graphql.execution.instrumentation.Instrumentation;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.language.Field;
+import graphql.language.OperationDefinition;
+import graphql.schema.GraphQLSchema;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Drops the cached responses selecting the types a mutation touches once it has run:
+ * the types its fields return, and those listed in the {@code invalidates} attribute of
+ * its {@code @GraphQLMutation}.
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class ResponseCacheInvalidationInstrumentation implements Instrumentation {
+
+    private final ResponseCachePolicy policy;
+    private final ResponseCache cache;
+
+    public ResponseCacheInvalidationInstrumentation(ResponseCachePolicy policy, ResponseCache cache) {
+        this.policy = policy;
+        this.cache = cache;
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(
+            InstrumentationExecuteOperationParameters parameters,
+            InstrumentationState state) {
+        ExecutionContext executionContext = parameters.getExecutionContext();
+        OperationDefinition operation = executionContext.getOperationDefinition();
+        GraphQLSchema schema = executionContext.getGraphQLSchema();
+        if (operation.getOperation() != OperationDefinition.Operation.MUTATION || schema.getMutationType() == null) {
+            return SimpleInstrumentationContext.noOp();
+        }
+
+        Set<String> types = new HashSet<>(SelectedTypes.ofRootFields(schema, schema.getMutationType(),
+                operation.getSelectionSet(), executionContext.getFragmentsByName()));
+        for (Field field : operation.getSelectionSet().getSelectionsOfType(Field.class)) {
+            types.addAll(policy.getInvalidatedTypes(field.getName()));
+        }
+        return SimpleInstrumentationContext.whenCompleted((result, throwable) -> cache.invalidate(types));
+    }
+}
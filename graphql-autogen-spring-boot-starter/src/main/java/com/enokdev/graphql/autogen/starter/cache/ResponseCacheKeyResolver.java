@@ -0,0 +1,255 @@
+package com.enokdev.graphql.autogen.starter.cache;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import graphql.language.AstPrinter;
+import graphql.language.Document;
+import graphql.language.FragmentDefinition;
+import graphql.language.OperationDefinition;
+import graphql.parser.InvalidSyntaxException;
+import graphql.parser.Parser;
+import graphql.schema.GraphQLSchema;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Decides whether a GraphQL HTTP request may be answered from the {@link ResponseCache},
+ * and under which key.
+ *
+ * <p>Only queries are cached. The key is a SHA-256 hash of the normalized document, with
+ * insignificant whitespace and comments removed, the operation name, the variables with
+ * their keys sorted, the configured authentication headers and the principal name. The
+ * normalized form, selected types and time to live of each document are computed once per
+ * query text and schema; responses selecting a type whose time to live is 0 are not
+ * cached.</p>
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class ResponseCacheKeyResolver {
+
+    /**
+     * Default maximum number of documents whose analysis is kept.
+     */
+    public static final int DEFAULT_MAXIMUM_OPERATIONS = 1000;
+
+    private static final NormalizedOperation NOT_CACHEABLE = new NormalizedOperation(null, null, Set.of(), 0);
+
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper canonicalMapper;
+    private final Supplier<GraphQLSchema> schema;
+    private final ResponseCachePolicy policy;
+    private final List<String> varyHeaders;
+    private final ResponseCache cache;
+    private final Map<OperationKey, NormalizedOperation> operations = new ConcurrentHashMap<>();
+
+    /**
+     * @param objectMapper reads request bodies
+     * @param schema supplies the served schema, or {@code null} while there is none
+     * @param policy the time to live of responses
+     * @param varyHeaders the request headers identifying the caller, e.g. {@code Authorization}
+     * @param cache the cache whose generation is captured with each cacheable request
+     */
+    public ResponseCacheKeyResolver(ObjectMapper objectMapper, Supplier<GraphQLSchema> schema,
+                                    ResponseCachePolicy policy, List<String> varyHeaders, ResponseCache cache) {
+        this.objectMapper = objectMapper;
+        this.canonicalMapper = objectMapper.copy().configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+        this.schema = schema;
+        this.policy = policy;
+        this.varyHeaders = List.copyOf(varyHeaders);
+        this.cache = cache;
+    }
+
+    /**
+     * Resolves the cache key of a request.
+     *
+     * @param body the JSON request body
+     * @param headers reads a request header, {@code null} when absent
+     * @param principalName the name of the authenticated caller, or {@code null}
+     * @return the cacheable request, or {@code null} if its response must not be cached
+     */
+    public CacheableRequest resolve(byte[] body, Function<String, String> headers, String principalName) {
+        GraphQLSchema currentSchema = schema.get();
+        if (currentSchema == null) {
+            return null;
+        }
+        JsonNode request;
+        try {
+            request = objectMapper.readTree(body);
+        } catch (IOException e) {
+            // left to the GraphQL handler, which reports malformed bodies
+            return null;
+        }
+        if (request == null || !request.path("query").isTextual()) {
+            return null;
+        }
+        String query = request.get("query").asText();
+        String operationName = request.path("operationName").isTextual() ? request.get("operationName").asText() : null;
+        NormalizedOperation operation = normalize(currentSchema, query, operationName);
+        if (operation.compact == null) {
+            return null;
+        }
+
+        MessageDigest digest = sha256();
+        update(digest, Integer.toString(System.identityHashCode(currentSchema)));
+        update(digest, operation.compact);
+        update(digest, operationName);
+        try {
+            JsonNode variables = request.path("variables");
+            if (variables.isObject()) {
+                digest.update(canonicalMapper.writeValueAsBytes(canonicalMapper.treeToValue(variables, Object.class)));
+            }
+        } catch (IOException e) {
+            return null;
+        }
+        digest.update((byte) 0);
+        for (String header : varyHeaders) {
+            update(digest, headers.apply(header));
+        }
+        update(digest, principalName);
+        return new CacheableRequest(HexFormat.of().formatHex(digest.digest()), operation.ttlNanos, operation.types,
+                cache.getGeneration());
+    }
+
+    private NormalizedOperation normalize(GraphQLSchema currentSchema, String query, String operationName) {
+        OperationKey key = new OperationKey(query, operationName);
+        NormalizedOperation operation = operations.get(key);
+        if (operation != null && (operation == NOT_CACHEABLE || operation.schema == currentSchema)) {
+            return operation;
+        }
+        operation = analyze(currentSchema, query, operationName);
+        if (operations.size() >= DEFAULT_MAXIMUM_OPERATIONS) {
+            // clients send a bounded set of documents; a full map means they are generated
+            operations.clear();
+        }
+        operations.put(key, operation);
+        return operation;
+    }
+
+    private NormalizedOperation analyze(GraphQLSchema currentSchema, String query, String operationName) {
+        Document document;
+        try {
+            document = Parser.parse(query);
+        } catch (InvalidSyntaxException e) {
+            return NOT_CACHEABLE;
+        }
+        List<OperationDefinition> definitions = document.getDefinitionsOfType(OperationDefinition.class);
+        OperationDefinition definition = definitions.stream()
+                .filter(candidate -> operationName == null ? definitions.size() == 1 : operationName.equals(candidate.getName()))
+                .findFirst()
+                .orElse(null);
+        if (definition == null || definition.getOperation() != OperationDefinition.Operation.QUERY) {
+            return NOT_CACHEABLE;
+        }
+        Map<String, FragmentDefinition> fragments = new HashMap<>();
+        document.getDefinitionsOfType(FragmentDefinition.class).forEach(fragment -> fragments.put(fragment.getName(), fragment));
+        Set<String> types = Set.copyOf(SelectedTypes.of(currentSchema, currentSchema.getQueryType(),
+                definition.getSelectionSet(), fragments));
+        long ttlNanos = policy.getTtlNanos(types);
+        if (ttlNanos <= 0) {
+            return NOT_CACHEABLE;
+        }
+        return new NormalizedOperation(currentSchema, AstPrinter.printAstCompact(document), types, ttlNanos);
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        if (value != null) {
+            digest.update(value.getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update((byte) 0);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * A request whose response may be cached.
+     */
+    public static final class CacheableRequest {
+        private final String key;
+        private final long ttlNanos;
+        private final Set<String> types;
+        private final long generation;
+
+        private CacheableRequest(String key, long ttlNanos, Set<String> types, long generation) {
+            this.key = key;
+            this.ttlNanos = ttlNanos;
+            this.types = types;
+            this.generation = generation;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public long getTtlNanos() {
+            return ttlNanos;
+        }
+
+        public Set<String> getTypes() {
+            return types;
+        }
+
+        /**
+         * Returns the {@link ResponseCache#getGeneration() generation} of the cache when the
+         * request arrived.
+         */
+        public long getGeneration() {
+            return generation;
+        }
+    }
+
+    private static final class OperationKey {
+        private final String query;
+        private final String operationName;
+
+        private OperationKey(String query, String operationName) {
+            this.query = query;
+            this.operationName = operationName;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof OperationKey key
+                    && key.query.equals(query)
+                    && Objects.equals(key.operationName, operationName);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * query.hashCode() + Objects.hashCode(operationName);
+        }
+    }
+
+    private static final class NormalizedOperation {
+        private final GraphQLSchema schema;
+        private final String compact;
+        private final Set<String> types;
+        private final long ttlNanos;
+
+        private NormalizedOperation(GraphQLSchema schema, String compact, Set<String> types, long ttlNanos) {
+            this.schema = schema;
+            this.compact = compact;
+            this.types = types;
+            this.ttlNanos = ttlNanos;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.enokdev.graphql.autogen.starter.cache;
+
+import com.enokdev.graphql.autogen.annotation.GType;
+import com.enokdev.graphql.autogen.annotation.GraphQLMutation;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * How long responses are kept in the {@link ResponseCache}, from the
+ * {@code responseCacheTtl} of the {@link GType} types they select, and which types each
+ * mutation invalidates in addition to those it returns, from its {@code invalidates}
+ * attribute.
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class ResponseCachePolicy {
+
+    private final Map<String, Long> typeTtls;
+    private final Map<String, Set<String>> mutationTypes;
+    private final long defaultTtlNanos;
+
+    /**
+     * @param typeTtls the time to live of responses selecting a type, in nanoseconds, by type name
+     * @param mutationTypes the types invalidated by a mutation besides those it returns, by mutation name
+     * @param defaultTtl the time to live of responses selecting no type with a time to live
+     */
+    public ResponseCachePolicy(Map<String, Long> typeTtls, Map<String, Set<String>> mutationTypes, Duration defaultTtl) {
+        this.typeTtls = Map.copyOf(typeTtls);
+        this.mutationTypes = Map.copyOf(mutationTypes);
+        this.defaultTtlNanos = defaultTtl.toNanos();
+    }
+
+    /**
+     * Collects the time to live hints and invalidations declared on annotated classes.
+     *
+     * @param annotatedClasses the {@code @GType} and controller classes
+     * @param defaultTtl the time to live of responses selecting no type with a hint
+     */
+    public static ResponseCachePolicy fromAnnotatedClasses(Collection<Class<?>> annotatedClasses, Duration defaultTtl) {
+        Map<String, Long> typeTtls = new HashMap<>();
+        Map<String, Set<String>> mutationTypes = new HashMap<>();
+        for (Class<?> annotatedClass : annotatedClasses) {
+            GType type = annotatedClass.getAnnotation(GType.class);
+            if (type != null && type.responseCacheTtl() >= 0) {
+                String typeName = type.name().isEmpty() ? annotatedClass.getSimpleName() : type.name();
+                typeTtls.put(typeName, Duration.ofSeconds(type.responseCacheTtl()).toNanos());
+            }
+            for (Method method : annotatedClass.getDeclaredMethods()) {
+                GraphQLMutation mutation = method.getAnnotation(GraphQLMutation.class);
+                if (mutation != null && mutation.invalidates().length > 0) {
+                    mutationTypes.put(mutation.name().isEmpty() ? method.getName() : mutation.name(),
+                            Set.of(mutation.invalidates()));
+                }
+            }
+        }
+        return new ResponseCachePolicy(typeTtls, mutationTypes, defaultTtl);
+    }
+
+    /**
+     * Returns how long a response selecting the given types is kept: the shortest time to
+     * live of those types, or the default when none has one. 0 means not cached.
+     */
+    public long getTtlNanos(Collection<String> typeNames) {
+        long ttl = Long.MAX_VALUE;
+        for (String typeName : typeNames) {
+            Long typeTtl = typeTtls.get(typeName);
+            if (typeTtl != null) {
+                ttl = Math.min(ttl, typeTtl);
+            }
+        }
+        return ttl == Long.MAX_VALUE ? defaultTtlNanos : ttl;
+    }
+
+    /**
+     * Returns the types a mutation invalidates besides those it returns.
+     */
+    public Set<String> getInvalidatedTypes(String mutationName) {
+        return mutationTypes.getOrDefault(mutationName, Set.of());
+    }
+}
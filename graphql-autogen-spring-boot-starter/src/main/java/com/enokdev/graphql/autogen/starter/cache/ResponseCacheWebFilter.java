@@ -0,0 +1,89 @@
+package com.enokdev.graphql.autogen.starter.cache;
+
+import com.enokdev.graphql.autogen.starter.execution.GraphQlRequestFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.security.Principal;
+
+/**
+ * WebFlux filter answering cacheable GraphQL requests from the {@link ResponseCache}.
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ * @see ResponseCacheFilter
+ */
+public class ResponseCacheWebFilter implements WebFilter, Ordered {
+
+    private final String graphQlPath;
+    private final ResponseCacheKeyResolver keyResolver;
+    private final ResponseCache cache;
+
+    public ResponseCacheWebFilter(String graphQlPath, ResponseCacheKeyResolver keyResolver, ResponseCache cache) {
+        this.graphQlPath = graphQlPath;
+        this.keyResolver = keyResolver;
+        this.cache = cache;
+    }
+
+    /**
+     * Runs in the order of the servlet filter, {@link GraphQlRequestFilter#RESPONSE_CACHE_ORDER}.
+     */
+    @Override
+    public int getOrder() {
+        return GraphQlRequestFilter.RESPONSE_CACHE_ORDER;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (request.getMethod() != HttpMethod.POST
+                || !graphQlPath.equals(request.getPath().pathWithinApplication().value())) {
+            return chain.filter(exchange);
+        }
+        Mono<String> principalName = exchange.getPrincipal().map(Principal::getName).defaultIfEmpty("");
+        Mono<byte[]> body = DataBufferUtils.join(request.getBody())
+                .map(buffer -> {
+                    byte[] bytes = new byte[buffer.readableByteCount()];
+                    buffer.read(bytes);
+                    DataBufferUtils.release(buffer);
+                    return bytes;
+                })
+                .defaultIfEmpty(new byte[0]);
+        return Mono.zip(body, principalName).flatMap(tuple -> {
+            byte[] bytes = tuple.getT1();
+            ResponseCacheKeyResolver.CacheableRequest cacheable = keyResolver.resolve(bytes,
+                    request.getHeaders()::getFirst, tuple.getT2().isEmpty() ? null : tuple.getT2());
+            if (cacheable != null) {
+                byte[] cached = cache.get(cacheable.getKey());
+                if (cached != null) {
+                    ServerHttpResponse response = exchange.getResponse();
+                    response.setStatusCode(HttpStatus.OK);
+                    response.getHeaders().setContentType(
+                            ResponseCacheInterceptor.contentType(request.getHeaders().getFirst(HttpHeaders.ACCEPT)));
+                    response.getHeaders().setContentLength(cached.length);
+                    return response.writeWith(Mono.just(response.bufferFactory().wrap(cached)));
+                }
+                exchange.getAttributes().put(ResponseCacheInterceptor.CACHEABLE_REQUEST_ATTRIBUTE, cacheable);
+            }
+            ServerHttpRequest decorated = new ServerHttpRequestDecorator(request) {
+                @Override
+                public Flux<DataBuffer> getBody() {
+                    return Flux.defer(() -> Flux.just(exchange.getResponse().bufferFactory().wrap(bytes)));
+                }
+            };
+            return chain.filter(exchange.mutate().request(decorated).build());
+        });
+    }
+}
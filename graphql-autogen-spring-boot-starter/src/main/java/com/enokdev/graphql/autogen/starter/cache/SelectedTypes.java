@@ -0,0 +1,108 @@
+package com.enokdev.graphql.autogen.starter.cache;
+
+import graphql.language.Field;
+import graphql.language.FragmentDefinition;
+import graphql.language.FragmentSpread;
+import graphql.language.InlineFragment;
+import graphql.language.Selection;
+import graphql.language.SelectionSet;
+import graphql.schema.GraphQLCompositeType;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLFieldsContainer;
+import graphql.schema.GraphQLInterfaceType;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.GraphQLType;
+import graphql.schema.GraphQLTypeUtil;
+import graphql.schema.GraphQLUnionType;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Statically collects the object, interface and union types an operation selects, an
+ * abstract type standing for all its possible object types.
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+final class SelectedTypes {
+
+    private SelectedTypes() {
+    }
+
+    /**
+     * Returns the types selected anywhere below a root type.
+     */
+    static Set<String> of(GraphQLSchema schema, GraphQLObjectType rootType, SelectionSet selectionSet,
+                          Map<String, FragmentDefinition> fragments) {
+        Set<String> types = new HashSet<>();
+        collect(schema, rootType, selectionSet, fragments, new HashSet<>(), types, true);
+        return types;
+    }
+
+    /**
+     * Returns the types of the fields selected directly on a root type, e.g. those returned
+     * by mutations.
+     */
+    static Set<String> ofRootFields(GraphQLSchema schema, GraphQLObjectType rootType, SelectionSet selectionSet,
+                                    Map<String, FragmentDefinition> fragments) {
+        Set<String> types = new HashSet<>();
+        collect(schema, rootType, selectionSet, fragments, new HashSet<>(), types, false);
+        return types;
+    }
+
+    private static void collect(GraphQLSchema schema, GraphQLCompositeType parent, SelectionSet selectionSet,
+                                Map<String, FragmentDefinition> fragments, Set<String> expanding,
+                                Set<String> types, boolean nested) {
+        if (selectionSet == null) {
+            return;
+        }
+        for (Selection<?> selection : selectionSet.getSelections()) {
+            if (selection instanceof Field field) {
+                if (!(parent instanceof GraphQLFieldsContainer container)) {
+                    continue;
+                }
+                GraphQLFieldDefinition definition = container.getFieldDefinition(field.getName());
+                if (definition == null) {
+                    continue;
+                }
+                GraphQLType type = GraphQLTypeUtil.unwrapAll(definition.getType());
+                if (type instanceof GraphQLCompositeType composite) {
+                    add(schema, composite, types);
+                    if (nested) {
+                        collect(schema, composite, field.getSelectionSet(), fragments, expanding, types, true);
+                    }
+                }
+            } else if (selection instanceof InlineFragment inline) {
+                collect(schema, narrow(schema, parent, inline.getTypeCondition() == null ? null
+                        : inline.getTypeCondition().getName()), inline.getSelectionSet(), fragments, expanding, types, nested);
+            } else if (selection instanceof FragmentSpread spread) {
+                FragmentDefinition fragment = fragments.get(spread.getName());
+                // documents are analysed before validation, so fragment cycles are possible
+                if (fragment != null && expanding.add(spread.getName())) {
+                    collect(schema, narrow(schema, parent, fragment.getTypeCondition().getName()),
+                            fragment.getSelectionSet(), fragments, expanding, types, nested);
+                    expanding.remove(spread.getName());
+                }
+            }
+        }
+    }
+
+    private static GraphQLCompositeType narrow(GraphQLSchema schema, GraphQLCompositeType parent, String typeCondition) {
+        return typeCondition != null && schema.getType(typeCondition) instanceof GraphQLCompositeType type ? type : parent;
+    }
+
+    /**
+     * Adds a type and, for an abstract type, its possible types.
+     */
+    private static void add(GraphQLSchema schema, GraphQLCompositeType type, Set<String> types) {
+        if (type instanceof GraphQLInterfaceType interfaceType) {
+            schema.getImplementations(interfaceType).forEach(implementation -> types.add(implementation.getName()));
+        } else if (type instanceof GraphQLUnionType union) {
+            union.getTypes().forEach(member -> types.add(member.getName()));
+        }
+        types.add(type.getName());
+    }
+}
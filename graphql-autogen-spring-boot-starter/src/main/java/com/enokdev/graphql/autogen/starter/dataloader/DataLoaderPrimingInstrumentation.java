@@ -0,0 +1,213 @@
+package com.enokdev.graphql.autogen.starter.dataloader;
+
+import com.enokdev.graphql.autogen.annotation.GType;
+import com.enokdev.graphql.autogen.annotation.GraphQLId;
+import com.enokdev.graphql.autogen.generator.DataLoaderGenerator;
+import com.enokdev.graphql.autogen.generator.DataLoaderGenerator.DataLoaderConfiguration;
+import graphql.execution.DataFetcherResult;
+import graphql.execution.instrumentation.Instrumentation;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Instrumentation that primes the per-request DataLoaders with the entities returned by
+ * root {@code @GraphQLQuery} fields.
+ *
+ * <p>When a list query such as {@code authors} already returns full {@code @GType} entities,
+ * a later {@code Post.author} load for the same ids would otherwise go back to the batch loader.
+ * This instrumentation looks up every DataLoader declared with {@code @GraphQLDataLoader} whose
+ * value type matches the returned entity and calls {@link DataLoader#prime(Object, Object)} with
+ * the entity's key, so those loads are served from the request cache.</p>
+ *
+ * <p>The key is read from the entity property named by {@code keyProperty} when the entity
+ * declares it, otherwise from its {@code @GraphQLId} member, falling back to {@code id}.</p>
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class DataLoaderPrimingInstrumentation implements Instrumentation {
+
+    private static final Logger log = LoggerFactory.getLogger(DataLoaderPrimingInstrumentation.class);
+
+    private static final List<PrimingTarget> NO_TARGETS = List.of();
+
+    private final Map<Class<?>, List<PrimingTarget>> targetsByValueType;
+    private final Map<Class<?>, List<PrimingTarget>> targetsByRuntimeClass = new ConcurrentHashMap<>();
+
+    public DataLoaderPrimingInstrumentation(DataLoaderGenerator dataLoaderGenerator, Collection<Class<?>> graphQLTypes) {
+        this.targetsByValueType = indexDataLoaders(dataLoaderGenerator, graphQLTypes);
+        log.debug("DataLoader priming enabled for {} entity types", targetsByValueType.size());
+    }
+
+    @Override
+    public DataFetcher<?> instrumentDataFetcher(DataFetcher<?> dataFetcher,
+                                               InstrumentationFieldFetchParameters parameters,
+                                               InstrumentationState state) {
+        if (targetsByValueType.isEmpty() || parameters.isTrivialDataFetcher()) {
+            return dataFetcher;
+        }
+
+        DataFetchingEnvironment environment = parameters.getEnvironment();
+        if (environment.getParentType() != environment.getGraphQLSchema().getQueryType()) {
+            return dataFetcher;
+        }
+
+        return env -> {
+            Object result = dataFetcher.get(env);
+            DataLoaderRegistry registry = env.getDataLoaderRegistry();
+            if (registry == null) {
+                return result;
+            }
+            if (result instanceof CompletionStage<?> stage) {
+                return stage.thenApply(value -> {
+                    prime(value, registry);
+                    return value;
+                });
+            }
+            prime(result, registry);
+            return result;
+        };
+    }
+
+    /**
+     * Primes the matching DataLoaders with every {@code @GType} entity found in the given result.
+     */
+    void prime(Object result, DataLoaderRegistry registry) {
+        if (result instanceof DataFetcherResult<?> fetcherResult) {
+            prime(fetcherResult.getData(), registry);
+        } else if (result instanceof Optional<?> optional) {
+            optional.ifPresent(value -> primeEntity(value, registry));
+        } else if (result instanceof Iterable<?> iterable) {
+            for (Object element : iterable) {
+                primeEntity(element, registry);
+            }
+        } else if (result != null) {
+            primeEntity(result, registry);
+        }
+    }
+
+    private void primeEntity(Object entity, DataLoaderRegistry registry) {
+        if (entity == null) {
+            return;
+        }
+
+        for (PrimingTarget target : targetsFor(entity.getClass())) {
+            DataLoader<Object, Object> dataLoader = registry.getDataLoader(target.dataLoaderName());
+            if (dataLoader == null) {
+                continue;
+            }
+            Object key = target.keyExtractor().apply(entity);
+            if (key != null) {
+                dataLoader.prime(key, entity);
+            }
+        }
+    }
+
+    /**
+     * Resolves the priming targets for a runtime class, walking up the hierarchy so that
+     * ORM proxies of an entity are matched against the entity class itself.
+     */
+    private List<PrimingTarget> targetsFor(Class<?> runtimeClass) {
+        return targetsByRuntimeClass.computeIfAbsent(runtimeClass, type -> {
+            for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+                List<PrimingTarget> targets = targetsByValueType.get(current);
+                if (targets != null) {
+                    return targets;
+                }
+            }
+            return NO_TARGETS;
+        });
+    }
+
+    private static Map<Class<?>, List<PrimingTarget>> indexDataLoaders(DataLoaderGenerator dataLoaderGenerator,
+                                                                       Collection<Class<?>> graphQLTypes) {
+        Map<Class<?>, List<PrimingTarget>> index = new HashMap<>();
+
+        for (Class<?> type : graphQLTypes) {
+            for (DataLoaderConfiguration configuration : dataLoaderGenerator.generateDataLoaders(type)) {
+                Class<?> valueType = configuration.getValueType();
+                if (!configuration.isCachingEnabled() || valueType == null || !valueType.isAnnotationPresent(GType.class)) {
+                    continue;
+                }
+
+                Function<Object, Object> keyExtractor = keyExtractor(valueType, configuration.getKeyProperty());
+                if (keyExtractor == null) {
+                    log.debug("No key property found on {} for DataLoader {}, priming skipped",
+                            valueType.getSimpleName(), configuration.getName());
+                    continue;
+                }
+
+                index.computeIfAbsent(valueType, k -> new ArrayList<>())
+                        .add(new PrimingTarget(configuration.getName(), keyExtractor));
+            }
+        }
+
+        index.replaceAll((type, targets) -> List.copyOf(targets));
+        return Map.copyOf(index);
+    }
+
+    private static Function<Object, Object> keyExtractor(Class<?> valueType, String keyProperty) {
+        if (keyProperty != null && !keyProperty.isEmpty()) {
+            Function<Object, Object> extractor = propertyExtractor(valueType, keyProperty);
+            if (extractor != null) {
+                return extractor;
+            }
+        }
+
+        for (Class<?> current = valueType; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (field.isAnnotationPresent(GraphQLId.class)) {
+                    return propertyExtractor(valueType, field.getName());
+                }
+            }
+            for (Method method : current.getDeclaredMethods()) {
+                if (method.isAnnotationPresent(GraphQLId.class) && method.getParameterCount() == 0) {
+                    ReflectionUtils.makeAccessible(method);
+                    return entity -> ReflectionUtils.invokeMethod(method, entity);
+                }
+            }
+        }
+
+        return propertyExtractor(valueType, "id");
+    }
+
+    private static Function<Object, Object> propertyExtractor(Class<?> type, String property) {
+        PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(type, property);
+        if (descriptor != null && descriptor.getReadMethod() != null) {
+            Method getter = descriptor.getReadMethod();
+            return entity -> ReflectionUtils.invokeMethod(getter, entity);
+        }
+
+        Field field = ReflectionUtils.findField(type, property);
+        if (field != null) {
+            ReflectionUtils.makeAccessible(field);
+            return entity -> ReflectionUtils.getField(field, entity);
+        }
+
+        return null;
+    }
+
+    private record PrimingTarget(String dataLoaderName, Function<Object, Object> keyExtractor) {
+    }
+}
@@ -0,0 +1,41 @@
+package com.enokdev.graphql.autogen.starter.execution;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Static cost of the operations of a batched request, which share one complexity limit.
+ *
+ * <p>Stored in the {@link graphql.GraphQLContext} of each operation of the batch under
+ * {@code BatchComplexity.class}. The {@link QueryComplexityInstrumentation} then charges
+ * every operation to it and rejects those that would take the total over the limit.</p>
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public final class BatchComplexity {
+
+    private final AtomicLong total = new AtomicLong();
+
+    /**
+     * Adds the cost of an operation unless the total would exceed the given maximum.
+     *
+     * @return whether the cost was added
+     */
+    public boolean charge(long complexity, long maxComplexity) {
+        long current;
+        do {
+            current = total.get();
+            if (complexity > maxComplexity - current) {
+                return false;
+            }
+        } while (!total.compareAndSet(current, current + complexity));
+        return true;
+    }
+
+    /**
+     * Returns the cost of the operations accepted so far.
+     */
+    public long getTotal() {
+        return total.get();
+    }
+}
@@ -0,0 +1,47 @@
+package com.enokdev.graphql.autogen.starter.execution;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publishes the statistics of a {@link PreparsedDocumentCache} to Micrometer: the
+ * {@code graphql.autogen.document.cache.size} gauge, the
+ * {@code graphql.autogen.document.cache.gets} counter tagged with the {@code result},
+ * {@code hit} or {@code miss}, and the {@code graphql.autogen.document.cache.evictions}
+ * counter.
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class DocumentCacheMeterBinder implements MeterBinder {
+
+    private final PreparsedDocumentCache documentCache;
+
+    public DocumentCacheMeterBinder(PreparsedDocumentCache documentCache) {
+        this.documentCache = documentCache;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("graphql.autogen.document.cache.size", documentCache, PreparsedDocumentCache::size)
+                .description("Number of cached documents")
+                .register(registry);
+        gets(registry, "hit", PreparsedDocumentCache::getHitCount);
+        gets(registry, "miss", PreparsedDocumentCache::getMissCount);
+        FunctionCounter.builder("graphql.autogen.document.cache.evictions", documentCache,
+                        PreparsedDocumentCache::getEvictionCount)
+                .description("Number of documents evicted from the cache")
+                .register(registry);
+    }
+
+    private void gets(MeterRegistry registry, String result, ToDoubleFunction<PreparsedDocumentCache> count) {
+        FunctionCounter.builder("graphql.autogen.document.cache.gets", documentCache, count)
+                .description("Number of document lookups")
+                .tag("result", result)
+                .register(registry);
+    }
+}
@@ -0,0 +1,105 @@
+package com.enokdev.graphql.autogen.starter.execution;
+
+import com.enokdev.graphql.autogen.annotation.GType;
+import com.enokdev.graphql.autogen.annotation.GraphQLField;
+import com.enokdev.graphql.autogen.annotation.GraphQLMutation;
+import com.enokdev.graphql.autogen.annotation.GraphQLQuery;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Static cost of each field, by {@code Type.field} coordinate, used by the
+ * {@link QueryComplexityAnalyzer}. Fields without a weight cost
+ * {@value #DEFAULT_WEIGHT}.
+ *
+ * <p>Weights come from the {@code complexity} attribute of {@link GraphQLField},
+ * {@link GraphQLQuery} and {@link GraphQLMutation}, named the way the schema generator
+ * names the fields, and from configured overrides which take precedence.</p>
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class FieldComplexityWeights {
+
+    public static final int DEFAULT_WEIGHT = 1;
+
+    private final Map<String, Integer> weights;
+
+    /**
+     * @param weights the weights by {@code Type.field} coordinate
+     */
+    public FieldComplexityWeights(Map<String, Integer> weights) {
+        this.weights = Map.copyOf(weights);
+    }
+
+    /**
+     * Collects the weights declared on annotated classes.
+     *
+     * @param annotatedClasses the {@code @GType} and controller classes
+     * @param overrides weights by {@code Type.field} coordinate replacing the declared ones
+     */
+    public static FieldComplexityWeights fromAnnotatedClasses(Collection<Class<?>> annotatedClasses,
+                                                              Map<String, Integer> overrides) {
+        Map<String, Integer> weights = new HashMap<>();
+        for (Class<?> annotatedClass : annotatedClasses) {
+            GType type = annotatedClass.getAnnotation(GType.class);
+            String typeName = type == null ? null : type.name().isEmpty() ? annotatedClass.getSimpleName() : type.name();
+            if (typeName != null) {
+                for (Field field : annotatedClass.getDeclaredFields()) {
+                    GraphQLField annotation = field.getAnnotation(GraphQLField.class);
+                    if (annotation != null && annotation.complexity() != DEFAULT_WEIGHT) {
+                        String name = annotation.name().isEmpty() ? field.getName() : annotation.name();
+                        weights.put(typeName + "." + name, annotation.complexity());
+                    }
+                }
+            }
+            for (Method method : annotatedClass.getDeclaredMethods()) {
+                GraphQLField field = method.getAnnotation(GraphQLField.class);
+                if (typeName != null && field != null && field.complexity() != DEFAULT_WEIGHT) {
+                    String name = field.name().isEmpty() ? propertyName(method.getName()) : field.name();
+                    weights.put(typeName + "." + name, field.complexity());
+                }
+                GraphQLQuery query = method.getAnnotation(GraphQLQuery.class);
+                if (query != null && query.complexity() != DEFAULT_WEIGHT) {
+                    weights.put("Query." + (query.name().isEmpty() ? method.getName() : query.name()), query.complexity());
+                }
+                GraphQLMutation mutation = method.getAnnotation(GraphQLMutation.class);
+                if (mutation != null && mutation.complexity() != DEFAULT_WEIGHT) {
+                    weights.put("Mutation." + (mutation.name().isEmpty() ? method.getName() : mutation.name()),
+                            mutation.complexity());
+                }
+            }
+        }
+        weights.putAll(overrides);
+        return new FieldComplexityWeights(weights);
+    }
+
+    /**
+     * Returns the weight of a field.
+     */
+    public int getWeight(String typeName, String fieldName) {
+        return weights.getOrDefault(typeName + "." + fieldName, DEFAULT_WEIGHT);
+    }
+
+    /**
+     * Returns the declared and configured weights, by coordinate.
+     */
+    public Map<String, Integer> getWeights() {
+        return Collections.unmodifiableMap(weights);
+    }
+
+    private static String propertyName(String methodName) {
+        if (methodName.startsWith("get") && methodName.length() > 3) {
+            return Character.toLowerCase(methodName.charAt(3)) + methodName.substring(4);
+        }
+        if (methodName.startsWith("is") && methodName.length() > 2) {
+            return Character.toLowerCase(methodName.charAt(2)) + methodName.substring(3);
+        }
+        return methodName;
+    }
+}
@@ -0,0 +1,74 @@
+package com.enokdev.graphql.autogen.starter.execution;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link PersistedQueryStore} writing each query to {@code <hash>.graphql} in a directory,
+ * for tests and single-node deployments where registrations should survive restarts.
+ *
+ * <p>Queries read from disk are kept in memory, so each file is read at most once. Files
+ * are written to a temporary file first and then moved in place.</p>
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class FilePersistedQueryStore implements PersistedQueryStore {
+
+    private static final String EXTENSION = ".graphql";
+
+    private final Path directory;
+    private final Map<String, String> loaded = new ConcurrentHashMap<>();
+
+    public FilePersistedQueryStore(Path directory) {
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create persisted query directory " + directory, e);
+        }
+    }
+
+    @Override
+    public String getQuery(String hash) {
+        if (!PersistedQueryDocumentProvider.isSha256Hash(hash)) {
+            return null;
+        }
+        String query = loaded.get(hash);
+        if (query != null) {
+            return query;
+        }
+        try {
+            query = Files.readString(directory.resolve(hash + EXTENSION), StandardCharsets.UTF_8);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read persisted query " + hash, e);
+        }
+        loaded.put(hash, query);
+        return query;
+    }
+
+    @Override
+    public void putQuery(String hash, String query) {
+        if (!PersistedQueryDocumentProvider.isSha256Hash(hash)) {
+            throw new IllegalArgumentException("Not a SHA-256 hash: " + hash);
+        }
+        try {
+            Path temporary = Files.createTempFile(directory, hash, ".tmp");
+            Files.writeString(temporary, query, StandardCharsets.UTF_8);
+            Files.move(temporary, directory.resolve(hash + EXTENSION),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write persisted query " + hash, e);
+        }
+        loaded.put(hash, query);
+    }
+}
@@ -0,0 +1,132 @@
+package com.enokdev.graphql.autogen.starter.execution;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.ObjectUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Base class of the servlet filters handling the POST requests of the GraphQL endpoint from
+ * their body.
+ *
+ * <p>The body is read once, and served again from memory to the filters and handler that
+ * follow. The filters run in a fixed order after the security filters: persisted queries are
+ * expanded first, so that the response cache, batching, incremental delivery and streaming
+ * see the complete request.</p>
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public abstract class GraphQlRequestFilter extends OncePerRequestFilter implements Ordered {
+
+    /**
+     * Order of the filter expanding hash-only persisted query requests.
+     */
+    public static final int PERSISTED_QUERY_ORDER = 0;
+
+    /**
+     * Order of the filter answering requests from the response cache.
+     */
+    public static final int RESPONSE_CACHE_ORDER = PERSISTED_QUERY_ORDER + 10;
+
+    /**
+     * Order of the filter executing array-batched requests.
+     */
+    public static final int BATCH_ORDER = RESPONSE_CACHE_ORDER + 10;
+
+    /**
+     * Order of the filter delivering {@code @defer} responses incrementally.
+     */
+    public static final int INCREMENTAL_DELIVERY_ORDER = BATCH_ORDER + 10;
+
+    /**
+     * Order of the filter streaming the responses of streamed list fields.
+     */
+    public static final int STREAMING_ORDER = INCREMENTAL_DELIVERY_ORDER + 10;
+
+    private final String graphQlPath;
+    private final int order;
+
+    protected GraphQlRequestFilter(String graphQlPath, int order) {
+        this.graphQlPath = graphQlPath;
+        this.order = order;
+    }
+
+    @Override
+    public int getOrder() {
+        return order;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod())
+                || !graphQlPath.equals(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    @Override
+    protected final void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        CachedBodyRequest cached = WebUtils.getNativeRequest(request, CachedBodyRequest.class);
+        byte[] body = cached != null ? cached.getBody() : request.getInputStream().readAllBytes();
+        doFilterBody(request, body, response, filterChain);
+    }
+
+    /**
+     * Handles a request of the GraphQL endpoint, or passes it on with
+     * {@link #proceed(HttpServletRequest, byte[], HttpServletResponse, FilterChain)}.
+     *
+     * @param body the body, already read from the request
+     */
+    protected abstract void doFilterBody(HttpServletRequest request, byte[] body, HttpServletResponse response,
+                                         FilterChain filterChain) throws ServletException, IOException;
+
+    /**
+     * Passes a request on to the rest of the chain, with its body served from memory.
+     */
+    protected static void proceed(HttpServletRequest request, byte[] body, HttpServletResponse response,
+                                  FilterChain filterChain) throws ServletException, IOException {
+        filterChain.doFilter(new CachedBodyRequest(request, body), response);
+    }
+
+    /**
+     * Creates the GraphQL request of a servlet request and its parsed body.
+     */
+    protected static WebGraphQlRequest graphQlRequest(HttpServletRequest request, Map<String, Object> body) {
+        return graphQlRequest(new ServletServerHttpRequest(request), attributes(request), body,
+                ObjectUtils.getIdentityHexString(request));
+    }
+
+    /**
+     * Creates a GraphQL request of a servlet request, for one of the requests of its body.
+     *
+     * @param attributes the request attributes, copied into the GraphQL request
+     * @param id the identifier of the GraphQL request
+     */
+    protected static WebGraphQlRequest graphQlRequest(ServletServerHttpRequest httpRequest, Map<String, Object> attributes,
+                                                      Map<String, Object> body, String id) {
+        return new WebGraphQlRequest(httpRequest.getURI(), httpRequest.getHeaders(), new LinkedMultiValueMap<>(),
+                httpRequest.getRemoteAddress(), new HashMap<>(attributes), body, id,
+                httpRequest.getServletRequest().getLocale());
+    }
+
+    /**
+     * Returns a copy of the attributes of a servlet request.
+     */
+    protected static Map<String, Object> attributes(HttpServletRequest request) {
+        Map<String, Object> attributes = new HashMap<>();
+        Collections.list(request.getAttributeNames()).forEach(name -> attributes.put(name, request.getAttribute(name)));
+        return attributes;
+    }
+}
@@ -0,0 +1,60 @@
+package com.enokdev.graphql.autogen.starter.execution;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@link PersistedQueryStore} keeping the most recently used queries in memory.
+ *
+ * <p>Beyond {@code maximumSize} queries, the least recently used one is forgotten; a client
+ * sending its hash is then asked to send the full query again.</p>
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class InMemoryPersistedQueryStore implements PersistedQueryStore {
+
+    /**
+     * Default maximum number of stored queries.
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+
+    private final Map<String, String> queries;
+
+    public InMemoryPersistedQueryStore() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    public InMemoryPersistedQueryStore(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be positive");
+        }
+        this.queries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > maximumSize;
+            }
+        };
+    }
+
+    @Override
+    public String getQuery(String hash) {
+        // hash lookups only happen for hash-only requests, whose parsed documents are cached
+        synchronized (queries) {
+            return queries.get(hash);
+        }
+    }
+
+    @Override
+    public void putQuery(String hash, String query) {
+        synchronized (queries) {
+            queries.put(hash, query);
+        }
+    }
+
+    public int size() {
+        synchronized (queries) {
+            return queries.size();
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.enokdev.graphql.autogen.starter.execution;
+
+import com.enokdev.graphql.autogen.error.CustomGraphQLError;
+import com.enokdev.graphql.autogen.error.ErrorCodes;
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * {@link PreparsedDocumentProvider} implementing the automatic persisted query protocol:
+ * a request may carry {@code extensions.persistedQuery.sha256Hash} instead of its query.
+ *
+ * <ul>
+ *   <li>A hash-only request runs the query registered under that hash, or fails with
+ *   {@code PersistedQueryNotFound} so that the client sends the full query.</li>
+ *   <li>A request carrying both registers the query once its hash has been verified.</li>
+ *   <li>In allowlist mode nothing is registered at runtime: only queries already in the
+ *   store, typically loaded from a {@link PersistedQueryManifest} at startup, can run,
+ *   whether they are sent by hash or in full.</li>
+ * </ul>
+ *
+ * <p>The resolved query is handed to the delegate provider, usually the
+ * {@link PreparsedDocumentCache}, so that it is parsed and validated only once.</p>
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class PersistedQueryDocumentProvider implements PreparsedDocumentProvider {
+
+    public static final String PERSISTED_QUERY_EXTENSION = "persistedQuery";
+    public static final String SHA256_HASH = "sha256Hash";
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final PersistedQueryStore store;
+    private final PreparsedDocumentProvider delegate;
+    private final boolean allowlist;
+
+    /**
+     * @param store the registered queries
+     * @param delegate the provider resolved queries are parsed by, or {@code null} to parse them directly
+     * @param allowlist whether only queries already in the store can run
+     */
+    public PersistedQueryDocumentProvider(PersistedQueryStore store, PreparsedDocumentProvider delegate,
+                                          boolean allowlist) {
+        this.store = store;
+        this.delegate = delegate;
+        this.allowlist = allowlist;
+    }
+
+    @Override
+    public CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(
+            ExecutionInput executionInput,
+            Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        String hash = requestedHash(executionInput);
+        String query = executionInput.getQuery();
+        boolean hasQuery = query != null && !query.isBlank() && !PersistedQuerySupport.PERSISTED_QUERY_MARKER.equals(query);
+
+        if (hash == null) {
+            if (allowlist && (!hasQuery || store.getQuery(sha256(query)) == null)) {
+                return rejected(notAllowed());
+            }
+            return parse(executionInput, parseAndValidateFunction);
+        }
+        if (!isSha256Hash(hash)) {
+            return rejected(new CustomGraphQLError("PersistedQueryIdInvalid", ErrorCodes.BAD_REQUEST,
+                    Map.of("code", "PERSISTED_QUERY_ID_INVALID")));
+        }
+
+        if (!hasQuery) {
+            String stored = store.getQuery(hash);
+            if (stored == null) {
+                return rejected(allowlist ? notAllowed() : new CustomGraphQLError("PersistedQueryNotFound",
+                        ErrorCodes.NOT_FOUND, Map.of("code", "PERSISTED_QUERY_NOT_FOUND")));
+            }
+            return parse(executionInput.transform(builder -> builder.query(stored)), parseAndValidateFunction);
+        }
+
+        if (!sha256(query).equals(hash)) {
+            return rejected(new CustomGraphQLError("provided sha does not match query", ErrorCodes.BAD_REQUEST,
+                    Map.of("code", "PERSISTED_QUERY_HASH_MISMATCH")));
+        }
+        if (allowlist) {
+            if (store.getQuery(hash) == null) {
+                return rejected(notAllowed());
+            }
+        } else {
+            store.putQuery(hash, query);
+        }
+        return parse(executionInput, parseAndValidateFunction);
+    }
+
+    /**
+     * Returns the lowercase hexadecimal SHA-256 hash of a query, as computed by clients.
+     */
+    public static String sha256(String query) {
+        try {
+            return HEX.formatHex(MessageDigest.getInstance("SHA-256").digest(query.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Returns whether a value is a lowercase hexadecimal SHA-256 hash, and therefore safe to
+     * use as a file name or store key.
+     */
+    public static boolean isSha256Hash(String value) {
+        if (value == null || value.length() != 64) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String requestedHash(ExecutionInput executionInput) {
+        Map<String, Object> extensions = executionInput.getExtensions();
+        if (extensions == null || !(extensions.get(PERSISTED_QUERY_EXTENSION) instanceof Map<?, ?> persistedQuery)) {
+            return null;
+        }
+        Object hash = persistedQuery.get(SHA256_HASH);
+        return hash != null ? hash.toString() : "";
+    }
+
+    private CompletableFuture<PreparsedDocumentEntry> parse(
+            ExecutionInput executionInput,
+            Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        if (delegate != null) {
+            return delegate.getDocumentAsync(executionInput, parseAndValidateFunction);
+        }
+        return CompletableFuture.completedFuture(parseAndValidateFunction.apply(executionInput));
+    }
+
+    private static CustomGraphQLError notAllowed() {
+        return new CustomGraphQLError("PersistedQueryNotAllowed", ErrorCodes.FORBIDDEN_ACCESS,
+                Map.of("code", "PERSISTED_QUERY_NOT_ALLOWED"));
+    }
+
+    private static CompletableFuture<PreparsedDocumentEntry> rejected(CustomGraphQLError error) {
+        return CompletableFuture.completedFuture(new PreparsedDocumentEntry(error));
+    }
+}
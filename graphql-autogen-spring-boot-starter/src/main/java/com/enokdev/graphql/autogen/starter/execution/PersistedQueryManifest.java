@@ -0,0 +1,68 @@
+package com.enokdev.graphql.autogen.starter.execution;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reads the operations registered at build time into a {@link PersistedQueryStore}.
+ *
+ * <p>Two formats are accepted: the Apollo persisted query manifest
+ * ({@code {"operations": [{"id": "<sha256>", "body": "query ..."}]}}) produced by client
+ * tool chains, and a plain object mapping each hash to its query. Every hash is checked
+ * against its query, so that a stale manifest fails at startup rather than at request time.</p>
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public final class PersistedQueryManifest {
+
+    private PersistedQueryManifest() {
+    }
+
+    /**
+     * Reads a manifest.
+     *
+     * @return the queries by hash, in manifest order
+     * @throws IllegalArgumentException if a hash does not match its query
+     */
+    public static Map<String, String> read(InputStream manifest, ObjectMapper objectMapper) throws IOException {
+        JsonNode root = objectMapper.readTree(manifest);
+        Map<String, String> queries = new LinkedHashMap<>();
+        if (root.has("operations")) {
+            for (JsonNode operation : root.get("operations")) {
+                add(queries, operation.path("id").asText(), operation.path("body").asText());
+            }
+        } else {
+            Iterator<Map.Entry<String, JsonNode>> fields = root.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                add(queries, field.getKey(), field.getValue().asText());
+            }
+        }
+        return queries;
+    }
+
+    /**
+     * Reads a manifest into a store.
+     *
+     * @return the number of registered queries
+     */
+    public static int load(InputStream manifest, ObjectMapper objectMapper, PersistedQueryStore store) throws IOException {
+        Map<String, String> queries = read(manifest, objectMapper);
+        queries.forEach(store::putQuery);
+        return queries.size();
+    }
+
+    private static void add(Map<String, String> queries, String hash, String query) {
+        if (!PersistedQueryDocumentProvider.sha256(query).equals(hash)) {
+            throw new IllegalArgumentException("Persisted query " + hash + " does not match its SHA-256 hash");
+        }
+        queries.put(hash, query);
+    }
+}
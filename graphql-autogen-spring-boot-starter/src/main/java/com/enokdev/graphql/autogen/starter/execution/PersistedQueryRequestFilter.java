@@ -0,0 +1,35 @@
+package com.enokdev.graphql.autogen.starter.execution;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+
+/**
+ * Servlet filter expanding hash-only persisted query requests with their registered query.
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ * @see PersistedQueryDocumentProvider
+ */
+public class PersistedQueryRequestFilter extends GraphQlRequestFilter {
+
+    private final ObjectMapper objectMapper;
+    private final PersistedQueryStore store;
+
+    public PersistedQueryRequestFilter(String graphQlPath, ObjectMapper objectMapper, PersistedQueryStore store) {
+        super(graphQlPath, PERSISTED_QUERY_ORDER);
+        this.objectMapper = objectMapper;
+        this.store = store;
+    }
+
+    @Override
+    protected void doFilterBody(HttpServletRequest request, byte[] body, HttpServletResponse response,
+                                FilterChain filterChain) throws ServletException, IOException {
+        byte[] completed = PersistedQueryRequests.expand(body, objectMapper, store);
+        proceed(request, completed != null ? completed : body, response, filterChain);
+    }
+}
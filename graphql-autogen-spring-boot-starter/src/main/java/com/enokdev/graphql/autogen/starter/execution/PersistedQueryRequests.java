@@ -0,0 +1,51 @@
+package com.enokdev.graphql.autogen.starter.execution;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Expands hash-only HTTP request bodies, which Spring for GraphQL rejects for lack of a
+ * {@code query}, with the query registered under their hash.
+ *
+ * <p>The hash is kept, so that {@link PersistedQueryDocumentProvider} still applies the
+ * allowlist. An unknown hash is completed with the graphql-java persisted query marker
+ * instead, which the provider answers with {@code PersistedQueryNotFound}.</p>
+ */
+final class PersistedQueryRequests {
+
+    private static final byte[] PERSISTED_QUERY = ("\"" + PersistedQueryDocumentProvider.PERSISTED_QUERY_EXTENSION + "\"")
+            .getBytes(StandardCharsets.US_ASCII);
+
+    private PersistedQueryRequests() {
+    }
+
+    /**
+     * Returns the body with the registered query, or the persisted query marker, as query, or
+     * {@code null} if the body needs no change.
+     */
+    static byte[] expand(byte[] body, ObjectMapper objectMapper, PersistedQueryStore store) {
+        // most requests carry no persisted query and are never parsed here
+        if (!RequestBodies.contains(body, PERSISTED_QUERY)) {
+            return null;
+        }
+        try {
+            JsonNode request = objectMapper.readTree(body);
+            if (!(request instanceof ObjectNode object) || object.path("query").isTextual()) {
+                return null;
+            }
+            String hash = object.path("extensions").path(PersistedQueryDocumentProvider.PERSISTED_QUERY_EXTENSION)
+                    .path(PersistedQueryDocumentProvider.SHA256_HASH).asText(null);
+            String stored = PersistedQueryDocumentProvider.isSha256Hash(hash) ? store.getQuery(hash) : null;
+            object.put("query", stored != null ? stored : PersistedQuerySupport.PERSISTED_QUERY_MARKER);
+            return objectMapper.writeValueAsBytes(object);
+        } catch (IOException e) {
+            // left to the GraphQL handler, which reports malformed bodies
+            return null;
+        }
+    }
+}
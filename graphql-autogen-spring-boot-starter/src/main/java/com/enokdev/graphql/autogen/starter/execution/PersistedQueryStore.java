@@ -0,0 +1,30 @@
+package com.enokdev.graphql.autogen.starter.execution;
+
+/**
+ * Storage of persisted query texts by SHA-256 hash, used by
+ * {@link PersistedQueryDocumentProvider}.
+ *
+ * <p>Implementations must be thread-safe. A store shared between nodes (Redis, a database)
+ * lets a query registered on one node be served by hash on every other node.</p>
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public interface PersistedQueryStore {
+
+    /**
+     * Returns the query registered under a hash.
+     *
+     * @param hash the lowercase hexadecimal SHA-256 hash of the query
+     * @return the query text, or {@code null} if none is registered
+     */
+    String getQuery(String hash);
+
+    /**
+     * Registers a query under its hash, replacing any previous registration.
+     *
+     * @param hash the lowercase hexadecimal SHA-256 hash of the query
+     * @param query the query text
+     */
+    void putQuery(String hash, String query);
+}
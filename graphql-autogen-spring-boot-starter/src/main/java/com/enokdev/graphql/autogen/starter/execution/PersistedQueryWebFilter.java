@@ -0,0 +1,79 @@
+package com.enokdev.graphql.autogen.starter.execution;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux filter expanding hash-only persisted query requests with their registered query.
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ * @see PersistedQueryDocumentProvider
+ */
+public class PersistedQueryWebFilter implements WebFilter, Ordered {
+
+    private final String graphQlPath;
+    private final ObjectMapper objectMapper;
+    private final PersistedQueryStore store;
+
+    public PersistedQueryWebFilter(String graphQlPath, ObjectMapper objectMapper, PersistedQueryStore store) {
+        this.graphQlPath = graphQlPath;
+        this.objectMapper = objectMapper;
+        this.store = store;
+    }
+
+    /**
+     * Runs in the order of the servlet filter, {@link GraphQlRequestFilter#PERSISTED_QUERY_ORDER}.
+     */
+    @Override
+    public int getOrder() {
+        return GraphQlRequestFilter.PERSISTED_QUERY_ORDER;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (request.getMethod() != HttpMethod.POST
+                || !graphQlPath.equals(request.getPath().pathWithinApplication().value())) {
+            return chain.filter(exchange);
+        }
+        return DataBufferUtils.join(request.getBody())
+                .map(buffer -> {
+                    byte[] body = new byte[buffer.readableByteCount()];
+                    buffer.read(body);
+                    DataBufferUtils.release(buffer);
+                    return body;
+                })
+                .defaultIfEmpty(new byte[0])
+                .flatMap(body -> {
+                    byte[] completed = PersistedQueryRequests.expand(body, objectMapper, store);
+                    byte[] forwarded = completed != null ? completed : body;
+                    HttpHeaders headers = new HttpHeaders();
+                    headers.putAll(request.getHeaders());
+                    headers.setContentLength(forwarded.length);
+                    ServerHttpRequest decorated = new ServerHttpRequestDecorator(request) {
+                        @Override
+                        public HttpHeaders getHeaders() {
+                            return headers;
+                        }
+
+                        @Override
+                        public Flux<DataBuffer> getBody() {
+                            return Flux.defer(() -> Flux.just(exchange.getResponse().bufferFactory().wrap(forwarded)));
+                        }
+                    };
+                    return chain.filter(exchange.mutate().request(decorated).build());
+                });
+    }
+}
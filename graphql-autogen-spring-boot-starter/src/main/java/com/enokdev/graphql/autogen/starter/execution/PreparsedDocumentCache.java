@@ -0,0 +1,241 @@
+package com.enokdev.graphql.autogen.starter.execution;
+
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.SchemaPrinter;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * {@link PreparsedDocumentProvider} keeping the parsed and validated documents of the most
+ * recently used queries, so that repeated operations skip parsing and validation.
+ *
+ * <p>Entries are keyed by the query text and a fingerprint of the schema they were
+ * validated against: a document validated against a previous schema is never served.
+ * They are spread by hash over independently locked segments, each an access-ordered
+ * {@link LinkedHashMap} holding its share of the maximum size, so a lookup only contends
+ * with lookups of the same segment and eviction of the least recently used entry of a
+ * full segment takes constant time. A query whose parsing or validation failed is cached
+ * as well, so that repeated invalid queries are rejected without being parsed again.</p>
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class PreparsedDocumentCache implements PreparsedDocumentProvider {
+
+    /**
+     * Default maximum number of cached documents.
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 1000;
+
+    private static final int MAXIMUM_SEGMENTS = 16;
+    private static final int MINIMUM_SEGMENT_SIZE = 64;
+
+    private final Supplier<GraphQLSchema> schema;
+    private final Segment[] segments;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private volatile SchemaFingerprint fingerprint = new SchemaFingerprint(null, 0L);
+
+    /**
+     * Creates a cache for a schema that never changes.
+     */
+    public PreparsedDocumentCache(int maximumSize) {
+        this(maximumSize, () -> null);
+    }
+
+    /**
+     * Creates a cache.
+     *
+     * @param maximumSize the maximum number of cached documents
+     * @param schema supplies the served schema, or {@code null} while there is none
+     */
+    public PreparsedDocumentCache(int maximumSize, Supplier<GraphQLSchema> schema) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be positive");
+        }
+        this.schema = schema;
+        int segmentCount = Math.min(Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2),
+                MAXIMUM_SEGMENTS);
+        // small caches keep one exact LRU order rather than tiny segments
+        while (segmentCount > 1 && maximumSize / segmentCount < MINIMUM_SEGMENT_SIZE) {
+            segmentCount >>= 1;
+        }
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            // the remainder goes to the first segments, so the capacities add up to the maximum size
+            segments[i] = new Segment(maximumSize / segmentCount + (i < maximumSize % segmentCount ? 1 : 0));
+        }
+    }
+
+    @Override
+    public CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(
+            ExecutionInput executionInput,
+            Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        DocumentKey key = new DocumentKey(currentFingerprint(), executionInput.getQuery());
+        Segment segment = segmentFor(key);
+        CompletableFuture<PreparsedDocumentEntry> cached = segment.get(key);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        misses.increment();
+        // parsed outside the lock: concurrent misses on the same query both parse it and
+        // the first one stored wins
+        return segment.putIfAbsent(key, CompletableFuture.completedFuture(parseAndValidateFunction.apply(executionInput)));
+    }
+
+    /**
+     * Drops every cached document, e.g. after the schema was regenerated.
+     */
+    public void invalidate() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+        fingerprint = new SchemaFingerprint(null, 0L);
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Returns the fraction of lookups served from the cache, or 0 before the first lookup.
+     */
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    private long currentFingerprint() {
+        GraphQLSchema current = schema.get();
+        SchemaFingerprint known = fingerprint;
+        if (known.schema == current) {
+            return known.value;
+        }
+        // printed once per schema instance, i.e. at startup and after each reload
+        SchemaFingerprint computed = new SchemaFingerprint(current, fingerprint(current));
+        fingerprint = computed;
+        return computed.value;
+    }
+
+    private static long fingerprint(GraphQLSchema schema) {
+        if (schema == null) {
+            return 0L;
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(new SchemaPrinter().print(schema).getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private Segment segmentFor(DocumentKey key) {
+        int hash = key.hash;
+        return segments[(hash ^ (hash >>> 16)) & (segments.length - 1)];
+    }
+
+    /**
+     * A share of the cache: an access-ordered map evicting its eldest entry when full.
+     */
+    private final class Segment {
+        private final Map<DocumentKey, CompletableFuture<PreparsedDocumentEntry>> documents;
+
+        private Segment(int capacity) {
+            this.documents = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<DocumentKey, CompletableFuture<PreparsedDocumentEntry>> eldest) {
+                    if (size() > capacity) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        synchronized CompletableFuture<PreparsedDocumentEntry> get(DocumentKey key) {
+            return documents.get(key);
+        }
+
+        synchronized CompletableFuture<PreparsedDocumentEntry> putIfAbsent(
+                DocumentKey key, CompletableFuture<PreparsedDocumentEntry> document) {
+            CompletableFuture<PreparsedDocumentEntry> previous = documents.putIfAbsent(key, document);
+            return previous != null ? previous : document;
+        }
+
+        synchronized void clear() {
+            documents.clear();
+        }
+
+        synchronized int size() {
+            return documents.size();
+        }
+    }
+
+    private static final class DocumentKey {
+        private final long schemaFingerprint;
+        private final String query;
+        private final int hash;
+
+        private DocumentKey(long schemaFingerprint, String query) {
+            this.schemaFingerprint = schemaFingerprint;
+            this.query = query;
+            this.hash = 31 * Long.hashCode(schemaFingerprint) + query.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof DocumentKey key
+                    && key.schemaFingerprint == schemaFingerprint
+                    && key.query.equals(query);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class SchemaFingerprint {
+        private final GraphQLSchema schema;
+        private final long value;
+
+        private SchemaFingerprint(GraphQLSchema schema, long value) {
+            this.schema = schema;
+            this.value = value;
+        }
+    }
+}
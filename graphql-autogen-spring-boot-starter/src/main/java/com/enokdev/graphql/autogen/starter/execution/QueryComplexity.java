@@ -0,0 +1,41 @@
+package com.enokdev.graphql.autogen.starter.execution;
+
+/**
+ * Depth and static cost of an operation, computed before it executes.
+ *
+ * <p>Stored in the {@link graphql.GraphQLContext} of the execution under
+ * {@code QueryComplexity.class} by the {@link QueryComplexityInstrumentation}.</p>
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public final class QueryComplexity {
+
+    private final int depth;
+    private final long complexity;
+
+    public QueryComplexity(int depth, long complexity) {
+        this.depth = depth;
+        this.complexity = complexity;
+    }
+
+    /**
+     * Returns the deepest level of nested fields, top-level fields being at depth 1.
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Returns the sum of the field weights, list fields multiplying the cost of their
+     * sub-fields by their requested size.
+     */
+    public long getComplexity() {
+        return complexity;
+    }
+
+    @Override
+    public String toString() {
+        return "QueryComplexity{depth=" + depth + ", complexity=" + complexity + "}";
+    }
+}
@@ -0,0 +1,311 @@
+package com.enokdev.graphql.autogen.starter.execution;
+
+import graphql.ExecutionInput;
+import graphql.execution.ExecutionContext;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+import graphql.language.Argument;
+import graphql.language.Field;
+import graphql.language.FragmentDefinition;
+import graphql.language.FragmentSpread;
+import graphql.language.InlineFragment;
+import graphql.language.IntValue;
+import graphql.language.OperationDefinition;
+import graphql.language.Selection;
+import graphql.language.SelectionSet;
+import graphql.language.VariableDefinition;
+import graphql.language.VariableReference;
+import graphql.schema.GraphQLArgument;
+import graphql.schema.GraphQLCompositeType;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLFieldsContainer;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.GraphQLType;
+import graphql.schema.GraphQLTypeUtil;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Computes the {@link QueryComplexity} of operations before they execute.
+ *
+ * <p>The cost of a field is its weight plus the cost of its sub-fields, multiplied by its
+ * {@code first}, {@code last} or {@code pageSize} argument when it has one. A size passed as
+ * a variable without a value takes the default of the variable, then that of the argument;
+ * a size without any value counts as the maximum list size. Fragments are expanded and
+ * every branch of an abstract type is counted. Introspection fields are free, so that tools
+ * can always load the schema.</p>
+ *
+ * <p>Each operation is compiled once into a cost plan, kept by its query text and operation
+ * name, and by persisted query hash for requests sent by hash only, so that repeated
+ * queries share their plan whether or not the {@link PreparsedDocumentCache} is enabled.
+ * Evaluating a plan only reads the size arguments passed as variables; it costs nothing
+ * when every size is a literal.</p>
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class QueryComplexityAnalyzer {
+
+    /**
+     * Default maximum number of cached cost plans.
+     */
+    public static final int DEFAULT_MAXIMUM_PLANS = 1000;
+
+    /**
+     * Default size of the lists whose size argument has no value.
+     */
+    public static final int DEFAULT_MAXIMUM_LIST_SIZE = 100;
+
+    private static final Set<String> SIZE_ARGUMENTS = Set.of("first", "last", "pageSize");
+
+    private final FieldComplexityWeights weights;
+    private final int maximumPlans;
+    private final int maximumListSize;
+    private final Map<PlanKey, CostPlan> plans = new ConcurrentHashMap<>();
+
+    public QueryComplexityAnalyzer(FieldComplexityWeights weights) {
+        this(weights, DEFAULT_MAXIMUM_PLANS);
+    }
+
+    public QueryComplexityAnalyzer(FieldComplexityWeights weights, int maximumPlans) {
+        this(weights, maximumPlans, DEFAULT_MAXIMUM_LIST_SIZE);
+    }
+
+    /**
+     * @param weights the weights of the fields
+     * @param maximumPlans the maximum number of cached cost plans
+     * @param maximumListSize the size counted for the lists whose size argument has no value
+     */
+    public QueryComplexityAnalyzer(FieldComplexityWeights weights, int maximumPlans, int maximumListSize) {
+        this.weights = weights;
+        this.maximumPlans = maximumPlans;
+        this.maximumListSize = maximumListSize;
+    }
+
+    /**
+     * Returns the depth and cost of the operation of an execution.
+     */
+    public QueryComplexity analyze(ExecutionContext executionContext) {
+        GraphQLSchema schema = executionContext.getGraphQLSchema();
+        PlanKey key = PlanKey.of(executionContext.getExecutionInput());
+        CostPlan plan = plans.get(key);
+        if (plan == null || plan.schema != schema) {
+            plan = compile(executionContext.getOperationDefinition(), schema, executionContext.getFragmentsByName());
+            // clients send a bounded set of documents; a full map means they are generated
+            if (plans.size() >= maximumPlans) {
+                plans.clear();
+            }
+            plans.put(key, plan);
+        }
+        return plan.evaluate(executionContext.getCoercedVariables().toMap());
+    }
+
+    /**
+     * Compiles the cost plan of an operation.
+     */
+    CostPlan compile(OperationDefinition operation, GraphQLSchema schema, Map<String, FragmentDefinition> fragments) {
+        GraphQLCompositeType rootType = switch (operation.getOperation()) {
+            case MUTATION -> schema.getMutationType();
+            case SUBSCRIPTION -> schema.getSubscriptionType();
+            default -> schema.getQueryType();
+        };
+        Map<String, VariableDefinition> variables = new HashMap<>();
+        operation.getVariableDefinitions().forEach(variable -> variables.put(variable.getName(), variable));
+        int[] depth = new int[1];
+        FieldCost[] roots = compile(operation.getSelectionSet(), rootType, schema, fragments, variables, 1, depth);
+        return new CostPlan(schema, depth[0], roots);
+    }
+
+    private FieldCost[] compile(SelectionSet selectionSet, GraphQLCompositeType parentType, GraphQLSchema schema,
+                                Map<String, FragmentDefinition> fragments, Map<String, VariableDefinition> variables,
+                                int level, int[] depth) {
+        List<FieldCost> costs = new ArrayList<>();
+        collect(selectionSet, parentType, schema, fragments, variables, level, depth, costs);
+        return costs.toArray(new FieldCost[0]);
+    }
+
+    private void collect(SelectionSet selectionSet, GraphQLCompositeType parentType, GraphQLSchema schema,
+                         Map<String, FragmentDefinition> fragments, Map<String, VariableDefinition> variables,
+                         int level, int[] depth, List<FieldCost> costs) {
+        if (selectionSet == null || parentType == null) {
+            return;
+        }
+        for (Selection<?> selection : selectionSet.getSelections()) {
+            if (selection instanceof Field field) {
+                if (field.getName().startsWith("__") || !(parentType instanceof GraphQLFieldsContainer container)) {
+                    continue;
+                }
+                GraphQLFieldDefinition definition = container.getFieldDefinition(field.getName());
+                if (definition == null) {
+                    continue;
+                }
+                depth[0] = Math.max(depth[0], level);
+                GraphQLType fieldType = GraphQLTypeUtil.unwrapAll(definition.getType());
+                FieldCost[] children = fieldType instanceof GraphQLCompositeType compositeType
+                        ? compile(field.getSelectionSet(), compositeType, schema, fragments, variables, level + 1, depth)
+                        : new FieldCost[0];
+                costs.add(fieldCost(field, definition, variables, weights.getWeight(parentType.getName(), field.getName()),
+                        children));
+            } else if (selection instanceof InlineFragment fragment) {
+                GraphQLCompositeType type = fragment.getTypeCondition() != null
+                        ? (GraphQLCompositeType) schema.getType(fragment.getTypeCondition().getName())
+                        : parentType;
+                collect(fragment.getSelectionSet(), type, schema, fragments, variables, level, depth, costs);
+            } else if (selection instanceof FragmentSpread spread) {
+                FragmentDefinition fragment = fragments.get(spread.getName());
+                if (fragment != null) {
+                    GraphQLCompositeType type = (GraphQLCompositeType) schema.getType(fragment.getTypeCondition().getName());
+                    collect(fragment.getSelectionSet(), type, schema, fragments, variables, level, depth, costs);
+                }
+            }
+        }
+    }
+
+    private FieldCost fieldCost(Field field, GraphQLFieldDefinition definition, Map<String, VariableDefinition> variables,
+                                int weight, FieldCost[] children) {
+        String sizeArgument = null;
+        String sizeVariable = null;
+        for (Argument argument : field.getArguments()) {
+            if (!SIZE_ARGUMENTS.contains(argument.getName())) {
+                continue;
+            }
+            if (argument.getValue() instanceof IntValue size) {
+                return new FieldCost(weight, size.getValue().longValue(), null, children);
+            }
+            if (argument.getValue() instanceof VariableReference variable) {
+                VariableDefinition variableDefinition = variables.get(variable.getName());
+                if (variableDefinition != null && variableDefinition.getDefaultValue() instanceof IntValue size) {
+                    return new FieldCost(weight, size.getValue().longValue(), variable.getName(), children);
+                }
+                sizeArgument = argument.getName();
+                sizeVariable = variable.getName();
+                break;
+            }
+        }
+        boolean sized = false;
+        for (GraphQLArgument argument : definition.getArguments()) {
+            if (sizeArgument != null ? !sizeArgument.equals(argument.getName()) : !SIZE_ARGUMENTS.contains(argument.getName())) {
+                continue;
+            }
+            sized = true;
+            if (argument.hasSetDefaultValue()) {
+                Object value = argument.getArgumentDefaultValue().getValue();
+                if (value instanceof IntValue size) {
+                    return new FieldCost(weight, size.getValue().longValue(), sizeVariable, children);
+                }
+                if (value instanceof Number size) {
+                    return new FieldCost(weight, size.longValue(), sizeVariable, children);
+                }
+            }
+        }
+        return new FieldCost(weight, sized ? maximumListSize : 1, sizeVariable, children);
+    }
+
+    /**
+     * The compiled cost of an operation.
+     */
+    static final class CostPlan {
+        private final GraphQLSchema schema;
+        private final int depth;
+        private final FieldCost[] roots;
+        private final boolean constant;
+        private final long constantComplexity;
+
+        private CostPlan(GraphQLSchema schema, int depth, FieldCost[] roots) {
+            this.schema = schema;
+            this.depth = depth;
+            this.roots = roots;
+            this.constant = isConstant(roots);
+            this.constantComplexity = constant ? sum(roots, Map.of()) : 0;
+        }
+
+        QueryComplexity evaluate(Map<String, Object> variables) {
+            return new QueryComplexity(depth, constant ? constantComplexity : sum(roots, variables));
+        }
+
+        private static boolean isConstant(FieldCost[] costs) {
+            for (FieldCost cost : costs) {
+                if (cost.sizeVariable != null || !isConstant(cost.children)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static long sum(FieldCost[] costs, Map<String, Object> variables) {
+            long total = 0;
+            for (FieldCost cost : costs) {
+                total = saturatedAdd(total, cost.evaluate(variables));
+            }
+            return total;
+        }
+    }
+
+    private static final class PlanKey {
+        private final String query;
+        private final String operationName;
+
+        private PlanKey(String query, String operationName) {
+            this.query = query;
+            this.operationName = operationName;
+        }
+
+        static PlanKey of(ExecutionInput executionInput) {
+            String query = executionInput.getQuery();
+            // the marker stands for any persisted query when the document cache resolved it
+            if (PersistedQuerySupport.PERSISTED_QUERY_MARKER.equals(query)
+                    && executionInput.getExtensions().get(PersistedQueryDocumentProvider.PERSISTED_QUERY_EXTENSION)
+                    instanceof Map<?, ?> persistedQuery) {
+                query = query + ':' + persistedQuery.get(PersistedQueryDocumentProvider.SHA256_HASH);
+            }
+            return new PlanKey(query, executionInput.getOperationName());
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof PlanKey key
+                    && key.query.equals(query)
+                    && Objects.equals(key.operationName, operationName);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * query.hashCode() + Objects.hashCode(operationName);
+        }
+    }
+
+    private static final class FieldCost {
+        private final int weight;
+        private final long size;
+        private final String sizeVariable;
+        private final FieldCost[] children;
+
+        private FieldCost(int weight, long size, String sizeVariable, FieldCost[] children) {
+            this.weight = weight;
+            this.size = Math.max(0, size);
+            this.sizeVariable = sizeVariable;
+            this.children = children;
+        }
+
+        long evaluate(Map<String, Object> variables) {
+            long multiplier = size;
+            if (sizeVariable != null && variables.get(sizeVariable) instanceof Number value) {
+                multiplier = Math.max(0, value.longValue());
+            }
+            long childCost = CostPlan.sum(children, variables);
+            long nested = childCost == 0 || multiplier == 0 ? 0
+                    : multiplier > Long.MAX_VALUE / childCost ? Long.MAX_VALUE : multiplier * childCost;
+            return saturatedAdd(weight, nested);
+        }
+    }
+
+    private static long saturatedAdd(long left, long right) {
+        long sum = left + right;
+        return sum < 0 ? Long.MAX_VALUE : sum;
+    }
+}
@@ -0,0 +1,79 @@
+package com.enokdev.graphql.autogen.starter.execution;
+
+import com.enokdev.graphql.autogen.error.CustomGraphQLError;
+import com.enokdev.graphql.autogen.error.ErrorCodes;
+import graphql.ExecutionResult;
+import graphql.execution.AbortExecutionException;
+import graphql.execution.ExecutionContext;
+import graphql.execution.instrumentation.Instrumentation;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rejects operations nested deeper than {@code maxDepth} or costing more than
+ * {@code maxComplexity} before any data fetcher runs.
+ *
+ * <p>The computed {@link QueryComplexity} of accepted operations is stored in the
+ * {@link graphql.GraphQLContext} of the execution under {@code QueryComplexity.class}.
+ * Operations of a batched request, whose context holds a {@link BatchComplexity}, are also
+ * rejected once the total cost of the batch would exceed {@code maxComplexity}.</p>
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ * @see QueryComplexityAnalyzer
+ */
+public class QueryComplexityInstrumentation implements Instrumentation {
+
+    private final QueryComplexityAnalyzer analyzer;
+    private final int maxDepth;
+    private final long maxComplexity;
+
+    public QueryComplexityInstrumentation(QueryComplexityAnalyzer analyzer, int maxDepth, long maxComplexity) {
+        this.analyzer = analyzer;
+        this.maxDepth = maxDepth;
+        this.maxComplexity = maxComplexity;
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(
+            InstrumentationExecuteOperationParameters parameters,
+            InstrumentationState state) {
+        ExecutionContext executionContext = parameters.getExecutionContext();
+        QueryComplexity complexity = analyzer.analyze(executionContext);
+        if (complexity.getDepth() > maxDepth) {
+            throw rejected("Query depth " + complexity.getDepth() + " exceeds the maximum of " + maxDepth,
+                    Map.of("code", "QUERY_TOO_DEEP", "depth", complexity.getDepth(), "maxDepth", maxDepth));
+        }
+        if (complexity.getComplexity() > maxComplexity) {
+            throw rejected("Query complexity " + complexity.getComplexity() + " exceeds the maximum of " + maxComplexity,
+                    Map.of("code", "QUERY_TOO_COMPLEX", "complexity", complexity.getComplexity(),
+                            "maxComplexity", maxComplexity));
+        }
+        BatchComplexity batch = executionContext.getGraphQLContext().get(BatchComplexity.class);
+        if (batch != null && !batch.charge(complexity.getComplexity(), maxComplexity)) {
+            long total = batch.getTotal() + complexity.getComplexity();
+            throw rejected("Batch complexity " + total + " exceeds the maximum of " + maxComplexity,
+                    Map.of("code", "QUERY_TOO_COMPLEX", "complexity", complexity.getComplexity(),
+                            "batchComplexity", total, "maxComplexity", maxComplexity));
+        }
+        executionContext.getGraphQLContext().put(QueryComplexity.class, complexity);
+        return SimpleInstrumentationContext.noOp();
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    public long getMaxComplexity() {
+        return maxComplexity;
+    }
+
+    private static AbortExecutionException rejected(String message, Map<String, Object> extensions) {
+        return new AbortExecutionException(List.of(new CustomGraphQLError(message, ErrorCodes.BAD_REQUEST, extensions)));
+    }
+}
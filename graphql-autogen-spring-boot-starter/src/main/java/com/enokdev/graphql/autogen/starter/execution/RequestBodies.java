@@ -0,0 +1,30 @@
+package com.enokdev.graphql.autogen.starter.execution;
+
+/**
+ * Searches HTTP request bodies without decoding or parsing them, so that the filters at the
+ * GraphQL endpoint only parse the requests they handle.
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public final class RequestBodies {
+
+    private RequestBodies() {
+    }
+
+    /**
+     * Returns whether a body contains a sequence of bytes.
+     */
+    public static boolean contains(byte[] body, byte[] token) {
+        outer:
+        for (int i = 0; i <= body.length - token.length; i++) {
+            for (int j = 0; j < token.length; j++) {
+                if (body[i + j] != token[j]) {
+                    continue outer;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+}
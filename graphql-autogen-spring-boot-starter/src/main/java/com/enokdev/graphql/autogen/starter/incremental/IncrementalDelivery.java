@@ -0,0 +1,105 @@
+package com.enokdev.graphql.autogen.starter.incremental;
+
+import com.enokdev.graphql.autogen.starter.execution.RequestBodies;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import graphql.ExecutionResult;
+import graphql.ExperimentalApi;
+import graphql.incremental.IncrementalExecutionResult;
+import org.springframework.graphql.server.WebGraphQlHandler;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Executes GraphQL requests with incremental delivery enabled and encodes their results as
+ * {@code multipart/mixed} parts: the initial result first, then one part per deferred
+ * payload as soon as graphql-java completes it.
+ *
+ * <p>Requests go through the {@link WebGraphQlHandler}, so interceptors apply as for any
+ * HTTP request. Only requests accepting {@code multipart/mixed} and using {@code @defer}
+ * take this path; the others are left to the Spring for GraphQL HTTP handler.</p>
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class IncrementalDelivery {
+
+    /**
+     * Media type of incremental responses, in the format of the 2022-08-24 {@code @defer} proposal.
+     */
+    public static final MediaType MULTIPART_MIXED = MediaType.parseMediaType("multipart/mixed;boundary=\"-\";deferSpec=20220824");
+
+    private static final byte[] PART_HEADER = "\r\n---\r\nContent-Type: application/json; charset=utf-8\r\n\r\n"
+            .getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] END = "\r\n-----\r\n".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] DEFER = "@defer".getBytes(StandardCharsets.US_ASCII);
+
+    private final Supplier<WebGraphQlHandler> handler;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @param handler supplies the handler executing the requests
+     * @param objectMapper serializes the parts
+     */
+    public IncrementalDelivery(Supplier<WebGraphQlHandler> handler, ObjectMapper objectMapper) {
+        this.handler = handler;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Returns whether a request should be delivered incrementally: the client accepts
+     * {@code multipart/mixed} and the body, read without parsing, uses {@code @defer}.
+     */
+    public boolean isIncremental(String accept, byte[] body) {
+        return accept != null && accept.contains("multipart/mixed") && RequestBodies.contains(body, DEFER);
+    }
+
+    /**
+     * Reads a JSON request body.
+     */
+    public Map<String, Object> readBody(byte[] body) throws IOException {
+        return objectMapper.readValue(body, objectMapper.getTypeFactory().constructMapType(Map.class, String.class, Object.class));
+    }
+
+    /**
+     * Executes a request and returns the encoded parts of its response, closing delimiter
+     * included.
+     */
+    public Flux<byte[]> execute(WebGraphQlRequest request) {
+        request.configureExecutionInput((input, builder) -> {
+            input.getGraphQLContext().put(ExperimentalApi.ENABLE_INCREMENTAL_SUPPORT, true);
+            return input;
+        });
+        return handler.get().handleRequest(request).flatMapMany(response -> parts(response.getExecutionResult()));
+    }
+
+    private Flux<byte[]> parts(ExecutionResult result) {
+        Flux<byte[]> parts = Flux.just(part(result.toSpecification()));
+        if (result instanceof IncrementalExecutionResult incremental) {
+            parts = parts.concatWith(Flux.from(incremental.getIncrementalItemPublisher())
+                    .map(payload -> part(payload.toSpecification())));
+        }
+        return parts.concatWith(Mono.just(END));
+    }
+
+    private byte[] part(Map<String, Object> specification) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(specification);
+            ByteArrayOutputStream part = new ByteArrayOutputStream(PART_HEADER.length + json.length);
+            part.writeBytes(PART_HEADER);
+            part.writeBytes(json);
+            return part.toByteArray();
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.enokdev.graphql.autogen.starter.incremental;
+
+import com.enokdev.graphql.autogen.starter.execution.GraphQlRequestFilter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.http.HttpHeaders;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Map;
+
+/**
+ * Servlet filter delivering the responses of {@code @defer} requests as
+ * {@code multipart/mixed}, writing and flushing each part as soon as it is available.
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ * @see IncrementalDelivery
+ */
+public class IncrementalDeliveryFilter extends GraphQlRequestFilter {
+
+    private final IncrementalDelivery delivery;
+
+    public IncrementalDeliveryFilter(String graphQlPath, IncrementalDelivery delivery) {
+        super(graphQlPath, INCREMENTAL_DELIVERY_ORDER);
+        this.delivery = delivery;
+    }
+
+    @Override
+    protected void doFilterBody(HttpServletRequest request, byte[] body, HttpServletResponse response,
+                                FilterChain filterChain) throws ServletException, IOException {
+        Map<String, Object> graphQlBody = null;
+        if (delivery.isIncremental(request.getHeader(HttpHeaders.ACCEPT), body)) {
+            try {
+                graphQlBody = delivery.readBody(body);
+            } catch (IOException e) {
+                // left to the GraphQL handler, which reports malformed bodies
+            }
+        }
+        if (graphQlBody == null) {
+            proceed(request, body, response, filterChain);
+            return;
+        }
+
+        WebGraphQlRequest graphQlRequest = graphQlRequest(request, graphQlBody);
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(IncrementalDelivery.MULTIPART_MIXED.toString());
+        OutputStream output = response.getOutputStream();
+        // the servlet thread waits for the deferred payloads, as it would for a blocking controller
+        delivery.execute(graphQlRequest).doOnNext(part -> {
+            try {
+                output.write(part);
+                output.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }).blockLast();
+    }
+}
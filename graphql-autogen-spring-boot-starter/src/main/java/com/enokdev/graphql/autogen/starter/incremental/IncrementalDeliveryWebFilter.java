@@ -0,0 +1,94 @@
+package com.enokdev.graphql.autogen.starter.incremental;
+
+import com.enokdev.graphql.autogen.starter.execution.GraphQlRequestFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * WebFlux filter delivering the responses of {@code @defer} requests as
+ * {@code multipart/mixed}, flushing each part as soon as it is available.
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ * @see IncrementalDelivery
+ */
+public class IncrementalDeliveryWebFilter implements WebFilter, Ordered {
+
+    private final String graphQlPath;
+    private final IncrementalDelivery delivery;
+
+    public IncrementalDeliveryWebFilter(String graphQlPath, IncrementalDelivery delivery) {
+        this.graphQlPath = graphQlPath;
+        this.delivery = delivery;
+    }
+
+    /**
+     * Runs in the order of the servlet filter, {@link GraphQlRequestFilter#INCREMENTAL_DELIVERY_ORDER}.
+     */
+    @Override
+    public int getOrder() {
+        return GraphQlRequestFilter.INCREMENTAL_DELIVERY_ORDER;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String accept = request.getHeaders().getFirst(HttpHeaders.ACCEPT);
+        if (request.getMethod() != HttpMethod.POST || accept == null || !accept.contains("multipart/mixed")
+                || !graphQlPath.equals(request.getPath().pathWithinApplication().value())) {
+            return chain.filter(exchange);
+        }
+        return DataBufferUtils.join(request.getBody())
+                .map(buffer -> {
+                    byte[] body = new byte[buffer.readableByteCount()];
+                    buffer.read(body);
+                    DataBufferUtils.release(buffer);
+                    return body;
+                })
+                .defaultIfEmpty(new byte[0])
+                .flatMap(body -> {
+                    Map<String, Object> graphQlBody = null;
+                    if (delivery.isIncremental(accept, body)) {
+                        try {
+                            graphQlBody = delivery.readBody(body);
+                        } catch (IOException e) {
+                            // left to the GraphQL handler, which reports malformed bodies
+                        }
+                    }
+                    if (graphQlBody == null) {
+                        ServerHttpRequest decorated = new ServerHttpRequestDecorator(request) {
+                            @Override
+                            public Flux<DataBuffer> getBody() {
+                                return Flux.defer(() -> Flux.just(exchange.getResponse().bufferFactory().wrap(body)));
+                            }
+                        };
+                        return chain.filter(exchange.mutate().request(decorated).build());
+                    }
+
+                    WebGraphQlRequest graphQlRequest = new WebGraphQlRequest(request.getURI(), request.getHeaders(),
+                            request.getCookies(), request.getRemoteAddress(), exchange.getAttributes(), graphQlBody,
+                            request.getId(), exchange.getLocaleContext().getLocale());
+                    ServerHttpResponse response = exchange.getResponse();
+                    response.setStatusCode(HttpStatus.OK);
+                    response.getHeaders().setContentType(IncrementalDelivery.MULTIPART_MIXED);
+                    return response.writeAndFlushWith(delivery.execute(graphQlRequest)
+                            .map(part -> Mono.just(response.bufferFactory().wrap(part))));
+                });
+    }
+}
@@ -0,0 +1,31 @@
+package com.enokdev.graphql.autogen.starter.incremental;
+
+import graphql.language.DirectiveDefinition;
+import graphql.schema.idl.SchemaParser;
+import graphql.schema.idl.TypeDefinitionRegistry;
+import org.springframework.graphql.execution.TypeDefinitionConfigurer;
+
+/**
+ * Declares the {@code @defer} and {@code @stream} incremental delivery directives in the
+ * served schema, unless the schema files already declare them.
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class IncrementalDirectivesConfigurer implements TypeDefinitionConfigurer {
+
+    static final String DIRECTIVES = """
+            directive @defer(if: Boolean! = true, label: String) on FRAGMENT_SPREAD | INLINE_FRAGMENT
+            directive @stream(if: Boolean! = true, label: String, initialCount: Int! = 0) on FIELD
+            """;
+
+    @Override
+    public void configure(TypeDefinitionRegistry registry) {
+        TypeDefinitionRegistry directives = new SchemaParser().parse(DIRECTIVES);
+        for (DirectiveDefinition directive : directives.getDirectiveDefinitions().values()) {
+            if (registry.getDirectiveDefinition(directive.getName()).isEmpty()) {
+                registry.add(directive);
+            }
+        }
+    }
+}
@@ -1,56 +1,109 @@
 package com.enokdev.graphql.autogen.starter.instrumentation;
 
 import graphql.ExecutionResult;
+import graphql.execution.instrumentation.FieldFetchingInstrumentationContext;
 import graphql.execution.instrumentation.Instrumentation;
 import graphql.execution.instrumentation.InstrumentationContext;
 import graphql.execution.instrumentation.InstrumentationState;
 import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
 import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
 import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.stereotype.Component;
 
 /**
  * Simple instrumentation pour auditer les opérations GraphQL.
+ *
+ * <p>Chaque exécution terminée est transmise à un {@link ExecutionEventLog} : nom de
+ * l'opération, hash de la requête, durée en nanosecondes et nombre d'erreurs. L'écriture
+ * des journaux se fait en arrière-plan, jamais sur le thread de la requête.</p>
+ *
+ * <p>Lorsqu'un {@link FieldTimingRecorder} est fourni, la durée d'une fraction des
+ * résolutions de champs non triviales est mesurée avec {@link System#nanoTime()} et
+ * agrégée par coordonnée {@code Type.field}.</p>
  */
-@Component
 public class AuditInstrumentation implements Instrumentation {
 
-    private static final Logger log = LoggerFactory.getLogger(AuditInstrumentation.class);
+    private final ExecutionEventLog executionLog;
+    private final FieldTimingRecorder fieldTimings;
 
+    /**
+     * @param executionLog le journal des exécutions, ou {@code null}
+     * @param fieldTimings l'agrégateur des durées de champs, ou {@code null}
+     */
+    public AuditInstrumentation(ExecutionEventLog executionLog, FieldTimingRecorder fieldTimings) {
+        this.executionLog = executionLog;
+        this.fieldTimings = fieldTimings;
+    }
+
+    @Override
+    public InstrumentationState createState(InstrumentationCreateStateParameters parameters) {
+        return executionLog != null && executionLog.isEnabled() ? new ExecutionAudit() : null;
+    }
 
     @Override
     public InstrumentationContext<ExecutionResult> beginExecution(
             InstrumentationExecutionParameters parameters,
             InstrumentationState state) {
+        if (!(state instanceof ExecutionAudit audit)) {
+            return SimpleInstrumentationContext.noOp();
+        }
 
-        long startTime = System.currentTimeMillis();
-        String query = parameters.getQuery();
-
-        // Tronquer la requête pour la journalisation
-        String truncatedQuery = query != null && query.length() > 100
-            ? query.substring(0, 100) + "..."
-            : query;
-
-        log.info("GraphQL execution started: {}", truncatedQuery);
-
-        return SimpleInstrumentationContext.whenCompleted((result, throwable) -> {
-            long duration = System.currentTimeMillis() - startTime;
-            if (throwable != null) {
-                log.error("GraphQL execution failed after {}ms: {}", duration, throwable.getMessage());
-            } else {
-                log.info("GraphQL execution completed in {}ms with {} errors",
-                    duration,
-                    result.getErrors() != null ? result.getErrors().size() : 0);
-            }
-        });
+        audit.startTime = System.nanoTime();
+        audit.operationName = parameters.getOperation();
+        audit.query = parameters.getQuery();
+        return audit;
     }
 
     @Override
-    public InstrumentationContext<Object> beginFieldFetch(
-            InstrumentationFieldFetchParameters parameters,
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(
+            InstrumentationExecuteOperationParameters parameters,
             InstrumentationState state) {
+        // Le nom de l'opération n'est connu qu'une fois le document analysé
+        if (state instanceof ExecutionAudit audit) {
+            audit.operationName = parameters.getExecutionContext().getOperationDefinition().getName();
+        }
         return SimpleInstrumentationContext.noOp();
     }
+
+    @Override
+    public FieldFetchingInstrumentationContext beginFieldFetching(
+            InstrumentationFieldFetchParameters parameters,
+            InstrumentationState state) {
+        // Les champs résolus par simple lecture de propriété ne sont pas mesurés
+        if (fieldTimings == null || parameters.isTrivialDataFetcher() || !fieldTimings.sample()) {
+            return FieldFetchingInstrumentationContext.NOOP;
+        }
+
+        long startTime = System.nanoTime();
+        String typeName = parameters.getExecutionStepInfo().getObjectType().getName();
+        String fieldName = parameters.getField().getName();
+
+        // Terminé lorsque la valeur est disponible, y compris pour les résultats asynchrones
+        return FieldFetchingInstrumentationContext.adapter(SimpleInstrumentationContext.whenCompleted((value, throwable) ->
+            fieldTimings.record(typeName, fieldName, System.nanoTime() - startTime)));
+    }
+
+    /**
+     * État d'une exécution, qui sert aussi de contexte de fin d'exécution pour n'allouer
+     * qu'un seul objet par requête.
+     */
+    private final class ExecutionAudit implements InstrumentationState, InstrumentationContext<ExecutionResult> {
+        private long startTime;
+        private String operationName;
+        private String query;
+
+        @Override
+        public void onDispatched() {
+        }
+
+        @Override
+        public void onCompleted(ExecutionResult result, Throwable throwable) {
+            long duration = System.nanoTime() - startTime;
+            // String.hashCode est calculé une fois puis mis en cache, sans allocation
+            int queryHash = query != null ? query.hashCode() : 0;
+            int errorCount = result != null && result.getErrors() != null ? result.getErrors().size() : 0;
+            executionLog.record(operationName, queryHash, duration, errorCount, throwable != null);
+        }
+    }
 }
@@ -0,0 +1,68 @@
+package com.enokdev.graphql.autogen.starter.instrumentation;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publishes what the {@link AuditInstrumentation} records to Micrometer.
+ *
+ * <p>The {@code graphql.autogen.execution.log.dropped} counter reports the executions the
+ * {@link ExecutionEventLog} dropped with a full buffer. Each sampled field gets the
+ * {@code graphql.autogen.field.latency.p50}, {@code .p99} and {@code .max} gauges, tagged
+ * with its {@code type} and {@code field} names, registered when the field is first
+ * sampled.</p>
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class AuditMeterBinder implements MeterBinder {
+
+    private final ExecutionEventLog executionLog;
+    private final FieldTimingRecorder fieldTimings;
+
+    /**
+     * @param executionLog the execution log, or {@code null}
+     * @param fieldTimings the field timings, or {@code null}
+     */
+    public AuditMeterBinder(ExecutionEventLog executionLog, FieldTimingRecorder fieldTimings) {
+        this.executionLog = executionLog;
+        this.fieldTimings = fieldTimings;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (executionLog != null) {
+            FunctionCounter.builder("graphql.autogen.execution.log.dropped", executionLog,
+                            ExecutionEventLog::getDroppedEvents)
+                    .description("Number of executions not logged because the buffer was full")
+                    .register(registry);
+        }
+        if (fieldTimings != null) {
+            fieldTimings.addFieldListener((typeName, fieldName) -> bind(registry, typeName, fieldName));
+        }
+    }
+
+    private void bind(MeterRegistry registry, String typeName, String fieldName) {
+        latency(registry, typeName, fieldName, "p50", FieldTiming::getP50Nanos);
+        latency(registry, typeName, fieldName, "p99", FieldTiming::getP99Nanos);
+        latency(registry, typeName, fieldName, "max", FieldTiming::getMaxNanos);
+    }
+
+    private void latency(MeterRegistry registry, String typeName, String fieldName, String statistic,
+                         ToDoubleFunction<FieldTiming> nanos) {
+        TimeGauge.builder("graphql.autogen.field.latency." + statistic, fieldTimings, TimeUnit.NANOSECONDS,
+                        recorder -> {
+                            FieldTiming timing = recorder.getTiming(typeName, fieldName);
+                            return timing != null ? nanos.applyAsDouble(timing) : 0;
+                        })
+                .description("Approximate " + statistic + " duration of the sampled fetches of the field")
+                .tag("type", typeName)
+                .tag("field", fieldName)
+                .register(registry);
+    }
+}
@@ -0,0 +1,32 @@
+package com.enokdev.graphql.autogen.starter.instrumentation;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import org.springframework.graphql.observation.DefaultExecutionRequestObservationConvention;
+import org.springframework.graphql.observation.ExecutionRequestObservationContext;
+
+/**
+ * Adds a bounded {@value #OPERATION_NAME_KEY} low-cardinality key to the
+ * {@code graphql.request} observations of Spring for GraphQL, so that the timers derived
+ * from them are tagged per operation. Names are those requested by the client, bounded by
+ * an {@link OperationNameLimiter}.
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class BoundedOperationObservationConvention extends DefaultExecutionRequestObservationConvention {
+
+    public static final String OPERATION_NAME_KEY = "graphql.operation.name";
+
+    private final OperationNameLimiter operationNames;
+
+    public BoundedOperationObservationConvention(OperationNameLimiter operationNames) {
+        this.operationNames = operationNames;
+    }
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ExecutionRequestObservationContext context) {
+        return super.getLowCardinalityKeyValues(context).and(KeyValue.of(OPERATION_NAME_KEY,
+                operationNames.limit(context.getExecutionInput().getOperationName())));
+    }
+}
@@ -0,0 +1,62 @@
+package com.enokdev.graphql.autogen.starter.instrumentation;
+
+/**
+ * One completed GraphQL execution, as recorded by {@link ExecutionEventLog}.
+ *
+ * <p>Instances are pre-allocated slots of the log and reused: a sink must copy what it
+ * needs before returning.</p>
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public final class ExecutionEvent {
+
+    String operationName;
+    int queryHash;
+    long durationNanos;
+    int errorCount;
+    boolean failed;
+    boolean slow;
+
+    ExecutionEvent() {
+    }
+
+    /**
+     * Returns the operation name, or {@code null} for an anonymous operation.
+     */
+    public String getOperationName() {
+        return operationName;
+    }
+
+    /**
+     * Returns the {@link String#hashCode()} of the query document.
+     */
+    public int getQueryHash() {
+        return queryHash;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    /**
+     * Returns the number of GraphQL errors of the result.
+     */
+    public int getErrorCount() {
+        return errorCount;
+    }
+
+    /**
+     * Returns whether the execution failed with an exception instead of a result.
+     */
+    public boolean isFailed() {
+        return failed;
+    }
+
+    /**
+     * Returns whether the execution took at least the slow threshold of the log.
+     */
+    public boolean isSlow() {
+        return slow;
+    }
+}
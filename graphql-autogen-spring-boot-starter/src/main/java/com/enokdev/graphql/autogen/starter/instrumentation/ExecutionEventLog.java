@@ -0,0 +1,224 @@
+package com.enokdev.graphql.autogen.starter.instrumentation;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Records completed GraphQL executions into a pre-allocated ring buffer and hands them to
+ * a sink, by default the log, on a background thread.
+ *
+ * <p>Recording claims a slot with a compare-and-set and copies the operation name
+ * reference, the query hash, the duration and the error count into it: the request thread
+ * neither formats nor writes log lines, and allocates nothing. When the buffer is full the
+ * execution is dropped rather than waited for, and the number of dropped executions is
+ * reported with the next flush.</p>
+ *
+ * <p>In {@link Mode#SLOW} mode, the default, only executions taking at least the slow
+ * threshold, logged at WARN, and executions failing with an exception, logged at ERROR, are
+ * recorded; {@link Mode#ALL} also records the others, logged at INFO.</p>
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class ExecutionEventLog implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ExecutionEventLog.class);
+
+    /**
+     * Default number of executions buffered between two flushes.
+     */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    /**
+     * Which executions are recorded.
+     */
+    public enum Mode {
+        OFF,
+        SLOW,
+        ALL
+    }
+
+    private final Mode mode;
+    private final long slowThresholdNanos;
+    private final long flushIntervalNanos;
+    private final Consumer<ExecutionEvent> sink;
+    private final int mask;
+    private final ExecutionEvent[] slots;
+    private final AtomicLongArray published;
+    private final AtomicLong producerCursor = new AtomicLong(-1);
+    private final AtomicLong consumerCursor = new AtomicLong(-1);
+    private final LongAdder dropped = new LongAdder();
+    private final Thread flusher;
+    private volatile boolean running;
+
+    /**
+     * Creates a log writing to SLF4J.
+     *
+     * @param mode which executions are recorded
+     * @param slowThreshold the duration from which an execution is slow
+     * @param capacity the number of slots, rounded up to a power of two
+     * @param flushInterval how often buffered executions are handed to the sink
+     */
+    public ExecutionEventLog(Mode mode, Duration slowThreshold, int capacity, Duration flushInterval) {
+        this(mode, slowThreshold, capacity, flushInterval, ExecutionEventLog::write);
+    }
+
+    /**
+     * Creates a log.
+     *
+     * @param mode which executions are recorded
+     * @param slowThreshold the duration from which an execution is slow
+     * @param capacity the number of slots, rounded up to a power of two
+     * @param flushInterval how often buffered executions are handed to the sink
+     * @param sink receives the recorded executions on the flush thread
+     */
+    public ExecutionEventLog(Mode mode, Duration slowThreshold, int capacity, Duration flushInterval,
+                             Consumer<ExecutionEvent> sink) {
+        if (capacity < 2 || flushInterval.isNegative() || flushInterval.isZero()) {
+            throw new IllegalArgumentException("Capacity must be at least 2 and the flush interval positive");
+        }
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        this.mode = mode;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.sink = sink;
+        this.mask = size - 1;
+        this.slots = new ExecutionEvent[size];
+        this.published = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            slots[i] = new ExecutionEvent();
+            published.set(i, -1);
+        }
+        this.flusher = new Thread(this::flushLoop, "graphql-execution-log");
+        this.flusher.setDaemon(true);
+    }
+
+    /**
+     * Starts the flush thread, unless the log is off.
+     */
+    public void start() {
+        if (isEnabled() && !running) {
+            running = true;
+            flusher.start();
+        }
+    }
+
+    /**
+     * Returns whether executions are recorded at all.
+     */
+    public boolean isEnabled() {
+        return mode != Mode.OFF;
+    }
+
+    /**
+     * Records a completed execution, unless the mode filters it out or the buffer is full.
+     *
+     * @param operationName the operation name, or {@code null}
+     * @param queryHash the hash of the query document
+     * @param durationNanos the duration in nanoseconds
+     * @param errorCount the number of GraphQL errors
+     * @param failed whether the execution failed with an exception
+     * @return whether the execution was recorded
+     */
+    public boolean record(String operationName, int queryHash, long durationNanos, int errorCount, boolean failed) {
+        boolean slow = durationNanos >= slowThresholdNanos;
+        if (!running || mode == Mode.OFF || (mode == Mode.SLOW && !slow && !failed)) {
+            return false;
+        }
+        long sequence;
+        do {
+            sequence = producerCursor.get();
+            if (sequence + 1 - consumerCursor.get() > slots.length) {
+                dropped.increment();
+                return false;
+            }
+        } while (!producerCursor.compareAndSet(sequence, sequence + 1));
+        sequence++;
+        int index = (int) sequence & mask;
+        ExecutionEvent slot = slots[index];
+        slot.operationName = operationName;
+        slot.queryHash = queryHash;
+        slot.durationNanos = durationNanos;
+        slot.errorCount = errorCount;
+        slot.failed = failed;
+        slot.slow = slow;
+        published.set(index, sequence);
+        return true;
+    }
+
+    /**
+     * Returns the number of executions dropped because the buffer was full.
+     */
+    public long getDroppedEvents() {
+        return dropped.sum();
+    }
+
+    /**
+     * Stops the flush thread once it has flushed the buffered executions.
+     */
+    @Override
+    public void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(flusher);
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void flushLoop() {
+        long reportedDrops = 0;
+        while (running) {
+            LockSupport.parkNanos(this, flushIntervalNanos);
+            reportedDrops = flush(reportedDrops);
+        }
+        flush(reportedDrops);
+    }
+
+    private long flush(long reportedDrops) {
+        long next = consumerCursor.get() + 1;
+        while (published.get((int) next & mask) == next) {
+            ExecutionEvent event = slots[(int) next & mask];
+            try {
+                sink.accept(event);
+            } catch (RuntimeException ex) {
+                log.warn("Failed to write an execution event: {}", ex.getMessage());
+            }
+            event.operationName = null;
+            consumerCursor.set(next);
+            next++;
+        }
+        long drops = dropped.sum();
+        if (drops > reportedDrops) {
+            log.warn("Dropped {} GraphQL execution event(s): the execution log buffer is full", drops - reportedDrops);
+        }
+        return drops;
+    }
+
+    private static void write(ExecutionEvent event) {
+        String operation = event.getOperationName() != null ? event.getOperationName() : "<anonymous>";
+        String hash = Integer.toHexString(event.getQueryHash());
+        long micros = TimeUnit.NANOSECONDS.toMicros(event.getDurationNanos());
+        if (event.isFailed()) {
+            log.error("GraphQL execution failed: operation={} queryHash={} durationMicros={}", operation, hash, micros);
+        } else if (event.isSlow()) {
+            log.warn("Slow GraphQL execution: operation={} queryHash={} durationMicros={} errors={}",
+                    operation, hash, micros, event.getErrorCount());
+        } else {
+            log.info("GraphQL execution: operation={} queryHash={} durationMicros={} errors={}",
+                    operation, hash, micros, event.getErrorCount());
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.enokdev.graphql.autogen.starter.instrumentation;
+
+import java.time.Duration;
+
+/**
+ * The sampled resolver durations of one field coordinate, such as {@code Post.author}.
+ *
+ * <p>Percentiles are approximate: they are rounded up to the bucket of the underlying
+ * histogram, by at most 25%, and never exceed the maximum.</p>
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public final class FieldTiming {
+
+    private final String coordinate;
+    private final long count;
+    private final long p50Nanos;
+    private final long p99Nanos;
+    private final long maxNanos;
+
+    public FieldTiming(String coordinate, long count, long p50Nanos, long p99Nanos, long maxNanos) {
+        this.coordinate = coordinate;
+        this.count = count;
+        this.p50Nanos = p50Nanos;
+        this.p99Nanos = p99Nanos;
+        this.maxNanos = maxNanos;
+    }
+
+    /**
+     * Returns the field coordinate, {@code Type.field}.
+     */
+    public String getCoordinate() {
+        return coordinate;
+    }
+
+    /**
+     * Returns the number of sampled fetches.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    public long getP50Nanos() {
+        return p50Nanos;
+    }
+
+    public long getP99Nanos() {
+        return p99Nanos;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    public Duration getP50() {
+        return Duration.ofNanos(p50Nanos);
+    }
+
+    public Duration getP99() {
+        return Duration.ofNanos(p99Nanos);
+    }
+
+    public Duration getMax() {
+        return Duration.ofNanos(maxNanos);
+    }
+
+    @Override
+    public String toString() {
+        return coordinate + "{count=" + count + ", p50=" + getP50() + ", p99=" + getP99() + ", max=" + getMax() + '}';
+    }
+}
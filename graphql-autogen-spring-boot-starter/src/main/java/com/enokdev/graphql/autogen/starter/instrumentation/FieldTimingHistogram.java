@@ -0,0 +1,106 @@
+package com.enokdev.graphql.autogen.starter.instrumentation;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free histogram of resolver durations in nanoseconds.
+ *
+ * <p>Durations fall into log-linear buckets: four buckets per power of two, so a reported
+ * percentile is at most 25% above the true value. Durations beyond 2<sup>40</sup> ns
+ * (about 18 minutes) share the last bucket. Each recording thread updates one of several
+ * stripes, picked from its thread id, so that concurrent resolvers rarely contend on the
+ * same counters; reads sum the stripes.</p>
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+final class FieldTimingHistogram {
+
+    private static final int SUB_BUCKET_BITS = 2;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_MAGNITUDE = 40;
+    static final int BUCKETS = MAX_MAGNITUDE * SUB_BUCKETS;
+
+    /**
+     * Spacing of the per-stripe maxima, so that each sits on its own cache line.
+     */
+    private static final int MAX_PADDING = 8;
+
+    private final int stripeMask;
+    private final AtomicLongArray counts;
+    private final AtomicLongArray maxima;
+
+    FieldTimingHistogram(int stripes) {
+        int size = stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.stripeMask = size - 1;
+        this.counts = new AtomicLongArray(size * BUCKETS);
+        this.maxima = new AtomicLongArray(size * MAX_PADDING);
+    }
+
+    void record(long nanos) {
+        long value = Math.max(0, nanos);
+        int stripe = (int) Thread.currentThread().threadId() & stripeMask;
+        counts.incrementAndGet(stripe * BUCKETS + bucket(value));
+        int maxIndex = stripe * MAX_PADDING;
+        long max = maxima.get(maxIndex);
+        while (value > max && !maxima.compareAndSet(maxIndex, max, value)) {
+            max = maxima.get(maxIndex);
+        }
+    }
+
+    /**
+     * Returns a consistent-enough view of the histogram: recordings racing with the read
+     * may or may not be included.
+     */
+    FieldTiming snapshot(String coordinate) {
+        long[] merged = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            long bucketCount = counts.get(i);
+            merged[i % BUCKETS] += bucketCount;
+            count += bucketCount;
+        }
+        long max = 0;
+        for (int i = 0; i < maxima.length(); i += MAX_PADDING) {
+            max = Math.max(max, maxima.get(i));
+        }
+        return new FieldTiming(coordinate, count, percentile(merged, count, 0.5, max),
+                percentile(merged, count, 0.99, max), max);
+    }
+
+    private static long percentile(long[] buckets, long count, double quantile, long max) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * count));
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                return Math.min(upperBound(i), max);
+            }
+        }
+        return max;
+    }
+
+    static int bucket(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        if (magnitude >= MAX_MAGNITUDE) {
+            return BUCKETS - 1;
+        }
+        int subBucket = (int) (value >>> (magnitude - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (magnitude - 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int magnitude = bucket / SUB_BUCKETS + 1;
+        int subBucket = bucket % SUB_BUCKETS;
+        return ((SUB_BUCKETS + subBucket + 1L) << (magnitude - SUB_BUCKET_BITS)) - 1;
+    }
+}
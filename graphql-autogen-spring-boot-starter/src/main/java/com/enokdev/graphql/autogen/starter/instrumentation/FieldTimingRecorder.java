@@ -0,0 +1,132 @@
+package com.enokdev.graphql.autogen.starter.instrumentation;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BiConsumer;
+
+/**
+ * Aggregates sampled resolver durations per field coordinate ({@code Type.field}).
+ *
+ * <p>Only a fraction of the fetches is timed, decided by {@link #sample()} with a
+ * thread-local random draw, so the cost at full load is a random number per fetch and a
+ * clock read and histogram update per sampled fetch. Histograms are created on the first
+ * sampled fetch of a field and looked up by type then field name, without building the
+ * coordinate string.</p>
+ *
+ * <pre>
+ * {@code
+ * recorder.getTimings().forEach(timing ->
+ *         log.info("{} p99={}", timing.getCoordinate(), timing.getP99()));
+ * }
+ * </pre>
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class FieldTimingRecorder {
+
+    /**
+     * Default fraction of the fetches that are timed.
+     */
+    public static final double DEFAULT_SAMPLE_RATE = 0.1;
+
+    private static final int SAMPLE_RESOLUTION = 1 << 16;
+
+    private final int sampleThreshold;
+    private final int stripes;
+    private final Map<String, Map<String, FieldTimingHistogram>> histograms = new ConcurrentHashMap<>();
+    private final List<BiConsumer<String, String>> fieldListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Creates a recorder timing {@value #DEFAULT_SAMPLE_RATE} of the fetches.
+     */
+    public FieldTimingRecorder() {
+        this(DEFAULT_SAMPLE_RATE);
+    }
+
+    /**
+     * Creates a recorder.
+     *
+     * @param sampleRate the fraction of the fetches that are timed, between 0 and 1
+     */
+    public FieldTimingRecorder(double sampleRate) {
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("Sample rate must be between 0 and 1");
+        }
+        this.sampleThreshold = (int) Math.round(sampleRate * SAMPLE_RESOLUTION);
+        this.stripes = Math.min(Runtime.getRuntime().availableProcessors(), 8);
+    }
+
+    /**
+     * Returns whether the current fetch should be timed.
+     */
+    public boolean sample() {
+        return sampleThreshold >= SAMPLE_RESOLUTION
+                || (ThreadLocalRandom.current().nextInt() & (SAMPLE_RESOLUTION - 1)) < sampleThreshold;
+    }
+
+    /**
+     * Records the duration of one fetch of a field.
+     *
+     * @param typeName the name of the object type declaring the field
+     * @param fieldName the field name
+     * @param nanos the duration in nanoseconds
+     */
+    public void record(String typeName, String fieldName, long nanos) {
+        Map<String, FieldTimingHistogram> fields = histograms.computeIfAbsent(typeName,
+                name -> new ConcurrentHashMap<>());
+        FieldTimingHistogram histogram = fields.get(fieldName);
+        if (histogram == null) {
+            FieldTimingHistogram created = new FieldTimingHistogram(stripes);
+            histogram = fields.putIfAbsent(fieldName, created);
+            if (histogram == null) {
+                fieldListeners.forEach(listener -> listener.accept(typeName, fieldName));
+                histogram = created;
+            }
+        }
+        histogram.record(nanos);
+    }
+
+    /**
+     * Registers a listener notified with the type and field name of each field already
+     * sampled, then of each field when it is first sampled.
+     */
+    public void addFieldListener(BiConsumer<String, String> listener) {
+        fieldListeners.add(listener);
+        histograms.forEach((typeName, fields) -> fields.keySet().forEach(fieldName ->
+                listener.accept(typeName, fieldName)));
+    }
+
+    /**
+     * Returns the timings of a field, or {@code null} if none was sampled.
+     */
+    public FieldTiming getTiming(String typeName, String fieldName) {
+        Map<String, FieldTimingHistogram> fields = histograms.get(typeName);
+        FieldTimingHistogram histogram = fields != null ? fields.get(fieldName) : null;
+        return histogram != null ? histogram.snapshot(typeName + "." + fieldName) : null;
+    }
+
+    /**
+     * Returns the timings of every sampled field, slowest p99 first.
+     */
+    public List<FieldTiming> getTimings() {
+        List<FieldTiming> timings = new ArrayList<>();
+        histograms.forEach((typeName, fields) -> fields.forEach((fieldName, histogram) ->
+                timings.add(histogram.snapshot(typeName + "." + fieldName))));
+        timings.sort(Comparator.comparingLong(FieldTiming::getP99Nanos).reversed()
+                .thenComparing(FieldTiming::getCoordinate));
+        return timings;
+    }
+
+    /**
+     * Discards every recorded timing.
+     */
+    public void reset() {
+        histograms.clear();
+    }
+}
@@ -0,0 +1,69 @@
+package com.enokdev.graphql.autogen.starter.instrumentation;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publishes the per-operation statistics of an {@link OperationMetricsInstrumentation} to
+ * Micrometer.
+ *
+ * <p>Each operation name, as limited by the {@link OperationNameLimiter}, gets the
+ * {@code graphql.autogen.operation.executions} and {@code graphql.autogen.operation.errors}
+ * counters and the {@code graphql.autogen.operation.latency.p50}, {@code .p99} and
+ * {@code .max} gauges, tagged with {@code operation}. Meters are registered when an
+ * operation is first executed and read from the histograms when the registry publishes.</p>
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class OperationMeterBinder implements MeterBinder {
+
+    private final OperationMetricsInstrumentation operationMetrics;
+
+    public OperationMeterBinder(OperationMetricsInstrumentation operationMetrics) {
+        this.operationMetrics = operationMetrics;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        operationMetrics.addOperationListener(operationName -> bind(registry, operationName));
+    }
+
+    private void bind(MeterRegistry registry, String operationName) {
+        FunctionCounter.builder("graphql.autogen.operation.executions", operationMetrics,
+                        statistic(operationName, OperationStatistics::getCount))
+                .description("Number of executions of the operation")
+                .tag("operation", operationName)
+                .register(registry);
+        FunctionCounter.builder("graphql.autogen.operation.errors", operationMetrics,
+                        statistic(operationName, OperationStatistics::getErrorCount))
+                .description("Number of executions of the operation with errors")
+                .tag("operation", operationName)
+                .register(registry);
+        latency(registry, operationName, "p50", statistic(operationName, s -> s.getP50().toNanos()));
+        latency(registry, operationName, "p99", statistic(operationName, s -> s.getP99().toNanos()));
+        latency(registry, operationName, "max", statistic(operationName, s -> s.getMax().toNanos()));
+    }
+
+    private void latency(MeterRegistry registry, String operationName, String statistic,
+                         ToDoubleFunction<OperationMetricsInstrumentation> nanos) {
+        TimeGauge.builder("graphql.autogen.operation.latency." + statistic, operationMetrics,
+                        TimeUnit.NANOSECONDS, nanos)
+                .description("Approximate " + statistic + " latency of the operation")
+                .tag("operation", operationName)
+                .register(registry);
+    }
+
+    private static ToDoubleFunction<OperationMetricsInstrumentation> statistic(
+            String operationName, ToDoubleFunction<OperationStatistics> value) {
+        return operationMetrics -> {
+            OperationStatistics statistics = operationMetrics.getOperation(operationName);
+            return statistics != null ? value.applyAsDouble(statistics) : 0;
+        };
+    }
+}
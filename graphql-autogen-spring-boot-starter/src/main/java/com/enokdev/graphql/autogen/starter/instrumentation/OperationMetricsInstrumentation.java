@@ -0,0 +1,141 @@
+package com.enokdev.graphql.autogen.starter.instrumentation;
+
+import graphql.ExecutionResult;
+import graphql.execution.instrumentation.Instrumentation;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Instrumentation counting executions, errors and latency per operation name.
+ *
+ * <p>Operation names go through an {@link OperationNameLimiter}, so the number of
+ * recorded operations stays bounded. Latencies are kept in the same striped lock-free
+ * histograms as field timings. Rates are derived by the consumer from successive counts.</p>
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class OperationMetricsInstrumentation implements Instrumentation {
+
+    private final OperationNameLimiter operationNames;
+    private final int stripes = Math.min(Runtime.getRuntime().availableProcessors(), 8);
+    private final Map<String, OperationRecorder> operations = new ConcurrentHashMap<>();
+    private final List<Consumer<String>> operationListeners = new CopyOnWriteArrayList<>();
+
+    public OperationMetricsInstrumentation(OperationNameLimiter operationNames) {
+        this.operationNames = operationNames;
+    }
+
+    @Override
+    public InstrumentationState createState(InstrumentationCreateStateParameters parameters) {
+        return new OperationRecording();
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecution(InstrumentationExecutionParameters parameters,
+                                                                  InstrumentationState state) {
+        if (!(state instanceof OperationRecording recording)) {
+            return SimpleInstrumentationContext.noOp();
+        }
+        recording.startTime = System.nanoTime();
+        recording.operationName = parameters.getOperation();
+        return recording;
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(InstrumentationExecuteOperationParameters parameters,
+                                                                         InstrumentationState state) {
+        if (state instanceof OperationRecording recording) {
+            recording.operationName = parameters.getExecutionContext().getOperationDefinition().getName();
+        }
+        return SimpleInstrumentationContext.noOp();
+    }
+
+    /**
+     * Returns the statistics of every recorded operation, most executed first.
+     */
+    public List<OperationStatistics> getOperations() {
+        List<OperationStatistics> statistics = new ArrayList<>(operations.size());
+        operations.forEach((name, recorder) -> statistics.add(recorder.snapshot(name)));
+        statistics.sort(Comparator.comparingLong(OperationStatistics::getCount).reversed()
+                .thenComparing(OperationStatistics::getOperationName));
+        return statistics;
+    }
+
+    /**
+     * Returns the statistics of an operation, or {@code null} if it was never executed.
+     */
+    public OperationStatistics getOperation(String operationName) {
+        String name = operationName != null ? operationName : OperationNameLimiter.ANONYMOUS;
+        OperationRecorder recorder = operations.get(name);
+        return recorder != null ? recorder.snapshot(name) : null;
+    }
+
+    /**
+     * Registers a listener notified with the name of each operation already recorded, then
+     * of each operation when it is first recorded.
+     */
+    public void addOperationListener(Consumer<String> listener) {
+        operationListeners.add(listener);
+        operations.keySet().forEach(listener);
+    }
+
+    private OperationRecorder recorder(String name) {
+        OperationRecorder recorder = operations.get(name);
+        if (recorder == null) {
+            OperationRecorder created = new OperationRecorder();
+            recorder = operations.putIfAbsent(name, created);
+            if (recorder == null) {
+                operationListeners.forEach(listener -> listener.accept(name));
+                recorder = created;
+            }
+        }
+        return recorder;
+    }
+
+    private final class OperationRecorder {
+        private final FieldTimingHistogram latency = new FieldTimingHistogram(stripes);
+        private final LongAdder errors = new LongAdder();
+
+        OperationStatistics snapshot(String name) {
+            FieldTiming timing = latency.snapshot(name);
+            return new OperationStatistics(name, timing.getCount(), errors.sum(),
+                    timing.getP50Nanos(), timing.getP99Nanos(), timing.getMaxNanos());
+        }
+    }
+
+    /**
+     * The state of one execution, also used as its completion context.
+     */
+    private final class OperationRecording implements InstrumentationState, InstrumentationContext<ExecutionResult> {
+        private long startTime;
+        private String operationName;
+
+        @Override
+        public void onDispatched() {
+        }
+
+        @Override
+        public void onCompleted(ExecutionResult result, Throwable throwable) {
+            long duration = System.nanoTime() - startTime;
+            OperationRecorder recorder = recorder(operationNames.limit(operationName));
+            recorder.latency.record(duration);
+            if (throwable != null || (result != null && result.getErrors() != null && !result.getErrors().isEmpty())) {
+                recorder.errors.increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.enokdev.graphql.autogen.starter.instrumentation;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounds the operation names used as metric tags: the first {@code maxNames} distinct
+ * names are kept as they are and every later one is reported as {@value #OTHER}, so that
+ * clients sending arbitrary operation names cannot grow the number of time series.
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class OperationNameLimiter {
+
+    /**
+     * Default number of distinct operation names.
+     */
+    public static final int DEFAULT_MAX_NAMES = 100;
+
+    public static final String ANONYMOUS = "anonymous";
+    public static final String OTHER = "OTHER";
+
+    private final int maxNames;
+    private final Set<String> names = ConcurrentHashMap.newKeySet();
+
+    public OperationNameLimiter() {
+        this(DEFAULT_MAX_NAMES);
+    }
+
+    public OperationNameLimiter(int maxNames) {
+        if (maxNames < 0) {
+            throw new IllegalArgumentException("Maximum number of operation names must not be negative");
+        }
+        this.maxNames = maxNames;
+    }
+
+    /**
+     * Returns the tag value for an operation name.
+     *
+     * @param operationName the operation name, or {@code null} for an anonymous operation
+     * @return the name itself, {@value #ANONYMOUS} or {@value #OTHER}
+     */
+    public String limit(String operationName) {
+        if (operationName == null || operationName.isEmpty()) {
+            return ANONYMOUS;
+        }
+        if (names.contains(operationName)) {
+            return operationName;
+        }
+        // concurrent first sightings may overshoot the limit by a few names
+        if (names.size() >= maxNames) {
+            return OTHER;
+        }
+        names.add(operationName);
+        return operationName;
+    }
+}
@@ -0,0 +1,75 @@
+package com.enokdev.graphql.autogen.starter.instrumentation;
+
+import java.time.Duration;
+
+/**
+ * The executions of one operation name recorded by {@link OperationMetricsInstrumentation}.
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public final class OperationStatistics {
+
+    private final String operationName;
+    private final long count;
+    private final long errorCount;
+    private final long p50Nanos;
+    private final long p99Nanos;
+    private final long maxNanos;
+
+    public OperationStatistics(String operationName, long count, long errorCount,
+                               long p50Nanos, long p99Nanos, long maxNanos) {
+        this.operationName = operationName;
+        this.count = count;
+        this.errorCount = errorCount;
+        this.p50Nanos = p50Nanos;
+        this.p99Nanos = p99Nanos;
+        this.maxNanos = maxNanos;
+    }
+
+    /**
+     * Returns the bounded operation name, see {@link OperationNameLimiter}.
+     */
+    public String getOperationName() {
+        return operationName;
+    }
+
+    /**
+     * Returns the number of executions.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the number of executions that returned errors or failed.
+     */
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    /**
+     * Returns the fraction of the executions that returned errors or failed.
+     */
+    public double getErrorRate() {
+        return count == 0 ? 0 : (double) errorCount / count;
+    }
+
+    public Duration getP50() {
+        return Duration.ofNanos(p50Nanos);
+    }
+
+    public Duration getP99() {
+        return Duration.ofNanos(p99Nanos);
+    }
+
+    public Duration getMax() {
+        return Duration.ofNanos(maxNanos);
+    }
+
+    @Override
+    public String toString() {
+        return operationName + "{count=" + count + ", errors=" + errorCount + ", p50=" + getP50()
+                + ", p99=" + getP99() + ", max=" + getMax() + '}';
+    }
+}
@@ -0,0 +1,44 @@
+package com.enokdev.graphql.autogen.starter.instrumentation;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publishes the size of the served schema, read from {@link SchemaMetrics}, as the
+ * {@code graphql.autogen.schema.types} gauge and the {@code graphql.autogen.schema.fields}
+ * gauge tagged with the {@code operation} type.
+ *
+ * <p>The durations of the generation phases are not repeated here: they are already
+ * observations of the {@code ObservationRegistry}.</p>
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class SchemaMeterBinder implements MeterBinder {
+
+    private final SchemaMetrics schemaMetrics;
+
+    public SchemaMeterBinder(SchemaMetrics schemaMetrics) {
+        this.schemaMetrics = schemaMetrics;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("graphql.autogen.schema.types", schemaMetrics, SchemaMetrics::getTypeCount)
+                .description("Number of types of the served schema")
+                .register(registry);
+        fields(registry, "query", SchemaMetrics::getQueryCount);
+        fields(registry, "mutation", SchemaMetrics::getMutationCount);
+        fields(registry, "subscription", SchemaMetrics::getSubscriptionCount);
+    }
+
+    private void fields(MeterRegistry registry, String operation, ToDoubleFunction<SchemaMetrics> count) {
+        Gauge.builder("graphql.autogen.schema.fields", schemaMetrics, count)
+                .description("Number of root fields of the served schema")
+                .tag("operation", operation)
+                .register(registry);
+    }
+}
@@ -0,0 +1,124 @@
+package com.enokdev.graphql.autogen.starter.instrumentation;
+
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLSchema;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Size of the served schema and duration of the schema generation phases.
+ *
+ * <p>Sizes are read from the current schema on every call, so they follow schema reloads.
+ * Each generation phase is observed as a {@value #GENERATION_OBSERVATION} observation
+ * with a {@code phase} low-cardinality key, and its last duration is kept.</p>
+ *
+ * <pre>
+ * {@code
+ * try (SchemaMetrics.Phase phase = schemaMetrics.phase("scan")) {
+ *     classes = annotationScanner.scanForAnnotatedClasses(packages);
+ * }
+ * }
+ * </pre>
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class SchemaMetrics {
+
+    public static final String GENERATION_OBSERVATION = "graphql.autogen.schema.generation";
+
+    private final ObservationRegistry observationRegistry;
+    private final Supplier<GraphQLSchema> schema;
+    private final Map<String, Duration> phaseDurations = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    /**
+     * Creates metrics recording phase durations only.
+     */
+    public SchemaMetrics() {
+        this(ObservationRegistry.NOOP, () -> null);
+    }
+
+    /**
+     * Creates metrics.
+     *
+     * @param observationRegistry the registry the generation phases are observed with
+     * @param schema supplies the served schema, or {@code null} while there is none
+     */
+    public SchemaMetrics(ObservationRegistry observationRegistry, Supplier<GraphQLSchema> schema) {
+        this.observationRegistry = observationRegistry;
+        this.schema = schema;
+    }
+
+    /**
+     * Starts timing a generation phase, ended by closing the returned phase.
+     */
+    public Phase phase(String name) {
+        Observation observation = Observation.createNotStarted(GENERATION_OBSERVATION, observationRegistry)
+                .lowCardinalityKeyValue("phase", name)
+                .start();
+        return new Phase(name, observation, System.nanoTime());
+    }
+
+    /**
+     * Returns the last duration of every generation phase, in execution order.
+     */
+    public Map<String, Duration> getPhaseDurations() {
+        synchronized (phaseDurations) {
+            return Collections.unmodifiableMap(new LinkedHashMap<>(phaseDurations));
+        }
+    }
+
+    /**
+     * Returns the number of types of the schema, built-in and introspection types included.
+     */
+    public int getTypeCount() {
+        GraphQLSchema current = schema.get();
+        return current != null ? current.getAllTypesAsList().size() : 0;
+    }
+
+    public int getQueryCount() {
+        GraphQLSchema current = schema.get();
+        return current != null ? fieldCount(current.getQueryType()) : 0;
+    }
+
+    public int getMutationCount() {
+        GraphQLSchema current = schema.get();
+        return current != null ? fieldCount(current.getMutationType()) : 0;
+    }
+
+    public int getSubscriptionCount() {
+        GraphQLSchema current = schema.get();
+        return current != null ? fieldCount(current.getSubscriptionType()) : 0;
+    }
+
+    private static int fieldCount(GraphQLObjectType type) {
+        return type != null ? type.getFieldDefinitions().size() : 0;
+    }
+
+    /**
+     * A running generation phase.
+     */
+    public final class Phase implements AutoCloseable {
+        private final String name;
+        private final Observation observation;
+        private final long startTime;
+
+        private Phase(String name, Observation observation, long startTime) {
+            this.name = name;
+            this.observation = observation;
+            this.startTime = startTime;
+        }
+
+        @Override
+        public void close() {
+            phaseDurations.put(name, Duration.ofNanos(System.nanoTime() - startTime));
+            observation.stop();
+        }
+    }
+}
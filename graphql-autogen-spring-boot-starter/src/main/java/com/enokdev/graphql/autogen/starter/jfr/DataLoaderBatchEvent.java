@@ -0,0 +1,31 @@
+package com.enokdev.graphql.autogen.starter.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event recorded around a DataLoader batch load, from dispatch until the batch
+ * completes. Recorded by the batch loaders wrapped with {@link JfrBatchLoaders}.
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+@Name("com.enokdev.graphql.autogen.DataLoaderBatch")
+@Label("DataLoader Batch")
+@Category({"GraphQL AutoGen", "Execution"})
+@Description("Batch load dispatched by a DataLoader")
+@StackTrace(false)
+public class DataLoaderBatchEvent extends jdk.jfr.Event {
+
+    @Label("DataLoader")
+    public String dataLoader;
+
+    @Label("Batch Size")
+    public int batchSize;
+
+    @Label("Failed")
+    public boolean failed;
+}
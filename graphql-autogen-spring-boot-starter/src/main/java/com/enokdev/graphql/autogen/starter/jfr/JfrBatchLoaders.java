@@ -0,0 +1,75 @@
+package com.enokdev.graphql.autogen.starter.jfr;
+
+import org.dataloader.BatchLoader;
+import org.dataloader.BatchLoaderWithContext;
+import org.dataloader.MappedBatchLoader;
+import org.dataloader.MappedBatchLoaderWithContext;
+
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+/**
+ * Wraps batch loaders so that every batch they load is recorded as a
+ * {@link DataLoaderBatchEvent}.
+ *
+ * <pre>
+ * {@code
+ * DataLoader<Long, Author> authors = DataLoaderFactory.newDataLoader(
+ *         JfrBatchLoaders.batchLoader("authors", authorIds -> authorService.loadAll(authorIds)));
+ * }
+ * </pre>
+ *
+ * <p>When the event is not enabled in a running recording, the wrapped loader is called
+ * directly and nothing is recorded.</p>
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public final class JfrBatchLoaders {
+
+    private JfrBatchLoaders() {
+    }
+
+    public static <K, V> BatchLoader<K, V> batchLoader(String name, BatchLoader<K, V> delegate) {
+        return keys -> record(name, keys.size(), () -> delegate.load(keys));
+    }
+
+    public static <K, V> BatchLoaderWithContext<K, V> batchLoader(String name, BatchLoaderWithContext<K, V> delegate) {
+        return (keys, environment) -> record(name, keys.size(), () -> delegate.load(keys, environment));
+    }
+
+    public static <K, V> MappedBatchLoader<K, V> mappedBatchLoader(String name, MappedBatchLoader<K, V> delegate) {
+        return keys -> record(name, keys.size(), () -> delegate.load(keys));
+    }
+
+    public static <K, V> MappedBatchLoaderWithContext<K, V> mappedBatchLoader(String name,
+                                                                            MappedBatchLoaderWithContext<K, V> delegate) {
+        return (keys, environment) -> record(name, keys.size(), () -> delegate.load(keys, environment));
+    }
+
+    private static <T> CompletionStage<T> record(String name, int batchSize, Supplier<CompletionStage<T>> load) {
+        DataLoaderBatchEvent event = new DataLoaderBatchEvent();
+        if (!event.isEnabled()) {
+            return load.get();
+        }
+        event.begin();
+        CompletionStage<T> result;
+        try {
+            result = load.get();
+        } catch (RuntimeException ex) {
+            commit(event, name, batchSize, true);
+            throw ex;
+        }
+        return result.whenComplete((values, error) -> commit(event, name, batchSize, error != null));
+    }
+
+    private static void commit(DataLoaderBatchEvent event, String name, int batchSize, boolean failed) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.dataLoader = name;
+            event.batchSize = batchSize;
+            event.failed = failed;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.enokdev.graphql.autogen.starter.jfr;
+
+import graphql.ExecutionResult;
+import graphql.execution.ExecutionStepInfo;
+import graphql.execution.instrumentation.FieldFetchingInstrumentationContext;
+import graphql.execution.instrumentation.Instrumentation;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+
+/**
+ * Instrumentation recording GraphQL executions as {@link OperationExecutionEvent}s and
+ * non-trivial field fetches above the event threshold as {@link SlowFieldFetchEvent}s.
+ *
+ * <p>Each hook first checks whether its event is enabled in a running recording and
+ * returns a no-op context otherwise, so nothing is timed or allocated beyond the check
+ * while no recording asks for these events.</p>
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class JfrInstrumentation implements Instrumentation {
+
+    @Override
+    public InstrumentationState createState(InstrumentationCreateStateParameters parameters) {
+        OperationExecutionEvent event = new OperationExecutionEvent();
+        return event.isEnabled() ? new ExecutionRecording(event) : null;
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecution(InstrumentationExecutionParameters parameters,
+                                                                  InstrumentationState state) {
+        if (!(state instanceof ExecutionRecording recording)) {
+            return SimpleInstrumentationContext.noOp();
+        }
+        recording.operationName = parameters.getOperation();
+        recording.query = parameters.getQuery();
+        recording.event.begin();
+        return recording;
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(InstrumentationExecuteOperationParameters parameters,
+                                                                         InstrumentationState state) {
+        if (state instanceof ExecutionRecording recording) {
+            recording.operationName = parameters.getExecutionContext().getOperationDefinition().getName();
+        }
+        return SimpleInstrumentationContext.noOp();
+    }
+
+    @Override
+    public FieldFetchingInstrumentationContext beginFieldFetching(InstrumentationFieldFetchParameters parameters,
+                                                                  InstrumentationState state) {
+        if (parameters.isTrivialDataFetcher()) {
+            return FieldFetchingInstrumentationContext.NOOP;
+        }
+        SlowFieldFetchEvent event = new SlowFieldFetchEvent();
+        if (!event.isEnabled()) {
+            return FieldFetchingInstrumentationContext.NOOP;
+        }
+        event.begin();
+        return FieldFetchingInstrumentationContext.adapter(SimpleInstrumentationContext.whenCompleted((value, throwable) -> {
+            event.end();
+            if (event.shouldCommit()) {
+                ExecutionStepInfo stepInfo = parameters.getExecutionStepInfo();
+                event.coordinate = stepInfo.getObjectType().getName() + "." + parameters.getField().getName();
+                event.path = stepInfo.getPath().toString();
+                event.failed = throwable != null;
+                event.commit();
+            }
+        }));
+    }
+
+    /**
+     * The event of one execution, also used as its completion context.
+     */
+    private static final class ExecutionRecording implements InstrumentationState, InstrumentationContext<ExecutionResult> {
+        private final OperationExecutionEvent event;
+        private String operationName;
+        private String query;
+
+        private ExecutionRecording(OperationExecutionEvent event) {
+            this.event = event;
+        }
+
+        @Override
+        public void onDispatched() {
+        }
+
+        @Override
+        public void onCompleted(ExecutionResult result, Throwable throwable) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.operationName = operationName;
+                event.queryHash = query != null ? query.hashCode() : 0;
+                event.errorCount = result != null && result.getErrors() != null ? result.getErrors().size() : 0;
+                event.failed = throwable != null;
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.enokdev.graphql.autogen.starter.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event recorded around the execution of a GraphQL operation, from parsing to the
+ * result.
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+@Name("com.enokdev.graphql.autogen.OperationExecution")
+@Label("GraphQL Operation")
+@Category({"GraphQL AutoGen", "Execution"})
+@Description("Execution of a GraphQL operation")
+@StackTrace(false)
+public class OperationExecutionEvent extends jdk.jfr.Event {
+
+    @Label("Operation Name")
+    public String operationName;
+
+    @Label("Query Hash")
+    @Description("String hash code of the query document")
+    public int queryHash;
+
+    @Label("Error Count")
+    public int errorCount;
+
+    @Label("Failed")
+    @Description("Whether the execution failed with an exception instead of a result")
+    public boolean failed;
+}
@@ -0,0 +1,29 @@
+package com.enokdev.graphql.autogen.starter.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event recorded around writing the generated schema file.
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+@Name("com.enokdev.graphql.autogen.SchemaWrite")
+@Label("Schema Write")
+@Category({"GraphQL AutoGen", "Schema Generation"})
+@Description("Write of the generated GraphQL schema file")
+@StackTrace(false)
+public class SchemaWriteEvent extends jdk.jfr.Event {
+
+    @Label("Path")
+    public String path;
+
+    @Label("Size")
+    @DataAmount
+    public long bytes;
+}
@@ -0,0 +1,35 @@
+package com.enokdev.graphql.autogen.starter.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR event recorded for a non-trivial field fetch lasting at least the event threshold,
+ * 10 ms unless the recording settings say otherwise. The duration covers asynchronous
+ * values until they complete.
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+@Name("com.enokdev.graphql.autogen.SlowFieldFetch")
+@Label("Slow Field Fetch")
+@Category({"GraphQL AutoGen", "Execution"})
+@Description("Data fetcher call lasting longer than the threshold")
+@Threshold("10 ms")
+@StackTrace(false)
+public class SlowFieldFetchEvent extends jdk.jfr.Event {
+
+    @Label("Field Coordinate")
+    @Description("Type.field")
+    public String coordinate;
+
+    @Label("Path")
+    public String path;
+
+    @Label("Failed")
+    public boolean failed;
+}
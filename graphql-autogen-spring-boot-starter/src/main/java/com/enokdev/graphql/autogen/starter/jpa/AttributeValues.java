@@ -0,0 +1,90 @@
+package com.enokdev.graphql.autogen.starter.jpa;
+
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Date;
+
+/**
+ * Converts cursor components and GraphQL argument values to the Java type of the entity
+ * attribute they are compared with.
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public final class AttributeValues {
+
+    private static final ConversionService CONVERSION_SERVICE = DefaultConversionService.getSharedInstance();
+
+    private AttributeValues() {
+    }
+
+    /**
+     * Converts a value to the Java type of an attribute. Strings are parsed with the ISO
+     * formats for date/time types; {@link Instant}s are mapped to date/time types in UTC.
+     *
+     * @param value the value, e.g. a cursor component or a GraphQL argument
+     * @param targetType the Java type of the attribute
+     * @return the converted value
+     */
+    public static Object convert(Object value, Class<?> targetType) {
+        if (value == null || targetType.isInstance(value)) {
+            return value;
+        }
+        if (value instanceof Instant instant) {
+            return fromInstant(instant, targetType);
+        }
+        String raw = value.toString();
+        if (targetType == LocalDateTime.class) {
+            return LocalDateTime.parse(raw);
+        }
+        if (targetType == LocalDate.class) {
+            return LocalDate.parse(raw);
+        }
+        if (targetType == OffsetDateTime.class) {
+            return OffsetDateTime.parse(raw);
+        }
+        if (targetType == ZonedDateTime.class) {
+            return ZonedDateTime.parse(raw);
+        }
+        if (targetType == LocalTime.class) {
+            return LocalTime.parse(raw);
+        }
+        if (targetType == Instant.class) {
+            return Instant.parse(raw);
+        }
+        if (Date.class.isAssignableFrom(targetType)) {
+            return fromInstant(Instant.parse(raw), targetType);
+        }
+        return CONVERSION_SERVICE.convert(raw, targetType);
+    }
+
+    private static Object fromInstant(Instant instant, Class<?> targetType) {
+        if (targetType == LocalDateTime.class) {
+            return LocalDateTime.ofInstant(instant, ZoneOffset.UTC);
+        }
+        if (targetType == LocalDate.class) {
+            return LocalDate.ofInstant(instant, ZoneOffset.UTC);
+        }
+        if (targetType == OffsetDateTime.class) {
+            return instant.atOffset(ZoneOffset.UTC);
+        }
+        if (targetType == ZonedDateTime.class) {
+            return instant.atZone(ZoneOffset.UTC);
+        }
+        if (targetType == java.sql.Timestamp.class) {
+            return java.sql.Timestamp.from(instant);
+        }
+        if (Date.class.isAssignableFrom(targetType)) {
+            return Date.from(instant);
+        }
+        return instant;
+    }
+}
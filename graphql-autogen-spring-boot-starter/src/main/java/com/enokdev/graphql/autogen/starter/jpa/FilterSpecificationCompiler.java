@@ -0,0 +1,306 @@
+package com.enokdev.graphql.autogen.starter.jpa;
+
+import com.enokdev.graphql.autogen.annotation.GraphQLIgnore;
+import com.enokdev.graphql.autogen.generator.PaginationGenerator.PaginationConfiguration;
+import graphql.schema.DataFetchingEnvironment;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiles the {@code filter} and {@code sort} arguments generated by
+ * {@code @GraphQLPagination(generateFilters = true, generateSorting = true)} into a JPA
+ * {@link Specification} and a Spring Data {@link Sort}.
+ *
+ * <p>Filters become SQL predicates evaluated by the database, never in-memory filtering of
+ * loaded rows. Only index-friendly operators are generated ({@code startsWith} rather than
+ * a contains match), and filters whose complexity exceeds
+ * {@link PaginationConfiguration#getMaxFilterComplexity()} are rejected before any query
+ * runs: every comparison counts one, and counts double under an {@code or} of several
+ * branches. Every operand is converted to the type of its attribute at that point too, so
+ * that a value of the wrong type is rejected as an invalid filter.</p>
+ *
+ * <pre>
+ * {@code
+ * Specification<Post> where = filterCompiler.filter(env, configuration);
+ * Sort sort = filterCompiler.sort(env, configuration);
+ * return keysetPaginator.paginate(postRepository, where, KeysetPageRequest.from(env, sort, configuration));
+ * }
+ * </pre>
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class FilterSpecificationCompiler {
+
+    public static final String FILTER_ARGUMENT = "filter";
+    public static final String SORT_ARGUMENT = "sort";
+
+    private static final int MAX_NESTING = 5;
+    private static final Set<String> OPERATORS = Set.of("eq", "ne", "in", "lt", "lte", "gt", "gte", "startsWith", "isNull");
+
+    private final Map<Class<?>, Map<String, Field>> attributesByType = new ConcurrentHashMap<>();
+
+    /**
+     * Compiles the {@code filter} argument of the environment.
+     *
+     * @return the specification, or {@code null} when no filter was given
+     */
+    public <T> Specification<T> filter(DataFetchingEnvironment environment, PaginationConfiguration configuration) {
+        return compile(configuration.getNodeType(), environment.getArgument(FILTER_ARGUMENT),
+                configuration.getMaxFilterComplexity());
+    }
+
+    /**
+     * Compiles the {@code sort} argument of the environment.
+     *
+     * @return the sort, unsorted when no sort was given
+     */
+    public Sort sort(DataFetchingEnvironment environment, PaginationConfiguration configuration) {
+        return compileSort(configuration.getNodeType(), environment.getArgument(SORT_ARGUMENT));
+    }
+
+    /**
+     * Compiles a filter input value.
+     *
+     * @param nodeType the entity type
+     * @param filter the filter input, as coerced by graphql-java
+     * @param maxComplexity the maximum complexity, or 0 for no limit
+     * @return the specification, or {@code null} when the filter is empty
+     * @throws InvalidFilterException if the filter is invalid or too complex
+     */
+    public <T> Specification<T> compile(Class<?> nodeType, Map<String, Object> filter, int maxComplexity) {
+        if (filter == null || filter.isEmpty()) {
+            return null;
+        }
+        Map<String, Field> attributes = attributes(nodeType);
+        int complexity = complexity(filter, attributes, 1, 0);
+        if (maxComplexity > 0 && complexity > maxComplexity) {
+            throw new InvalidFilterException("Filter complexity " + complexity
+                    + " exceeds the maximum of " + maxComplexity);
+        }
+        return (root, query, cb) -> predicate(filter, attributes, root, cb);
+    }
+
+    /**
+     * Compiles a list of sort input values, in order.
+     *
+     * @param nodeType the entity type
+     * @param sort the sort inputs, each with a {@code field} and a {@code direction}
+     * @return the sort
+     * @throws InvalidFilterException if a sort field is unknown
+     */
+    public Sort compileSort(Class<?> nodeType, List<Map<String, Object>> sort) {
+        if (sort == null || sort.isEmpty()) {
+            return Sort.unsorted();
+        }
+        Map<String, Field> attributes = attributes(nodeType);
+        List<Sort.Order> orders = new ArrayList<>(sort.size());
+        for (Map<String, Object> criterion : sort) {
+            String field = String.valueOf(criterion.get("field"));
+            Field attribute = attributes.get(field);
+            if (attribute == null) {
+                throw new InvalidFilterException("Unknown sort field: " + field);
+            }
+            Object direction = criterion.get("direction");
+            orders.add(new Sort.Order("DESC".equals(String.valueOf(direction)) ? Sort.Direction.DESC : Sort.Direction.ASC,
+                    attribute.getName()));
+        }
+        return Sort.by(orders);
+    }
+
+    private int complexity(Map<String, Object> filter, Map<String, Field> attributes, int weight, int depth) {
+        if (depth > MAX_NESTING) {
+            throw new InvalidFilterException("Filter nesting exceeds " + MAX_NESTING + " levels");
+        }
+        int complexity = 0;
+        for (Map.Entry<String, Object> entry : filter.entrySet()) {
+            if (entry.getValue() == null) {
+                continue;
+            }
+            switch (entry.getKey()) {
+                case "and" -> {
+                    for (Map<String, Object> nested : nestedFilters(entry.getValue())) {
+                        complexity += complexity(nested, attributes, weight, depth + 1);
+                    }
+                }
+                case "or" -> {
+                    List<Map<String, Object>> branches = nestedFilters(entry.getValue());
+                    int branchWeight = branches.size() > 1 ? weight * 2 : weight;
+                    for (Map<String, Object> nested : branches) {
+                        complexity += complexity(nested, attributes, branchWeight, depth + 1);
+                    }
+                }
+                default -> {
+                    Field attribute = attributes.get(entry.getKey());
+                    if (attribute == null) {
+                        throw new InvalidFilterException("Unknown filter field: " + entry.getKey());
+                    }
+                    for (Map.Entry<String, Object> operator : operators(entry.getValue()).entrySet()) {
+                        if (!OPERATORS.contains(operator.getKey())) {
+                            throw new InvalidFilterException("Unknown filter operator: " + operator.getKey());
+                        }
+                        if (operator.getValue() != null) {
+                            checkOperand(entry.getKey(), attribute.getType(), operator.getKey(), operator.getValue());
+                            complexity += weight;
+                        }
+                    }
+                }
+            }
+        }
+        return complexity;
+    }
+
+    private Predicate predicate(Map<String, Object> filter, Map<String, Field> attributes,
+                                Root<?> root, CriteriaBuilder cb) {
+        List<Predicate> conjunction = new ArrayList<>();
+        for (Map.Entry<String, Object> entry : filter.entrySet()) {
+            if (entry.getValue() == null) {
+                continue;
+            }
+            switch (entry.getKey()) {
+                case "and" -> {
+                    for (Map<String, Object> nested : nestedFilters(entry.getValue())) {
+                        conjunction.add(predicate(nested, attributes, root, cb));
+                    }
+                }
+                case "or" -> {
+                    List<Predicate> disjunction = new ArrayList<>();
+                    for (Map<String, Object> nested : nestedFilters(entry.getValue())) {
+                        disjunction.add(predicate(nested, attributes, root, cb));
+                    }
+                    if (!disjunction.isEmpty()) {
+                        conjunction.add(cb.or(disjunction.toArray(Predicate[]::new)));
+                    }
+                }
+                default -> {
+                    Path<Object> path = root.get(attributes.get(entry.getKey()).getName());
+                    for (Map.Entry<String, Object> operator : operators(entry.getValue()).entrySet()) {
+                        if (operator.getValue() != null) {
+                            conjunction.add(comparison(cb, path, operator.getKey(), operator.getValue()));
+                        }
+                    }
+                }
+            }
+        }
+        return cb.and(conjunction.toArray(Predicate[]::new));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate comparison(CriteriaBuilder cb, Path<Object> path, String operator, Object value) {
+        Class<?> type = path.getJavaType();
+        switch (operator) {
+            case "eq":
+                return cb.equal(path, AttributeValues.convert(value, type));
+            case "ne":
+                return cb.notEqual(path, AttributeValues.convert(value, type));
+            case "in": {
+                List<Object> values = new ArrayList<>();
+                for (Object element : (Collection<?>) value) {
+                    values.add(AttributeValues.convert(element, type));
+                }
+                return values.isEmpty() ? cb.disjunction() : path.in(values);
+            }
+            case "lt":
+                return cb.lessThan((Path<Comparable>) (Path) path, (Comparable) AttributeValues.convert(value, type));
+            case "lte":
+                return cb.lessThanOrEqualTo((Path<Comparable>) (Path) path, (Comparable) AttributeValues.convert(value, type));
+            case "gt":
+                return cb.greaterThan((Path<Comparable>) (Path) path, (Comparable) AttributeValues.convert(value, type));
+            case "gte":
+                return cb.greaterThanOrEqualTo((Path<Comparable>) (Path) path, (Comparable) AttributeValues.convert(value, type));
+            case "startsWith":
+                return cb.like(path.as(String.class), escapeLike(value.toString()) + "%", '\\');
+            case "isNull":
+                return Boolean.TRUE.equals(value) ? cb.isNull(path) : cb.isNotNull(path);
+            default:
+                throw new InvalidFilterException("Unknown filter operator: " + operator);
+        }
+    }
+
+    /**
+     * Checks that the operand of a comparison converts to the type of its attribute.
+     */
+    private static void checkOperand(String field, Class<?> type, String operator, Object value) {
+        switch (operator) {
+            case "startsWith", "isNull" -> {
+                // compared as text and as a flag
+            }
+            case "in" -> {
+                if (!(value instanceof Collection<?> values)) {
+                    throw new InvalidFilterException("Expected a list of values for filter field " + field + " but got " + value);
+                }
+                for (Object element : values) {
+                    checkValue(field, type, element);
+                }
+            }
+            default -> checkValue(field, type, value);
+        }
+    }
+
+    private static void checkValue(String field, Class<?> type, Object value) {
+        try {
+            AttributeValues.convert(value, type);
+        } catch (RuntimeException e) {
+            // ConversionFailedException, DateTimeParseException and the like, caused by the client
+            throw new InvalidFilterException("Invalid value for filter field " + field + ": " + value);
+        }
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> nestedFilters(Object value) {
+        if (!(value instanceof Collection<?> collection)) {
+            throw new InvalidFilterException("Expected a list of filters but got " + value);
+        }
+        List<Map<String, Object>> filters = new ArrayList<>(collection.size());
+        for (Object element : collection) {
+            if (!(element instanceof Map)) {
+                throw new InvalidFilterException("Expected a filter but got " + element);
+            }
+            filters.add((Map<String, Object>) element);
+        }
+        return filters;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> operators(Object value) {
+        if (!(value instanceof Map)) {
+            throw new InvalidFilterException("Expected filter operators but got " + value);
+        }
+        return (Map<String, Object>) value;
+    }
+
+    /**
+     * Maps the GraphQL field names of the entity to its attributes.
+     */
+    private Map<String, Field> attributes(Class<?> nodeType) {
+        return attributesByType.computeIfAbsent(nodeType, type -> {
+            Map<String, Field> attributes = new HashMap<>();
+            for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers()) && !field.isAnnotationPresent(GraphQLIgnore.class)) {
+                        attributes.putIfAbsent(SelectionFetchPlanner.graphQLName(field), field);
+                    }
+                }
+            }
+            return attributes;
+        });
+    }
+}
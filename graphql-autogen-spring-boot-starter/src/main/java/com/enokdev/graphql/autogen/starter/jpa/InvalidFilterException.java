@@ -0,0 +1,15 @@
+package com.enokdev.graphql.autogen.starter.jpa;
+
+/**
+ * Thrown when a generated filter or sort argument names an unknown field or operator, has an
+ * operand of the wrong type, or exceeds the maximum filter complexity of its connection.
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class InvalidFilterException extends IllegalArgumentException {
+
+    public InvalidFilterException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,182 @@
+package com.enokdev.graphql.autogen.starter.jpa;
+
+import com.enokdev.graphql.autogen.annotation.GraphQLField;
+import com.enokdev.graphql.autogen.annotation.GraphQLId;
+import com.enokdev.graphql.autogen.annotation.GraphQLIgnore;
+import graphql.schema.DataFetchingFieldSelectionSet;
+import graphql.schema.SelectedField;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.ManyToMany;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.OneToOne;
+import jakarta.persistence.Transient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Turns the selection set of a GraphQL field into the JPA attribute paths worth fetching.
+ *
+ * <p>Selected scalar fields map to their basic attributes and selected {@code @ManyToOne} /
+ * {@code @OneToOne} associations are added with the paths selected below them, so that the
+ * associations are fetch-joined instead of lazily loaded one row at a time. Collection
+ * associations are left out: joining them would multiply rows and break page limits, and
+ * they are better served by DataLoaders.</p>
+ *
+ * <p>The paths are meant for Spring Data's {@code FluentQuery.project(...)}, which applies
+ * them as a {@code jakarta.persistence.fetchgraph}:</p>
+ *
+ * <pre>
+ * {@code
+ * List<String> paths = fetchPlanner.fetchPaths(Post.class, env.getSelectionSet());
+ * return postRepository.findBy(spec, query -> query.project(paths).page(pageable));
+ * }
+ * </pre>
+ *
+ * <p>GraphQL field names are matched against the Java fields of the entity, honouring the
+ * names declared with {@code @GraphQLField} and {@code @GraphQLId}.</p>
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class SelectionFetchPlanner {
+
+    private static final Logger log = LoggerFactory.getLogger(SelectionFetchPlanner.class);
+
+    private static final int MAX_DEPTH = 5;
+
+    private final Map<Class<?>, Map<String, Attribute>> attributesByType = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the attribute paths selected on a field returning entities of the given type.
+     *
+     * @param entityType the entity type returned by the field
+     * @param selectionSet the selection set of the field
+     * @return the dotted attribute paths, empty when nothing maps to the entity
+     */
+    public List<String> fetchPaths(Class<?> entityType, DataFetchingFieldSelectionSet selectionSet) {
+        Set<String> paths = new LinkedHashSet<>();
+        if (selectionSet != null) {
+            collect(entityType, selectionSet.getImmediateFields(), "", 0, paths);
+        }
+        return List.copyOf(paths);
+    }
+
+    /**
+     * Returns the attribute paths selected below a nested node path of the field, such as
+     * {@code edges/node} for Relay connections.
+     *
+     * @param entityType the entity type of the nodes
+     * @param selectionSet the selection set of the field
+     * @param nodePath the slash-separated path of the node field within the selection set
+     * @return the dotted attribute paths, empty when nothing maps to the entity
+     */
+    public List<String> fetchPaths(Class<?> entityType, DataFetchingFieldSelectionSet selectionSet, String nodePath) {
+        Set<String> paths = new LinkedHashSet<>();
+        if (selectionSet != null) {
+            for (SelectedField node : selectionSet.getFields(nodePath)) {
+                if (node.getSelectionSet() != null) {
+                    collect(entityType, node.getSelectionSet().getImmediateFields(), "", 0, paths);
+                }
+            }
+        }
+        return List.copyOf(paths);
+    }
+
+    private void collect(Class<?> type, List<SelectedField> fields, String prefix, int depth, Set<String> paths) {
+        Map<String, Attribute> attributes = attributesByType.computeIfAbsent(type, SelectionFetchPlanner::introspect);
+        for (SelectedField selected : fields) {
+            Attribute attribute = attributes.get(selected.getName());
+            if (attribute == null || attribute.kind == Kind.COLLECTION) {
+                continue;
+            }
+            String path = prefix + attribute.name;
+            paths.add(path);
+            if (attribute.kind == Kind.ASSOCIATION && selected.getSelectionSet() != null) {
+                if (depth + 1 < MAX_DEPTH) {
+                    collect(attribute.type, selected.getSelectionSet().getImmediateFields(), path + ".", depth + 1, paths);
+                } else {
+                    log.debug("Not fetching below {} on {}: maximum depth reached", path, type.getSimpleName());
+                }
+            }
+        }
+    }
+
+    private static Map<String, Attribute> introspect(Class<?> type) {
+        Map<String, Attribute> attributes = new HashMap<>();
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers)
+                        || field.isAnnotationPresent(Transient.class) || field.isAnnotationPresent(GraphQLIgnore.class)) {
+                    continue;
+                }
+                attributes.putIfAbsent(graphQLName(field), new Attribute(field.getName(), kindOf(field), targetType(field)));
+            }
+        }
+        return attributes;
+    }
+
+    private static Kind kindOf(Field field) {
+        if (field.isAnnotationPresent(OneToMany.class) || field.isAnnotationPresent(ManyToMany.class)
+                || field.isAnnotationPresent(ElementCollection.class)) {
+            return Kind.COLLECTION;
+        }
+        if (field.isAnnotationPresent(ManyToOne.class) || field.isAnnotationPresent(OneToOne.class)) {
+            return Kind.ASSOCIATION;
+        }
+        // embeddables are loaded as a whole with their owner
+        return Kind.BASIC;
+    }
+
+    private static Class<?> targetType(Field field) {
+        ManyToOne manyToOne = field.getAnnotation(ManyToOne.class);
+        if (manyToOne != null && manyToOne.targetEntity() != void.class) {
+            return manyToOne.targetEntity();
+        }
+        OneToOne oneToOne = field.getAnnotation(OneToOne.class);
+        if (oneToOne != null && oneToOne.targetEntity() != void.class) {
+            return oneToOne.targetEntity();
+        }
+        return field.getType();
+    }
+
+    static String graphQLName(Field field) {
+        GraphQLField graphQLField = field.getAnnotation(GraphQLField.class);
+        if (graphQLField != null && !graphQLField.name().isEmpty()) {
+            return graphQLField.name();
+        }
+        GraphQLId graphQLId = field.getAnnotation(GraphQLId.class);
+        if (graphQLId != null && !graphQLId.name().isEmpty()) {
+            return graphQLId.name();
+        }
+        return field.getName();
+    }
+
+    private enum Kind {
+        BASIC,
+        ASSOCIATION,
+        COLLECTION
+    }
+
+    private static final class Attribute {
+        private final String name;
+        private final Kind kind;
+        private final Class<?> type;
+
+        private Attribute(String name, Kind kind, Class<?> type) {
+            this.name = name;
+            this.kind = kind;
+            this.type = type;
+        }
+    }
+}
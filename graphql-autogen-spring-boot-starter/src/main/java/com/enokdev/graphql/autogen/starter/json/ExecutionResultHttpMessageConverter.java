@@ -0,0 +1,38 @@
+package com.enokdev.graphql.autogen.starter.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Map;
+
+/**
+ * JSON message converter of the GraphQL HTTP handler, reading requests with Jackson and
+ * writing responses with an {@link ExecutionResultJsonWriter}.
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class ExecutionResultHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final ExecutionResultJsonWriter writer;
+
+    public ExecutionResultHttpMessageConverter(ObjectMapper objectMapper, ExecutionResultJsonWriter writer) {
+        super(objectMapper);
+        this.writer = writer;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        if (object instanceof Map<?, ?> specification) {
+            writer.writeSpecification((Map<String, Object>) specification, outputMessage.getBody());
+        } else {
+            super.writeInternal(object, type, outputMessage);
+        }
+    }
+}
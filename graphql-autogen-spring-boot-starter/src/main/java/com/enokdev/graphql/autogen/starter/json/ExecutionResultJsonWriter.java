@@ -0,0 +1,463 @@
+package com.enokdev.graphql.autogen.starter.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import graphql.ExecutionResult;
+import graphql.GraphQLError;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * Writes GraphQL responses as UTF-8 JSON straight into pooled byte buffers, flushed to the
+ * target stream as they fill up, without building a Jackson tree or intermediate strings.
+ *
+ * <p>The result tree is walked directly. Strings are encoded character by character, and
+ * the integers, booleans, {@link LocalDateTime}, {@link LocalDate}, {@link LocalTime} and
+ * {@link UUID} values are formatted digit by digit, in the same form as their
+ * {@code toString()} which the DateTime, Date, Time and ID scalars produce. Floating-point
+ * and decimal numbers use their {@code toString()}, as Jackson does, apart from the integral
+ * doubles written digit by digit. Any other value is
+ * delegated to the {@link ObjectMapper}, so the output matches its default serialization.</p>
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class ExecutionResultJsonWriter {
+
+    static final int BUFFER_SIZE = 8192;
+
+    private static final int POOL_SIZE = 64;
+    private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] LOWER_HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TRUE = "true".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] FALSE = "false".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] LONG_MIN = Long.toString(Long.MIN_VALUE).getBytes(StandardCharsets.US_ASCII);
+    /**
+     * Escape of each ASCII character: 0 when written as is, {@code u} for a unicode escape,
+     * the character following the backslash otherwise.
+     */
+    private static final byte[] ESCAPES = new byte[0x80];
+
+    static {
+        for (int c = 0; c < 0x20; c++) {
+            ESCAPES[c] = 'u';
+        }
+        ESCAPES['"'] = '"';
+        ESCAPES['\\'] = '\\';
+        ESCAPES['\b'] = 'b';
+        ESCAPES['\f'] = 'f';
+        ESCAPES['\n'] = 'n';
+        ESCAPES['\r'] = 'r';
+        ESCAPES['\t'] = 't';
+    }
+
+    private final ObjectMapper objectMapper;
+    private final ArrayBlockingQueue<byte[]> buffers = new ArrayBlockingQueue<>(POOL_SIZE);
+
+    /**
+     * @param objectMapper serializes the values without a fast path
+     */
+    public ExecutionResultJsonWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Writes a result in its specification form: errors, data and extensions.
+     */
+    public void write(ExecutionResult result, OutputStream output) throws IOException {
+        Sink sink = open(output);
+        try {
+            boolean first = true;
+            sink.write('{');
+            List<GraphQLError> errors = result.getErrors();
+            if (errors != null && !errors.isEmpty()) {
+                writeKey(sink, "errors", true);
+                sink.write('[');
+                for (int i = 0; i < errors.size(); i++) {
+                    if (i > 0) {
+                        sink.write(',');
+                    }
+                    writeValue(sink, errors.get(i).toSpecification());
+                }
+                sink.write(']');
+                first = false;
+            }
+            if (result.isDataPresent()) {
+                writeKey(sink, "data", first);
+                writeValue(sink, result.getData());
+                first = false;
+            }
+            if (result.getExtensions() != null) {
+                writeKey(sink, "extensions", first);
+                writeValue(sink, result.getExtensions());
+            }
+            sink.write('}');
+            sink.flush();
+        } finally {
+            release(sink);
+        }
+    }
+
+    /**
+     * Writes the specification map of a response, as returned by
+     * {@link ExecutionResult#toSpecification()}.
+     */
+    public void writeSpecification(Map<String, Object> specification, OutputStream output) throws IOException {
+        Sink sink = open(output);
+        try {
+            writeValue(sink, specification);
+            sink.flush();
+        } finally {
+            release(sink);
+        }
+    }
+
+    /**
+     * Returns the JSON encoding of a result.
+     */
+    public byte[] toBytes(ExecutionResult result) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(BUFFER_SIZE);
+        write(result, output);
+        return output.toByteArray();
+    }
+
+    private Sink open(OutputStream output) {
+        byte[] pooled = buffers.poll();
+        return new Sink(pooled != null ? pooled : new byte[BUFFER_SIZE], output);
+    }
+
+    private void release(Sink sink) {
+        buffers.offer(sink.buffer);
+    }
+
+    private void writeValue(Sink sink, Object value) throws IOException {
+        if (value == null) {
+            sink.write(NULL);
+        } else if (value instanceof String string) {
+            writeString(sink, string);
+        } else if (value instanceof Integer number) {
+            writeLong(sink, number);
+        } else if (value instanceof Boolean bool) {
+            sink.write(bool ? TRUE : FALSE);
+        } else if (value instanceof Long number) {
+            writeLong(sink, number);
+        } else if (value instanceof Map<?, ?> map) {
+            writeMap(sink, map);
+        } else if (value instanceof List<?> list) {
+            sink.write('[');
+            for (int i = 0, size = list.size(); i < size; i++) {
+                if (i > 0) {
+                    sink.write(',');
+                }
+                writeValue(sink, list.get(i));
+            }
+            sink.write(']');
+        } else if (value instanceof Short || value instanceof Byte) {
+            writeLong(sink, ((Number) value).longValue());
+        } else if (value instanceof Double number && Double.isFinite(number)) {
+            writeDouble(sink, number);
+        } else if (value instanceof Float single && Float.isFinite(single)
+                || value instanceof BigDecimal || value instanceof BigInteger) {
+            writeAscii(sink, value.toString());
+        } else if (value instanceof LocalDateTime dateTime && isFourDigitYear(dateTime.getYear())) {
+            sink.write('"');
+            writeDate(sink, dateTime.toLocalDate());
+            sink.write('T');
+            writeTime(sink, dateTime.toLocalTime());
+            sink.write('"');
+        } else if (value instanceof LocalDate date && isFourDigitYear(date.getYear())) {
+            sink.write('"');
+            writeDate(sink, date);
+            sink.write('"');
+        } else if (value instanceof LocalTime time) {
+            sink.write('"');
+            writeTime(sink, time);
+            sink.write('"');
+        } else if (value instanceof UUID uuid) {
+            writeUuid(sink, uuid);
+        } else if (value instanceof Enum<?> constant) {
+            writeString(sink, constant.name());
+        } else if (value instanceof Iterable<?> iterable) {
+            sink.write('[');
+            boolean first = true;
+            for (Object element : iterable) {
+                if (!first) {
+                    sink.write(',');
+                }
+                writeValue(sink, element);
+                first = false;
+            }
+            sink.write(']');
+        } else {
+            sink.write(objectMapper.writeValueAsBytes(value));
+        }
+    }
+
+    private void writeMap(Sink sink, Map<?, ?> map) throws IOException {
+        sink.write('{');
+        boolean first = true;
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            writeKey(sink, String.valueOf(entry.getKey()), first);
+            writeValue(sink, entry.getValue());
+            first = false;
+        }
+        sink.write('}');
+    }
+
+    private static void writeKey(Sink sink, String key, boolean first) throws IOException {
+        if (!first) {
+            sink.write(',');
+        }
+        writeString(sink, key);
+        sink.write(':');
+    }
+
+    private static void writeString(Sink sink, String value) throws IOException {
+        sink.write('"');
+        int length = value.length();
+        int i = 0;
+        while (i < length) {
+            // a character takes at most 6 bytes, for an escape sequence
+            int end = i + Math.min(length - i, (sink.buffer.length - sink.position) / 6);
+            if (end == i) {
+                sink.flush();
+                continue;
+            }
+            byte[] buffer = sink.buffer;
+            int position = sink.position;
+            for (; i < end; i++) {
+                char c = value.charAt(i);
+                // keeps the loop small for the common unescaped ASCII characters
+                if (c < 0x80 && ESCAPES[c] == 0) {
+                    buffer[position++] = (byte) c;
+                } else {
+                    position = writeCharacter(buffer, position, c);
+                }
+            }
+            sink.position = position;
+        }
+        sink.write('"');
+    }
+
+    private static int writeCharacter(byte[] buffer, int position, char c) {
+        if (c < 0x80) {
+            byte escape = ESCAPES[c];
+            if (escape == 'u') {
+                return writeUnicodeEscape(buffer, position, c);
+            }
+            buffer[position] = '\\';
+            buffer[position + 1] = escape;
+            return position + 2;
+        }
+        if (c < 0x800) {
+            buffer[position] = (byte) (0xC0 | (c >> 6));
+            buffer[position + 1] = (byte) (0x80 | (c & 0x3F));
+            return position + 2;
+        }
+        if (Character.isSurrogate(c)) {
+            // characters outside the BMP are escaped as surrogate pairs, as Jackson does
+            return writeUnicodeEscape(buffer, position, c);
+        }
+        buffer[position] = (byte) (0xE0 | (c >> 12));
+        buffer[position + 1] = (byte) (0x80 | ((c >> 6) & 0x3F));
+        buffer[position + 2] = (byte) (0x80 | (c & 0x3F));
+        return position + 3;
+    }
+
+    private static int writeUnicodeEscape(byte[] buffer, int position, char c) {
+        buffer[position] = '\\';
+        buffer[position + 1] = 'u';
+        buffer[position + 2] = HEX[c >> 12];
+        buffer[position + 3] = HEX[(c >> 8) & 0xF];
+        buffer[position + 4] = HEX[(c >> 4) & 0xF];
+        buffer[position + 5] = HEX[c & 0xF];
+        return position + 6;
+    }
+
+    private static void writeAscii(Sink sink, String value) throws IOException {
+        int length = value.length();
+        if (length > BUFFER_SIZE) {
+            sink.write(value.getBytes(StandardCharsets.US_ASCII));
+            return;
+        }
+        sink.ensure(length);
+        for (int i = 0; i < length; i++) {
+            sink.buffer[sink.position++] = (byte) value.charAt(i);
+        }
+    }
+
+    private static void writeLong(Sink sink, long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            sink.write(LONG_MIN);
+            return;
+        }
+        sink.ensure(20);
+        if (value < 0) {
+            sink.buffer[sink.position++] = '-';
+            value = -value;
+        }
+        byte[] buffer = sink.buffer;
+        int start = sink.position;
+        int end = start + digits(value);
+        for (int i = end - 1; i >= start; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        sink.position = end;
+    }
+
+    /**
+     * Writes a double as {@link Double#toString(double)} does, without creating the string
+     * for the integral values it writes in plain notation.
+     */
+    private static void writeDouble(Sink sink, double value) throws IOException {
+        long integral = (long) value;
+        if (integral == value && integral > -10_000_000 && integral < 10_000_000
+                && (integral != 0 || Double.doubleToRawLongBits(value) == 0)) {
+            writeLong(sink, integral);
+            sink.ensure(2);
+            sink.buffer[sink.position++] = '.';
+            sink.buffer[sink.position++] = '0';
+        } else {
+            writeAscii(sink, Double.toString(value));
+        }
+    }
+
+    private static int digits(long value) {
+        int digits = 1;
+        for (long bound = 10; digits < 19 && value >= bound; bound *= 10) {
+            digits++;
+        }
+        return digits;
+    }
+
+    private static boolean isFourDigitYear(int year) {
+        return year >= 0 && year <= 9999;
+    }
+
+    /**
+     * Writes {@code yyyy-MM-dd}, as {@link LocalDate#toString()} for years 0 to 9999.
+     */
+    private static void writeDate(Sink sink, LocalDate date) throws IOException {
+        sink.ensure(10);
+        writeDigits(sink, date.getYear(), 4);
+        sink.buffer[sink.position++] = '-';
+        writeDigits(sink, date.getMonthValue(), 2);
+        sink.buffer[sink.position++] = '-';
+        writeDigits(sink, date.getDayOfMonth(), 2);
+    }
+
+    /**
+     * Writes {@code HH:mm[:ss[.SSS[SSS[SSS]]]]}, as {@link LocalTime#toString()}.
+     */
+    private static void writeTime(Sink sink, LocalTime time) throws IOException {
+        sink.ensure(18);
+        writeDigits(sink, time.getHour(), 2);
+        sink.buffer[sink.position++] = ':';
+        writeDigits(sink, time.getMinute(), 2);
+        int second = time.getSecond();
+        int nano = time.getNano();
+        if (second > 0 || nano > 0) {
+            sink.buffer[sink.position++] = ':';
+            writeDigits(sink, second, 2);
+            if (nano > 0) {
+                sink.buffer[sink.position++] = '.';
+                if (nano % 1_000_000 == 0) {
+                    writeDigits(sink, nano / 1_000_000, 3);
+                } else if (nano % 1000 == 0) {
+                    writeDigits(sink, nano / 1000, 6);
+                } else {
+                    writeDigits(sink, nano, 9);
+                }
+            }
+        }
+    }
+
+    private static void writeDigits(Sink sink, int value, int width) {
+        for (int i = sink.position + width - 1; i >= sink.position; i--) {
+            sink.buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        sink.position += width;
+    }
+
+    private static void writeUuid(Sink sink, UUID uuid) throws IOException {
+        sink.ensure(38);
+        byte[] buffer = sink.buffer;
+        buffer[sink.position++] = '"';
+        long most = uuid.getMostSignificantBits();
+        long least = uuid.getLeastSignificantBits();
+        writeHex(sink, most >>> 32, 8);
+        buffer[sink.position++] = '-';
+        writeHex(sink, most >>> 16, 4);
+        buffer[sink.position++] = '-';
+        writeHex(sink, most, 4);
+        buffer[sink.position++] = '-';
+        writeHex(sink, least >>> 48, 4);
+        buffer[sink.position++] = '-';
+        writeHex(sink, least, 12);
+        buffer[sink.position++] = '"';
+    }
+
+    private static void writeHex(Sink sink, long value, int digits) {
+        for (int i = sink.position + digits - 1; i >= sink.position; i--) {
+            sink.buffer[i] = LOWER_HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+        sink.position += digits;
+    }
+
+    /**
+     * Buffer of a write in progress.
+     */
+    private static final class Sink {
+        private final byte[] buffer;
+        private final OutputStream output;
+        private int position;
+
+        private Sink(byte[] buffer, OutputStream output) {
+            this.buffer = buffer;
+            this.output = output;
+        }
+
+        void ensure(int length) throws IOException {
+            if (position + length > buffer.length) {
+                flush();
+            }
+        }
+
+        void write(char c) throws IOException {
+            ensure(1);
+            buffer[position++] = (byte) c;
+        }
+
+        void write(byte[] bytes) throws IOException {
+            if (bytes.length > buffer.length - position) {
+                flush();
+                if (bytes.length > buffer.length) {
+                    output.write(bytes);
+                    return;
+                }
+            }
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        void flush() throws IOException {
+            output.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+}
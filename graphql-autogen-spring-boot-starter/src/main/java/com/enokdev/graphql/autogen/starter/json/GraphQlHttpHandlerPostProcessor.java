@@ -0,0 +1,41 @@
+package com.enokdev.graphql.autogen.starter.json;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.graphql.server.WebGraphQlHandler;
+import org.springframework.graphql.server.webmvc.GraphQlHttpHandler;
+import org.springframework.http.converter.HttpMessageConverter;
+
+import java.util.function.Supplier;
+
+/**
+ * Replaces the {@link GraphQlHttpHandler} configured by Spring Boot with one writing its
+ * responses through an {@link ExecutionResultHttpMessageConverter}. Subclasses of the
+ * handler are left as they are.
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class GraphQlHttpHandlerPostProcessor implements BeanPostProcessor {
+
+    private final Supplier<WebGraphQlHandler> webGraphQlHandler;
+    private final Supplier<HttpMessageConverter<?>> messageConverter;
+
+    /**
+     * @param webGraphQlHandler supplies the handler executing the requests
+     * @param messageConverter supplies the converter of the replacing handler
+     */
+    public GraphQlHttpHandlerPostProcessor(Supplier<WebGraphQlHandler> webGraphQlHandler,
+                                           Supplier<HttpMessageConverter<?>> messageConverter) {
+        this.webGraphQlHandler = webGraphQlHandler;
+        this.messageConverter = messageConverter;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (bean.getClass() == GraphQlHttpHandler.class) {
+            return new GraphQlHttpHandler(webGraphQlHandler.get(), messageConverter.get());
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,64 @@
+package com.enokdev.graphql.autogen.starter.pagination;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * {@link TotalCountProvider} that caches the count of unfiltered connections for a fixed
+ * time to live. Filtered connections are counted exactly, since a {@link Specification}
+ * carries no stable cache key.
+ *
+ * <p>The cached value may lag behind inserts and deletes by up to the time to live, which
+ * is usually acceptable for the total shown next to a paginated list.</p>
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class CachingTotalCountProvider implements TotalCountProvider {
+
+    private final long timeToLiveNanos;
+    private final Map<String, CachedCount> counts = new ConcurrentHashMap<>();
+
+    public CachingTotalCountProvider(Duration timeToLive) {
+        if (timeToLive == null || timeToLive.isNegative() || timeToLive.isZero()) {
+            throw new IllegalArgumentException("Time to live must be positive");
+        }
+        this.timeToLiveNanos = timeToLive.toNanos();
+    }
+
+    @Override
+    public long count(String connectionName, Specification<?> specification, LongSupplier exactCount) {
+        if (specification != null) {
+            return exactCount.getAsLong();
+        }
+        long now = System.nanoTime();
+        CachedCount cached = counts.get(connectionName);
+        if (cached != null && now - cached.loadedAt < timeToLiveNanos) {
+            return cached.count;
+        }
+        long count = exactCount.getAsLong();
+        counts.put(connectionName, new CachedCount(count, now));
+        return count;
+    }
+
+    /**
+     * Drops the cached count of a connection, e.g. after a bulk import.
+     */
+    public void evict(String connectionName) {
+        counts.remove(connectionName);
+    }
+
+    private static final class CachedCount {
+        private final long count;
+        private final long loadedAt;
+
+        private CachedCount(long count, long loadedAt) {
+            this.count = count;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.enokdev.graphql.autogen.starter.pagination;
+
+import java.util.List;
+
+/**
+ * Runtime value of a Relay connection generated by {@code @GraphQLPagination}.
+ * Its properties match the {@code edges}, {@code pageInfo} and {@code totalCount} fields
+ * emitted by {@code DefaultPaginationGenerator}.
+ *
+ * @param <T> the node type
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class Connection<T> {
+
+    private final List<Edge<T>> edges;
+    private final PageInfo pageInfo;
+    private final Long totalCount;
+
+    public Connection(List<Edge<T>> edges, PageInfo pageInfo) {
+        this(edges, pageInfo, null);
+    }
+
+    public Connection(List<Edge<T>> edges, PageInfo pageInfo, Long totalCount) {
+        this.edges = List.copyOf(edges);
+        this.pageInfo = pageInfo;
+        this.totalCount = totalCount;
+    }
+
+    public List<Edge<T>> getEdges() {
+        return edges;
+    }
+
+    public PageInfo getPageInfo() {
+        return pageInfo;
+    }
+
+    /**
+     * Returns the total number of items, or {@code null} when it was not computed.
+     */
+    public Long getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * Returns the nodes of this page, in edge order.
+     */
+    public List<T> getNodes() {
+        return edges.stream().map(Edge::getNode).toList();
+    }
+}
@@ -0,0 +1,756 @@
+package com.enokdev.graphql.autogen.starter.pagination;
+
+import com.enokdev.graphql.autogen.annotation.GraphQLPagination.CursorStrategy;
+
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Encodes and decodes the cursors of the {@link CursorStrategy} variants, optionally signed
+ * with HMAC-SHA256.
+ *
+ * <p>Cursors are written straight into a per-thread buffer and Base64url-encoded in place,
+ * so encoding an edge cursor allocates nothing but the resulting string. Decoding reads the
+ * cursor characters directly, without intermediate strings or byte arrays.</p>
+ *
+ * <ul>
+ *   <li>{@code PLAIN_ID}: the id as text, followed by {@code .signature} when signing</li>
+ *   <li>{@code BASE64_ID}, {@code BASE64_COMPOSITE}, {@code TIMESTAMP}: a compact binary form
+ *       of the typed values (integers, instants and UTF-8 strings), prefixed by the strategy
+ *       so a cursor cannot be replayed against a connection of another strategy</li>
+ * </ul>
+ *
+ * <p>Cursors are at most {@value #MAX_CURSOR_LENGTH} characters long: positions whose cursor
+ * would be longer cannot be encoded, and longer cursors are rejected before they are
+ * decoded, so that no client can grow the per-thread buffers.</p>
+ *
+ * <p>Instances are thread-safe.</p>
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public final class CursorCodec {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final int MAC_LENGTH = 32;
+    private static final int SIGNATURE_LENGTH = 12;
+    private static final int MAX_COMPONENTS = 255;
+
+    /**
+     * The maximum length of a cursor, in characters.
+     */
+    public static final int MAX_CURSOR_LENGTH = 4096;
+
+    private static final byte TAG_LONG = 'L';
+    private static final byte TAG_INSTANT = 'T';
+    private static final byte TAG_STRING = 'S';
+    private static final byte PLAIN_DOMAIN = (byte) CursorStrategy.PLAIN_ID.ordinal();
+
+    private static final byte[] BASE64_ALPHABET =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".getBytes(StandardCharsets.US_ASCII);
+    private static final int[] BASE64_VALUES = new int[128];
+
+    static {
+        Arrays.fill(BASE64_VALUES, -1);
+        for (int i = 0; i < BASE64_ALPHABET.length; i++) {
+            BASE64_VALUES[BASE64_ALPHABET[i]] = i;
+        }
+    }
+
+    private final SecretKeySpec signingKey;
+    private final ThreadLocal<Buffer> buffers = ThreadLocal.withInitial(Buffer::new);
+
+    /**
+     * Creates a codec producing unsigned cursors.
+     */
+    public CursorCodec() {
+        this(null);
+    }
+
+    /**
+     * Creates a codec signing its cursors with the given key, or producing unsigned cursors
+     * when the key is {@code null}.
+     *
+     * @param signingKey the HMAC-SHA256 key, at least 16 bytes long
+     */
+    public CursorCodec(byte[] signingKey) {
+        if (signingKey != null && signingKey.length < 16) {
+            throw new IllegalArgumentException("Cursor signing key must be at least 16 bytes long");
+        }
+        this.signingKey = signingKey != null ? new SecretKeySpec(signingKey, HMAC_ALGORITHM) : null;
+    }
+
+    public boolean isSigning() {
+        return signingKey != null;
+    }
+
+    /**
+     * Encodes a position made of the given sort values, the id being the last one.
+     *
+     * @param strategy the cursor strategy
+     * @param values the sort values, ending with the id
+     * @return the cursor
+     */
+    public String encode(CursorStrategy strategy, List<?> values) {
+        Buffer buffer = buffers.get();
+        if (strategy == CursorStrategy.PLAIN_ID) {
+            requireSize(strategy, values, 1);
+            buffer.reset();
+            Object id = values.get(0);
+            if (isIntegral(id)) {
+                buffer.writeDigits(((Number) id).longValue());
+            } else {
+                buffer.writeUtf8(asString(id));
+            }
+            return finishPlain(buffer);
+        }
+
+        checkBinaryStrategy(strategy);
+        if (strategy == CursorStrategy.BASE64_ID) {
+            requireSize(strategy, values, 1);
+        } else if (strategy == CursorStrategy.TIMESTAMP) {
+            requireSize(strategy, values, 2);
+            if (!isTemporal(values.get(0))) {
+                throw new IllegalArgumentException("TIMESTAMP cursors require a date/time sort property, got "
+                        + values.get(0));
+            }
+        } else if (values.size() > MAX_COMPONENTS) {
+            throw new IllegalArgumentException("Cursors support at most " + MAX_COMPONENTS + " values");
+        }
+
+        buffer.reset();
+        buffer.writeByte(strategy.ordinal());
+        buffer.writeByte(values.size());
+        for (int i = 0; i < values.size(); i++) {
+            writeValue(buffer, values.get(i));
+        }
+        return finishBinary(buffer);
+    }
+
+    /**
+     * Encodes the cursor of an id-sorted connection without boxing the id.
+     *
+     * @param strategy {@code PLAIN_ID} or {@code BASE64_ID}
+     * @param id the id
+     * @return the cursor
+     */
+    public String encodeId(CursorStrategy strategy, long id) {
+        Buffer buffer = buffers.get();
+        buffer.reset();
+        if (strategy == CursorStrategy.PLAIN_ID) {
+            buffer.writeDigits(id);
+            return finishPlain(buffer);
+        }
+        if (strategy != CursorStrategy.BASE64_ID) {
+            throw new IllegalArgumentException(strategy + " cursors are not id-only cursors");
+        }
+        buffer.writeByte(strategy.ordinal());
+        buffer.writeByte(1);
+        buffer.writeByte(TAG_LONG);
+        buffer.writeLong(id);
+        return finishBinary(buffer);
+    }
+
+    /**
+     * Decodes and verifies a cursor into its values: {@link Long}, {@link Instant} or
+     * {@link String} components, in sort order.
+     *
+     * @param strategy the cursor strategy of the connection
+     * @param cursor the cursor sent by the client
+     * @param columns the expected number of values
+     * @return the decoded values
+     * @throws IllegalArgumentException if the cursor is malformed, was produced for another
+     *                                  strategy or carries an invalid signature
+     */
+    public List<Object> decode(CursorStrategy strategy, String cursor, int columns) {
+        if (strategy == CursorStrategy.PLAIN_ID) {
+            int end = verifyPlain(cursor);
+            if (columns != 1) {
+                throw invalid(cursor, "expected " + columns + " values but found 1");
+            }
+            return List.of(cursor.substring(0, end));
+        }
+
+        checkBinaryStrategy(strategy);
+        Buffer buffer = verifyBinary(strategy, cursor);
+        int count = buffer.readUnsignedByte();
+        if (count != columns) {
+            throw invalid(cursor, "expected " + columns + " values but found " + count);
+        }
+        Object[] values = new Object[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = readValue(buffer, cursor);
+        }
+        if (buffer.remaining() != 0) {
+            throw invalid(cursor, "trailing bytes");
+        }
+        if (strategy == CursorStrategy.TIMESTAMP && !(values[0] instanceof Instant)) {
+            throw invalid(cursor, "missing timestamp");
+        }
+        return Arrays.asList(values);
+    }
+
+    /**
+     * Decodes and verifies the cursor of an id-sorted connection with a numeric id.
+     *
+     * @param strategy {@code PLAIN_ID} or {@code BASE64_ID}
+     * @param cursor the cursor sent by the client
+     * @return the id
+     */
+    public long decodeId(CursorStrategy strategy, String cursor) {
+        if (strategy == CursorStrategy.PLAIN_ID) {
+            int end = verifyPlain(cursor);
+            return parseDigits(cursor, end);
+        }
+        if (strategy != CursorStrategy.BASE64_ID) {
+            throw new IllegalArgumentException(strategy + " cursors are not id-only cursors");
+        }
+        Buffer buffer = verifyBinary(strategy, cursor);
+        if (buffer.readUnsignedByte() != 1 || buffer.readByte() != TAG_LONG || buffer.remaining() != Long.BYTES) {
+            throw invalid(cursor, "not a numeric id cursor");
+        }
+        return buffer.readLong();
+    }
+
+    // Encoding
+
+    private void writeValue(Buffer buffer, Object value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Cursor values must not be null");
+        }
+        if (isIntegral(value)) {
+            buffer.writeByte(TAG_LONG);
+            buffer.writeLong(((Number) value).longValue());
+        } else if (isTemporal(value)) {
+            buffer.writeByte(TAG_INSTANT);
+            writeInstant(buffer, value);
+        } else {
+            buffer.writeByte(TAG_STRING);
+            String text = asString(value);
+            buffer.writeVarInt(utf8Length(text));
+            buffer.writeUtf8(text);
+        }
+    }
+
+    private static void writeInstant(Buffer buffer, Object value) {
+        long seconds;
+        int nanos;
+        if (value instanceof Instant instant) {
+            seconds = instant.getEpochSecond();
+            nanos = instant.getNano();
+        } else if (value instanceof LocalDateTime dateTime) {
+            seconds = dateTime.toEpochSecond(ZoneOffset.UTC);
+            nanos = dateTime.getNano();
+        } else if (value instanceof OffsetDateTime dateTime) {
+            seconds = dateTime.toEpochSecond();
+            nanos = dateTime.getNano();
+        } else if (value instanceof ZonedDateTime dateTime) {
+            seconds = dateTime.toEpochSecond();
+            nanos = dateTime.getNano();
+        } else if (value instanceof LocalDate date) {
+            seconds = date.toEpochDay() * 86_400L;
+            nanos = 0;
+        } else {
+            long millis = ((Date) value).getTime();
+            seconds = Math.floorDiv(millis, 1000L);
+            nanos = (int) Math.floorMod(millis, 1000L) * 1_000_000;
+        }
+        buffer.writeLong(seconds);
+        buffer.writeInt(nanos);
+    }
+
+    private String finishPlain(Buffer buffer) {
+        int textLength = buffer.position;
+        if (signingKey == null) {
+            String cursor = new String(buffer.bytes, 0, textLength, StandardCharsets.UTF_8);
+            checkLength(cursor.length());
+            return cursor;
+        }
+        checkLength(textLength + 1 + base64Length(SIGNATURE_LENGTH));
+        sign(buffer, true, buffer.bytes, 0, textLength);
+        buffer.ensureEncoded(textLength + 1 + base64Length(SIGNATURE_LENGTH));
+        System.arraycopy(buffer.bytes, 0, buffer.encoded, 0, textLength);
+        buffer.encoded[textLength] = '.';
+        int length = textLength + 1 + encodeBase64(buffer.mac, 0, SIGNATURE_LENGTH, buffer.encoded, textLength + 1);
+        return new String(buffer.encoded, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private String finishBinary(Buffer buffer) {
+        if (signingKey != null) {
+            int payloadLength = buffer.position;
+            sign(buffer, false, buffer.bytes, 0, payloadLength);
+            buffer.ensureCapacity(SIGNATURE_LENGTH);
+            System.arraycopy(buffer.mac, 0, buffer.bytes, payloadLength, SIGNATURE_LENGTH);
+            buffer.position += SIGNATURE_LENGTH;
+        }
+        checkLength(base64Length(buffer.position));
+        buffer.ensureEncoded(base64Length(buffer.position));
+        int length = encodeBase64(buffer.bytes, 0, buffer.position, buffer.encoded, 0);
+        return new String(buffer.encoded, 0, length, StandardCharsets.ISO_8859_1);
+    }
+
+    // Decoding
+
+    private int verifyPlain(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            throw invalid(cursor, "empty cursor");
+        }
+        rejectOversized(cursor);
+        if (signingKey == null) {
+            return cursor.length();
+        }
+        int dot = cursor.lastIndexOf('.');
+        if (dot <= 0 || cursor.length() - dot - 1 != base64Length(SIGNATURE_LENGTH)) {
+            throw invalid(cursor, "missing signature");
+        }
+        Buffer buffer = buffers.get();
+        buffer.reset();
+        buffer.writeUtf8(cursor, dot);
+        int textLength = buffer.position;
+        buffer.ensureCapacity(SIGNATURE_LENGTH);
+        if (decodeBase64(cursor, dot + 1, cursor.length(), buffer.bytes, textLength) != SIGNATURE_LENGTH) {
+            throw invalid(cursor, "malformed signature");
+        }
+        sign(buffer, true, buffer.bytes, 0, textLength);
+        if (!signatureMatches(buffer.mac, buffer.bytes, textLength)) {
+            throw invalid(cursor, "signature mismatch");
+        }
+        return dot;
+    }
+
+    private Buffer verifyBinary(CursorStrategy strategy, String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            throw invalid(cursor, "empty cursor");
+        }
+        rejectOversized(cursor);
+        Buffer buffer = buffers.get();
+        buffer.reset();
+        buffer.ensureCapacity(cursor.length());
+        int length = decodeBase64(cursor, 0, cursor.length(), buffer.bytes, 0);
+        if (length < 0) {
+            throw invalid(cursor, "not Base64url");
+        }
+        if (signingKey != null) {
+            length -= SIGNATURE_LENGTH;
+            if (length < 2) {
+                throw invalid(cursor, "missing signature");
+            }
+            sign(buffer, false, buffer.bytes, 0, length);
+            if (!signatureMatches(buffer.mac, buffer.bytes, length)) {
+                throw invalid(cursor, "signature mismatch");
+            }
+        }
+        buffer.limit = length;
+        if (buffer.remaining() < 2 || buffer.readUnsignedByte() != strategy.ordinal()) {
+            throw invalid(cursor, "not a " + strategy + " cursor");
+        }
+        return buffer;
+    }
+
+    private static Object readValue(Buffer buffer, String cursor) {
+        if (buffer.remaining() < 1) {
+            throw invalid(cursor, "truncated");
+        }
+        byte tag = buffer.readByte();
+        switch (tag) {
+            case TAG_LONG -> {
+                if (buffer.remaining() < Long.BYTES) {
+                    throw invalid(cursor, "truncated");
+                }
+                return buffer.readLong();
+            }
+            case TAG_INSTANT -> {
+                if (buffer.remaining() < Long.BYTES + Integer.BYTES) {
+                    throw invalid(cursor, "truncated");
+                }
+                long seconds = buffer.readLong();
+                int nanos = buffer.readInt();
+                if (nanos < 0 || nanos > 999_999_999) {
+                    throw invalid(cursor, "invalid timestamp");
+                }
+                try {
+                    return Instant.ofEpochSecond(seconds, nanos);
+                } catch (RuntimeException e) {
+                    throw invalid(cursor, "invalid timestamp");
+                }
+            }
+            case TAG_STRING -> {
+                int length = buffer.readVarInt();
+                if (length < 0 || buffer.remaining() < length) {
+                    throw invalid(cursor, "truncated");
+                }
+                String value = new String(buffer.bytes, buffer.position, length, StandardCharsets.UTF_8);
+                buffer.position += length;
+                return value;
+            }
+            default -> throw invalid(cursor, "unknown value tag");
+        }
+    }
+
+    private static long parseDigits(String cursor, int end) {
+        int start = 0;
+        boolean negative = end > 1 && cursor.charAt(0) == '-';
+        if (negative) {
+            start = 1;
+        }
+        if (end == start || end - start > 19) {
+            throw invalid(cursor, "not a numeric id cursor");
+        }
+        // accumulates negatively so that Long.MIN_VALUE is accepted
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = cursor.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw invalid(cursor, "not a numeric id cursor");
+            }
+            if (value < (limit + digit) / 10) {
+                throw invalid(cursor, "id out of range");
+            }
+            value = value * 10 - digit;
+        }
+        return negative ? value : -value;
+    }
+
+    // Signing
+
+    /**
+     * Computes the HMAC of the payload into {@code buffer.mac}. The strategy is mixed in for
+     * plain cursors, which carry no strategy byte of their own.
+     */
+    private void sign(Buffer buffer, boolean plain, byte[] payload, int offset, int length) {
+        Mac mac = buffer.mac(signingKey);
+        if (plain) {
+            mac.update(PLAIN_DOMAIN);
+        }
+        mac.update(payload, offset, length);
+        try {
+            mac.doFinal(buffer.mac, 0);
+        } catch (ShortBufferException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static boolean signatureMatches(byte[] expected, byte[] actual, int offset) {
+        int difference = 0;
+        for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+            difference |= expected[i] ^ actual[offset + i];
+        }
+        return difference == 0;
+    }
+
+    // Base64url without padding
+
+    private static int base64Length(int length) {
+        return (length / 3) * 4 + (length % 3 == 0 ? 0 : length % 3 + 1);
+    }
+
+    private static int encodeBase64(byte[] source, int offset, int length, byte[] target, int targetOffset) {
+        int in = offset;
+        int out = targetOffset;
+        int end = offset + length / 3 * 3;
+        while (in < end) {
+            int bits = (source[in++] & 0xff) << 16 | (source[in++] & 0xff) << 8 | (source[in++] & 0xff);
+            target[out++] = BASE64_ALPHABET[bits >>> 18];
+            target[out++] = BASE64_ALPHABET[(bits >>> 12) & 0x3f];
+            target[out++] = BASE64_ALPHABET[(bits >>> 6) & 0x3f];
+            target[out++] = BASE64_ALPHABET[bits & 0x3f];
+        }
+        int remaining = offset + length - in;
+        if (remaining == 1) {
+            int bits = source[in] & 0xff;
+            target[out++] = BASE64_ALPHABET[bits >>> 2];
+            target[out++] = BASE64_ALPHABET[(bits << 4) & 0x3f];
+        } else if (remaining == 2) {
+            int bits = (source[in] & 0xff) << 8 | (source[in + 1] & 0xff);
+            target[out++] = BASE64_ALPHABET[bits >>> 10];
+            target[out++] = BASE64_ALPHABET[(bits >>> 4) & 0x3f];
+            target[out++] = BASE64_ALPHABET[(bits << 2) & 0x3f];
+        }
+        return out - targetOffset;
+    }
+
+    /**
+     * Decodes the characters {@code [start, end)} of the text, returning the number of bytes
+     * written or -1 if the text is not canonical Base64url.
+     */
+    private static int decodeBase64(String text, int start, int end, byte[] target, int targetOffset) {
+        int length = end - start;
+        if (length % 4 == 1) {
+            return -1;
+        }
+        int out = targetOffset;
+        int bits = 0;
+        int count = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            int value = c < 128 ? BASE64_VALUES[c] : -1;
+            if (value < 0) {
+                return -1;
+            }
+            bits = bits << 6 | value;
+            if (++count == 4) {
+                target[out++] = (byte) (bits >>> 16);
+                target[out++] = (byte) (bits >>> 8);
+                target[out++] = (byte) bits;
+                bits = 0;
+                count = 0;
+            }
+        }
+        if (count == 2) {
+            if ((bits & 0xf) != 0) {
+                return -1;
+            }
+            target[out++] = (byte) (bits >>> 4);
+        } else if (count == 3) {
+            if ((bits & 0x3) != 0) {
+                return -1;
+            }
+            target[out++] = (byte) (bits >>> 10);
+            target[out++] = (byte) (bits >>> 2);
+        }
+        return out - targetOffset;
+    }
+
+    // Helpers
+
+    private static void checkBinaryStrategy(CursorStrategy strategy) {
+        if (strategy != CursorStrategy.BASE64_ID && strategy != CursorStrategy.BASE64_COMPOSITE
+                && strategy != CursorStrategy.TIMESTAMP) {
+            throw new IllegalArgumentException("Unsupported cursor strategy: " + strategy);
+        }
+    }
+
+    private static void requireSize(CursorStrategy strategy, List<?> values, int size) {
+        if (values.size() != size) {
+            throw new IllegalArgumentException(strategy + " cursors require " + size + " values, got " + values.size());
+        }
+    }
+
+    private static boolean isIntegral(Object value) {
+        return value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte;
+    }
+
+    private static boolean isTemporal(Object value) {
+        return value instanceof Instant || value instanceof LocalDateTime || value instanceof OffsetDateTime
+                || value instanceof ZonedDateTime || value instanceof LocalDate || value instanceof Date;
+    }
+
+    private static String asString(Object value) {
+        return value instanceof Enum<?> enumValue ? enumValue.name() : String.valueOf(value);
+    }
+
+    private static int utf8Length(String text) {
+        int length = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < text.length()
+                    && Character.isLowSurrogate(text.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    private static void checkLength(int length) {
+        if (length > MAX_CURSOR_LENGTH) {
+            throw new IllegalArgumentException("Cursor position too large: the cursor would be " + length
+                    + " characters long, at most " + MAX_CURSOR_LENGTH + " are supported");
+        }
+    }
+
+    /**
+     * Rejects a cursor longer than any this codec encodes, without echoing it.
+     */
+    private static void rejectOversized(String cursor) {
+        if (cursor.length() > MAX_CURSOR_LENGTH) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor.length() + " characters, at most "
+                    + MAX_CURSOR_LENGTH + " expected");
+        }
+    }
+
+    private static IllegalArgumentException invalid(String cursor, String reason) {
+        return new IllegalArgumentException("Invalid cursor: " + cursor + " (" + reason + ")");
+    }
+
+    /**
+     * Per-thread scratch space reused across cursors.
+     */
+    private static final class Buffer {
+
+        private byte[] bytes = new byte[128];
+        private byte[] encoded = new byte[192];
+        private final byte[] mac = new byte[MAC_LENGTH];
+        private Mac hmac;
+        private int position;
+        private int limit;
+
+        void reset() {
+            position = 0;
+        }
+
+        Mac mac(SecretKeySpec key) {
+            if (hmac == null) {
+                try {
+                    hmac = Mac.getInstance(HMAC_ALGORITHM);
+                    hmac.init(key);
+                } catch (GeneralSecurityException e) {
+                    throw new IllegalStateException("Cannot initialize " + HMAC_ALGORITHM, e);
+                }
+            }
+            return hmac;
+        }
+
+        void ensureCapacity(int additional) {
+            if (position + additional > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, position + additional));
+            }
+        }
+
+        void ensureEncoded(int length) {
+            if (length > encoded.length) {
+                encoded = new byte[Math.max(encoded.length * 2, length)];
+            }
+        }
+
+        void writeByte(int value) {
+            ensureCapacity(1);
+            bytes[position++] = (byte) value;
+        }
+
+        void writeInt(int value) {
+            ensureCapacity(Integer.BYTES);
+            for (int shift = 24; shift >= 0; shift -= 8) {
+                bytes[position++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeLong(long value) {
+            ensureCapacity(Long.BYTES);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                bytes[position++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeVarInt(int value) {
+            ensureCapacity(5);
+            while ((value & ~0x7f) != 0) {
+                bytes[position++] = (byte) ((value & 0x7f) | 0x80);
+                value >>>= 7;
+            }
+            bytes[position++] = (byte) value;
+        }
+
+        void writeDigits(long value) {
+            ensureCapacity(20);
+            if (value == Long.MIN_VALUE) {
+                writeUtf8(Long.toString(value));
+                return;
+            }
+            if (value < 0) {
+                bytes[position++] = '-';
+                value = -value;
+            }
+            int digits = 1;
+            for (long rest = value / 10; rest != 0; rest /= 10) {
+                digits++;
+            }
+            for (int i = position + digits - 1; i >= position; i--) {
+                bytes[i] = (byte) ('0' + value % 10);
+                value /= 10;
+            }
+            position += digits;
+        }
+
+        void writeUtf8(String text) {
+            writeUtf8(text, text.length());
+        }
+
+        void writeUtf8(String text, int end) {
+            ensureCapacity(end * 3);
+            for (int i = 0; i < end; i++) {
+                char c = text.charAt(i);
+                if (c < 0x80) {
+                    bytes[position++] = (byte) c;
+                } else if (c < 0x800) {
+                    bytes[position++] = (byte) (0xc0 | c >> 6);
+                    bytes[position++] = (byte) (0x80 | c & 0x3f);
+                } else if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(text.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                    bytes[position++] = (byte) (0xf0 | codePoint >> 18);
+                    bytes[position++] = (byte) (0x80 | codePoint >> 12 & 0x3f);
+                    bytes[position++] = (byte) (0x80 | codePoint >> 6 & 0x3f);
+                    bytes[position++] = (byte) (0x80 | codePoint & 0x3f);
+                } else if (Character.isSurrogate(c)) {
+                    bytes[position++] = '?';
+                } else {
+                    bytes[position++] = (byte) (0xe0 | c >> 12);
+                    bytes[position++] = (byte) (0x80 | c >> 6 & 0x3f);
+                    bytes[position++] = (byte) (0x80 | c & 0x3f);
+                }
+            }
+        }
+
+        int remaining() {
+            return limit - position;
+        }
+
+        byte readByte() {
+            return bytes[position++];
+        }
+
+        int readUnsignedByte() {
+            return bytes[position++] & 0xff;
+        }
+
+        int readInt() {
+            int value = 0;
+            for (int i = 0; i < Integer.BYTES; i++) {
+                value = value << 8 | (bytes[position++] & 0xff);
+            }
+            return value;
+        }
+
+        long readLong() {
+            long value = 0;
+            for (int i = 0; i < Long.BYTES; i++) {
+                value = value << 8 | (bytes[position++] & 0xff);
+            }
+            return value;
+        }
+
+        int readVarInt() {
+            int value = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                if (remaining() < 1) {
+                    return -1;
+                }
+                byte b = bytes[position++];
+                value |= (b & 0x7f) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            return -1;
+        }
+    }
+}
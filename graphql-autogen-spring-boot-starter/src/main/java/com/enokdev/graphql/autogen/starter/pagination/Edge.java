@@ -0,0 +1,27 @@
+package com.enokdev.graphql.autogen.starter.pagination;
+
+/**
+ * Relay edge holding a node and its opaque cursor.
+ *
+ * @param <T> the node type
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class Edge<T> {
+
+    private final T node;
+    private final String cursor;
+
+    public Edge(T node, String cursor) {
+        this.node = node;
+        this.cursor = cursor;
+    }
+
+    public T getNode() {
+        return node;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+}
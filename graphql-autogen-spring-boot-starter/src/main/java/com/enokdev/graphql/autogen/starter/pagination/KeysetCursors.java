@@ -0,0 +1,43 @@
+package com.enokdev.graphql.autogen.starter.pagination;
+
+import com.enokdev.graphql.autogen.annotation.GraphQLPagination.CursorStrategy;
+
+/**
+ * Maps keyset positions between the sort of a connection and its {@link CursorStrategy}.
+ *
+ * <ul>
+ *   <li>{@code PLAIN_ID} / {@code BASE64_ID}: the id only, for id-sorted connections</li>
+ *   <li>{@code BASE64_COMPOSITE}: every sort value followed by the id</li>
+ *   <li>{@code TIMESTAMP}: a lossless timestamp of the sort column followed by the id</li>
+ * </ul>
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+final class KeysetCursors {
+
+    private KeysetCursors() {
+    }
+
+    /**
+     * Checks that the strategy can describe a position in the given number of sort columns.
+     */
+    static void validate(CursorStrategy strategy, int columns) {
+        switch (strategy) {
+            case PLAIN_ID, BASE64_ID -> {
+                if (columns != 1) {
+                    throw new IllegalArgumentException(strategy + " cursors require a sort on the id property only");
+                }
+            }
+            case TIMESTAMP -> {
+                if (columns != 2) {
+                    throw new IllegalArgumentException("TIMESTAMP cursors require a sort on a single timestamp property");
+                }
+            }
+            case BASE64_COMPOSITE -> {
+                // any number of sort columns
+            }
+            default -> throw new IllegalArgumentException("Keyset pagination does not support " + strategy + " cursors");
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.enokdev.graphql.autogen.starter.pagination;
+
+import com.enokdev.graphql.autogen.annotation.GraphQLPagination.CursorStrategy;
+import com.enokdev.graphql.autogen.generator.PaginationGenerator.PaginationConfiguration;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.DataFetchingFieldSelectionSet;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keyset (seek) page request built from the Relay {@code first/after/last/before} arguments.
+ *
+ * <p>The sort is always completed with the unique id property as a final tie-breaker, so that
+ * every row has a distinct position and the cursor of the last row of a page is enough to
+ * locate the next one without any OFFSET.</p>
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public final class KeysetPageRequest {
+
+    private static final String DEFAULT_ID_PROPERTY = "id";
+    private static final String TOTAL_COUNT_FIELD = "totalCount";
+
+    private final int size;
+    private final boolean forward;
+    private final String cursor;
+    private final Sort sort;
+    private final String idProperty;
+    private final CursorStrategy cursorStrategy;
+    private final String connectionName;
+    private final boolean totalCountRequested;
+    private final Class<?> nodeType;
+    private final DataFetchingFieldSelectionSet selectionSet;
+
+    private KeysetPageRequest(int size, boolean forward, String cursor, Sort sort, String idProperty,
+                              CursorStrategy cursorStrategy, String connectionName, boolean totalCountRequested,
+                              Class<?> nodeType, DataFetchingFieldSelectionSet selectionSet) {
+        this.size = size;
+        this.forward = forward;
+        this.cursor = cursor;
+        this.sort = sort;
+        this.idProperty = idProperty;
+        this.cursorStrategy = cursorStrategy;
+        this.connectionName = connectionName;
+        this.totalCountRequested = totalCountRequested;
+        this.nodeType = nodeType;
+        this.selectionSet = selectionSet;
+    }
+
+    /**
+     * Creates a request from the pagination arguments of the given environment.
+     * The total count is requested only when the client selected {@code totalCount}.
+     *
+     * @param environment the data fetching environment of the paginated field
+     * @param sort the business sort, without the id tie-breaker
+     * @param configuration the pagination configuration of the field
+     * @return the keyset page request
+     */
+    public static KeysetPageRequest from(DataFetchingEnvironment environment, Sort sort,
+                                         PaginationConfiguration configuration) {
+        KeysetPageRequest request = of(environment.getArgument("first"), environment.getArgument("after"),
+                environment.getArgument("last"), environment.getArgument("before"), sort, configuration);
+        DataFetchingFieldSelectionSet selectionSet = environment.getSelectionSet();
+        boolean totalCountSelected = selectionSet != null && selectionSet.contains(TOTAL_COUNT_FIELD);
+        return new KeysetPageRequest(request.size, request.forward, request.cursor, request.sort,
+                request.idProperty, request.cursorStrategy, request.connectionName,
+                configuration.isIncludeTotalCount() && totalCountSelected, configuration.getNodeType(), selectionSet);
+    }
+
+    /**
+     * Creates a request from raw Relay arguments, using the id property {@code id}.
+     */
+    public static KeysetPageRequest of(Integer first, String after, Integer last, String before,
+                                       Sort sort, PaginationConfiguration configuration) {
+        return of(first, after, last, before, sort, DEFAULT_ID_PROPERTY, configuration);
+    }
+
+    /**
+     * Creates a request from raw Relay arguments.
+     *
+     * @param first number of items to return after the {@code after} cursor
+     * @param after cursor to start after, may be {@code null}
+     * @param last number of items to return before the {@code before} cursor
+     * @param before cursor to end before, may be {@code null}
+     * @param sort the business sort, without the id tie-breaker
+     * @param idProperty the unique property used as tie-breaker
+     * @param configuration the pagination configuration of the field
+     * @return the keyset page request
+     */
+    public static KeysetPageRequest of(Integer first, String after, Integer last, String before,
+                                       Sort sort, String idProperty, PaginationConfiguration configuration) {
+        if (first != null && first < 0) {
+            throw new IllegalArgumentException("Argument 'first' must not be negative");
+        }
+        if (last != null && last < 0) {
+            throw new IllegalArgumentException("Argument 'last' must not be negative");
+        }
+
+        boolean forward = last == null || first != null;
+        Integer requested = forward ? first : last;
+        int size = requested != null ? requested : configuration.getPageSize();
+        if (configuration.getMaxPageSize() > 0) {
+            size = Math.min(size, configuration.getMaxPageSize());
+        }
+
+        CursorStrategy strategy = configuration.getCursorStrategy() != null
+                ? configuration.getCursorStrategy()
+                : CursorStrategy.BASE64_COMPOSITE;
+
+        return new KeysetPageRequest(size, forward, forward ? after : before, withTieBreaker(sort, idProperty),
+                idProperty, strategy, configuration.getConnectionName(), false, configuration.getNodeType(), null);
+    }
+
+    /**
+     * Returns a copy of this request that does or does not compute the total count.
+     */
+    public KeysetPageRequest withTotalCount(boolean totalCountRequested) {
+        return new KeysetPageRequest(size, forward, cursor, sort, idProperty,
+                cursorStrategy, connectionName, totalCountRequested, nodeType, selectionSet);
+    }
+
+    private static Sort withTieBreaker(Sort sort, String idProperty) {
+        Sort base = sort != null ? sort : Sort.unsorted();
+        if (base.getOrderFor(idProperty) != null) {
+            return base;
+        }
+        Sort.Direction direction = base.stream().findFirst().map(Sort.Order::getDirection).orElse(Sort.Direction.ASC);
+        List<Sort.Order> orders = new ArrayList<>(base.toList());
+        orders.add(new Sort.Order(direction, idProperty));
+        return Sort.by(orders);
+    }
+
+    /**
+     * Returns the number of items requested.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns {@code true} for {@code first/after} pagination, {@code false} for {@code last/before}.
+     */
+    public boolean isForward() {
+        return forward;
+    }
+
+    /**
+     * Returns the {@code after} cursor for forward pagination or the {@code before} cursor otherwise.
+     */
+    public String getCursor() {
+        return cursor;
+    }
+
+    /**
+     * Returns the sort, ending with the id tie-breaker.
+     */
+    public Sort getSort() {
+        return sort;
+    }
+
+    public String getIdProperty() {
+        return idProperty;
+    }
+
+    public CursorStrategy getCursorStrategy() {
+        return cursorStrategy;
+    }
+
+    public String getConnectionName() {
+        return connectionName;
+    }
+
+    /**
+     * Returns {@code true} when the total count must be computed for this page.
+     */
+    public boolean isTotalCountRequested() {
+        return totalCountRequested;
+    }
+
+    /**
+     * Returns the node type of the connection.
+     */
+    public Class<?> getNodeType() {
+        return nodeType;
+    }
+
+    /**
+     * Returns the selection set of the connection field, or {@code null} when the request
+     * was not built from a {@link DataFetchingEnvironment}.
+     */
+    public DataFetchingFieldSelectionSet getSelectionSet() {
+        return selectionSet;
+    }
+}
@@ -0,0 +1,236 @@
+package com.enokdev.graphql.autogen.starter.pagination;
+
+import com.enokdev.graphql.autogen.starter.jpa.AttributeValues;
+import com.enokdev.graphql.autogen.starter.jpa.SelectionFetchPlanner;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Executes {@code RELAY_CURSOR} connections with keyset (seek) pagination against
+ * Spring Data JPA repositories.
+ *
+ * <p>The {@code after}/{@code before} cursor is translated into a predicate on the sort
+ * columns followed by the id tie-breaker, equivalent to
+ * {@code WHERE (sort_col, id) > (?, ?) ORDER BY sort_col, id LIMIT n + 1}. The extra row
+ * tells whether another page exists, so neither OFFSET nor COUNT is issued and the cost of
+ * a page does not depend on its depth.</p>
+ *
+ * <p>The {@code COUNT} query behind {@code totalCount} only runs when the request asks for
+ * it, i.e. when the client selected the field, and goes through the configured
+ * {@link TotalCountProvider}.</p>
+ *
+ * <p>When a {@link SelectionFetchPlanner} is configured, the attributes selected under
+ * {@code edges/node} are applied as a fetch graph, so selected to-one associations are
+ * fetch-joined with the page instead of being loaded lazily per row.</p>
+ *
+ * <p>Sort columns must be non-null for the positions to be totally ordered.</p>
+ *
+ * <pre>
+ * {@code
+ * @GraphQLQuery
+ * @GraphQLPagination(cursorStrategy = CursorStrategy.TIMESTAMP)
+ * public Connection<Post> posts(DataFetchingEnvironment env) {
+ *     return keysetPaginator.paginate(postRepository, publishedOnly(),
+ *         KeysetPageRequest.from(env, Sort.by(DESC, "publishedAt"), paginationConfiguration));
+ * }
+ * }
+ * </pre>
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class KeysetPaginator {
+
+    private static final Logger log = LoggerFactory.getLogger(KeysetPaginator.class);
+
+    private final TotalCountProvider totalCountProvider;
+    private final CursorCodec cursorCodec;
+    private final SelectionFetchPlanner fetchPlanner;
+
+    public KeysetPaginator() {
+        this(TotalCountProvider.exact());
+    }
+
+    public KeysetPaginator(TotalCountProvider totalCountProvider) {
+        this(totalCountProvider, new CursorCodec());
+    }
+
+    public KeysetPaginator(TotalCountProvider totalCountProvider, CursorCodec cursorCodec) {
+        this(totalCountProvider, cursorCodec, null);
+    }
+
+    /**
+     * Creates a paginator.
+     *
+     * @param totalCountProvider the provider of {@code totalCount} values
+     * @param cursorCodec the codec of the edge cursors
+     * @param fetchPlanner the planner of fetch graphs from the selection set, {@code null} to
+     *                     load entities with their mapped fetch types
+     */
+    public KeysetPaginator(TotalCountProvider totalCountProvider, CursorCodec cursorCodec,
+                           SelectionFetchPlanner fetchPlanner) {
+        this.totalCountProvider = totalCountProvider;
+        this.cursorCodec = cursorCodec;
+        this.fetchPlanner = fetchPlanner;
+    }
+
+    /**
+     * Fetches one keyset page of the given repository.
+     *
+     * @param repository the repository to query
+     * @param specification an optional filter, combined with the keyset predicate
+     * @param request the keyset page request
+     * @param <T> the entity type
+     * @return the connection for the requested page
+     */
+    public <T> Connection<T> paginate(JpaSpecificationExecutor<T> repository,
+                                      Specification<T> specification,
+                                      KeysetPageRequest request) {
+        List<Sort.Order> orders = request.getSort().toList();
+        KeysetCursors.validate(request.getCursorStrategy(), orders.size());
+
+        if (request.getSize() == 0) {
+            return new Connection<>(List.of(), new PageInfo(false, false, null, null),
+                    totalCount(repository, specification, request));
+        }
+
+        Specification<T> where = Specification.where(specification);
+        if (request.getCursor() != null) {
+            List<Object> position = cursorCodec.decode(request.getCursorStrategy(), request.getCursor(), orders.size());
+            where = where.and(seek(orders, position, request.isForward()));
+        }
+
+        Sort querySort = request.isForward() ? request.getSort() : reverse(request.getSort());
+        int limit = request.getSize() + 1;
+        List<String> fetchPaths = fetchPaths(request);
+        List<T> rows = new ArrayList<>(repository.findBy(where, query -> fetchPaths.isEmpty()
+                ? query.sortBy(querySort).limit(limit).all()
+                : query.sortBy(querySort).limit(limit).project(fetchPaths).all()));
+
+        boolean hasMore = rows.size() > request.getSize();
+        if (hasMore) {
+            rows.remove(rows.size() - 1);
+        }
+        if (!request.isForward()) {
+            Collections.reverse(rows);
+        }
+
+        List<Edge<T>> edges = new ArrayList<>(rows.size());
+        for (T row : rows) {
+            edges.add(new Edge<>(row, cursorOf(row, orders, request)));
+        }
+
+        String startCursor = edges.isEmpty() ? null : edges.get(0).getCursor();
+        String endCursor = edges.isEmpty() ? null : edges.get(edges.size() - 1).getCursor();
+        boolean hasCursor = request.getCursor() != null;
+        PageInfo pageInfo = request.isForward()
+                ? new PageInfo(hasMore, hasCursor, startCursor, endCursor)
+                : new PageInfo(hasCursor, hasMore, startCursor, endCursor);
+
+        log.debug("Keyset page fetched: {} rows, {}", edges.size(), pageInfo);
+        return new Connection<>(edges, pageInfo, totalCount(repository, specification, request));
+    }
+
+    private List<String> fetchPaths(KeysetPageRequest request) {
+        if (fetchPlanner == null || request.getSelectionSet() == null || request.getNodeType() == null) {
+            return List.of();
+        }
+        return fetchPlanner.fetchPaths(request.getNodeType(), request.getSelectionSet(), "edges/node");
+    }
+
+    private <T> Long totalCount(JpaSpecificationExecutor<T> repository, Specification<T> specification,
+                                KeysetPageRequest request) {
+        if (!request.isTotalCountRequested()) {
+            return null;
+        }
+        return totalCountProvider.count(request.getConnectionName(), specification,
+                () -> repository.count(Specification.where(specification)));
+    }
+
+    /**
+     * Builds the cursor of an entity from its sort values.
+     */
+    public String cursorOf(Object entity, KeysetPageRequest request) {
+        return cursorOf(entity, request.getSort().toList(), request);
+    }
+
+    private String cursorOf(Object entity, List<Sort.Order> orders, KeysetPageRequest request) {
+        BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(entity);
+        List<Object> values = new ArrayList<>(orders.size());
+        for (Sort.Order order : orders) {
+            values.add(wrapper.getPropertyValue(order.getProperty()));
+        }
+        return cursorCodec.encode(request.getCursorStrategy(), values);
+    }
+
+    /**
+     * Builds the seek predicate
+     * {@code c1 >= v1 AND (c1 > v1 OR (c1 = v1 AND c2 > v2) OR ...)}.
+     * The leading range condition lets the database start an index range scan on the first column.
+     */
+    private static <T> Specification<T> seek(List<Sort.Order> orders, List<Object> position, boolean forward) {
+        return (root, query, cb) -> {
+            List<Predicate> alternatives = new ArrayList<>(orders.size());
+            List<Predicate> equalPrefix = new ArrayList<>(orders.size());
+            Predicate leadingRange = null;
+
+            for (int i = 0; i < orders.size(); i++) {
+                Sort.Order order = orders.get(i);
+                Path<Comparable<Object>> path = path(root, order.getProperty());
+                Comparable<Object> value = attributeValue(position.get(i), path);
+                boolean ascending = order.isAscending() == forward;
+
+                List<Predicate> conjunction = new ArrayList<>(equalPrefix);
+                conjunction.add(ascending ? cb.greaterThan(path, value) : cb.lessThan(path, value));
+                alternatives.add(and(cb, conjunction));
+                equalPrefix.add(cb.equal(path, value));
+
+                if (i == 0) {
+                    leadingRange = ascending ? cb.greaterThanOrEqualTo(path, value) : cb.lessThanOrEqualTo(path, value);
+                }
+            }
+
+            Predicate seek = cb.or(alternatives.toArray(Predicate[]::new));
+            return orders.size() > 1 ? cb.and(leadingRange, seek) : seek;
+        };
+    }
+
+    private static Predicate and(CriteriaBuilder cb, List<Predicate> predicates) {
+        return predicates.size() == 1 ? predicates.get(0) : cb.and(predicates.toArray(Predicate[]::new));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <Y> Path<Y> path(Root<?> root, String property) {
+        Path<?> path = root;
+        for (String segment : property.split("\\.")) {
+            path = path.get(segment);
+        }
+        return (Path<Y>) path;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <Y> Y attributeValue(Object value, Path<?> path) {
+        return (Y) AttributeValues.convert(value, path.getJavaType());
+    }
+
+    private static Sort reverse(Sort sort) {
+        List<Sort.Order> reversed = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            reversed.add(order.with(order.getDirection().isAscending() ? Sort.Direction.DESC : Sort.Direction.ASC));
+        }
+        return Sort.by(reversed);
+    }
+}
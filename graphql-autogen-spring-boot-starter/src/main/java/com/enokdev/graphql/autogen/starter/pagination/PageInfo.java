@@ -0,0 +1,48 @@
+package com.enokdev.graphql.autogen.starter.pagination;
+
+/**
+ * Relay {@code PageInfo} describing the position of a page within the connection.
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class PageInfo {
+
+    private final boolean hasNextPage;
+    private final boolean hasPreviousPage;
+    private final String startCursor;
+    private final String endCursor;
+
+    public PageInfo(boolean hasNextPage, boolean hasPreviousPage, String startCursor, String endCursor) {
+        this.hasNextPage = hasNextPage;
+        this.hasPreviousPage = hasPreviousPage;
+        this.startCursor = startCursor;
+        this.endCursor = endCursor;
+    }
+
+    public boolean isHasNextPage() {
+        return hasNextPage;
+    }
+
+    public boolean isHasPreviousPage() {
+        return hasPreviousPage;
+    }
+
+    public String getStartCursor() {
+        return startCursor;
+    }
+
+    public String getEndCursor() {
+        return endCursor;
+    }
+
+    @Override
+    public String toString() {
+        return "PageInfo{" +
+                "hasNextPage=" + hasNextPage +
+                ", hasPreviousPage=" + hasPreviousPage +
+                ", startCursor='" + startCursor + '\'' +
+                ", endCursor='" + endCursor + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,36 @@
+package com.enokdev.graphql.autogen.starter.pagination;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Supplies the {@code totalCount} of a connection.
+ *
+ * <p>It is only consulted when the client selected {@code totalCount}. Implementations may
+ * return the exact count, a cached one, or an approximation such as the planner statistics
+ * of the underlying table when counting is too expensive.</p>
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+@FunctionalInterface
+public interface TotalCountProvider {
+
+    /**
+     * Returns the total number of items of a connection.
+     *
+     * @param connectionName the connection type name, e.g. {@code PostConnection}
+     * @param specification the filter of the connection, {@code null} when unfiltered
+     * @param exactCount runs the exact {@code COUNT} query
+     * @return the total count
+     */
+    long count(String connectionName, Specification<?> specification, LongSupplier exactCount);
+
+    /**
+     * Returns a provider that always runs the exact count query.
+     */
+    static TotalCountProvider exact() {
+        return (connectionName, specification, exactCount) -> exactCount.getAsLong();
+    }
+}
@@ -0,0 +1,32 @@
+package com.enokdev.graphql.autogen.starter.ratelimit;
+
+import org.springframework.graphql.server.WebGraphQlInterceptor;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * Stores the identity of the client in the {@link graphql.GraphQLContext} of each request,
+ * under {@link CostRateLimitInstrumentation#CLIENT_ID_KEY}.
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class ClientIdentityInterceptor implements WebGraphQlInterceptor {
+
+    private final ClientIdentityResolver resolver;
+
+    public ClientIdentityInterceptor(ClientIdentityResolver resolver) {
+        this.resolver = resolver;
+    }
+
+    @Override
+    public Mono<WebGraphQlResponse> intercept(WebGraphQlRequest request, Chain chain) {
+        String clientId = resolver.resolve(request);
+        request.configureExecutionInput((executionInput, builder) -> {
+            executionInput.getGraphQLContext().put(CostRateLimitInstrumentation.CLIENT_ID_KEY, clientId);
+            return executionInput;
+        });
+        return chain.next(request);
+    }
+}
@@ -0,0 +1,79 @@
+package com.enokdev.graphql.autogen.starter.ratelimit;
+
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.util.StringUtils;
+
+import java.net.InetSocketAddress;
+import java.security.Principal;
+import java.util.Set;
+
+/**
+ * Identifies the client of a GraphQL request, for rate limiting.
+ *
+ * <p>The default resolver uses the authenticated principal, recorded in the request
+ * attributes by {@link ClientPrincipalFilter} or {@link ClientPrincipalWebFilter}, then the
+ * remote address. A header sent by the client is only trusted when the request comes from
+ * one of the configured proxies, which set it themselves; anyone else could send a new value
+ * with each request to get a new bucket.</p>
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+@FunctionalInterface
+public interface ClientIdentityResolver {
+
+    String ANONYMOUS = "anonymous";
+
+    /**
+     * Request attribute holding the authenticated {@link Principal}.
+     */
+    String PRINCIPAL_ATTRIBUTE = ClientIdentityResolver.class.getName() + ".principal";
+
+    /**
+     * Returns the identity of the client sending a request, never {@code null}.
+     */
+    String resolve(WebGraphQlRequest request);
+
+    /**
+     * Returns a resolver using the authenticated principal, then the remote address.
+     */
+    static ClientIdentityResolver principalOrRemoteAddress() {
+        return request -> {
+            if (request.getAttributes().get(PRINCIPAL_ATTRIBUTE) instanceof Principal principal) {
+                return "principal:" + principal.getName();
+            }
+            String remoteAddress = remoteAddress(request);
+            return remoteAddress != null ? remoteAddress : ANONYMOUS;
+        };
+    }
+
+    /**
+     * Returns a resolver using the authenticated principal, then the given header when the
+     * request comes from a trusted proxy, then the remote address.
+     *
+     * @param headerName the header set by the proxies
+     * @param trustedProxies the IP addresses of the proxies
+     */
+    static ClientIdentityResolver trustedHeader(String headerName, Set<String> trustedProxies) {
+        ClientIdentityResolver fallback = principalOrRemoteAddress();
+        return request -> {
+            if (!(request.getAttributes().get(PRINCIPAL_ATTRIBUTE) instanceof Principal)
+                    && trustedProxies.contains(remoteAddress(request))) {
+                String client = request.getHeaders().getFirst(headerName);
+                if (StringUtils.hasText(client)) {
+                    return "header:" + client;
+                }
+            }
+            return fallback.resolve(request);
+        };
+    }
+
+    private static String remoteAddress(WebGraphQlRequest request) {
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        if (remoteAddress == null) {
+            return null;
+        }
+        return remoteAddress.getAddress() != null ? remoteAddress.getAddress().getHostAddress()
+                : remoteAddress.getHostString();
+    }
+}
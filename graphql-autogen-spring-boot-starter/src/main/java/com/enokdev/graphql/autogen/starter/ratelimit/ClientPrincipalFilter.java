@@ -0,0 +1,40 @@
+package com.enokdev.graphql.autogen.starter.ratelimit;
+
+import com.enokdev.graphql.autogen.starter.execution.GraphQlRequestFilter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.security.Principal;
+
+/**
+ * Servlet filter recording the authenticated principal in the request attributes, under
+ * {@link ClientIdentityResolver#PRINCIPAL_ATTRIBUTE}, where the GraphQL request sees it.
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class ClientPrincipalFilter extends OncePerRequestFilter implements Ordered {
+
+    /**
+     * Runs after the security filters and before the filters of the GraphQL endpoint.
+     */
+    @Override
+    public int getOrder() {
+        return GraphQlRequestFilter.PERSISTED_QUERY_ORDER - 10;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Principal principal = request.getUserPrincipal();
+        if (principal != null) {
+            request.setAttribute(ClientIdentityResolver.PRINCIPAL_ATTRIBUTE, principal);
+        }
+        filterChain.doFilter(request, response);
+    }
+}
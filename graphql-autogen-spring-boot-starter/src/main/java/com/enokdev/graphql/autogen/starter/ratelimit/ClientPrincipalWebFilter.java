@@ -0,0 +1,34 @@
+package com.enokdev.graphql.autogen.starter.ratelimit;
+
+import com.enokdev.graphql.autogen.starter.execution.GraphQlRequestFilter;
+import org.springframework.core.Ordered;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux filter recording the authenticated principal in the exchange attributes, under
+ * {@link ClientIdentityResolver#PRINCIPAL_ATTRIBUTE}, where the GraphQL request sees it.
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ * @see ClientPrincipalFilter
+ */
+public class ClientPrincipalWebFilter implements WebFilter, Ordered {
+
+    /**
+     * Runs after the security filters and before the filters of the GraphQL endpoint.
+     */
+    @Override
+    public int getOrder() {
+        return GraphQlRequestFilter.PERSISTED_QUERY_ORDER - 10;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        return exchange.getPrincipal()
+                .doOnNext(principal -> exchange.getAttributes().put(ClientIdentityResolver.PRINCIPAL_ATTRIBUTE, principal))
+                .then(Mono.defer(() -> chain.filter(exchange)));
+    }
+}
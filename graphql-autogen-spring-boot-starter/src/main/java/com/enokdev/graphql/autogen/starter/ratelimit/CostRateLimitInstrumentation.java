@@ -0,0 +1,66 @@
+package com.enokdev.graphql.autogen.starter.ratelimit;
+
+import com.enokdev.graphql.autogen.error.CustomGraphQLError;
+import com.enokdev.graphql.autogen.error.ErrorCodes;
+import com.enokdev.graphql.autogen.starter.execution.QueryComplexity;
+import com.enokdev.graphql.autogen.starter.execution.QueryComplexityAnalyzer;
+import graphql.ExecutionResult;
+import graphql.execution.AbortExecutionException;
+import graphql.execution.ExecutionContext;
+import graphql.execution.instrumentation.Instrumentation;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Charges the static cost of each operation to the {@link RateLimiter} budget of its
+ * client, and rejects the operation before execution when the budget is exhausted.
+ *
+ * <p>The cost is the one computed by the {@link QueryComplexityAnalyzer}, whose plans,
+ * cached by query text, make it cheap to compute again here. The client is read from the
+ * {@link graphql.GraphQLContext} entry {@value #CLIENT_ID_KEY}, set by the
+ * {@link ClientIdentityInterceptor}. Rejections carry the number of seconds to wait in a
+ * {@code retryAfter} extension.</p>
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class CostRateLimitInstrumentation implements Instrumentation {
+
+    public static final String CLIENT_ID_KEY = "graphql.autogen.clientId";
+
+    private final QueryComplexityAnalyzer analyzer;
+    private final RateLimiter rateLimiter;
+
+    public CostRateLimitInstrumentation(QueryComplexityAnalyzer analyzer, RateLimiter rateLimiter) {
+        this.analyzer = analyzer;
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(
+            InstrumentationExecuteOperationParameters parameters,
+            InstrumentationState state) {
+        ExecutionContext executionContext = parameters.getExecutionContext();
+        QueryComplexity complexity = executionContext.getGraphQLContext().get(QueryComplexity.class);
+        if (complexity == null) {
+            complexity = analyzer.analyze(executionContext);
+        }
+        String clientId = executionContext.getGraphQLContext().getOrDefault(CLIENT_ID_KEY, ClientIdentityResolver.ANONYMOUS);
+
+        long waitNanos = rateLimiter.tryAcquire(clientId, complexity.getComplexity());
+        if (waitNanos > 0) {
+            long retryAfter = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+            throw new AbortExecutionException(List.of(new CustomGraphQLError(
+                    "Rate limit exceeded, retry in " + retryAfter + "s", ErrorCodes.TOO_MANY_REQUESTS,
+                    Map.of("code", ErrorCodes.TOO_MANY_REQUESTS.name(), "retryAfter", retryAfter,
+                            "cost", complexity.getComplexity()))));
+        }
+        return SimpleInstrumentationContext.noOp();
+    }
+}
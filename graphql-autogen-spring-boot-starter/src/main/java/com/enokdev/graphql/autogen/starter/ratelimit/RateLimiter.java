@@ -0,0 +1,25 @@
+package com.enokdev.graphql.autogen.starter.ratelimit;
+
+/**
+ * Throughput budget of GraphQL clients, consumed by the cost of their operations.
+ *
+ * <p>The in-memory {@link TokenBucketRateLimiter} limits each node separately; an
+ * implementation backed by a shared store (Redis, a database) enforces one budget across
+ * all nodes. Implementations must be thread-safe.</p>
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ * @see CostRateLimitInstrumentation
+ */
+public interface RateLimiter {
+
+    /**
+     * Takes {@code cost} tokens from the budget of a client, if it holds enough of them.
+     *
+     * @param clientId the client identity
+     * @param cost the number of tokens to take
+     * @return 0 if the tokens were taken, otherwise the number of nanoseconds until they
+     * will be available
+     */
+    long tryAcquire(String clientId, long cost);
+}
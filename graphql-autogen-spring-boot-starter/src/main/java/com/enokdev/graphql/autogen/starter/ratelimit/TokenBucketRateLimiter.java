@@ -0,0 +1,148 @@
+package com.enokdev.graphql.autogen.starter.ratelimit;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory {@link RateLimiter} giving each client a token bucket of {@code capacity}
+ * tokens refilled at {@code refillPerSecond} tokens per second.
+ *
+ * <p>Each bucket is a single {@link AtomicLong} holding the time at which it will be full
+ * again (the generic cell rate algorithm): taking tokens is one compare-and-set, outside
+ * any lock. A cost larger than the capacity is charged as the capacity, so that any
+ * operation can eventually run on a full bucket.</p>
+ *
+ * <p>Buckets are spread by client over independently locked segments, each an
+ * access-ordered {@link LinkedHashMap} holding its share of {@code maximumClients}: a new
+ * client replaces the least recently active one of its segment in constant time, however
+ * many clients are tracked. That client has had the longest time to refill, and starts
+ * again with a full bucket if it comes back.</p>
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class TokenBucketRateLimiter implements RateLimiter {
+
+    /**
+     * Default maximum number of tracked clients.
+     */
+    public static final int DEFAULT_MAXIMUM_CLIENTS = 100_000;
+
+    private static final int MAXIMUM_SEGMENTS = 16;
+    private static final int MINIMUM_SEGMENT_SIZE = 64;
+
+    private final long capacity;
+    private final double nanosPerToken;
+    private final long burstNanos;
+    private final LongSupplier clock;
+    private final Segment[] segments;
+
+    public TokenBucketRateLimiter(long capacity, double refillPerSecond) {
+        this(capacity, refillPerSecond, DEFAULT_MAXIMUM_CLIENTS, System::nanoTime);
+    }
+
+    /**
+     * @param capacity the maximum number of tokens of a bucket
+     * @param refillPerSecond the number of tokens added to a bucket per second
+     * @param maximumClients the maximum number of tracked clients
+     * @param clock the nanosecond clock
+     */
+    public TokenBucketRateLimiter(long capacity, double refillPerSecond, int maximumClients, LongSupplier clock) {
+        if (capacity <= 0 || refillPerSecond <= 0 || maximumClients <= 0) {
+            throw new IllegalArgumentException("Capacity, refill rate and maximum clients must be positive");
+        }
+        this.capacity = capacity;
+        this.nanosPerToken = 1_000_000_000d / refillPerSecond;
+        this.burstNanos = (long) (capacity * nanosPerToken);
+        this.clock = clock;
+        int segmentCount = Math.min(Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2),
+                MAXIMUM_SEGMENTS);
+        while (segmentCount > 1 && maximumClients / segmentCount < MINIMUM_SEGMENT_SIZE) {
+            segmentCount >>= 1;
+        }
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(maximumClients / segmentCount + (i < maximumClients % segmentCount ? 1 : 0));
+        }
+    }
+
+    @Override
+    public long tryAcquire(String clientId, long cost) {
+        long now = clock.getAsLong();
+        AtomicLong bucket = segmentFor(clientId).bucket(clientId, now);
+        long increment = (long) (Math.min(Math.max(cost, 0), capacity) * nanosPerToken);
+        while (true) {
+            // the bucket is full at fullAt; each token taken pushes that time further away
+            long fullAt = bucket.get();
+            long newFullAt = Math.max(fullAt, now) + increment;
+            long wait = newFullAt - now - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(fullAt, newFullAt)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of tokens a client currently holds.
+     */
+    public long getAvailableTokens(String clientId) {
+        AtomicLong bucket = segmentFor(clientId).get(clientId);
+        if (bucket == null) {
+            return capacity;
+        }
+        long debt = Math.max(0, bucket.get() - clock.getAsLong());
+        return Math.max(0, capacity - (long) Math.ceil(debt / nanosPerToken));
+    }
+
+    public int getClientCount() {
+        int count = 0;
+        for (Segment segment : segments) {
+            count += segment.size();
+        }
+        return count;
+    }
+
+    private Segment segmentFor(String clientId) {
+        int hash = clientId.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & (segments.length - 1)];
+    }
+
+    /**
+     * A share of the buckets: an access-ordered map evicting its least recently active
+     * client when full.
+     */
+    private static final class Segment {
+        private final Map<String, AtomicLong> buckets;
+
+        private Segment(int capacity) {
+            this.buckets = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, AtomicLong> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+
+        synchronized AtomicLong bucket(String clientId, long now) {
+            AtomicLong bucket = buckets.get(clientId);
+            if (bucket == null) {
+                bucket = new AtomicLong(now);
+                buckets.put(clientId, bucket);
+            }
+            return bucket;
+        }
+
+        synchronized AtomicLong get(String clientId) {
+            return buckets.get(clientId);
+        }
+
+        synchronized int size() {
+            return buckets.size();
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.enokdev.graphql.autogen.starter.streaming;
+
+import org.dataloader.DataLoaderRegistry;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Stream;
+
+/**
+ * Elements of a streamed list field, kept in the {@code GraphQLContext} of the execution
+ * of a streamed request.
+ *
+ * <p>The cursor is opened on the value returned by the resolver and handed to graphql-java
+ * as the list to complete. {@link StreamingExecutionStrategy} adds each completed element to
+ * the current chunk; once a chunk is full, its elements are awaited and written before the
+ * next element is read. A {@link Flux} is requested one chunk at a time, and a
+ * {@link Stream}, typically backed by a JDBC result set, is read as the chunks are written,
+ * then closed.</p>
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class ListCursor implements Iterable<Object>, AutoCloseable {
+
+    /**
+     * Key of the cursor in the {@code GraphQLContext} of the execution of a streamed request.
+     */
+    public static final String CONTEXT_KEY = "graphql.autogen.listCursor";
+
+    private static final long DISPATCH_INTERVAL_MILLIS = 1;
+
+    private final int chunkSize;
+    private final ChunkWriter writer;
+    private final List<CompletableFuture<Object>> chunk;
+    private DataLoaderRegistry dataLoaders;
+    private Iterator<?> elements;
+    private AutoCloseable resource;
+
+    /**
+     * @param chunkSize the maximum number of elements held before they are written
+     * @param writer writes the completed elements of each chunk
+     */
+    public ListCursor(int chunkSize, ChunkWriter writer) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive");
+        }
+        this.chunkSize = chunkSize;
+        this.writer = writer;
+        this.chunk = new ArrayList<>(chunkSize);
+    }
+
+    /**
+     * Opens the cursor on a resolved value.
+     *
+     * @return {@code false} when the value is not a sequence, which is then resolved as usual
+     */
+    boolean open(Object value) {
+        if (value instanceof Flux<?> flux) {
+            value = flux.toStream(chunkSize);
+        }
+        if (value instanceof Stream<?> stream) {
+            resource = stream;
+            elements = stream.iterator();
+        } else if (value instanceof Iterator<?> iterator) {
+            resource = iterator instanceof AutoCloseable closeable ? closeable : null;
+            elements = iterator;
+        } else if (value instanceof Iterable<?> iterable) {
+            elements = iterable.iterator();
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether the resolver has produced a sequence.
+     */
+    public boolean isOpen() {
+        return elements != null;
+    }
+
+    /**
+     * Adds a completed element to the current chunk.
+     *
+     * @param dataLoaders the data loaders of the execution, dispatched while the chunk is awaited
+     */
+    void add(CompletableFuture<Object> element, DataLoaderRegistry dataLoaders) {
+        this.dataLoaders = dataLoaders;
+        chunk.add(element);
+    }
+
+    @Override
+    public Iterator<Object> iterator() {
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                if (chunk.size() >= chunkSize) {
+                    writeChunk();
+                }
+                if (elements.hasNext()) {
+                    return true;
+                }
+                writeChunk();
+                return false;
+            }
+
+            @Override
+            public Object next() {
+                return elements.next();
+            }
+        };
+    }
+
+    private void writeChunk() {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        // the elements may wait for data loaders, which are otherwise dispatched once the whole list is completed
+        CompletableFuture<Void> completed = CompletableFuture.allOf(chunk.toArray(new CompletableFuture<?>[0]));
+        while (!completed.isDone()) {
+            if (dataLoaders == null || dataLoaders.dispatchAllWithCount() == 0) {
+                try {
+                    completed.get(DISPATCH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                } catch (TimeoutException | ExecutionException e) {
+                    // checked again by the loop, the failure is thrown by join
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while completing a chunk", e);
+                }
+            }
+        }
+        List<Object> items = new ArrayList<>(chunk.size());
+        chunk.forEach(element -> items.add(element.join()));
+        chunk.clear();
+        try {
+            writer.write(items);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (resource != null) {
+            try {
+                resource.close();
+            } catch (Exception e) {
+                throw new IllegalStateException("Failed to close the streamed sequence", e);
+            }
+        }
+    }
+
+    /**
+     * Writes the completed elements of a chunk.
+     */
+    @FunctionalInterface
+    public interface ChunkWriter {
+
+        void write(List<Object> items) throws IOException;
+    }
+}
@@ -0,0 +1,52 @@
+package com.enokdev.graphql.autogen.starter.streaming;
+
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Data fetcher of a streamed list field.
+ *
+ * <p>When the execution carries a {@link ListCursor}, the cursor is opened on the sequence
+ * returned by the resolver and completed in its place. Otherwise the sequence is collected to a list and
+ * a {@link Stream} is closed once read; a {@code Flux} is left to the Spring for GraphQL
+ * adapters.</p>
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class StreamingDataFetcher implements DataFetcher<Object> {
+
+    private final DataFetcher<?> delegate;
+
+    public StreamingDataFetcher(DataFetcher<?> delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Object get(DataFetchingEnvironment environment) throws Exception {
+        ListCursor cursor = environment.getExecutionStepInfo().getPath().getLevel() == 1
+                ? environment.getGraphQlContext().get(ListCursor.CONTEXT_KEY)
+                : null;
+        Object value = delegate.get(environment);
+        return cursor != null && cursor.open(value) ? cursor : collect(value);
+    }
+
+    private static Object collect(Object value) {
+        if (value instanceof Stream<?> stream) {
+            try (stream) {
+                return stream.toList();
+            }
+        }
+        if (value instanceof Iterator<?> iterator) {
+            List<Object> elements = new ArrayList<>();
+            iterator.forEachRemaining(elements::add);
+            return elements;
+        }
+        return value;
+    }
+}
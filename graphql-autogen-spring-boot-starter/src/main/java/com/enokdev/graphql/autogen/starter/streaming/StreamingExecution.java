@@ -0,0 +1,225 @@
+package com.enokdev.graphql.autogen.starter.streaming;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import graphql.ExecutionResult;
+import graphql.GraphQLError;
+import graphql.language.Definition;
+import graphql.language.Document;
+import graphql.language.Field;
+import graphql.language.OperationDefinition;
+import graphql.language.SelectionSet;
+import graphql.parser.InvalidSyntaxException;
+import graphql.parser.Parser;
+import org.springframework.graphql.server.WebGraphQlHandler;
+import org.springframework.graphql.server.WebGraphQlRequest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Executes queries selecting a single streamed list field and writes the elements of the
+ * list to the response chunk by chunk, so that only one chunk is held in memory.
+ *
+ * <p>The operation is executed once through the {@link WebGraphQlHandler}, with a
+ * {@link ListCursor} opened on the value returned by the resolver and the
+ * {@link StreamingExecutionStrategy} passing the completed elements to it. The elements of
+ * each chunk are serialized and flushed before the next chunk is read, so a slow client
+ * holds back the reads from the underlying cursor, whose fetch size should match the chunk
+ * size. The errors are written once the execution is complete.</p>
+ *
+ * <p>The execution runs within a {@code scope}, which keeps the resources of the sequence
+ * open, such as the transaction of a JPA {@code Stream}, and {@code afterChunk} runs once a
+ * chunk has been written, for instance to clear the persistence context.</p>
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class StreamingExecution {
+
+    private final Supplier<WebGraphQlHandler> handler;
+    private final ObjectMapper objectMapper;
+    private final StreamingFields fields;
+    private final int chunkSize;
+    private final Consumer<Runnable> scope;
+    private final Runnable afterChunk;
+
+    /**
+     * Creates an execution producing the chunks without any enclosing scope.
+     */
+    public StreamingExecution(Supplier<WebGraphQlHandler> handler, ObjectMapper objectMapper,
+                              StreamingFields fields, int chunkSize) {
+        this(handler, objectMapper, fields, chunkSize, Runnable::run, () -> {
+        });
+    }
+
+    /**
+     * @param handler supplies the handler executing the requests
+     * @param objectMapper serializes the elements
+     * @param fields the streamed query fields
+     * @param chunkSize the number of elements written at a time
+     * @param scope runs the execution of a request
+     * @param afterChunk runs within the scope once a chunk has been written
+     */
+    public StreamingExecution(Supplier<WebGraphQlHandler> handler, ObjectMapper objectMapper,
+                              StreamingFields fields, int chunkSize,
+                              Consumer<Runnable> scope, Runnable afterChunk) {
+        this.handler = handler;
+        this.objectMapper = objectMapper;
+        this.fields = fields;
+        this.chunkSize = chunkSize;
+        this.scope = scope;
+        this.afterChunk = afterChunk;
+    }
+
+    /**
+     * Returns whether a request body, read without parsing, may select a streamed field.
+     */
+    public boolean mayStream(byte[] body) {
+        String text = new String(body, StandardCharsets.UTF_8);
+        return fields.getFieldNames().stream().anyMatch(text::contains);
+    }
+
+    /**
+     * Reads a JSON request body.
+     */
+    public Map<String, Object> readBody(byte[] body) throws IOException {
+        return objectMapper.readValue(body, objectMapper.getTypeFactory().constructMapType(Map.class, String.class, Object.class));
+    }
+
+    /**
+     * Returns the response key of the streamed field selected by a request, or {@code null}
+     * when the request is not a query selecting exactly one streamed field.
+     */
+    public String getStreamedResponseKey(Map<String, Object> body) {
+        if (!(body.get("query") instanceof String query)) {
+            return null;
+        }
+        Document document;
+        try {
+            document = Parser.parse(query);
+        } catch (InvalidSyntaxException e) {
+            // left to the GraphQL handler, which reports syntax errors
+            return null;
+        }
+        OperationDefinition operation = operation(document, body.get("operationName"));
+        if (operation == null || operation.getOperation() != OperationDefinition.Operation.QUERY
+                || !operation.getDirectives().isEmpty()) {
+            return null;
+        }
+        SelectionSet selectionSet = operation.getSelectionSet();
+        if (selectionSet.getSelections().size() != 1 || !(selectionSet.getSelections().get(0) instanceof Field field)
+                || !field.getDirectives().isEmpty() || !fields.isStreaming(field.getName())) {
+            return null;
+        }
+        return field.getResultKey();
+    }
+
+    /**
+     * Executes a request and writes its response chunk by chunk.
+     *
+     * @param request the request selecting the streamed field
+     * @param responseKey the response key of the streamed field
+     * @param output the response body
+     */
+    public void execute(WebGraphQlRequest request, String responseKey, OutputStream output) throws IOException {
+        ResponseWriter writer = new ResponseWriter(objectMapper.getFactory().createGenerator(output), responseKey);
+        try (ListCursor cursor = new ListCursor(chunkSize, writer::writeChunk)) {
+            request.configureExecutionInput((input, builder) -> {
+                input.getGraphQLContext().put(ListCursor.CONTEXT_KEY, cursor);
+                return input;
+            });
+            scope.accept(() -> writer.writeResult(handler.get().handleRequest(request).block().getExecutionResult()));
+        } catch (RuntimeException e) {
+            if (writer.failure != null) {
+                // the response could not be written, whatever the execution made of it
+                throw writer.failure;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Writes the elements of the streamed field as they are completed, then the errors.
+     */
+    private final class ResponseWriter {
+
+        private final JsonGenerator json;
+        private final String responseKey;
+        private boolean started;
+        private IOException failure;
+
+        ResponseWriter(JsonGenerator json, String responseKey) {
+            this.json = json;
+            this.responseKey = responseKey;
+        }
+
+        void writeChunk(List<Object> items) throws IOException {
+            try {
+                if (!started) {
+                    json.writeStartObject();
+                    json.writeObjectFieldStart("data");
+                    json.writeArrayFieldStart(responseKey);
+                    started = true;
+                }
+                for (Object item : items) {
+                    json.writeObject(item);
+                }
+                json.flush();
+            } catch (IOException e) {
+                failure = e;
+                throw e;
+            }
+            afterChunk.run();
+        }
+
+        void writeResult(ExecutionResult result) {
+            try {
+                if (!started) {
+                    // nothing was streamed, such as an empty sequence or a request failing validation
+                    objectMapper.writeValue(json, result.toSpecification());
+                    return;
+                }
+                json.writeEndArray();
+                json.writeEndObject();
+                if (!result.getErrors().isEmpty()) {
+                    json.writeArrayFieldStart("errors");
+                    for (GraphQLError error : result.getErrors()) {
+                        json.writeObject(error.toSpecification());
+                    }
+                    json.writeEndArray();
+                }
+                json.writeEndObject();
+                json.flush();
+            } catch (IOException e) {
+                failure = e;
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private static OperationDefinition operation(Document document, Object operationName) {
+        OperationDefinition found = null;
+        for (Definition<?> definition : document.getDefinitions()) {
+            if (!(definition instanceof OperationDefinition operation)) {
+                // fragments are not followed
+                return null;
+            }
+            if (operationName == null ? found == null : operationName.equals(operation.getName())) {
+                if (found != null) {
+                    return null;
+                }
+                found = operation;
+            } else if (operationName == null) {
+                return null;
+            }
+        }
+        return found;
+    }
+}
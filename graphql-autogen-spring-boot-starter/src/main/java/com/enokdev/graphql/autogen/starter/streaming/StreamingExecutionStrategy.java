@@ -0,0 +1,46 @@
+package com.enokdev.graphql.autogen.starter.streaming;
+
+import graphql.execution.AsyncExecutionStrategy;
+import graphql.execution.DataFetcherExceptionHandler;
+import graphql.execution.ExecutionContext;
+import graphql.execution.ExecutionStrategyParameters;
+import graphql.execution.FieldValueInfo;
+import graphql.execution.ResultPath;
+
+/**
+ * Query execution strategy handing the completed elements of a streamed list field over to
+ * the {@link ListCursor} of the execution, which writes them chunk by chunk.
+ *
+ * <p>graphql-java keeps the completed elements of a list until the whole list is complete.
+ * Here each element of the streamed field is replaced by {@code null} in the result once it
+ * has been passed to the cursor, so that only the current chunk is held in memory. Errors
+ * keep the absolute index of their element in their path.</p>
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class StreamingExecutionStrategy extends AsyncExecutionStrategy {
+
+    private static final FieldValueInfo WRITTEN = new FieldValueInfo(FieldValueInfo.CompleteValueType.NULL, null);
+
+    public StreamingExecutionStrategy(DataFetcherExceptionHandler exceptionHandler) {
+        super(exceptionHandler);
+    }
+
+    @Override
+    protected FieldValueInfo completeValue(ExecutionContext executionContext, ExecutionStrategyParameters parameters) {
+        FieldValueInfo value = super.completeValue(executionContext, parameters);
+        ListCursor cursor = isRootListElement(parameters.getPath())
+                ? executionContext.getGraphQLContext().get(ListCursor.CONTEXT_KEY)
+                : null;
+        if (cursor == null || !cursor.isOpen()) {
+            return value;
+        }
+        cursor.add(value.getFieldValueFuture(), executionContext.getDataLoaderRegistry());
+        return WRITTEN;
+    }
+
+    private static boolean isRootListElement(ResultPath path) {
+        return path.isListSegment() && path.getParent().isNamedSegment() && path.getParent().getLevel() == 1;
+    }
+}
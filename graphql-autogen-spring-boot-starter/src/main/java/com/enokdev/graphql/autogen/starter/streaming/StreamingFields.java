@@ -0,0 +1,70 @@
+package com.enokdev.graphql.autogen.starter.streaming;
+
+import com.enokdev.graphql.autogen.annotation.GraphQLQuery;
+import reactor.core.publisher.Flux;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Names of the {@link GraphQLQuery} fields whose method returns a {@link Stream}, an
+ * {@link Iterator} or a {@link Flux}, named the way the schema generator names the fields.
+ * Their elements can be written to the response while they are produced instead of being
+ * collected first.
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class StreamingFields {
+
+    private final Set<String> fieldNames;
+
+    /**
+     * @param fieldNames the names of the streamed {@code Query} fields
+     */
+    public StreamingFields(Set<String> fieldNames) {
+        this.fieldNames = Set.copyOf(fieldNames);
+    }
+
+    /**
+     * Collects the streamed query fields of annotated classes.
+     *
+     * @param annotatedClasses the controller classes
+     */
+    public static StreamingFields fromAnnotatedClasses(Collection<Class<?>> annotatedClasses) {
+        Set<String> fieldNames = new HashSet<>();
+        for (Class<?> annotatedClass : annotatedClasses) {
+            for (Method method : annotatedClass.getDeclaredMethods()) {
+                GraphQLQuery query = method.getAnnotation(GraphQLQuery.class);
+                if (query != null && isSequence(method.getReturnType())) {
+                    fieldNames.add(query.name().isEmpty() ? method.getName() : query.name());
+                }
+            }
+        }
+        return new StreamingFields(fieldNames);
+    }
+
+    /**
+     * Returns whether a {@code Query} field produces its elements lazily.
+     */
+    public boolean isStreaming(String fieldName) {
+        return fieldNames.contains(fieldName);
+    }
+
+    public Set<String> getFieldNames() {
+        return fieldNames;
+    }
+
+    public boolean isEmpty() {
+        return fieldNames.isEmpty();
+    }
+
+    static boolean isSequence(Class<?> type) {
+        return Stream.class.isAssignableFrom(type) || Iterator.class.isAssignableFrom(type)
+                || Flux.class.isAssignableFrom(type);
+    }
+}
@@ -0,0 +1,65 @@
+package com.enokdev.graphql.autogen.starter.streaming;
+
+import com.enokdev.graphql.autogen.starter.execution.GraphQlRequestFilter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Servlet filter writing the responses of queries that select a single streamed list
+ * field as their elements are produced, flushing each chunk.
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ * @see StreamingExecution
+ */
+public class StreamingResponseFilter extends GraphQlRequestFilter {
+
+    private final StreamingExecution execution;
+    private final StreamingFields fields;
+
+    public StreamingResponseFilter(String graphQlPath, StreamingExecution execution, StreamingFields fields) {
+        super(graphQlPath, STREAMING_ORDER);
+        this.execution = execution;
+        this.fields = fields;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return fields.isEmpty() || super.shouldNotFilter(request);
+    }
+
+    @Override
+    protected void doFilterBody(HttpServletRequest request, byte[] body, HttpServletResponse response,
+                                FilterChain filterChain) throws ServletException, IOException {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        Map<String, Object> graphQlBody = null;
+        String responseKey = null;
+        // multipart and event stream responses are left to their own handlers
+        if ((accept == null || accept.contains("json") || accept.contains("*/*")) && execution.mayStream(body)) {
+            try {
+                graphQlBody = execution.readBody(body);
+                responseKey = execution.getStreamedResponseKey(graphQlBody);
+            } catch (IOException e) {
+                // left to the GraphQL handler, which reports malformed bodies
+            }
+        }
+        if (responseKey == null) {
+            proceed(request, body, response, filterChain);
+            return;
+        }
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType((accept != null && accept.contains(MediaType.APPLICATION_GRAPHQL_RESPONSE_VALUE)
+                ? MediaType.APPLICATION_GRAPHQL_RESPONSE : MediaType.APPLICATION_JSON).toString());
+        response.setCharacterEncoding("UTF-8");
+        // the servlet thread executes the request, so that the cursor stays on one thread
+        execution.execute(graphQlRequest(request, graphQlBody), responseKey, response.getOutputStream());
+    }
+}
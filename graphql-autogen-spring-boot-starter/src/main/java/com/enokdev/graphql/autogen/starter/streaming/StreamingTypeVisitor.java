@@ -0,0 +1,40 @@
+package com.enokdev.graphql.autogen.starter.streaming;
+
+import graphql.schema.FieldCoordinates;
+import graphql.schema.GraphQLCodeRegistry;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLSchemaElement;
+import graphql.schema.GraphQLTypeVisitorStub;
+import graphql.util.TraversalControl;
+import graphql.util.TraverserContext;
+
+/**
+ * Schema visitor wrapping the data fetchers of the streamed {@code Query} fields in a
+ * {@link StreamingDataFetcher}.
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class StreamingTypeVisitor extends GraphQLTypeVisitorStub {
+
+    private final StreamingFields fields;
+
+    public StreamingTypeVisitor(StreamingFields fields) {
+        this.fields = fields;
+    }
+
+    @Override
+    public TraversalControl visitGraphQLFieldDefinition(GraphQLFieldDefinition field,
+                                                        TraverserContext<GraphQLSchemaElement> context) {
+        if (!(context.getParentNode() instanceof GraphQLObjectType parent)
+                || !"Query".equals(parent.getName()) || !fields.isStreaming(field.getName())) {
+            return TraversalControl.CONTINUE;
+        }
+
+        GraphQLCodeRegistry.Builder codeRegistry = context.getVarFromParents(GraphQLCodeRegistry.Builder.class);
+        FieldCoordinates coordinates = FieldCoordinates.coordinates(parent, field);
+        codeRegistry.dataFetcher(coordinates, new StreamingDataFetcher(codeRegistry.getDataFetcher(coordinates, field)));
+        return TraversalControl.CONTINUE;
+    }
+}
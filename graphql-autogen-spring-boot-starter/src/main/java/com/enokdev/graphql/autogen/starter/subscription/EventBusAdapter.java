@@ -0,0 +1,41 @@
+package com.enokdev.graphql.autogen.starter.subscription;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Carries {@code @GraphQLEvent} objects between the {@link RingBufferEventBus} instances of
+ * several nodes, for instance over a message broker.
+ *
+ * <p>The bus hands every batch of locally published events to {@link #send(List)} from
+ * its consumer threads, and enqueues the events received from other nodes through the
+ * consumer given to {@link #start(Consumer)}. Events received from other nodes are never
+ * sent again.</p>
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ * @see LoopbackEventBusAdapter
+ */
+public interface EventBusAdapter {
+
+    /**
+     * Starts receiving events from the other nodes.
+     *
+     * @param inbound where to hand the received events
+     */
+    void start(Consumer<Object> inbound);
+
+    /**
+     * Sends a batch of locally published events to the other nodes. The list is reused
+     * once the method returns and must not be retained.
+     *
+     * @param events the events, in publication order
+     */
+    void send(List<Object> events);
+
+    /**
+     * Stops receiving events.
+     */
+    default void stop() {
+    }
+}
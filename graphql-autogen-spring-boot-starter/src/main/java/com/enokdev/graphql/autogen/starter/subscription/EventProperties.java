@@ -0,0 +1,104 @@
+package com.enokdev.graphql.autogen.starter.subscription;
+
+import com.enokdev.graphql.autogen.annotation.GraphQLId;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Reads named properties of event objects through their getters, record-style accessors
+ * or fields, resolving each property once per event type.
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+class EventProperties {
+
+    private final Map<Class<?>, Map<String, Function<Object, Object>>> accessorsByType = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Optional<Function<Object, Object>>> idAccessors = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the accessor of a property.
+     *
+     * @throws IllegalArgumentException if the type has no such property
+     */
+    Function<Object, Object> accessor(Class<?> type, String property) {
+        return accessorsByType.computeIfAbsent(type, t -> new ConcurrentHashMap<>())
+                .computeIfAbsent(property, name -> resolve(type, name));
+    }
+
+    /**
+     * Returns the accessor of the {@code @GraphQLId} property of the type, or {@code null}
+     * when the type has none.
+     */
+    Function<Object, Object> idAccessor(Class<?> type) {
+        return idAccessors.computeIfAbsent(type, t -> {
+            for (Class<?> current = t; current != null && current != Object.class; current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    if (field.isAnnotationPresent(GraphQLId.class)) {
+                        return Optional.of(accessor(t, field.getName()));
+                    }
+                }
+                for (Method method : current.getDeclaredMethods()) {
+                    if (method.isAnnotationPresent(GraphQLId.class) && method.getParameterCount() == 0) {
+                        method.trySetAccessible();
+                        return Optional.of(event -> invoke(method, event));
+                    }
+                }
+            }
+            return Optional.empty();
+        }).orElse(null);
+    }
+
+    private static Function<Object, Object> resolve(Class<?> type, String property) {
+        String capitalized = Character.toUpperCase(property.charAt(0)) + property.substring(1);
+        for (String candidate : new String[]{"get" + capitalized, "is" + capitalized, property}) {
+            Method method = publicMethod(type, candidate);
+            if (method != null && method.getParameterCount() == 0 && method.getReturnType() != void.class) {
+                method.trySetAccessible();
+                return event -> invoke(method, event);
+            }
+        }
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (field.getName().equals(property) && !Modifier.isStatic(field.getModifiers())) {
+                    field.setAccessible(true);
+                    return event -> read(field, event);
+                }
+            }
+        }
+        throw new IllegalArgumentException("Event type " + type.getSimpleName() + " has no property " + property);
+    }
+
+    private static Method publicMethod(Class<?> type, String name) {
+        try {
+            return type.getMethod(name);
+        } catch (NoSuchMethodException ex) {
+            return null;
+        }
+    }
+
+    private static Object invoke(Method method, Object event) {
+        try {
+            return method.invoke(event);
+        } catch (InvocationTargetException ex) {
+            throw new IllegalStateException("Failed to read " + method.getName() + " of " + event, ex.getCause());
+        } catch (IllegalAccessException ex) {
+            throw new IllegalStateException("Cannot read " + method.getName() + " of " + event, ex);
+        }
+    }
+
+    private static Object read(Field field, Object event) {
+        try {
+            return field.get(event);
+        } catch (IllegalAccessException ex) {
+            throw new IllegalStateException("Cannot read " + field.getName() + " of " + event, ex);
+        }
+    }
+}
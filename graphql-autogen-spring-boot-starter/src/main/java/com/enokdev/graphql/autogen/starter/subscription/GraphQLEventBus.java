@@ -0,0 +1,18 @@
+package com.enokdev.graphql.autogen.starter.subscription;
+
+/**
+ * Publishes {@code @GraphQLEvent} objects to the subscriptions waiting for them.
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+@FunctionalInterface
+public interface GraphQLEventBus {
+
+    /**
+     * Publishes an event.
+     *
+     * @param event the event
+     */
+    void publish(Object event);
+}
@@ -0,0 +1,47 @@
+package com.enokdev.graphql.autogen.starter.subscription;
+
+import com.enokdev.graphql.autogen.annotation.GraphQLEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.PayloadApplicationEvent;
+
+/**
+ * Forwards {@code @GraphQLEvent} objects published through Spring's
+ * {@code ApplicationEventPublisher} to the {@link SubscriptionRegistry}, either directly
+ * on the publishing thread or through a {@link GraphQLEventBus}.
+ *
+ * <pre>
+ * {@code
+ * applicationEventPublisher.publishEvent(new CommentAdded(post.getId(), comment.getText()));
+ * }
+ * </pre>
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class GraphQLEventListener implements ApplicationListener<PayloadApplicationEvent<?>> {
+
+    private static final ClassValue<Boolean> GRAPHQL_EVENTS = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return type.isAnnotationPresent(GraphQLEvent.class);
+        }
+    };
+
+    private final GraphQLEventBus eventBus;
+
+    public GraphQLEventListener(SubscriptionRegistry registry) {
+        this(registry::publish);
+    }
+
+    public GraphQLEventListener(GraphQLEventBus eventBus) {
+        this.eventBus = eventBus;
+    }
+
+    @Override
+    public void onApplicationEvent(PayloadApplicationEvent<?> event) {
+        Object payload = event.getPayload();
+        if (GRAPHQL_EVENTS.get(payload.getClass())) {
+            eventBus.publish(payload);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.enokdev.graphql.autogen.starter.subscription;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * An in-memory {@link EventBusAdapter} connecting buses of the same JVM, standing in for a
+ * broker in tests.
+ *
+ * <pre>
+ * {@code
+ * LoopbackEventBusAdapter nodeA = new LoopbackEventBusAdapter();
+ * LoopbackEventBusAdapter nodeB = nodeA.newPeer();
+ * }
+ * </pre>
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class LoopbackEventBusAdapter implements EventBusAdapter {
+
+    private final List<LoopbackEventBusAdapter> network;
+    private volatile Consumer<Object> inbound;
+
+    /**
+     * Creates an adapter on a new network.
+     */
+    public LoopbackEventBusAdapter() {
+        this(new CopyOnWriteArrayList<>());
+    }
+
+    private LoopbackEventBusAdapter(List<LoopbackEventBusAdapter> network) {
+        this.network = network;
+        network.add(this);
+    }
+
+    /**
+     * Creates an adapter on the same network as this one.
+     */
+    public LoopbackEventBusAdapter newPeer() {
+        return new LoopbackEventBusAdapter(network);
+    }
+
+    @Override
+    public void start(Consumer<Object> inbound) {
+        this.inbound = inbound;
+    }
+
+    @Override
+    public void send(List<Object> events) {
+        for (LoopbackEventBusAdapter peer : network) {
+            Consumer<Object> peerInbound = peer.inbound;
+            if (peer != this && peerInbound != null) {
+                events.forEach(peerInbound);
+            }
+        }
+    }
+
+    @Override
+    public void stop() {
+        inbound = null;
+    }
+}
@@ -0,0 +1,256 @@
+package com.enokdev.graphql.autogen.starter.subscription;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * An asynchronous {@link GraphQLEventBus} backed by a pre-allocated multi-producer ring
+ * buffer.
+ *
+ * <p>Publishing claims a slot with a single atomic increment, stores the event and marks
+ * the slot as published: the publishing thread, typically a mutation, never runs the
+ * subscription fan-out itself. Dedicated consumer threads take the published events in
+ * batches of up to {@code batchSize} and hand them to the {@link SubscriptionRegistry} and,
+ * for events published on this node, to the optional {@link EventBusAdapter}.</p>
+ *
+ * <p>Slots are allocated once and reused, so publishing allocates nothing. When every slot
+ * holds an event that was not consumed yet, publishers wait for the consumers rather than
+ * dropping events. With more than one consumer thread, events are dispatched concurrently
+ * and their relative order is no longer guaranteed.</p>
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class RingBufferEventBus implements GraphQLEventBus, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(RingBufferEventBus.class);
+
+    private static final long IDLE = Long.MAX_VALUE;
+    private static final int SPINS = 100;
+    private static final long MAX_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(500);
+
+    private final SubscriptionRegistry registry;
+    private final EventBusAdapter adapter;
+    private final int batchSize;
+    private final int mask;
+    private final Slot[] slots;
+    private final AtomicLongArray published;
+    private final AtomicLong producerCursor = new AtomicLong(-1);
+    private final AtomicLong consumerCursor = new AtomicLong(-1);
+    private final AtomicLong[] working;
+    private final Thread[] consumers;
+    private volatile boolean running;
+
+    /**
+     * Creates a bus.
+     *
+     * @param registry the registry the events are delivered to
+     * @param adapter the cross-node adapter, or {@code null}
+     * @param capacity the number of slots, rounded up to a power of two
+     * @param consumerThreads the number of consumer threads
+     * @param batchSize the maximum number of events a consumer takes at once
+     */
+    public RingBufferEventBus(SubscriptionRegistry registry, EventBusAdapter adapter,
+                              int capacity, int consumerThreads, int batchSize) {
+        if (capacity < 2 || consumerThreads < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 2, consumers and batch size at least 1");
+        }
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        this.registry = registry;
+        this.adapter = adapter;
+        this.batchSize = batchSize;
+        this.mask = size - 1;
+        this.slots = new Slot[size];
+        this.published = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Slot();
+            published.set(i, -1);
+        }
+        this.working = new AtomicLong[consumerThreads];
+        this.consumers = new Thread[consumerThreads];
+        for (int i = 0; i < consumerThreads; i++) {
+            AtomicLong mark = new AtomicLong(IDLE);
+            working[i] = mark;
+            consumers[i] = new Thread(() -> consume(mark), "graphql-event-bus-" + i);
+            consumers[i].setDaemon(true);
+        }
+    }
+
+    /**
+     * Starts the consumer threads and the adapter.
+     */
+    public void start() {
+        running = true;
+        for (Thread consumer : consumers) {
+            consumer.start();
+        }
+        if (adapter != null) {
+            adapter.start(event -> enqueue(event, true));
+        }
+        log.debug("Started event bus with {} slots and {} consumer(s)", slots.length, consumers.length);
+    }
+
+    /**
+     * Enqueues an event for dispatch on the consumer threads, waiting for a free slot if
+     * the ring buffer is full.
+     *
+     * @throws IllegalStateException if the bus is not running
+     */
+    @Override
+    public void publish(Object event) {
+        enqueue(event, false);
+    }
+
+    /**
+     * Returns the number of slots of the ring buffer.
+     */
+    public int getCapacity() {
+        return slots.length;
+    }
+
+    /**
+     * Returns the number of events published but not yet taken by a consumer.
+     */
+    public long getPendingEvents() {
+        return Math.max(0, producerCursor.get() - consumerCursor.get());
+    }
+
+    /**
+     * Stops the adapter, then the consumers once they have dispatched the pending events.
+     */
+    @Override
+    public void close() {
+        if (adapter != null) {
+            adapter.stop();
+        }
+        running = false;
+        for (Thread consumer : consumers) {
+            LockSupport.unpark(consumer);
+            try {
+                consumer.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void enqueue(Object event, boolean remote) {
+        if (event == null) {
+            throw new IllegalArgumentException("Event must not be null");
+        }
+        if (!running) {
+            throw new IllegalStateException("Event bus is not running");
+        }
+        long sequence = producerCursor.incrementAndGet();
+        long wrapPoint = sequence - slots.length;
+        int idle = 0;
+        while (wrapPoint > gatingSequence()) {
+            idle = backOff(idle);
+        }
+        Slot slot = slots[(int) sequence & mask];
+        slot.event = event;
+        slot.remote = remote;
+        published.set((int) sequence & mask, sequence);
+    }
+
+    /**
+     * Returns the highest sequence whose slot may be overwritten: every event up to it was
+     * dispatched. The consumer cursor is read before the working marks, which consumers set
+     * before advancing it.
+     */
+    private long gatingSequence() {
+        long gating = consumerCursor.get();
+        for (AtomicLong mark : working) {
+            gating = Math.min(gating, mark.get());
+        }
+        return gating;
+    }
+
+    private void consume(AtomicLong mark) {
+        List<Object> outbound = new ArrayList<>(batchSize);
+        int idle = 0;
+        while (true) {
+            long current = consumerCursor.get();
+            long available = current;
+            long limit = current + batchSize;
+            while (available < limit && published.get((int) (available + 1) & mask) == available + 1) {
+                available++;
+            }
+            if (available == current) {
+                if (!running) {
+                    return;
+                }
+                idle = backOff(idle);
+                continue;
+            }
+            mark.set(current);
+            if (!consumerCursor.compareAndSet(current, available)) {
+                mark.set(IDLE);
+                continue;
+            }
+            idle = 0;
+            try {
+                for (long sequence = current + 1; sequence <= available; sequence++) {
+                    Slot slot = slots[(int) sequence & mask];
+                    Object event = slot.event;
+                    boolean remote = slot.remote;
+                    slot.event = null;
+                    dispatch(event);
+                    if (adapter != null && !remote) {
+                        outbound.add(event);
+                    }
+                }
+            } finally {
+                // a pinned mark would keep publishers waiting for a free slot forever
+                mark.set(IDLE);
+            }
+            if (!outbound.isEmpty()) {
+                send(outbound);
+                outbound.clear();
+            }
+        }
+    }
+
+    private void dispatch(Object event) {
+        try {
+            registry.publish(event);
+        } catch (Throwable ex) {
+            // an error thrown by a subscriber must not stop the consumer thread
+            log.warn("Failed to dispatch {}: {}", event.getClass().getSimpleName(), ex.getMessage());
+        }
+    }
+
+    private void send(List<Object> events) {
+        try {
+            adapter.send(events);
+        } catch (Throwable ex) {
+            log.warn("Failed to send {} event(s) to other nodes: {}", events.size(), ex.getMessage());
+        }
+    }
+
+    private static int backOff(int idle) {
+        if (idle < SPINS) {
+            Thread.onSpinWait();
+        } else {
+            LockSupport.parkNanos(Math.min(MAX_PARK_NANOS, 1_000L << Math.min(idle - SPINS, 9)));
+        }
+        return idle + 1;
+    }
+
+    /**
+     * A pre-allocated ring buffer entry, written by one producer then read by one consumer;
+     * the {@code published} sequence orders the two.
+     */
+    private static final class Slot {
+        private Object event;
+        private boolean remote;
+    }
+}
@@ -0,0 +1,48 @@
+package com.enokdev.graphql.autogen.starter.subscription;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * An execution result serialized to JSON once and shared, unchanged, by every subscriber
+ * of a {@link SubscriptionBroadcaster} group.
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public final class SharedPayload {
+
+    private final byte[] json;
+
+    SharedPayload(byte[] json) {
+        this.json = json;
+    }
+
+    /**
+     * Returns the size of the JSON document in bytes.
+     */
+    public int length() {
+        return json.length;
+    }
+
+    /**
+     * Returns a read-only view of the JSON document; the bytes are not copied.
+     */
+    public ByteBuffer asByteBuffer() {
+        return ByteBuffer.wrap(json).asReadOnlyBuffer();
+    }
+
+    /**
+     * Writes the JSON document to the given stream.
+     */
+    public void writeTo(OutputStream outputStream) throws IOException {
+        outputStream.write(json);
+    }
+
+    @Override
+    public String toString() {
+        return new String(json, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,348 @@
+package com.enokdev.graphql.autogen.starter.subscription;
+
+import com.enokdev.graphql.autogen.annotation.GraphQLSubscription.OverflowPolicy;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.graphql.server.WebGraphQlHandler;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.graphql.server.WebSocketGraphQlInterceptor;
+import org.springframework.graphql.server.WebSocketGraphQlRequest;
+import org.springframework.graphql.server.WebSocketSessionInfo;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.socket.CloseStatus;
+import org.springframework.web.reactive.socket.HandshakeInfo;
+import org.springframework.web.reactive.socket.WebSocketHandler;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.WebSocketSession;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * WebFlux {@link WebSocketHandler} speaking the {@code graphql-transport-ws} protocol on
+ * top of a {@link SubscriptionBroadcaster}.
+ *
+ * <p>Every {@code next} message is assembled from a short per-session prefix carrying the
+ * operation id and the {@link SharedPayload} of the subscription group, so an event is
+ * serialized once however many sessions receive it. On Reactor Netty the shared bytes are
+ * not even copied: the frame is a composite of the prefix and the shared buffer.</p>
+ *
+ * <p>Operations run through the {@link WebGraphQlHandler}, so the {@code connection_init}
+ * message goes through the {@link WebSocketGraphQlInterceptor WebSocket interceptors} and
+ * each subscription through the web interceptors, as on the endpoint of Spring for GraphQL.
+ * A subscription group runs with the request of the session that started it, so groups are
+ * partitioned by the principal of the session and the payload it initialised the connection
+ * with: sessions share results only when they authenticated as the same user.</p>
+ *
+ * <p>Outgoing messages wait in a bounded per-session queue; a session that reads slower
+ * than events arrive loses messages or is closed, depending on the overflow policy, rather
+ * than growing the heap.</p>
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class SharedSubscriptionWebSocketHandler implements WebSocketHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(SharedSubscriptionWebSocketHandler.class);
+
+    private static final String PROTOCOL = "graphql-transport-ws";
+    private static final byte[] FRAME_SUFFIX = "}".getBytes(StandardCharsets.UTF_8);
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {
+    };
+
+    private final SubscriptionBroadcaster broadcaster;
+    private final Supplier<WebGraphQlHandler> graphQlHandler;
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final OverflowPolicy overflowPolicy;
+    private final SubscriptionBufferMetrics metrics;
+
+    /**
+     * Creates a handler buffering up to {@code bufferSize} outgoing messages per session.
+     * When the buffer of a slow session is full, the session is closed under the
+     * {@link OverflowPolicy#DISCONNECT} policy and the message is dropped otherwise.
+     */
+    public SharedSubscriptionWebSocketHandler(SubscriptionBroadcaster broadcaster,
+                                              Supplier<WebGraphQlHandler> graphQlHandler, ObjectMapper objectMapper,
+                                              int bufferSize, OverflowPolicy overflowPolicy,
+                                              SubscriptionBufferMetrics metrics) {
+        this.broadcaster = broadcaster;
+        this.graphQlHandler = graphQlHandler;
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.overflowPolicy = overflowPolicy;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public List<String> getSubProtocols() {
+        return List.of(PROTOCOL);
+    }
+
+    @Override
+    public Mono<Void> handle(WebSocketSession session) {
+        Session state = new Session(session);
+        Mono<Void> input = session.receive()
+                .concatMap(message -> state.handle(message.getPayloadAsText()))
+                .then();
+        Mono<Void> output = session.send(state.outbound.asFlux());
+        return Mono.zip(input, output).then().doFinally(signal -> state.dispose());
+    }
+
+    /**
+     * Builds a {@code next} frame around a shared payload.
+     */
+    static DataBuffer nextFrame(DataBufferFactory bufferFactory, byte[] prefix, SharedPayload payload) {
+        return bufferFactory.join(List.of(
+                bufferFactory.wrap(prefix),
+                bufferFactory.wrap(payload.asByteBuffer()),
+                bufferFactory.wrap(FRAME_SUFFIX)));
+    }
+
+    /**
+     * The protocol state of one WebSocket session.
+     */
+    private final class Session {
+        private final WebSocketSession session;
+        private final SessionInfo sessionInfo;
+        private final Sinks.Many<WebSocketMessage> outbound = Sinks.many().unicast()
+                .onBackpressureBuffer(Queues.<WebSocketMessage>get(bufferSize).get());
+        private final Map<String, Operation> operations = new ConcurrentHashMap<>();
+        private final AtomicBoolean initialised = new AtomicBoolean();
+        private volatile String partition;
+
+        private Session(WebSocketSession session) {
+            this.session = session;
+            this.sessionInfo = new SessionInfo(session);
+        }
+
+        Mono<Void> handle(String text) {
+            JsonNode message;
+            try {
+                message = objectMapper.readTree(text);
+            } catch (JsonProcessingException ex) {
+                close(new CloseStatus(4400, "Invalid message"));
+                return Mono.empty();
+            }
+            String type = message.path("type").asText();
+            switch (type) {
+                case "connection_init" -> {
+                    return initialise(message.path("payload"));
+                }
+                case "ping" -> send(Map.of("type", "pong"));
+                case "pong" -> {
+                    // keep-alive reply, nothing to do
+                }
+                case "subscribe" -> subscribe(message.path("id").asText(null), message.path("payload"));
+                case "complete" -> {
+                    String id = message.path("id").asText();
+                    Operation operation = operations.remove(id);
+                    if (operation != null) {
+                        operation.dispose();
+                        return graphQlHandler.get().getWebSocketInterceptor()
+                                .handleCancelledSubscription(sessionInfo, id);
+                    }
+                }
+                default -> close(new CloseStatus(4400, "Unknown message type: " + type));
+            }
+            return Mono.empty();
+        }
+
+        private Mono<Void> initialise(JsonNode payload) {
+            if (!initialised.compareAndSet(false, true)) {
+                close(new CloseStatus(4429, "Too many initialisation requests"));
+                return Mono.empty();
+            }
+            Map<String, Object> initPayload = payload.isObject() ? objectMapper.convertValue(payload, MAP_TYPE) : Map.of();
+            return graphQlHandler.get().getWebSocketInterceptor()
+                    .handleConnectionInitialization(sessionInfo, initPayload)
+                    .defaultIfEmpty(Map.of())
+                    .flatMap(ackPayload -> sessionInfo.getPrincipal()
+                            .map(Principal::getName)
+                            .defaultIfEmpty("")
+                            .doOnNext(principal -> {
+                                partition = principal + '\u0000' + payload;
+                                send(ackPayload instanceof Map<?, ?> map && map.isEmpty()
+                                        ? Map.of("type", "connection_ack")
+                                        : Map.of("type", "connection_ack", "payload", ackPayload));
+                            }))
+                    .onErrorResume(ex -> {
+                        log.debug("Rejected connection_init of session {}", session.getId(), ex);
+                        close(new CloseStatus(4403, "Forbidden"));
+                        return Mono.empty();
+                    })
+                    .then();
+        }
+
+        private void subscribe(String id, JsonNode payload) {
+            String partition = this.partition;
+            if (partition == null) {
+                close(new CloseStatus(4401, "Unauthorized"));
+                return;
+            }
+            if (id == null || !payload.hasNonNull("query")) {
+                close(new CloseStatus(4400, "Invalid subscribe message"));
+                return;
+            }
+            Operation operation = new Operation(id);
+            if (operations.putIfAbsent(id, operation) != null) {
+                close(new CloseStatus(4409, "Subscriber for " + id + " already exists"));
+                return;
+            }
+            Map<String, Object> body = objectMapper.convertValue(payload, MAP_TYPE);
+            @SuppressWarnings("unchecked")
+            Map<String, Object> variables = body.get("variables") instanceof Map<?, ?> map
+                    ? (Map<String, Object>) map : null;
+            HandshakeInfo handshakeInfo = session.getHandshakeInfo();
+            WebSocketGraphQlRequest request = new WebSocketGraphQlRequest(handshakeInfo.getUri(),
+                    handshakeInfo.getHeaders(), handshakeInfo.getCookies(), handshakeInfo.getRemoteAddress(),
+                    session.getAttributes(), body, id, null, sessionInfo);
+            broadcaster.subscribe(payload.get("query").asText(), payload.path("operationName").asText(null),
+                            variables, partition,
+                            () -> graphQlHandler.get().handleRequest(request).map(WebGraphQlResponse::getExecutionResult))
+                    .subscribe(operation);
+        }
+
+        private void send(Map<String, Object> message) {
+            try {
+                emit(session.textMessage(objectMapper.writeValueAsString(message)));
+            } catch (JsonProcessingException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+
+        private void emit(WebSocketMessage message) {
+            Sinks.EmitResult result;
+            // events of different groups may be delivered concurrently
+            synchronized (outbound) {
+                result = outbound.tryEmitNext(message);
+            }
+            if (result == Sinks.EmitResult.FAIL_OVERFLOW) {
+                DataBufferUtils.release(message.getPayload());
+                if (overflowPolicy == OverflowPolicy.DISCONNECT) {
+                    metrics.disconnected();
+                    close(new CloseStatus(4408, "Subscriber too slow"));
+                } else {
+                    metrics.dropped();
+                }
+            }
+        }
+
+        private void close(CloseStatus status) {
+            dispose();
+            session.close(status).subscribe();
+        }
+
+        void dispose() {
+            operations.values().forEach(Operation::dispose);
+            operations.clear();
+            synchronized (outbound) {
+                outbound.tryEmitComplete();
+            }
+        }
+
+        /**
+         * One subscription of the session, registered before it subscribes so that a result
+         * or completion delivered during the subscription finds it.
+         */
+        private final class Operation extends BaseSubscriber<SharedPayload> {
+            private final String id;
+            private final byte[] prefix;
+
+            Operation(String id) {
+                this.id = id;
+                this.prefix = framePrefix(id);
+            }
+
+            @Override
+            protected void hookOnNext(SharedPayload payload) {
+                emit(new WebSocketMessage(WebSocketMessage.Type.TEXT,
+                        nextFrame(session.bufferFactory(), prefix, payload)));
+            }
+
+            @Override
+            protected void hookOnError(Throwable error) {
+                log.debug("Subscription {} of session {} failed", id, session.getId(), error);
+                if (operations.remove(id, this)) {
+                    send(Map.of("id", id, "type", "error",
+                            "payload", List.of(Map.of("message", "Subscription failed"))));
+                }
+            }
+
+            @Override
+            protected void hookOnComplete() {
+                if (operations.remove(id, this)) {
+                    send(Map.of("id", id, "type", "complete"));
+                }
+            }
+
+            private byte[] framePrefix(String id) {
+                try {
+                    return ("{\"id\":" + objectMapper.writeValueAsString(id) + ",\"type\":\"next\",\"payload\":")
+                            .getBytes(StandardCharsets.UTF_8);
+                } catch (JsonProcessingException ex) {
+                    throw new IllegalStateException(ex);
+                }
+            }
+        }
+    }
+
+    /**
+     * Exposes a WebSocket session to the interceptors of the {@link WebGraphQlHandler}.
+     */
+    private static final class SessionInfo implements WebSocketSessionInfo {
+        private final WebSocketSession session;
+
+        SessionInfo(WebSocketSession session) {
+            this.session = session;
+        }
+
+        @Override
+        public String getId() {
+            return session.getId();
+        }
+
+        @Override
+        public Map<String, Object> getAttributes() {
+            return session.getAttributes();
+        }
+
+        @Override
+        public URI getUri() {
+            return session.getHandshakeInfo().getUri();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return session.getHandshakeInfo().getHeaders();
+        }
+
+        @Override
+        public Mono<Principal> getPrincipal() {
+            return session.getHandshakeInfo().getPrincipal();
+        }
+
+        @Override
+        public InetSocketAddress getRemoteAddress() {
+            return session.getHandshakeInfo().getRemoteAddress();
+        }
+    }
+}
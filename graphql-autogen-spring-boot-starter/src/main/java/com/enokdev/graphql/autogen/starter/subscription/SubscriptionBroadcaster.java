@@ -0,0 +1,139 @@
+package com.enokdev.graphql.autogen.starter.subscription;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.language.AstPrinter;
+import graphql.parser.InvalidSyntaxException;
+import graphql.parser.Parser;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Executes identical subscriptions once and shares their serialized results.
+ *
+ * <p>Subscribers are grouped by the normalized subscription document, operation name and
+ * variables. The first subscriber of a group starts the subscription; every event is then
+ * executed and serialized to JSON once for the whole group, and each subscriber receives
+ * the same immutable {@link SharedPayload}. When the last subscriber of a group cancels,
+ * the subscription is stopped.</p>
+ *
+ * <p>Because the subscription runs once for the group, it runs with the context of the
+ * subscriber that started it. Pass a partition, such as the authenticated user or a tenant
+ * identifier, to keep subscribers whose results depend on context in separate groups.</p>
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class SubscriptionBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(SubscriptionBroadcaster.class);
+
+    private final Supplier<GraphQL> graphQL;
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper keyMapper;
+    private final Map<String, Flux<SharedPayload>> groups = new ConcurrentHashMap<>();
+
+    public SubscriptionBroadcaster(Supplier<GraphQL> graphQL, ObjectMapper objectMapper) {
+        this.graphQL = graphQL;
+        this.objectMapper = objectMapper;
+        this.keyMapper = objectMapper.copy().configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+    }
+
+    /**
+     * Subscribes to a subscription operation, joining the group of identical subscriptions.
+     *
+     * @param document the GraphQL document
+     * @param operationName the operation to run, or {@code null}
+     * @param variables the variables, or {@code null}
+     * @param partition an optional discriminator keeping subscribers in separate groups
+     * @return the serialized results
+     */
+    public Flux<SharedPayload> subscribe(String document, String operationName, Map<String, Object> variables,
+                                         String partition) {
+        return subscribe(document, operationName, variables, partition,
+                () -> Mono.fromSupplier(() -> graphQL.get().execute(ExecutionInput.newExecutionInput()
+                        .query(document)
+                        .operationName(operationName)
+                        .variables(variables != null ? variables : Map.of())
+                        .build())));
+    }
+
+    /**
+     * Subscribes to a subscription operation, joining the group of identical subscriptions,
+     * and starts the group with the given execution when it has no subscriber yet.
+     *
+     * @param document the GraphQL document
+     * @param operationName the operation to run, or {@code null}
+     * @param variables the variables, or {@code null}
+     * @param partition an optional discriminator keeping subscribers in separate groups
+     * @param execution executes the operation on behalf of this subscriber
+     * @return the serialized results
+     */
+    public Flux<SharedPayload> subscribe(String document, String operationName, Map<String, Object> variables,
+                                         String partition, Supplier<Mono<ExecutionResult>> execution) {
+        String key = groupKey(document, operationName, variables, partition);
+        return Flux.defer(() -> groups.computeIfAbsent(key, k -> group(k, operationName, execution)));
+    }
+
+    /**
+     * Returns the number of groups with at least one subscriber.
+     */
+    public int getGroupCount() {
+        return groups.size();
+    }
+
+    private Flux<SharedPayload> group(String key, String operationName, Supplier<Mono<ExecutionResult>> execution) {
+        log.debug("Starting shared subscription group {}", operationName != null ? operationName : key.hashCode());
+        Flux<SharedPayload> results = Mono.defer(execution).flatMapMany(result -> {
+            if (result.getErrors().isEmpty() && result.getData() instanceof Publisher<?> publisher) {
+                @SuppressWarnings("unchecked")
+                Publisher<ExecutionResult> stream = (Publisher<ExecutionResult>) publisher;
+                return Flux.from(stream).map(this::serialize);
+            }
+            return Flux.just(serialize(result));
+        });
+        AtomicReference<Flux<SharedPayload>> shared = new AtomicReference<>();
+        shared.set(results
+                .doFinally(signal -> groups.remove(key, shared.get()))
+                .publish()
+                .refCount());
+        return shared.get();
+    }
+
+    private SharedPayload serialize(ExecutionResult result) {
+        try {
+            return new SharedPayload(objectMapper.writeValueAsBytes(result.toSpecification()));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Failed to serialize subscription result", ex);
+        }
+    }
+
+    private String groupKey(String document, String operationName, Map<String, Object> variables, String partition) {
+        String normalized;
+        try {
+            normalized = AstPrinter.printAstCompact(Parser.parse(document));
+        } catch (InvalidSyntaxException ex) {
+            // left to the execution to report
+            normalized = document;
+        }
+        try {
+            return (partition != null ? partition : "") + '\u0000' + (operationName != null ? operationName : "")
+                    + '\u0000' + normalized + '\u0000'
+                    + (variables != null && !variables.isEmpty() ? keyMapper.writeValueAsString(variables) : "");
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("Unsupported subscription variables", ex);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.enokdev.graphql.autogen.starter.subscription;
+
+import com.enokdev.graphql.autogen.annotation.GraphQLSubscription.OverflowPolicy;
+import reactor.core.publisher.FluxSink;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * The bounded buffer between the publisher of events and one subscriber, emitting only as
+ * many events as the subscriber requested.
+ *
+ * <p>Buffered events are kept in arrival order, keyed by a sequence number or, under the
+ * {@link OverflowPolicy#CONFLATE} policy, by their {@code @GraphQLId} so that a newer
+ * event replaces a pending one in place.</p>
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+final class SubscriptionBuffer {
+
+    private final FluxSink<Object> sink;
+    private final int capacity;
+    private final OverflowPolicy policy;
+    private final Function<Object, Object> idAccessor;
+    private final SubscriptionBufferMetrics metrics;
+
+    private final Map<Object, Object> pending = new LinkedHashMap<>();
+    private final AtomicInteger wip = new AtomicInteger();
+    private long sequence;
+    private boolean terminated;
+
+    SubscriptionBuffer(FluxSink<Object> sink, int capacity, OverflowPolicy policy,
+                       Function<Object, Object> idAccessor, SubscriptionBufferMetrics metrics) {
+        this.sink = sink;
+        this.capacity = capacity;
+        this.policy = policy;
+        this.idAccessor = policy == OverflowPolicy.CONFLATE ? idAccessor : null;
+        this.metrics = metrics;
+        sink.onRequest(n -> drain());
+    }
+
+    /**
+     * Buffers an event and emits what the subscriber requested.
+     *
+     * @return whether the event was accepted
+     */
+    boolean offer(Object event) {
+        boolean overflow = false;
+        synchronized (pending) {
+            if (terminated) {
+                return false;
+            }
+            Object key = conflationKey(event);
+            if (key != null && pending.containsKey(key)) {
+                pending.put(key, event);
+                metrics.conflated();
+            } else {
+                if (pending.size() >= capacity) {
+                    switch (policy) {
+                        case DROP_NEWEST -> {
+                            metrics.dropped();
+                            return false;
+                        }
+                        case DISCONNECT -> overflow = true;
+                        default -> {
+                            Iterator<Object> oldest = pending.values().iterator();
+                            oldest.next();
+                            oldest.remove();
+                            metrics.dropped();
+                            metrics.buffered(-1);
+                        }
+                    }
+                }
+                if (overflow) {
+                    terminated = true;
+                    metrics.buffered(-pending.size());
+                    pending.clear();
+                } else {
+                    pending.put(key != null ? key : sequence++, event);
+                    metrics.buffered(1);
+                }
+            }
+        }
+        if (overflow) {
+            metrics.disconnected();
+            sink.error(new SubscriptionOverflowException(
+                    "Subscriber too slow: more than " + capacity + " events pending"));
+            return false;
+        }
+        drain();
+        return true;
+    }
+
+    /**
+     * Discards the pending events of a cancelled subscription.
+     */
+    void dispose() {
+        synchronized (pending) {
+            terminated = true;
+            metrics.buffered(-pending.size());
+            pending.clear();
+        }
+    }
+
+    private Object conflationKey(Object event) {
+        if (idAccessor == null) {
+            return null;
+        }
+        Object id = idAccessor.apply(event);
+        // ids are strings, sequence numbers are longs: the two never collide
+        return id != null ? SubscriptionRegistry.normalize(id) : null;
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            while (sink.requestedFromDownstream() > 0 && !sink.isCancelled()) {
+                Object next;
+                synchronized (pending) {
+                    Iterator<Object> iterator = pending.values().iterator();
+                    if (!iterator.hasNext()) {
+                        break;
+                    }
+                    next = iterator.next();
+                    iterator.remove();
+                    metrics.buffered(-1);
+                }
+                sink.next(next);
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+}
@@ -0,0 +1,48 @@
+package com.enokdev.graphql.autogen.starter.subscription;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publishes the {@link SubscriptionBufferMetrics} to Micrometer: the
+ * {@code graphql.autogen.subscription.buffered} gauge and the
+ * {@code graphql.autogen.subscription.events} counter tagged with the {@code outcome} of
+ * the events lost by slow subscribers, {@code dropped} or {@code conflated}, and the
+ * {@code graphql.autogen.subscription.overflow.disconnects} counter.
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class SubscriptionBufferMeterBinder implements MeterBinder {
+
+    private final SubscriptionBufferMetrics bufferMetrics;
+
+    public SubscriptionBufferMeterBinder(SubscriptionBufferMetrics bufferMetrics) {
+        this.bufferMetrics = bufferMetrics;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("graphql.autogen.subscription.buffered", bufferMetrics,
+                        SubscriptionBufferMetrics::getBufferedEvents)
+                .description("Number of events waiting in subscriber buffers")
+                .register(registry);
+        events(registry, "dropped", SubscriptionBufferMetrics::getDroppedEvents);
+        events(registry, "conflated", SubscriptionBufferMetrics::getConflatedEvents);
+        FunctionCounter.builder("graphql.autogen.subscription.overflow.disconnects", bufferMetrics,
+                        SubscriptionBufferMetrics::getOverflowDisconnects)
+                .description("Number of subscriptions terminated because their buffer overflowed")
+                .register(registry);
+    }
+
+    private void events(MeterRegistry registry, String outcome, ToDoubleFunction<SubscriptionBufferMetrics> count) {
+        FunctionCounter.builder("graphql.autogen.subscription.events", bufferMetrics, count)
+                .description("Number of events not delivered to slow subscribers")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
@@ -0,0 +1,61 @@
+package com.enokdev.graphql.autogen.starter.subscription;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters describing the buffering of subscription events for slow subscribers.
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class SubscriptionBufferMetrics {
+
+    private final LongAdder buffered = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder conflated = new LongAdder();
+    private final LongAdder disconnected = new LongAdder();
+
+    /**
+     * Returns the number of events currently waiting in subscriber buffers.
+     */
+    public long getBufferedEvents() {
+        return buffered.sum();
+    }
+
+    /**
+     * Returns the number of events discarded because a buffer was full.
+     */
+    public long getDroppedEvents() {
+        return dropped.sum();
+    }
+
+    /**
+     * Returns the number of buffered events replaced by a newer event with the same id.
+     */
+    public long getConflatedEvents() {
+        return conflated.sum();
+    }
+
+    /**
+     * Returns the number of subscriptions terminated because their buffer overflowed.
+     */
+    public long getOverflowDisconnects() {
+        return disconnected.sum();
+    }
+
+    void buffered(int delta) {
+        buffered.add(delta);
+    }
+
+    void dropped() {
+        dropped.increment();
+    }
+
+    void conflated() {
+        conflated.increment();
+    }
+
+    void disconnected() {
+        disconnected.increment();
+    }
+}
@@ -0,0 +1,15 @@
+package com.enokdev.graphql.autogen.starter.subscription;
+
+/**
+ * Terminates a subscription whose buffer overflowed under the
+ * {@code DISCONNECT} overflow policy.
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class SubscriptionOverflowException extends IllegalStateException {
+
+    public SubscriptionOverflowException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,264 @@
+package com.enokdev.graphql.autogen.starter.subscription;
+
+import com.enokdev.graphql.autogen.annotation.GraphQLSubscription.OverflowPolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Fans published events out to the subscribers of {@code @GraphQLSubscription} fields.
+ *
+ * <p>Subscribers are indexed by event type, by the names of the filter arguments they
+ * set and by the values of those arguments. Publishing an event therefore costs one hash
+ * lookup per distinct combination of filter arguments in use for its type, plus one
+ * emission per matching subscriber, however many subscribers are registered. A filter
+ * argument matches the event property of the same name; a filter left unset matches every
+ * event.</p>
+ *
+ * <pre>
+ * {@code
+ * // Subscription.commentAdded(postId: ID!)
+ * Flux<CommentAdded> comments = registry.subscribe(CommentAdded.class, Map.of("postId", "42"));
+ * registry.publish(new CommentAdded(42L, "First!"));
+ * }
+ * </pre>
+ *
+ * <p>Filter values are compared by their string form (enum constants by name), so an
+ * {@code ID} argument matches a numeric identifier property.</p>
+ *
+ * <p>Each subscriber gets a bounded buffer absorbing the events it has not requested yet.
+ * When the buffer is full, the {@link OverflowPolicy} of the subscription decides whether
+ * the oldest or the incoming event is dropped, whether a pending event with the same
+ * {@code @GraphQLId} is replaced, or whether the subscription fails with a
+ * {@link SubscriptionOverflowException}. Buffer depth and drops are counted in
+ * {@link SubscriptionBufferMetrics}.</p>
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class SubscriptionRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(SubscriptionRegistry.class);
+
+    /**
+     * Default number of events buffered per subscriber.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 256;
+
+    private final Map<Class<?>, Topic> topics = new ConcurrentHashMap<>();
+    private final EventProperties eventProperties = new EventProperties();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final int defaultBufferSize;
+    private final OverflowPolicy defaultOverflowPolicy;
+    private final SubscriptionBufferMetrics metrics;
+
+    /**
+     * Creates a registry buffering up to {@value #DEFAULT_BUFFER_SIZE} events per
+     * subscriber and dropping the oldest on overflow.
+     */
+    public SubscriptionRegistry() {
+        this(DEFAULT_BUFFER_SIZE, OverflowPolicy.DROP_OLDEST, new SubscriptionBufferMetrics());
+    }
+
+    /**
+     * Creates a registry with the given buffering defaults.
+     *
+     * @param defaultBufferSize the number of events buffered per subscriber
+     * @param defaultOverflowPolicy the policy applied when a buffer is full
+     * @param metrics the buffer counters to update
+     */
+    public SubscriptionRegistry(int defaultBufferSize, OverflowPolicy defaultOverflowPolicy,
+                                SubscriptionBufferMetrics metrics) {
+        if (defaultBufferSize <= 0) {
+            throw new IllegalArgumentException("Buffer size must be positive");
+        }
+        if (defaultOverflowPolicy == null || defaultOverflowPolicy == OverflowPolicy.DEFAULT) {
+            throw new IllegalArgumentException("A concrete default overflow policy is required");
+        }
+        this.defaultBufferSize = defaultBufferSize;
+        this.defaultOverflowPolicy = defaultOverflowPolicy;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Returns a stream of the events of the given type matching the filters. The
+     * subscription is registered when the stream is subscribed to and removed when it is
+     * cancelled.
+     *
+     * @param eventType the event type, matched against published events and their superclasses
+     * @param filters the filter argument values by event property name; {@code null} values match all events
+     * @return the event stream
+     * @throws IllegalArgumentException if a filter names no property of the event type
+     */
+    public <T> Flux<T> subscribe(Class<T> eventType, Map<String, ?> filters) {
+        return subscribe(eventType, filters, 0, OverflowPolicy.DEFAULT);
+    }
+
+    /**
+     * Returns a stream of the events of the given type matching the filters, buffering up
+     * to {@code bufferSize} events while the subscriber is slower than the publishers.
+     *
+     * @param eventType the event type, matched against published events and their superclasses
+     * @param filters the filter argument values by event property name; {@code null} values match all events
+     * @param bufferSize the buffer size, or 0 for the registry default
+     * @param overflow the overflow policy, or {@link OverflowPolicy#DEFAULT} for the registry default
+     * @return the event stream
+     * @throws IllegalArgumentException if a filter names no property of the event type
+     */
+    public <T> Flux<T> subscribe(Class<T> eventType, Map<String, ?> filters, int bufferSize, OverflowPolicy overflow) {
+        int capacity = bufferSize > 0 ? bufferSize : defaultBufferSize;
+        OverflowPolicy policy = overflow != null && overflow != OverflowPolicy.DEFAULT ? overflow : defaultOverflowPolicy;
+        Function<Object, Object> idAccessor = policy == OverflowPolicy.CONFLATE ? eventProperties.idAccessor(eventType) : null;
+        Map<String, String> criteria = new TreeMap<>();
+        if (filters != null) {
+            filters.forEach((name, value) -> {
+                if (value != null) {
+                    eventProperties.accessor(eventType, name);
+                    criteria.put(name, normalize(value));
+                }
+            });
+        }
+        List<String> names = List.copyOf(criteria.keySet());
+        List<String> key = List.copyOf(criteria.values());
+        return Flux.create(sink -> {
+            Topic topic = topics.computeIfAbsent(eventType, Topic::new);
+            @SuppressWarnings("unchecked")
+            SubscriptionBuffer subscriber = new SubscriptionBuffer((FluxSink<Object>) sink, capacity, policy,
+                    idAccessor, metrics);
+            topic.add(names, key, subscriber);
+            subscriberCount.incrementAndGet();
+            sink.onDispose(() -> {
+                topic.remove(names, key, subscriber);
+                subscriber.dispose();
+                subscriberCount.decrementAndGet();
+            });
+        }, FluxSink.OverflowStrategy.BUFFER);
+    }
+
+    /**
+     * Delivers an event to the matching subscribers.
+     *
+     * @param event the event
+     * @return the number of subscribers that accepted the event into their buffer
+     */
+    public int publish(Object event) {
+        int delivered = 0;
+        for (Class<?> type = event.getClass(); type != null && type != Object.class; type = type.getSuperclass()) {
+            Topic topic = topics.get(type);
+            if (topic != null) {
+                delivered += topic.publish(event);
+            }
+        }
+        return delivered;
+    }
+
+    /**
+     * Returns whether anybody subscribed to events of the given type or its superclasses.
+     */
+    public boolean hasSubscribers(Class<?> eventType) {
+        for (Class<?> type = eventType; type != null && type != Object.class; type = type.getSuperclass()) {
+            Topic topic = topics.get(type);
+            if (topic != null && !topic.index.isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of active subscriptions.
+     */
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    /**
+     * Returns the buffer counters of the subscriptions.
+     */
+    public SubscriptionBufferMetrics getMetrics() {
+        return metrics;
+    }
+
+    static String normalize(Object value) {
+        return value instanceof Enum<?> constant ? constant.name() : value.toString();
+    }
+
+    /**
+     * The subscribers to one event type, by filter argument names then filter values.
+     */
+    private final class Topic {
+        private final Class<?> eventType;
+        private final Map<List<String>, Map<List<String>, Set<SubscriptionBuffer>>> index = new ConcurrentHashMap<>();
+
+        private Topic(Class<?> eventType) {
+            this.eventType = eventType;
+        }
+
+        void add(List<String> names, List<String> key, SubscriptionBuffer subscriber) {
+            // add and remove both run under the lock of the names entry, so a map emptied
+            // by a concurrent removal is never written to after being unlinked
+            index.compute(names, (n, byKey) -> {
+                Map<List<String>, Set<SubscriptionBuffer>> subscribers = byKey != null ? byKey : new ConcurrentHashMap<>();
+                subscribers.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(subscriber);
+                return subscribers;
+            });
+        }
+
+        void remove(List<String> names, List<String> key, SubscriptionBuffer subscriber) {
+            index.computeIfPresent(names, (n, byKey) -> {
+                byKey.computeIfPresent(key, (k, subscribers) -> {
+                    subscribers.remove(subscriber);
+                    return subscribers.isEmpty() ? null : subscribers;
+                });
+                return byKey.isEmpty() ? null : byKey;
+            });
+        }
+
+        int publish(Object event) {
+            int delivered = 0;
+            for (Map.Entry<List<String>, Map<List<String>, Set<SubscriptionBuffer>>> entry : index.entrySet()) {
+                List<String> key = keyOf(event, entry.getKey());
+                Set<SubscriptionBuffer> subscribers = key != null ? entry.getValue().get(key) : null;
+                if (subscribers == null) {
+                    continue;
+                }
+                for (SubscriptionBuffer subscriber : subscribers) {
+                    try {
+                        if (subscriber.offer(event)) {
+                            delivered++;
+                        }
+                    } catch (RuntimeException ex) {
+                        log.warn("Failed to deliver {} to a subscriber: {}", eventType.getSimpleName(), ex.getMessage());
+                    }
+                }
+            }
+            return delivered;
+        }
+
+        private List<String> keyOf(Object event, List<String> names) {
+            if (names.isEmpty()) {
+                return Collections.emptyList();
+            }
+            String[] key = new String[names.size()];
+            for (int i = 0; i < key.length; i++) {
+                Object value = eventProperties.accessor(eventType, names.get(i)).apply(event);
+                if (value == null) {
+                    return null;
+                }
+                key[i] = normalize(value);
+            }
+            return Arrays.asList(key);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.enokdev.graphql.autogen.starter.subscription;
+
+import com.enokdev.graphql.autogen.annotation.GraphQLController;
+import com.enokdev.graphql.autogen.annotation.GraphQLSubscription;
+import com.enokdev.graphql.autogen.annotation.GraphQLSubscriptionFilter;
+import graphql.schema.DataFetcher;
+import graphql.schema.idl.RuntimeWiring;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.graphql.execution.RuntimeWiringConfigurer;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binds the {@code @GraphQLSubscription} methods of {@code @GraphQLController} beans to
+ * the {@link SubscriptionRegistry}.
+ *
+ * <p>A subscription method returning its event type rather than a {@link Publisher} is
+ * served by the registry: the field streams every published event of that type whose
+ * properties match the method's {@code @GraphQLSubscriptionFilter} arguments. The method
+ * itself is not invoked. Methods returning a {@code Publisher} are left to their own
+ * implementation.</p>
+ *
+ * <p>The {@code bufferSize} and {@code overflow} attributes of the annotation bound the
+ * events held for a slow subscriber; see {@link SubscriptionRegistry}.</p>
+ *
+ * <pre>
+ * {@code
+ * @GraphQLSubscription
+ * public CommentAdded commentAdded(@GraphQLSubscriptionFilter String postId) {
+ *     return null; // served by the subscription engine
+ * }
+ * }
+ * </pre>
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+public class SubscriptionRuntimeWiringConfigurer implements RuntimeWiringConfigurer {
+
+    private static final Logger log = LoggerFactory.getLogger(SubscriptionRuntimeWiringConfigurer.class);
+
+    static final String SUBSCRIPTION_TYPE = "Subscription";
+
+    private final SubscriptionRegistry registry;
+    private final ListableBeanFactory beanFactory;
+
+    public SubscriptionRuntimeWiringConfigurer(SubscriptionRegistry registry, ListableBeanFactory beanFactory) {
+        this.registry = registry;
+        this.beanFactory = beanFactory;
+    }
+
+    @Override
+    public void configure(RuntimeWiring.Builder builder) {
+        Map<String, DataFetcher<?>> dataFetchers = new HashMap<>();
+        for (String beanName : beanFactory.getBeanNamesForAnnotation(GraphQLController.class)) {
+            Class<?> controllerType = beanFactory.getType(beanName);
+            if (controllerType == null) {
+                continue;
+            }
+            for (Method method : ClassUtils.getUserClass(controllerType).getDeclaredMethods()) {
+                GraphQLSubscription subscription = method.getAnnotation(GraphQLSubscription.class);
+                if (subscription == null || !subscription.enabled() || !isEventType(method.getReturnType())) {
+                    continue;
+                }
+                String fieldName = subscription.name().isEmpty() ? method.getName() : subscription.name();
+                dataFetchers.put(fieldName, dataFetcher(method.getReturnType(), filterArguments(method), subscription));
+                log.debug("Serving subscription {} with {} events", fieldName, method.getReturnType().getSimpleName());
+            }
+        }
+        if (!dataFetchers.isEmpty()) {
+            builder.type(SUBSCRIPTION_TYPE, type -> {
+                dataFetchers.forEach(type::dataFetcher);
+                return type;
+            });
+        }
+    }
+
+    private DataFetcher<Publisher<?>> dataFetcher(Class<?> eventType, List<String> filterArguments,
+                                                 GraphQLSubscription subscription) {
+        return environment -> {
+            Map<String, Object> filters = new HashMap<>();
+            for (String argument : filterArguments) {
+                filters.put(argument, environment.getArgument(argument));
+            }
+            return registry.subscribe(eventType, filters, subscription.bufferSize(), subscription.overflow());
+        };
+    }
+
+    private static List<String> filterArguments(Method method) {
+        List<String> arguments = new ArrayList<>();
+        for (Parameter parameter : method.getParameters()) {
+            GraphQLSubscriptionFilter filter = parameter.getAnnotation(GraphQLSubscriptionFilter.class);
+            if (filter != null) {
+                arguments.add(filter.name().isEmpty() ? parameter.getName() : filter.name());
+            }
+        }
+        return arguments;
+    }
+
+    private static boolean isEventType(Class<?> returnType) {
+        return returnType != void.class && !returnType.isPrimitive() && !Publisher.class.isAssignableFrom(returnType);
+    }
+}
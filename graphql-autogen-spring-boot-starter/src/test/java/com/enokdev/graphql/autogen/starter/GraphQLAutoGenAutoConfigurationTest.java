@@ -4,6 +4,9 @@ import com.enokdev.graphql.autogen.annotation.GraphQLController;
 import com.enokdev.graphql.autogen.annotation.GraphQLQuery;
 import com.enokdev.graphql.autogen.generator.SchemaGenerator;
 import com.enokdev.graphql.autogen.scanner.AnnotationScanner;
+import com.enokdev.graphql.autogen.starter.instrumentation.AuditInstrumentation;
+import com.enokdev.graphql.autogen.starter.instrumentation.AuditMeterBinder;
+import com.enokdev.graphql.autogen.starter.instrumentation.ExecutionEventLog;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -92,6 +95,31 @@ class GraphQLAutoGenAutoConfigurationTest {
                 });
     }
 
+    @Test
+    void registersAuditInstrumentationOnlyWhenItRecordsSomething() {
+        this.contextRunner
+                .withPropertyValues(
+                        "spring.graphql.autogen.schema-location=" + tempSchemaDir.toAbsolutePath(),
+                        "spring.graphql.autogen.base-packages=com.enokdev.graphql.autogen.starter"
+                )
+                .run((context) -> {
+                    assertThat(context).doesNotHaveBean(ExecutionEventLog.class);
+                    assertThat(context).doesNotHaveBean(AuditInstrumentation.class);
+                    assertThat(context).doesNotHaveBean(AuditMeterBinder.class);
+                });
+        this.contextRunner
+                .withPropertyValues(
+                        "spring.graphql.autogen.schema-location=" + tempSchemaDir.toAbsolutePath(),
+                        "spring.graphql.autogen.base-packages=com.enokdev.graphql.autogen.starter",
+                        "spring.graphql.autogen.instrumentation.field-timing.enabled=true"
+                )
+                .run((context) -> {
+                    assertThat(context).doesNotHaveBean(ExecutionEventLog.class);
+                    assertThat(context).hasSingleBean(AuditInstrumentation.class);
+                    assertThat(context).hasSingleBean(AuditMeterBinder.class);
+                });
+    }
+
     @Test
     void testAutoConfigurationIsDisabledByProperty() {
         this.contextRunner
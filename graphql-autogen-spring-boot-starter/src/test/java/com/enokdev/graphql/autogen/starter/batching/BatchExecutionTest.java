@@ -0,0 +1,193 @@
+package com.enokdev.graphql.autogen.starter.batching;
+
+import com.enokdev.graphql.autogen.starter.execution.FieldComplexityWeights;
+import com.enokdev.graphql.autogen.starter.execution.QueryComplexityAnalyzer;
+import com.enokdev.graphql.autogen.starter.execution.QueryComplexityInstrumentation;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.context.ContextRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.graphql.execution.DefaultBatchLoaderRegistry;
+import org.springframework.graphql.execution.DefaultExecutionGraphQlService;
+import org.springframework.graphql.execution.GraphQlSource;
+import org.springframework.graphql.server.WebGraphQlHandler;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BatchExecutionTest {
+
+    private static final String SDL = """
+            type Query {
+              post(id: ID): Post
+              viewer: String
+            }
+            type Post {
+              id: ID
+              author: Author
+            }
+            type Author {
+              name: String
+            }
+            """;
+
+    private static final TypeReference<List<Map<String, Object>>> RESULTS = new TypeReference<>() {
+    };
+
+    private static final ThreadLocal<String> VIEWER = new ThreadLocal<>();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<List<String>> loadedAuthors = new CopyOnWriteArrayList<>();
+    private BatchExecution execution;
+
+    @AfterEach
+    void closeExecution() {
+        execution.close();
+    }
+
+    @Test
+    void returnsResultsInOrderAndSharesDataLoaders() throws Exception {
+        BatchRequestFilter filter = filter(1000, 4);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request("""
+                [{"query": "{ post(id: \\"1\\") { id author { name } } }"},
+                 {"query": "query Second { post(id: \\"2\\") { id author { name } } }", "operationName": "Second"},
+                 {"query": "{ post(id: \\"3\\") { id author { name } } }"}]
+                """), response, new MockFilterChain());
+
+        List<Map<String, Object>> results = objectMapper.readValue(response.getContentAsByteArray(), RESULTS);
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(results).extracting(result -> (Object) ((Map<?, ?>) ((Map<?, ?>) result.get("data")).get("post")).get("id"))
+                .containsExactly("1", "2", "3");
+        // every post is written by the same author, loaded once for the whole batch
+        assertThat(loadedAuthors).containsExactly(List.of("author"));
+    }
+
+    @Test
+    void chargesTheTotalCostOfTheBatchToTheComplexityLimit() throws Exception {
+        // each operation costs 2: post and id
+        BatchRequestFilter filter = filter(5, 2);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request("""
+                [{"query": "{ post(id: \\"1\\") { id } }"},
+                 {"query": "{ post(id: \\"2\\") { id } }"},
+                 {"query": "{ post(id: \\"3\\") { id } }"}]
+                """), response, new MockFilterChain());
+
+        List<Map<String, Object>> results = objectMapper.readValue(response.getContentAsByteArray(), RESULTS);
+        assertThat(results).hasSize(3);
+        assertThat(results).filteredOn(result -> result.containsKey("errors")).singleElement()
+                .satisfies(result -> assertThat(result.get("errors").toString()).contains("QUERY_TOO_COMPLEX"));
+    }
+
+    @Test
+    void restoresTheThreadLocalsOfTheRequestOnThePoolThreads() throws Exception {
+        BatchRequestFilter filter = filter(1000, 4);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ContextRegistry.getInstance().registerThreadLocalAccessor("viewer", VIEWER);
+        VIEWER.set("alice");
+        try {
+            filter.doFilter(request("[" + "{\"query\": \"{ viewer }\"},".repeat(2) + "{\"query\": \"{ viewer }\"}]"),
+                    response, new MockFilterChain());
+        } finally {
+            VIEWER.remove();
+            ContextRegistry.getInstance().removeThreadLocalAccessor("viewer");
+        }
+
+        List<Map<String, Object>> results = objectMapper.readValue(response.getContentAsByteArray(), RESULTS);
+        assertThat(results).extracting(result -> result.get("data"))
+                .containsOnly(Map.of("viewer", "alice@graphql-batch"));
+    }
+
+    @Test
+    void reportsFailedOperationsWithoutTheirCause() throws Exception {
+        BatchRequestFilter filter = filter(1000, 2);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request("""
+                [{"query": "{ post(id: \\"1\\") { id } }"},
+                 {"query": "query Failing { post(id: \\"2\\") { id } }", "operationName": "Failing"}]
+                """), response, new MockFilterChain());
+
+        List<Map<String, Object>> results = objectMapper.readValue(response.getContentAsByteArray(), RESULTS);
+        assertThat(results).hasSize(2);
+        assertThat(results.get(0)).doesNotContainKey("errors");
+        assertThat(results.get(1).get("errors").toString()).contains("Operation failed")
+                .doesNotContain("jdbc:");
+    }
+
+    @Test
+    void rejectsBatchesOverTheOperationLimit() throws Exception {
+        BatchRequestFilter filter = filter(1000, 1);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request("[" + "{\"query\": \"{ post { id } }\"},".repeat(4) + "{\"query\": \"{ post { id } }\"}]"),
+                response, new MockFilterChain());
+
+        assertThat(response.getStatus()).isEqualTo(400);
+        assertThat(response.getContentAsString()).contains("BATCH_TOO_LARGE");
+        assertThat(loadedAuthors).isEmpty();
+    }
+
+    @Test
+    void leavesSingleRequestsToTheGraphQLHandler() throws Exception {
+        BatchRequestFilter filter = filter(1000, 2);
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletRequest request = request("{\"query\": \"{ post { id } }\"}");
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(chain.getRequest().getInputStream().readAllBytes()).isEqualTo(request.getContentAsByteArray());
+    }
+
+    private BatchRequestFilter filter(long maxComplexity, int maxConcurrency) {
+        DefaultBatchLoaderRegistry batchLoaders = new DefaultBatchLoaderRegistry();
+        batchLoaders.forTypePair(String.class, Map.class).withName("author").registerBatchLoader((names, environment) -> {
+            loadedAuthors.add(List.copyOf(names));
+            return Flux.fromIterable(names).map(name -> Map.of("name", name));
+        });
+        GraphQlSource graphQlSource = GraphQlSource.schemaResourceBuilder()
+                .schemaResources(new ByteArrayResource(SDL.getBytes(StandardCharsets.UTF_8)))
+                .configureRuntimeWiring(wiring -> wiring
+                        .type("Query", builder -> builder
+                                .dataFetcher("post", env -> Map.of("id", env.getArgument("id")))
+                                .dataFetcher("viewer", env -> VIEWER.get() + "@"
+                                        + Thread.currentThread().getName().replaceAll("-\\d+$", "")))
+                        .type("Post", builder -> builder.dataFetcher("author",
+                                env -> env.getDataLoader("author").load("author"))))
+                .instrumentation(List.of(new QueryComplexityInstrumentation(
+                        new QueryComplexityAnalyzer(new FieldComplexityWeights(Map.of())), 10, maxComplexity)))
+                .build();
+        DefaultExecutionGraphQlService service = new DefaultExecutionGraphQlService(graphQlSource);
+        service.addDataLoaderRegistrar(batchLoaders);
+        WebGraphQlHandler handler = WebGraphQlHandler.builder(service)
+                .interceptor((request, chain) -> "Failing".equals(request.getOperationName())
+                        ? Mono.error(new IllegalStateException("Connection refused: jdbc:postgresql://db:5432/blog"))
+                        : chain.next(request))
+                .build();
+        execution = new BatchExecution(() -> handler, objectMapper, 4, maxConcurrency);
+        return new BatchRequestFilter("/graphql", execution);
+    }
+
+    private static MockHttpServletRequest request(String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/graphql");
+        request.addHeader("Accept", "application/json");
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
@@ -0,0 +1,171 @@
+package com.enokdev.graphql.autogen.starter.cache;
+
+import com.enokdev.graphql.autogen.annotation.GType;
+import com.enokdev.graphql.autogen.annotation.GraphQLCache;
+import com.enokdev.graphql.autogen.annotation.GraphQLField;
+import com.enokdev.graphql.autogen.annotation.GraphQLMutation;
+import com.enokdev.graphql.autogen.annotation.GraphQLQuery;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.graphql.execution.GraphQlSource;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FieldResultCacheTest {
+
+    private static final String SDL = """
+            type Query {
+              products: [Product]
+              featured(limit: Int): [Product]
+            }
+            type Mutation {
+              rate(productId: ID): Boolean
+            }
+            type Product {
+              id: ID
+              rating(precision: Int): Float
+              stock: Int
+            }
+            """;
+
+    @GType(name = "Product")
+    static class Product {
+        private final String id;
+
+        @GraphQLField
+        @GraphQLCache(scope = GraphQLCache.Scope.REQUEST)
+        private Integer stock;
+
+        Product(String id) {
+            this.id = id;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        @GraphQLField
+        @GraphQLCache(ttl = 5, unit = TimeUnit.MINUTES, tags = "ratings")
+        public Double getRating() {
+            return null;
+        }
+    }
+
+    static class ProductController {
+        @GraphQLQuery
+        @GraphQLCache
+        public List<Product> featured(int limit) {
+            return List.of();
+        }
+
+        @GraphQLMutation(invalidates = "ratings")
+        public boolean rate(String productId) {
+            return true;
+        }
+    }
+
+    @Test
+    void cachesValuesPerParentAndArgumentsUntilAMutationInvalidatesThem() {
+        FieldCacheDefinitions definitions = FieldCacheDefinitions.fromAnnotatedClasses(
+                List.of(Product.class, ProductController.class));
+        FieldResultCache cache = new FieldResultCache(100);
+        AtomicInteger ratings = new AtomicInteger();
+        AtomicInteger featured = new AtomicInteger();
+        GraphQL graphQL = graphQL(definitions, cache, ratings, featured, new AtomicInteger());
+
+        graphQL.execute("{ products { rating } }");
+        ExecutionResult cached = graphQL.execute("{ products { id rating } }");
+        graphQL.execute("{ products { rating(precision: 2) } }");
+        graphQL.execute("{ featured(limit: 1) { id } }");
+        graphQL.execute("{ featured(limit: 1) { id } }");
+        assertThat(ratings).hasValue(4);
+        assertThat(featured).hasValue(1);
+
+        graphQL.execute("mutation { rate(productId: \"1\") }");
+        ExecutionResult refreshed = graphQL.execute("{ products { rating } }");
+        graphQL.execute("{ featured(limit: 1) { id } }");
+
+        assertThat(definitions.getPolicy("Product", "rating").getTags()).containsExactlyInAnyOrder("ratings", "Product.rating");
+        assertThat(cached.<Map<String, Object>>getData()).isEqualTo(Map.of("products", List.of(
+                Map.of("id", "1", "rating", 1.0), Map.of("id", "2", "rating", 2.0))));
+        assertThat(refreshed.getErrors()).isEmpty();
+        assertThat(ratings).hasValue(6);
+        assertThat(featured).hasValue(1);
+        assertThat(cache.getInvalidationCount()).isEqualTo(4);
+        assertThat(cache.getHitCount()).isEqualTo(4);
+    }
+
+    @Test
+    void sharesRequestScopedValuesWithinAnOperationOnly() {
+        FieldCacheDefinitions definitions = FieldCacheDefinitions.fromAnnotatedClasses(List.of(Product.class));
+        AtomicInteger stock = new AtomicInteger();
+        GraphQL graphQL = graphQL(definitions, new FieldResultCache(100), new AtomicInteger(), new AtomicInteger(), stock);
+
+        ExecutionResult result = graphQL.execute("{ products { stock } again: products { stock } }");
+        graphQL.execute("{ products { stock } }");
+
+        assertThat(result.getErrors()).isEmpty();
+        assertThat(stock).hasValue(4);
+    }
+
+    @Test
+    void expiresAndEvictsValues() {
+        AtomicLong clock = new AtomicLong();
+        FieldResultCache cache = new FieldResultCache(2, clock::get);
+        FieldCacheKey first = new FieldCacheKey("Product.rating", "1", Map.of());
+        FieldCacheKey second = new FieldCacheKey("Product.rating", "2", Map.of());
+        FieldCacheKey third = new FieldCacheKey("Product.rating", "3", Map.of());
+
+        cache.put(first, 1.0, 10, Set.of());
+        clock.set(2_000_000);
+        cache.put(second, 2.0, 1_000_000_000, Set.of());
+        clock.set(4_000_000);
+        cache.put(third, 3.0, 1_000_000_000, Set.of());
+        assertThat(cache.get(first)).isNull();
+        assertThat(cache.getExpirationCount()).isEqualTo(1);
+        assertThat(cache.getEvictionCount()).isZero();
+
+        clock.set(6_000_000);
+        assertThat(cache.get(second)).isEqualTo(2.0);
+        cache.put(first, 1.0, 1_000_000_000, Set.of());
+
+        assertThat(cache.get(third)).isNull();
+        assertThat(cache.get(second)).isEqualTo(2.0);
+        assertThat(cache.getEvictionCount()).isEqualTo(1);
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    private static GraphQL graphQL(FieldCacheDefinitions definitions, FieldResultCache cache,
+                                   AtomicInteger ratings, AtomicInteger featured, AtomicInteger stock) {
+        return GraphQlSource.schemaResourceBuilder()
+                .schemaResources(new ByteArrayResource(SDL.getBytes()))
+                .configureRuntimeWiring(wiring -> wiring
+                        .type("Query", builder -> builder
+                                .dataFetcher("products", env -> List.of(new Product("1"), new Product("2")))
+                                .dataFetcher("featured", env -> {
+                                    featured.incrementAndGet();
+                                    return List.of(new Product("1"));
+                                }))
+                        .type("Mutation", builder -> builder.dataFetcher("rate", env -> true))
+                        .type("Product", builder -> builder
+                                .dataFetcher("rating", env -> {
+                                    ratings.incrementAndGet();
+                                    Product product = env.getSource();
+                                    return CompletableFuture.completedFuture(Double.valueOf(product.getId()));
+                                })
+                                .dataFetcher("stock", env -> stock.incrementAndGet())))
+                .typeVisitors(List.of(new FieldCacheTypeVisitor(definitions, cache)))
+                .build()
+                .graphQl();
+    }
+}
@@ -0,0 +1,170 @@
+package com.enokdev.graphql.autogen.starter.cache;
+
+import com.enokdev.graphql.autogen.annotation.GType;
+import com.enokdev.graphql.autogen.annotation.GraphQLMutation;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import graphql.GraphQL;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServlet;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseCacheTest {
+
+    private static final String SDL = """
+            type Query {
+              products(category: String, first: Int): [Product]
+              prices: [Price]
+              carts: [Cart]
+            }
+            type Mutation {
+              updateProduct(id: ID): Product
+              clearPrices: Boolean
+            }
+            type Product {
+              name: String
+              price: Price
+            }
+            type Price {
+              amount: Float
+            }
+            type Cart {
+              total: Float
+            }
+            """;
+
+    private static final GraphQLSchema SCHEMA = new SchemaGenerator().makeExecutableSchema(
+            new SchemaParser().parse(SDL),
+            RuntimeWiring.newRuntimeWiring()
+                    .type("Mutation", builder -> builder
+                            .dataFetcher("updateProduct", env -> Map.of("name", "updated"))
+                            .dataFetcher("clearPrices", env -> true))
+                    .build());
+
+    @GType(name = "Price", responseCacheTtl = 10)
+    static class Price {
+    }
+
+    @GType(name = "Cart", responseCacheTtl = 0)
+    static class Cart {
+    }
+
+    static class PriceController {
+        @GraphQLMutation(invalidates = "Price")
+        public boolean clearPrices() {
+            return true;
+        }
+    }
+
+    private final ResponseCachePolicy policy = ResponseCachePolicy.fromAnnotatedClasses(
+            List.of(Price.class, Cart.class, PriceController.class), Duration.ofMinutes(1));
+    private final ResponseCache cache = new ResponseCache(100);
+    private final ResponseCacheKeyResolver resolver = new ResponseCacheKeyResolver(new ObjectMapper(), () -> SCHEMA,
+            policy, List.of("Authorization"), cache);
+
+    @Test
+    void keysNormalizedOperationsVariablesAndCallers() {
+        ResponseCacheKeyResolver.CacheableRequest request = resolve("""
+                {"query": "query Catalog($c: String, $n: Int) { products(category: $c, first: $n) { name price { amount } } }",
+                 "variables": {"c": "books", "n": 10}}""", null);
+        ResponseCacheKeyResolver.CacheableRequest reformatted = resolve("""
+                {"query": "query Catalog($c: String, $n: Int) {\\n  # catalogue\\n  products(category: $c, first: $n) {\\n    name\\n    price { amount }\\n  }\\n}",
+                 "variables": {"n": 10, "c": "books"}}""", null);
+        ResponseCacheKeyResolver.CacheableRequest otherVariables = resolve("""
+                {"query": "query Catalog($c: String, $n: Int) { products(category: $c, first: $n) { name price { amount } } }",
+                 "variables": {"c": "music", "n": 10}}""", null);
+        ResponseCacheKeyResolver.CacheableRequest authenticated = resolve("""
+                {"query": "query Catalog($c: String, $n: Int) { products(category: $c, first: $n) { name price { amount } } }",
+                 "variables": {"c": "books", "n": 10}}""", "Bearer token");
+
+        assertThat(reformatted.getKey()).isEqualTo(request.getKey());
+        assertThat(otherVariables.getKey()).isNotEqualTo(request.getKey());
+        assertThat(authenticated.getKey()).isNotEqualTo(request.getKey());
+        assertThat(request.getTypes()).containsExactlyInAnyOrder("Product", "Price");
+        assertThat(request.getTtlNanos()).isEqualTo(Duration.ofSeconds(10).toNanos());
+        assertThat(resolve("{\"query\": \"{ products { name } }\"}", null).getTtlNanos())
+                .isEqualTo(Duration.ofMinutes(1).toNanos());
+        assertThat(resolve("{\"query\": \"{ carts { total } }\"}", null)).isNull();
+        assertThat(resolve("{\"query\": \"mutation { clearPrices }\"}", null)).isNull();
+    }
+
+    @Test
+    void servesHitsWithoutReachingTheGraphQLEndpoint() throws Exception {
+        ResponseCacheFilter filter = new ResponseCacheFilter("/graphql", resolver, cache);
+        AtomicInteger executions = new AtomicInteger();
+        byte[] responseBody = "{\"data\":{\"prices\":[{\"amount\":1.5}]}}".getBytes(StandardCharsets.UTF_8);
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+        }) {
+            @Override
+            public void doFilter(ServletRequest request, ServletResponse response) {
+                // stands for the GraphQL endpoint and the ResponseCacheInterceptor
+                executions.incrementAndGet();
+                ResponseCacheKeyResolver.CacheableRequest cacheable = (ResponseCacheKeyResolver.CacheableRequest)
+                        request.getAttribute(ResponseCacheInterceptor.CACHEABLE_REQUEST_ATTRIBUTE);
+                cache.put(cacheable.getKey(), responseBody, cacheable.getTtlNanos(), cacheable.getTypes(),
+                        cacheable.getGeneration());
+            }
+        };
+
+        filter.doFilter(request("{\"query\": \"{ prices { amount } }\"}"), new MockHttpServletResponse(), chain);
+        MockHttpServletResponse hit = new MockHttpServletResponse();
+        MockHttpServletRequest hitRequest = request("{\"query\": \"{prices{amount}}\"}");
+        hitRequest.addHeader("Accept", "application/graphql-response+json");
+        filter.doFilter(hitRequest, hit, new MockFilterChain());
+
+        assertThat(executions).hasValue(1);
+        assertThat(hit.getContentAsByteArray()).isEqualTo(responseBody);
+        assertThat(hit.getContentType()).isEqualTo("application/graphql-response+json");
+        assertThat(cache.getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void mutationsInvalidateTheTypesTheyTouch() {
+        GraphQL graphQL = GraphQL.newGraphQL(SCHEMA)
+                .instrumentation(new ResponseCacheInvalidationInstrumentation(policy, cache))
+                .build();
+        cache.put("products", new byte[0], Long.MAX_VALUE / 2, Set.of("Product", "Price"), cache.getGeneration());
+        cache.put("prices", new byte[0], Long.MAX_VALUE / 2, Set.of("Price"), cache.getGeneration());
+        long generation = cache.getGeneration();
+
+        graphQL.execute("mutation { updateProduct(id: 1) { name } }");
+        boolean stale = cache.put("stale", new byte[0], Long.MAX_VALUE / 2, Set.of("Cart"), generation);
+
+        assertThat(cache.get("products")).isNull();
+        assertThat(cache.get("prices")).isNotNull();
+        assertThat(stale).isFalse();
+
+        graphQL.execute("mutation { clearPrices }");
+
+        assertThat(cache.get("prices")).isNull();
+        assertThat(cache.getInvalidationCount()).isEqualTo(2);
+    }
+
+    private ResponseCacheKeyResolver.CacheableRequest resolve(String body, String authorization) {
+        return resolver.resolve(body.getBytes(StandardCharsets.UTF_8),
+                header -> header.equals("Authorization") ? authorization : null, null);
+    }
+
+    private static MockHttpServletRequest request(String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/graphql");
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
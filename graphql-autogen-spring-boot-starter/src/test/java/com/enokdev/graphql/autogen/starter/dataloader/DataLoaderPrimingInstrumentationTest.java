@@ -0,0 +1,143 @@
+package com.enokdev.graphql.autogen.starter.dataloader;
+
+import com.enokdev.graphql.autogen.annotation.GType;
+import com.enokdev.graphql.autogen.annotation.GraphQLDataLoader;
+import com.enokdev.graphql.autogen.annotation.GraphQLField;
+import com.enokdev.graphql.autogen.annotation.GraphQLId;
+import com.enokdev.graphql.autogen.generator.DefaultDataLoaderGeneratorComplete;
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import org.dataloader.BatchLoader;
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderFactory;
+import org.dataloader.DataLoaderRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DataLoaderPrimingInstrumentationTest {
+
+    private static final String SDL = """
+            type Query {
+              authors: [Author]
+              posts: [Post]
+            }
+            type Author {
+              id: ID
+              name: String
+            }
+            type Post {
+              title: String
+              author: Author
+            }
+            """;
+
+    private static final List<Author> AUTHORS = List.of(new Author(1L, "Alice"), new Author(2L, "Bob"));
+    private static final List<Post> POSTS = List.of(new Post("First", 1L), new Post("Second", 2L));
+
+    private final AtomicInteger batchLoads = new AtomicInteger();
+
+    @Test
+    void primesDataLoaderWithEntitiesReturnedByRootQuery() {
+        GraphQL graphQL = graphQL(new DataLoaderPrimingInstrumentation(
+                new DefaultDataLoaderGeneratorComplete(), List.of(Post.class, Author.class)));
+
+        ExecutionResult result = execute(graphQL, "{ authors { id } posts { title author { name } } }");
+
+        assertThat(result.getErrors()).isEmpty();
+        assertThat(batchLoads).hasValue(0);
+        Map<String, Object> data = result.getData();
+        assertThat(data.get("posts").toString()).contains("Alice", "Bob");
+    }
+
+    @Test
+    void batchLoaderIsUsedWhenNothingWasPrimed() {
+        GraphQL graphQL = graphQL(new DataLoaderPrimingInstrumentation(
+                new DefaultDataLoaderGeneratorComplete(), List.of(Post.class, Author.class)));
+
+        ExecutionResult result = execute(graphQL, "{ posts { title author { name } } }");
+
+        assertThat(result.getErrors()).isEmpty();
+        assertThat(batchLoads).hasValue(1);
+    }
+
+    private GraphQL graphQL(DataLoaderPrimingInstrumentation instrumentation) {
+        RuntimeWiring wiring = RuntimeWiring.newRuntimeWiring()
+                .type("Query", builder -> builder
+                        .dataFetcher("authors", env -> AUTHORS)
+                        .dataFetcher("posts", env -> POSTS))
+                .type("Post", builder -> builder
+                        .dataFetcher("author", env -> env.<Long, Author>getDataLoader("authorDataLoader")
+                                .load(env.<Post>getSource().getAuthorId())))
+                .build();
+        GraphQLSchema schema = new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(SDL), wiring);
+        return GraphQL.newGraphQL(schema).instrumentation(instrumentation).build();
+    }
+
+    private ExecutionResult execute(GraphQL graphQL, String query) {
+        BatchLoader<Long, Author> batchLoader = keys -> {
+            batchLoads.incrementAndGet();
+            return CompletableFuture.completedFuture(keys.stream()
+                    .map(key -> AUTHORS.stream().filter(author -> author.getId().equals(key)).findFirst().orElse(null))
+                    .toList());
+        };
+        DataLoader<Long, Author> dataLoader = DataLoaderFactory.newDataLoader(batchLoader);
+        DataLoaderRegistry registry = DataLoaderRegistry.newRegistry().register("authorDataLoader", dataLoader).build();
+
+        return graphQL.execute(ExecutionInput.newExecutionInput(query).dataLoaderRegistry(registry).build());
+    }
+
+    @GType
+    public static class Author {
+        @GraphQLId
+        private final Long id;
+        @GraphQLField
+        private final String name;
+
+        Author(Long id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    @GType
+    public static class Post {
+        @GraphQLField
+        private final String title;
+        private final Long authorId;
+        @GraphQLField
+        @GraphQLDataLoader(name = "authorDataLoader", keyProperty = "authorId")
+        private Author author;
+
+        Post(String title, Long authorId) {
+            this.title = title;
+            this.authorId = authorId;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public Long getAuthorId() {
+            return authorId;
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.enokdev.graphql.autogen.starter.execution;
+
+import com.enokdev.graphql.autogen.starter.cache.ResponseCache;
+import com.enokdev.graphql.autogen.starter.cache.ResponseCacheFilter;
+import com.enokdev.graphql.autogen.starter.cache.ResponseCacheInterceptor;
+import com.enokdev.graphql.autogen.starter.cache.ResponseCacheKeyResolver;
+import com.enokdev.graphql.autogen.starter.cache.ResponseCachePolicy;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.GraphQLError;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.annotation.AnnotationAwareOrderComparator;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class PersistedQueryDocumentProviderTest {
+
+    private static final String QUERY = "{ hello }";
+    private static final String HASH = PersistedQueryDocumentProvider.sha256(QUERY);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void registersQueriesSentWithTheirHash() {
+        PreparsedDocumentCache documentCache = new PreparsedDocumentCache(10);
+        GraphQL graphQL = graphQL(new PersistedQueryDocumentProvider(new InMemoryPersistedQueryStore(10), documentCache, false));
+
+        ExecutionResult unknown = graphQL.execute(request(PersistedQuerySupport.PERSISTED_QUERY_MARKER, HASH));
+        ExecutionResult registered = graphQL.execute(request(QUERY, HASH));
+        ExecutionResult byHash = graphQL.execute(request(PersistedQuerySupport.PERSISTED_QUERY_MARKER, HASH));
+        ExecutionResult mismatch = graphQL.execute(request("{ other: hello }", HASH));
+
+        assertThat(codes(unknown)).containsExactly("PERSISTED_QUERY_NOT_FOUND");
+        assertThat(unknown.getErrors().get(0).getMessage()).isEqualTo("PersistedQueryNotFound");
+        assertThat(registered.<Object>getData()).isEqualTo(Map.of("hello", "world"));
+        assertThat(byHash.<Object>getData()).isEqualTo(Map.of("hello", "world"));
+        assertThat(codes(mismatch)).containsExactly("PERSISTED_QUERY_HASH_MISMATCH");
+        assertThat(documentCache.getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void allowlistOnlyRunsManifestOperations() throws Exception {
+        String manifest = """
+                {"format": "apollo-persisted-query-manifest", "version": 1,
+                 "operations": [{"id": "%s", "name": "Hello", "type": "query", "body": "%s"}]}
+                """.formatted(HASH, QUERY);
+        InMemoryPersistedQueryStore store = new InMemoryPersistedQueryStore(10);
+        int loaded = PersistedQueryManifest.load(input(manifest), new ObjectMapper(), store);
+        GraphQL graphQL = graphQL(new PersistedQueryDocumentProvider(store, null, true));
+
+        ExecutionResult byHash = graphQL.execute(request(PersistedQuerySupport.PERSISTED_QUERY_MARKER, HASH));
+        ExecutionResult inFull = graphQL.execute(ExecutionInput.newExecutionInput(QUERY));
+        ExecutionResult unregistered = graphQL.execute(ExecutionInput.newExecutionInput("{ other: hello }"));
+        String otherHash = PersistedQueryDocumentProvider.sha256("{ other: hello }");
+        ExecutionResult unregisteredWithHash = graphQL.execute(request("{ other: hello }", otherHash));
+
+        assertThat(loaded).isEqualTo(1);
+        assertThat(byHash.getErrors()).isEmpty();
+        assertThat(inFull.getErrors()).isEmpty();
+        assertThat(codes(unregistered)).containsExactly("PERSISTED_QUERY_NOT_ALLOWED");
+        assertThat(codes(unregisteredWithHash)).containsExactly("PERSISTED_QUERY_NOT_ALLOWED");
+        assertThat(store.getQuery(otherHash)).isNull();
+    }
+
+    @Test
+    void rejectsManifestsWithStaleHashes() {
+        String manifest = "{\"%s\": \"{ other: hello }\"}".formatted(HASH);
+
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> PersistedQueryManifest.read(input(manifest), new ObjectMapper()))
+                .withMessageContaining(HASH);
+    }
+
+    @Test
+    void fileStoreKeepsQueriesAcrossInstances() {
+        new FilePersistedQueryStore(tempDir).putQuery(HASH, QUERY);
+
+        FilePersistedQueryStore reopened = new FilePersistedQueryStore(tempDir);
+
+        assertThat(reopened.getQuery(HASH)).isEqualTo(QUERY);
+        assertThat(reopened.getQuery("../" + HASH)).isNull();
+        assertThat(tempDir.resolve(HASH + ".graphql")).hasContent(QUERY);
+    }
+
+    @Test
+    void expandsHashOnlyHttpBodiesWithTheRegisteredQuery() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        InMemoryPersistedQueryStore store = new InMemoryPersistedQueryStore(10);
+        store.putQuery(HASH, QUERY);
+        String unknown = PersistedQueryDocumentProvider.sha256("{ other }");
+
+        byte[] expanded = PersistedQueryRequests.expand(hashOnly(HASH).getBytes(StandardCharsets.UTF_8),
+                objectMapper, store);
+        byte[] completed = PersistedQueryRequests.expand(hashOnly(unknown).getBytes(StandardCharsets.UTF_8),
+                objectMapper, store);
+
+        assertThat(new String(expanded, StandardCharsets.UTF_8))
+                .contains("\"query\":\"" + QUERY + "\"", "\"sha256Hash\":\"" + HASH + "\"");
+        assertThat(new String(completed, StandardCharsets.UTF_8))
+                .contains("\"query\":\"" + PersistedQuerySupport.PERSISTED_QUERY_MARKER + "\"");
+        assertThat(PersistedQueryRequests.expand(
+                "{\"query\":\"{ hello }\"}".getBytes(StandardCharsets.UTF_8), objectMapper, store)).isNull();
+    }
+
+    @Test
+    void expandsHashOnlyRequestsBeforeTheOtherFilters() throws Exception {
+        InMemoryPersistedQueryStore store = new InMemoryPersistedQueryStore(10);
+        store.putQuery(HASH, QUERY);
+        List<String> bodies = new ArrayList<>();
+        GraphQlRequestFilter following = new GraphQlRequestFilter("/graphql", GraphQlRequestFilter.RESPONSE_CACHE_ORDER) {
+            @Override
+            protected void doFilterBody(HttpServletRequest request, byte[] body, HttpServletResponse response,
+                                        FilterChain filterChain) throws ServletException, IOException {
+                bodies.add(new String(body, StandardCharsets.UTF_8));
+                proceed(request, body, response, filterChain);
+            }
+        };
+        List<GraphQlRequestFilter> filters = new ArrayList<>(List.of(following,
+                new PersistedQueryRequestFilter("/graphql", new ObjectMapper(), store)));
+        filters.sort(AnnotationAwareOrderComparator.INSTANCE);
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+                bodies.add(new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }, filters.toArray(Filter[]::new));
+
+        chain.doFilter(httpRequest(hashOnly(HASH)), new MockHttpServletResponse());
+
+        assertThat(bodies).hasSize(2).allSatisfy(body -> assertThat(body).contains("\"query\":\"" + QUERY + "\""));
+        assertThat(GraphQlRequestFilter.PERSISTED_QUERY_ORDER).isLessThan(GraphQlRequestFilter.RESPONSE_CACHE_ORDER)
+                .isLessThan(GraphQlRequestFilter.BATCH_ORDER)
+                .isLessThan(GraphQlRequestFilter.INCREMENTAL_DELIVERY_ORDER)
+                .isLessThan(GraphQlRequestFilter.STREAMING_ORDER);
+    }
+
+    @Test
+    void hashOnlyRequestsHitTheResponseCache() throws Exception {
+        InMemoryPersistedQueryStore store = new InMemoryPersistedQueryStore(10);
+        store.putQuery(HASH, QUERY);
+        ResponseCache cache = new ResponseCache(10);
+        GraphQLSchema schema = schema();
+        ResponseCacheKeyResolver resolver = new ResponseCacheKeyResolver(new ObjectMapper(),
+                () -> schema,
+                new ResponseCachePolicy(Map.of(), Map.of(), Duration.ofMinutes(1)), List.of(), cache);
+        byte[] responseBody = "{\"data\":{\"hello\":\"world\"}}".getBytes(StandardCharsets.UTF_8);
+        AtomicInteger executions = new AtomicInteger();
+        HttpServlet endpoint = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) {
+                // stands for the GraphQL endpoint and the ResponseCacheInterceptor
+                executions.incrementAndGet();
+                ResponseCacheKeyResolver.CacheableRequest cacheable = (ResponseCacheKeyResolver.CacheableRequest)
+                        request.getAttribute(ResponseCacheInterceptor.CACHEABLE_REQUEST_ATTRIBUTE);
+                cache.put(cacheable.getKey(), responseBody, cacheable.getTtlNanos(), cacheable.getTypes(),
+                        cacheable.getGeneration());
+            }
+        };
+        Filter[] filters = {new PersistedQueryRequestFilter("/graphql", new ObjectMapper(), store),
+                new ResponseCacheFilter("/graphql", resolver, cache)};
+
+        new MockFilterChain(endpoint, filters).doFilter(httpRequest("{\"query\": \"" + QUERY + "\"}"),
+                new MockHttpServletResponse());
+        MockHttpServletResponse hit = new MockHttpServletResponse();
+        new MockFilterChain(endpoint, filters).doFilter(httpRequest(hashOnly(HASH)), hit);
+
+        assertThat(executions).hasValue(1);
+        assertThat(hit.getContentAsByteArray()).isEqualTo(responseBody);
+        assertThat(cache.getHitCount()).isEqualTo(1);
+    }
+
+    private static String hashOnly(String hash) {
+        return "{\"extensions\":{\"persistedQuery\":{\"version\":1,\"sha256Hash\":\"" + hash + "\"}}}";
+    }
+
+    private static MockHttpServletRequest httpRequest(String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/graphql");
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private static GraphQL graphQL(PersistedQueryDocumentProvider provider) {
+        return GraphQL.newGraphQL(schema())
+                .preparsedDocumentProvider(provider)
+                .build();
+    }
+
+    private static GraphQLSchema schema() {
+        return new SchemaGenerator().makeExecutableSchema(
+                new SchemaParser().parse("type Query { hello: String }"),
+                RuntimeWiring.newRuntimeWiring()
+                        .type("Query", builder -> builder.dataFetcher("hello", env -> "world"))
+                        .build());
+    }
+
+    private static ExecutionInput request(String query, String hash) {
+        return ExecutionInput.newExecutionInput(query)
+                .extensions(Map.of("persistedQuery", Map.of("version", 1, "sha256Hash", hash)))
+                .build();
+    }
+
+    private static Object[] codes(ExecutionResult result) {
+        return result.getErrors().stream().map(GraphQLError::getExtensions).map(extensions -> extensions.get("code")).toArray();
+    }
+
+    private static ByteArrayInputStream input(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,113 @@
+package com.enokdev.graphql.autogen.starter.execution;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.parser.Parser;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PreparsedDocumentCacheTest {
+
+    @Test
+    void servesRepeatedQueriesFromTheCache() {
+        PreparsedDocumentCache cache = new PreparsedDocumentCache(10);
+        GraphQL graphQL = GraphQL.newGraphQL(schema("type Query { hello: String }"))
+                .preparsedDocumentProvider(cache)
+                .build();
+
+        ExecutionResult first = graphQL.execute("{ hello }");
+        ExecutionResult second = graphQL.execute("{ hello }");
+        ExecutionResult invalid = graphQL.execute("{ missing }");
+        ExecutionResult invalidAgain = graphQL.execute("{ missing }");
+
+        assertThat(first.<Object>getData()).isEqualTo(second.getData());
+        assertThat(invalidAgain.getErrors()).hasSameSizeAs(invalid.getErrors()).isNotEmpty();
+        assertThat(cache.getMissCount()).isEqualTo(2);
+        assertThat(cache.getHitCount()).isEqualTo(2);
+        assertThat(cache.getHitRate()).isEqualTo(0.5);
+        assertThat(cache.size()).isEqualTo(2);
+
+        MeterRegistry registry = new SimpleMeterRegistry();
+        new DocumentCacheMeterBinder(cache).bindTo(registry);
+        assertThat(registry.get("graphql.autogen.document.cache.gets").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(2);
+        assertThat(registry.get("graphql.autogen.document.cache.size").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedDocument() {
+        PreparsedDocumentCache cache = new PreparsedDocumentCache(2);
+        AtomicInteger parses = new AtomicInteger();
+        Function<ExecutionInput, PreparsedDocumentEntry> parse = input -> {
+            parses.incrementAndGet();
+            return new PreparsedDocumentEntry(Parser.parse(input.getQuery()));
+        };
+
+        cache.getDocumentAsync(input("{ a }"), parse);
+        cache.getDocumentAsync(input("{ b }"), parse);
+        cache.getDocumentAsync(input("{ a }"), parse);
+        cache.getDocumentAsync(input("{ c }"), parse);
+        cache.getDocumentAsync(input("{ a }"), parse);
+        cache.getDocumentAsync(input("{ b }"), parse);
+
+        assertThat(parses).hasValue(4);
+        assertThat(cache.getEvictionCount()).isEqualTo(2);
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    void staysWithinTheMaximumSizeAcrossSegments() {
+        PreparsedDocumentCache cache = new PreparsedDocumentCache(1000);
+        Function<ExecutionInput, PreparsedDocumentEntry> parse =
+                input -> new PreparsedDocumentEntry(Parser.parse(input.getQuery()));
+
+        IntStream.range(0, 5000).parallel().forEach(i -> cache.getDocumentAsync(input("{ f" + i + " }"), parse));
+
+        assertThat(cache.size()).isLessThanOrEqualTo(1000).isGreaterThan(900);
+        assertThat(cache.getEvictionCount()).isEqualTo(5000 - cache.size());
+    }
+
+    @Test
+    void neverServesADocumentValidatedAgainstAnotherSchema() {
+        GraphQLSchema withHello = schema("type Query { hello: String }");
+        GraphQLSchema withoutHello = schema("type Query { goodbye: String }");
+        AtomicReference<GraphQLSchema> served = new AtomicReference<>(withHello);
+        PreparsedDocumentCache cache = new PreparsedDocumentCache(10, served::get);
+
+        ExecutionResult before = GraphQL.newGraphQL(withHello).preparsedDocumentProvider(cache).build()
+                .execute("{ hello }");
+        served.set(withoutHello);
+        ExecutionResult after = GraphQL.newGraphQL(withoutHello).preparsedDocumentProvider(cache).build()
+                .execute("{ hello }");
+
+        assertThat(before.getErrors()).isEmpty();
+        assertThat(after.getErrors()).isNotEmpty();
+        assertThat(cache.getMissCount()).isEqualTo(2);
+
+        cache.invalidate();
+        assertThat(cache.size()).isZero();
+    }
+
+    private static ExecutionInput input(String query) {
+        return ExecutionInput.newExecutionInput(query).build();
+    }
+
+    private static GraphQLSchema schema(String sdl) {
+        return new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(sdl),
+                RuntimeWiring.newRuntimeWiring().build());
+    }
+}
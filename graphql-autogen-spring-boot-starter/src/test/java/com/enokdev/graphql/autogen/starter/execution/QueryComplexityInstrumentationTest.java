@@ -0,0 +1,172 @@
+package com.enokdev.graphql.autogen.starter.execution;
+
+import com.enokdev.graphql.autogen.annotation.GType;
+import com.enokdev.graphql.autogen.annotation.GraphQLField;
+import com.enokdev.graphql.autogen.annotation.GraphQLQuery;
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.GraphQLError;
+import graphql.language.FragmentDefinition;
+import graphql.language.OperationDefinition;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueryComplexityInstrumentationTest {
+
+    private static final String SDL = """
+            type Query {
+              products(first: Int = 10): [Product]
+              product: Product
+            }
+            type Product {
+              name: String
+              rating: Float
+              related(pageSize: Int): [Product]
+            }
+            """;
+
+    @GType(name = "Product")
+    static class Product {
+        @GraphQLField(complexity = 5)
+        private Double rating;
+    }
+
+    static class ProductController {
+        @GraphQLQuery(complexity = 2)
+        public Product product() {
+            return null;
+        }
+    }
+
+    @Test
+    void computesCostFromWeightsAndSizeArguments() {
+        FieldComplexityWeights weights = FieldComplexityWeights.fromAnnotatedClasses(
+                List.of(Product.class, ProductController.class), Map.of("Product.name", 3));
+        QueryComplexityAnalyzer analyzer = new QueryComplexityAnalyzer(weights);
+        QueryComplexityInstrumentation instrumentation = new QueryComplexityInstrumentation(analyzer, 3, 1000);
+        AtomicInteger fetches = new AtomicInteger();
+        GraphQL graphQL = graphQL(instrumentation, fetches);
+
+        // products: 1 + 10 * (name 3 + rating 5) = 81
+        ExecutionInput defaults = ExecutionInput.newExecutionInput("{ products { name rating } }").build();
+        // product: 2 + (related: 1 + 4 * name 3) = 15
+        ExecutionInput variables = ExecutionInput.newExecutionInput(
+                "query($size: Int) { product { related(pageSize: $size) { ...named } } } fragment named on Product { name }")
+                .variables(Map.of("size", 4))
+                .build();
+        graphQL.execute(defaults);
+        graphQL.execute(variables);
+        ExecutionResult tooExpensive = graphQL.execute("{ products(first: 500) { name } }");
+
+        assertThat(weights.getWeight("Query", "product")).isEqualTo(2);
+        assertThat(complexity(defaults)).isEqualTo(81);
+        assertThat(complexity(variables)).isEqualTo(15);
+        assertThat(codes(tooExpensive)).containsExactly("QUERY_TOO_COMPLEX");
+        assertThat(fetches).hasValue(2);
+    }
+
+    @Test
+    void countsAbsentSizeVariablesFromTheirDefaults() {
+        QueryComplexityAnalyzer analyzer = new QueryComplexityAnalyzer(new FieldComplexityWeights(Map.of()),
+                QueryComplexityAnalyzer.DEFAULT_MAXIMUM_PLANS, 50);
+        GraphQL graphQL = graphQL(new QueryComplexityInstrumentation(analyzer, 3, 10_000), new AtomicInteger());
+
+        // products: 1 + 3 * name 1 = 4, from the default of the variable
+        ExecutionInput variableDefault = ExecutionInput.newExecutionInput(
+                "query($n: Int = 3) { products(first: $n) { name } }").build();
+        // products: 1 + 10 * name 1 = 11, from the default of the argument
+        ExecutionInput argumentDefault = ExecutionInput.newExecutionInput(
+                "query($n: Int) { products(first: $n) { name } }").build();
+        // product: 1 + (related: 1 + 50 * name 1) = 52, from the maximum list size
+        ExecutionInput maximum = ExecutionInput.newExecutionInput(
+                "query($n: Int) { product { related(pageSize: $n) { name } } }").build();
+        // product: 1 + (related: 1 + 50 * name 1) = 52, from the maximum list size
+        ExecutionInput omitted = ExecutionInput.newExecutionInput("{ product { related { name } } }").build();
+        graphQL.execute(variableDefault);
+        graphQL.execute(argumentDefault);
+        graphQL.execute(maximum);
+        graphQL.execute(omitted);
+
+        assertThat(complexity(variableDefault)).isEqualTo(4);
+        assertThat(complexity(argumentDefault)).isEqualTo(11);
+        assertThat(complexity(maximum)).isEqualTo(52);
+        assertThat(complexity(omitted)).isEqualTo(52);
+    }
+
+    @Test
+    void reusesPlansOfRepeatedQueriesWithoutTheDocumentCache() {
+        AtomicInteger compilations = new AtomicInteger();
+        QueryComplexityAnalyzer analyzer = new QueryComplexityAnalyzer(new FieldComplexityWeights(Map.of())) {
+            @Override
+            CostPlan compile(OperationDefinition operation, GraphQLSchema schema, Map<String, FragmentDefinition> fragments) {
+                compilations.incrementAndGet();
+                return super.compile(operation, schema, fragments);
+            }
+        };
+        GraphQL graphQL = graphQL(new QueryComplexityInstrumentation(analyzer, 3, 10_000), new AtomicInteger());
+        String query = "query($n: Int) { products(first: $n) { name } }";
+
+        // products: 1 + n * name 1
+        ExecutionInput two = ExecutionInput.newExecutionInput(query).variables(Map.of("n", 2)).build();
+        ExecutionInput five = ExecutionInput.newExecutionInput(query).variables(Map.of("n", 5)).build();
+        graphQL.execute(two);
+        graphQL.execute(five);
+        graphQL.execute("{ product { name } }");
+
+        assertThat(complexity(two)).isEqualTo(3);
+        assertThat(complexity(five)).isEqualTo(6);
+        assertThat(compilations).hasValue(2);
+    }
+
+    @Test
+    void rejectsDeepQueriesBeforeAnyFetch() {
+        QueryComplexityInstrumentation instrumentation = new QueryComplexityInstrumentation(
+                new QueryComplexityAnalyzer(new FieldComplexityWeights(Map.of())), 3, 1000);
+        AtomicInteger fetches = new AtomicInteger();
+        GraphQL graphQL = graphQL(instrumentation, fetches);
+
+        ExecutionResult deep = graphQL.execute("{ product { related { related { name } } } }");
+        ExecutionResult introspection = graphQL.execute("{ __schema { types { fields { type { ofType { name } } } } } }");
+
+        assertThat(codes(deep)).containsExactly("QUERY_TOO_DEEP");
+        assertThat(deep.<Object>getData()).isNull();
+        assertThat(introspection.getErrors()).isEmpty();
+        assertThat(fetches).hasValue(0);
+    }
+
+    private static GraphQL graphQL(QueryComplexityInstrumentation instrumentation, AtomicInteger fetches) {
+        RuntimeWiring wiring = RuntimeWiring.newRuntimeWiring()
+                .type("Query", builder -> builder
+                        .dataFetcher("products", env -> {
+                            fetches.incrementAndGet();
+                            return List.of(Map.of("name", "a", "rating", 4.5));
+                        })
+                        .dataFetcher("product", env -> {
+                            fetches.incrementAndGet();
+                            return Map.of("name", "a", "related", List.of());
+                        }))
+                .build();
+        return GraphQL.newGraphQL(new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(SDL), wiring))
+                .instrumentation(instrumentation)
+                .build();
+    }
+
+    private static long complexity(ExecutionInput executionInput) {
+        QueryComplexity complexity = executionInput.getGraphQLContext().get(QueryComplexity.class);
+        return complexity.getComplexity();
+    }
+
+    private static Object[] codes(ExecutionResult result) {
+        return result.getErrors().stream().map(GraphQLError::getExtensions).map(extensions -> extensions.get("code")).toArray();
+    }
+}
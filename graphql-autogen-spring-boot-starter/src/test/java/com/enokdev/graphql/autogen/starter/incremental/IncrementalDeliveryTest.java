@@ -0,0 +1,83 @@
+package com.enokdev.graphql.autogen.starter.incremental;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.graphql.execution.DefaultExecutionGraphQlService;
+import org.springframework.graphql.execution.GraphQlSource;
+import org.springframework.graphql.server.WebGraphQlHandler;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IncrementalDeliveryTest {
+
+    private static final String SDL = """
+            type Query {
+              product: Product
+            }
+            type Product {
+              name: String
+              reviews: [String]
+            }
+            """;
+
+    private final IncrementalDeliveryFilter filter = new IncrementalDeliveryFilter("/graphql",
+            new IncrementalDelivery(IncrementalDeliveryTest::handler, new ObjectMapper()));
+
+    @Test
+    void deliversDeferredFragmentsAsMultipartParts() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request("multipart/mixed;deferSpec=20220824, application/json",
+                "{\"query\": \"{ product { name ... @defer(label: \\\"slow\\\") { reviews } } }\"}"),
+                response, new MockFilterChain());
+
+        String body = response.getContentAsString();
+        assertThat(response.getContentType()).startsWith("multipart/mixed");
+        assertThat(body.split("\r\n---\r\nContent-Type: application/json; charset=utf-8\r\n\r\n"))
+                .containsExactly("",
+                        "{\"data\":{\"product\":{\"name\":\"Lamp\"}},\"hasNext\":true}",
+                        "{\"hasNext\":false,\"incremental\":[{\"path\":[\"product\"],\"label\":\"slow\",\"data\":{\"reviews\":[\"bright\",\"sturdy\"]}}]}\r\n-----\r\n");
+    }
+
+    @Test
+    void leavesOtherRequestsToTheGraphQLHandler() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletRequest request = request("application/json",
+                "{\"query\": \"{ product { name ... @defer { reviews } } }\"}");
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(chain.getRequest().getInputStream().readAllBytes()).isEqualTo(request.getContentAsByteArray());
+    }
+
+    private static WebGraphQlHandler handler() {
+        GraphQlSource graphQlSource = GraphQlSource.schemaResourceBuilder()
+                .schemaResources(new ByteArrayResource(SDL.getBytes(StandardCharsets.UTF_8)))
+                .configureTypeDefinitions(new IncrementalDirectivesConfigurer())
+                .configureRuntimeWiring(wiring -> wiring
+                        .type("Query", builder -> builder.dataFetcher("product", env -> Map.of("name", "Lamp")))
+                        .type("Product", builder -> builder.dataFetcher("reviews", env -> CompletableFuture.supplyAsync(
+                                () -> List.of("bright", "sturdy"), CompletableFuture.delayedExecutor(50, TimeUnit.MILLISECONDS)))))
+                .build();
+        return WebGraphQlHandler.builder(new DefaultExecutionGraphQlService(graphQlSource)).build();
+    }
+
+    private static MockHttpServletRequest request(String accept, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/graphql");
+        request.addHeader("Accept", accept);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
@@ -0,0 +1,74 @@
+package com.enokdev.graphql.autogen.starter.instrumentation;
+
+import com.enokdev.graphql.autogen.starter.instrumentation.ExecutionEventLog.Mode;
+import graphql.GraphQL;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExecutionEventLogTest {
+
+    @Test
+    void recordsExecutionsAndFlushesThemInTheBackground() {
+        List<String> written = new CopyOnWriteArrayList<>();
+        String query = "query Greeting { hello }";
+        try (ExecutionEventLog executionLog = new ExecutionEventLog(Mode.ALL, Duration.ofSeconds(1), 16,
+                Duration.ofMillis(10), event -> written.add(event.getOperationName() + ":" + event.getQueryHash()
+                        + ":" + event.getErrorCount() + ":" + Thread.currentThread().getName()))) {
+            executionLog.start();
+            GraphQL graphQL = GraphQL.newGraphQL(new SchemaGenerator().makeExecutableSchema(
+                            new SchemaParser().parse("type Query { hello: String }"),
+                            RuntimeWiring.newRuntimeWiring()
+                                    .type("Query", builder -> builder.dataFetcher("hello", env -> "world"))
+                                    .build()))
+                    .instrumentation(new AuditInstrumentation(executionLog, null))
+                    .build();
+
+            graphQL.execute(query);
+            graphQL.execute("{ missing }");
+        }
+
+        assertThat(written).containsExactly(
+                "Greeting:" + query.hashCode() + ":0:graphql-execution-log",
+                "null:" + "{ missing }".hashCode() + ":1:graphql-execution-log");
+    }
+
+    @Test
+    void slowModeSkipsFastExecutionsUnlessTheyFail() {
+        List<Long> written = new CopyOnWriteArrayList<>();
+        try (ExecutionEventLog executionLog = new ExecutionEventLog(Mode.SLOW, Duration.ofMillis(100), 16,
+                Duration.ofMillis(10), event -> written.add(event.getDurationNanos()))) {
+            executionLog.start();
+
+            assertThat(executionLog.record("fast", 1, 1_000_000, 0, false)).isFalse();
+            assertThat(executionLog.record("failed", 2, 2_000_000, 0, true)).isTrue();
+            assertThat(executionLog.record("slow", 3, 200_000_000, 0, false)).isTrue();
+        }
+
+        assertThat(written).containsExactly(2_000_000L, 200_000_000L);
+    }
+
+    @Test
+    void dropsExecutionsWhenTheBufferIsFull() {
+        List<String> written = new CopyOnWriteArrayList<>();
+        try (ExecutionEventLog executionLog = new ExecutionEventLog(Mode.ALL, Duration.ofSeconds(1), 4,
+                Duration.ofHours(1), event -> written.add(event.getOperationName()))) {
+            executionLog.start();
+
+            for (int i = 0; i < 6; i++) {
+                executionLog.record("op" + i, i, 1_000, 0, false);
+            }
+
+            assertThat(executionLog.getDroppedEvents()).isEqualTo(2);
+        }
+
+        assertThat(written).containsExactly("op0", "op1", "op2", "op3");
+    }
+}
@@ -0,0 +1,97 @@
+package com.enokdev.graphql.autogen.starter.instrumentation;
+
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FieldTimingRecorderTest {
+
+    private static final String SDL = """
+            type Query {
+              posts: [Post]
+            }
+            type Post {
+              title: String
+              author: String
+            }
+            """;
+
+    @Test
+    void timesNonTrivialFieldsPerCoordinate() {
+        FieldTimingRecorder recorder = new FieldTimingRecorder(1.0);
+        RuntimeWiring wiring = RuntimeWiring.newRuntimeWiring()
+                .type("Query", builder -> builder
+                        .dataFetcher("posts", env -> List.of(Map.of("title", "a"), Map.of("title", "b"))))
+                .type("Post", builder -> builder
+                        .dataFetcher("author", env -> CompletableFuture.supplyAsync(() -> "alice",
+                                CompletableFuture.delayedExecutor(20, TimeUnit.MILLISECONDS))))
+                .build();
+        GraphQL graphQL = GraphQL.newGraphQL(new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(SDL), wiring))
+                .instrumentation(new AuditInstrumentation(null, recorder))
+                .build();
+
+        ExecutionResult result = graphQL.execute("{ posts { title author } }");
+
+        assertThat(result.getErrors()).isEmpty();
+        assertThat(recorder.getTiming("Post", "title")).isNull();
+        FieldTiming author = recorder.getTiming("Post", "author");
+        assertThat(author.getCount()).isEqualTo(2);
+        assertThat(author.getMaxNanos()).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(20));
+        assertThat(author.getP50Nanos()).isLessThanOrEqualTo(author.getMaxNanos());
+        assertThat(recorder.getTimings()).extracting(FieldTiming::getCoordinate)
+                .containsExactly("Post.author", "Query.posts");
+    }
+
+    @Test
+    void publishesFieldTimingsToMicrometer() {
+        FieldTimingRecorder recorder = new FieldTimingRecorder(1.0);
+        MeterRegistry registry = new SimpleMeterRegistry();
+        recorder.record("Query", "posts", 2_000);
+
+        new AuditMeterBinder(null, recorder).bindTo(registry);
+        recorder.record("Post", "author", 5_000);
+
+        assertThat(registry.get("graphql.autogen.field.latency.max").tags("type", "Query", "field", "posts")
+                .timeGauge().value(TimeUnit.NANOSECONDS)).isEqualTo(2_000);
+        assertThat(registry.get("graphql.autogen.field.latency.max").tags("type", "Post", "field", "author")
+                .timeGauge().value(TimeUnit.NANOSECONDS)).isEqualTo(5_000);
+        assertThat(registry.find("graphql.autogen.execution.log.dropped").meter()).isNull();
+    }
+
+    @Test
+    void reportsPercentilesWithinBucketPrecision() {
+        FieldTimingRecorder recorder = new FieldTimingRecorder(1.0);
+        IntStream.rangeClosed(1, 1000).parallel().forEach(i -> recorder.record("Query", "posts", i * 1_000L));
+
+        FieldTiming timing = recorder.getTiming("Query", "posts");
+
+        assertThat(timing.getCount()).isEqualTo(1000);
+        assertThat(timing.getMaxNanos()).isEqualTo(1_000_000L);
+        assertThat(timing.getP50Nanos()).isBetween(500_000L, 625_000L);
+        assertThat(timing.getP99Nanos()).isBetween(990_000L, 1_000_000L);
+    }
+
+    @Test
+    void samplesTheConfiguredFraction() {
+        FieldTimingRecorder never = new FieldTimingRecorder(0.0);
+        FieldTimingRecorder tenth = new FieldTimingRecorder(0.1);
+
+        long sampled = IntStream.range(0, 100_000).filter(i -> tenth.sample()).count();
+
+        assertThat(IntStream.range(0, 1000).noneMatch(i -> never.sample())).isTrue();
+        assertThat(sampled).isBetween(9_000L, 11_000L);
+    }
+}
@@ -0,0 +1,142 @@
+package com.enokdev.graphql.autogen.starter.instrumentation;
+
+import graphql.ExecutionInput;
+import graphql.GraphQL;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.graphql.observation.DefaultDataFetcherObservationConvention;
+import org.springframework.graphql.observation.GraphQlObservationInstrumentation;
+
+import java.lang.ref.Reference;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OperationMetricsInstrumentationTest {
+
+    private static final GraphQLSchema SCHEMA = new SchemaGenerator().makeExecutableSchema(
+            new SchemaParser().parse("type Query { hello: String } type Mutation { save: String }"),
+            RuntimeWiring.newRuntimeWiring()
+                    .type("Query", builder -> builder.dataFetcher("hello", env -> "world"))
+                    .type("Mutation", builder -> builder.dataFetcher("save", env -> "saved"))
+                    .build());
+
+    @Test
+    void recordsOperationsUnderBoundedNames() {
+        OperationMetricsInstrumentation metrics = new OperationMetricsInstrumentation(new OperationNameLimiter(1));
+        GraphQL graphQL = GraphQL.newGraphQL(SCHEMA).instrumentation(metrics).build();
+
+        graphQL.execute("query First { hello }");
+        graphQL.execute("query First { hello }");
+        graphQL.execute("query Second { hello }");
+        graphQL.execute("{ missing }");
+
+        assertThat(metrics.getOperations()).extracting(OperationStatistics::getOperationName)
+                .containsExactly("First", OperationNameLimiter.OTHER, OperationNameLimiter.ANONYMOUS);
+        OperationStatistics first = metrics.getOperation("First");
+        assertThat(first.getCount()).isEqualTo(2);
+        assertThat(first.getErrorCount()).isZero();
+        assertThat(first.getMax()).isPositive();
+        assertThat(metrics.getOperation(null).getErrorRate()).isEqualTo(1.0);
+        assertThat(metrics.getOperation("Second")).isNull();
+    }
+
+    @Test
+    void publishesOperationsAndSchemaSizeToMicrometer() {
+        OperationMetricsInstrumentation metrics = new OperationMetricsInstrumentation(new OperationNameLimiter(10));
+        GraphQL graphQL = GraphQL.newGraphQL(SCHEMA).instrumentation(metrics).build();
+        MeterRegistry registry = new SimpleMeterRegistry();
+
+        graphQL.execute("query First { hello }");
+        new OperationMeterBinder(metrics).bindTo(registry);
+        // gauges hold their object weakly, as the beans do in an application
+        SchemaMetrics schemaMetrics = new SchemaMetrics(ObservationRegistry.NOOP, () -> SCHEMA);
+        new SchemaMeterBinder(schemaMetrics).bindTo(registry);
+        graphQL.execute("query First { hello }");
+        graphQL.execute("{ missing }");
+
+        assertThat(registry.get("graphql.autogen.operation.executions").tag("operation", "First")
+                .functionCounter().count()).isEqualTo(2);
+        assertThat(registry.get("graphql.autogen.operation.errors").tag("operation", OperationNameLimiter.ANONYMOUS)
+                .functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("graphql.autogen.operation.latency.max").tag("operation", "First")
+                .timeGauge().value()).isPositive();
+        assertThat(registry.get("graphql.autogen.schema.fields").tag("operation", "mutation")
+                .gauge().value()).isEqualTo(1);
+        Reference.reachabilityFence(schemaMetrics);
+    }
+
+    @Test
+    void tagsRequestObservationsWithBoundedOperationNames() {
+        BoundedOperationObservationConvention convention =
+                new BoundedOperationObservationConvention(new OperationNameLimiter(1));
+        List<String> names = new CopyOnWriteArrayList<>();
+        ObservationRegistry registry = ObservationRegistry.create();
+        registry.observationConfig().observationHandler(new ObservationHandler<>() {
+            @Override
+            public void onStop(Observation.Context context) {
+                context.getLowCardinalityKeyValues().stream()
+                        .filter(keyValue -> keyValue.getKey().equals(BoundedOperationObservationConvention.OPERATION_NAME_KEY))
+                        .forEach(keyValue -> names.add(keyValue.getValue()));
+            }
+
+            @Override
+            public boolean supportsContext(Observation.Context context) {
+                return true;
+            }
+        });
+        GraphQL graphQL = GraphQL.newGraphQL(SCHEMA)
+                .instrumentation(new GraphQlObservationInstrumentation(
+                        registry, convention, new DefaultDataFetcherObservationConvention()))
+                .build();
+
+        graphQL.execute(ExecutionInput.newExecutionInput("query First { hello }").operationName("First"));
+        graphQL.execute(ExecutionInput.newExecutionInput("query Second { hello }").operationName("Second"));
+        graphQL.execute("{ hello }");
+
+        assertThat(names).containsExactly("First", OperationNameLimiter.OTHER, OperationNameLimiter.ANONYMOUS);
+    }
+
+    @Test
+    void reportsSchemaSizeAndGenerationPhases() throws Exception {
+        List<String> phases = new CopyOnWriteArrayList<>();
+        ObservationRegistry registry = ObservationRegistry.create();
+        registry.observationConfig().observationHandler(new ObservationHandler<>() {
+            @Override
+            public void onStart(Observation.Context context) {
+                phases.add(context.getName() + ":" + context.getLowCardinalityKeyValue("phase").getValue());
+            }
+
+            @Override
+            public boolean supportsContext(Observation.Context context) {
+                return true;
+            }
+        });
+        SchemaMetrics metrics = new SchemaMetrics(registry, () -> SCHEMA);
+
+        try (SchemaMetrics.Phase phase = metrics.phase("scan")) {
+            Thread.sleep(5);
+        }
+        try (SchemaMetrics.Phase phase = metrics.phase("generate")) {
+            Thread.sleep(1);
+        }
+
+        assertThat(metrics.getQueryCount()).isEqualTo(1);
+        assertThat(metrics.getMutationCount()).isEqualTo(1);
+        assertThat(metrics.getSubscriptionCount()).isZero();
+        assertThat(metrics.getTypeCount()).isGreaterThan(2);
+        assertThat(metrics.getPhaseDurations()).containsOnlyKeys("scan", "generate");
+        assertThat(metrics.getPhaseDurations().get("scan").toMillis()).isGreaterThanOrEqualTo(5);
+        assertThat(phases).containsExactly(SchemaMetrics.GENERATION_OBSERVATION + ":scan",
+                SchemaMetrics.GENERATION_OBSERVATION + ":generate");
+    }
+}
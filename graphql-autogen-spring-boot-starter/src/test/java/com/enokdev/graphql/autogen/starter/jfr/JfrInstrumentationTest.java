@@ -0,0 +1,86 @@
+package com.enokdev.graphql.autogen.starter.jfr;
+
+import com.enokdev.graphql.autogen.generator.DefaultTypeResolver;
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.dataloader.BatchLoader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JfrInstrumentationTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void recordsExecutionsSlowFetchesBatchesAndTypeResolutions() throws Exception {
+        GraphQL graphQL = GraphQL.newGraphQL(new SchemaGenerator().makeExecutableSchema(
+                        new SchemaParser().parse("type Query { fast: String slow: String }"),
+                        RuntimeWiring.newRuntimeWiring()
+                                .type("Query", builder -> builder
+                                        .dataFetcher("fast", env -> "fast")
+                                        .dataFetcher("slow", env -> {
+                                            Thread.sleep(100);
+                                            return "slow";
+                                        }))
+                                .build()))
+                .instrumentation(new JfrInstrumentation())
+                .build();
+        BatchLoader<Long, String> loader = JfrBatchLoaders.batchLoader("authors",
+                keys -> CompletableFuture.completedFuture(keys.stream().map(String::valueOf).toList()));
+
+        graphQL.execute("{ fast }");
+
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable(OperationExecutionEvent.class).withThreshold(Duration.ZERO);
+            recording.enable(SlowFieldFetchEvent.class).withThreshold(Duration.ofMillis(50));
+            recording.enable(DataLoaderBatchEvent.class);
+            recording.enable("com.enokdev.graphql.autogen.TypeResolution");
+            recording.start();
+
+            ExecutionResult result = graphQL.execute(ExecutionInput.newExecutionInput("query Both { fast slow }"));
+            loader.load(List.of(1L, 2L, 3L)).toCompletableFuture().join();
+            new DefaultTypeResolver().resolveType(String.class);
+
+            recording.stop();
+            assertThat(result.getErrors()).isEmpty();
+            Path file = tempDir.resolve("recording.jfr");
+            recording.dump(file);
+            events = RecordingFile.readAllEvents(file);
+        }
+
+        assertThat(events).filteredOn(event -> event.getEventType().getName().endsWith("OperationExecution"))
+                .singleElement()
+                .satisfies(event -> {
+                    assertThat(event.getString("operationName")).isEqualTo("Both");
+                    assertThat(event.getInt("errorCount")).isZero();
+                });
+        assertThat(events).filteredOn(event -> event.getEventType().getName().endsWith("SlowFieldFetch"))
+                .extracting(event -> event.getString("coordinate"))
+                .containsExactly("Query.slow");
+        assertThat(events).filteredOn(event -> event.getEventType().getName().endsWith("DataLoaderBatch"))
+                .singleElement()
+                .satisfies(event -> {
+                    assertThat(event.getString("dataLoader")).isEqualTo("authors");
+                    assertThat(event.getInt("batchSize")).isEqualTo(3);
+                });
+        assertThat(events).filteredOn(event -> event.getEventType().getName().endsWith("TypeResolution"))
+                .extracting(event -> event.getString("graphQLType"))
+                .containsExactly("String");
+    }
+}
@@ -0,0 +1,228 @@
+package com.enokdev.graphql.autogen.starter.jpa;
+
+import com.enokdev.graphql.autogen.annotation.GraphQLField;
+import com.enokdev.graphql.autogen.annotation.GraphQLId;
+import com.enokdev.graphql.autogen.annotation.GraphQLPagination.PaginationType;
+import com.enokdev.graphql.autogen.generator.DefaultPaginationGenerator;
+import com.enokdev.graphql.autogen.generator.DefaultTypeResolver;
+import com.enokdev.graphql.autogen.generator.PaginationGenerator.PaginationConfiguration;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.Scalars;
+import graphql.schema.FieldCoordinates;
+import graphql.schema.GraphQLCodeRegistry;
+import graphql.schema.GraphQLEnumType;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLInputObjectType;
+import graphql.schema.GraphQLList;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.GraphQLTypeUtil;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FilterSpecificationCompilerTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(DataSourceAutoConfiguration.class,
+                    HibernateJpaAutoConfiguration.class, JpaRepositoriesAutoConfiguration.class))
+            .withUserConfiguration(JpaConfiguration.class)
+            .withPropertyValues("spring.datasource.generate-unique-name=true");
+
+    private final DefaultPaginationGenerator generator = new DefaultPaginationGenerator();
+    private final FilterSpecificationCompiler compiler = new FilterSpecificationCompiler();
+
+    @Test
+    void generatesTypedFilterAndSortInputs() {
+        GraphQLSchema schema = schema(configuration(), env -> List.of());
+
+        assertThat(schema.getType("ArticleFilter")).isNotNull();
+        assertThat(schema.getType("ArticleSort")).isNotNull();
+        assertThat(schema.getType("StringFilter")).isNotNull();
+        assertThat(schema.getType("IntFilter")).isNotNull();
+        assertThat(schema.getType("StatusFilter")).isNotNull();
+        assertThat(((GraphQLEnumType) schema.getType("ArticleSortField")).getValues())
+                .extracting(value -> value.getName())
+                .containsExactlyInAnyOrder("id", "headline", "views", "status");
+    }
+
+    @Test
+    void compilesFilterAndSortIntoDatabaseQuery() {
+        withArticles(graphQL -> {
+            ExecutionResult result = graphQL.execute("""
+                    { articles(
+                        filter: { headline: { startsWith: "Graph" }, or: [{ views: { gte: 50 } }, { status: { eq: DRAFT } }] },
+                        sort: [{ field: views, direction: DESC }]) { headline } }
+                    """);
+
+            assertThat(result.getErrors()).isEmpty();
+            Map<String, List<Map<String, Object>>> data = result.getData();
+            assertThat(data.get("articles")).extracting(article -> article.get("headline"))
+                    .containsExactly("GraphQL 100%", "GraphQL drafts");
+        });
+    }
+
+    @Test
+    void rejectsFiltersAboveMaxComplexity() {
+        withArticles(graphQL -> {
+            ExecutionResult result = graphQL.execute("""
+                    { articles(filter: { or: [
+                        { views: { gt: 1, lt: 5 } },
+                        { views: { gt: 10, lt: 50 } },
+                        { headline: { eq: "x" } }
+                    ] }) { headline } }
+                    """);
+
+            assertThat(result.getErrors()).singleElement()
+                    .satisfies(error -> assertThat(error.getMessage()).contains("Filter complexity 10 exceeds the maximum of 6"));
+        });
+    }
+
+    @Test
+    void rejectsOperandsOfTheWrongTypeBeforeAnyQuery() {
+        withArticles(graphQL -> {
+            ExecutionResult id = graphQL.execute("{ articles(filter: { id: { eq: \"abc\" } }) { headline } }");
+            ExecutionResult ids = graphQL.execute("{ articles(filter: { id: { in: [\"1\", \"abc\"] } }) { headline } }");
+
+            assertThat(id.getErrors()).singleElement()
+                    .satisfies(error -> assertThat(error.getMessage()).contains("Invalid value for filter field id: abc"));
+            assertThat(ids.getErrors()).singleElement()
+                    .satisfies(error -> assertThat(error.getMessage()).contains("Invalid value for filter field id: abc"));
+        });
+    }
+
+    @Test
+    void namesTheFilterScalarsAfterTheTypeResolver() {
+        DefaultTypeResolver typeResolver = new DefaultTypeResolver();
+        typeResolver.registerTypeMapping(BigDecimal.class, "Decimal");
+        PaginationConfiguration configuration = new PaginationConfiguration("ProductConnection", "Product", Product.class);
+        configuration.setGenerateFilters(true);
+
+        GraphQLInputObjectType decimalFilter = new DefaultPaginationGenerator(typeResolver).generateFilterType(configuration);
+        GraphQLInputObjectType floatFilter = generator.generateFilterType(configuration);
+
+        assertThat(GraphQLTypeUtil.simplePrint(decimalFilter.getField("price").getType())).isEqualTo("DecimalFilter");
+        assertThat(GraphQLTypeUtil.simplePrint(floatFilter.getField("price").getType())).isEqualTo("FloatFilter");
+        assertThat(GraphQLTypeUtil.simplePrint(decimalFilter.getField("id").getType())).isEqualTo("IDFilter");
+    }
+
+    private void withArticles(Consumer<GraphQL> test) {
+        contextRunner.run(context -> {
+            ArticleRepository repository = context.getBean(ArticleRepository.class);
+            repository.saveAll(List.of(
+                    new Article(1L, "GraphQL 100%", 120, Status.PUBLISHED),
+                    new Article(2L, "GraphQL basics", 10, Status.PUBLISHED),
+                    new Article(3L, "GraphQL drafts", 5, Status.DRAFT),
+                    new Article(4L, "REST", 500, Status.PUBLISHED)));
+
+            PaginationConfiguration configuration = configuration();
+            test.accept(GraphQL.newGraphQL(schema(configuration, env -> repository.findAll(
+                    compiler.<Article>filter(env, configuration), compiler.sort(env, configuration)))).build());
+        });
+    }
+
+    private GraphQLSchema schema(PaginationConfiguration configuration,
+                                 graphql.schema.DataFetcher<?> articles) {
+        GraphQLEnumType status = GraphQLEnumType.newEnum().name("Status").value("DRAFT").value("PUBLISHED").build();
+        GraphQLObjectType article = GraphQLObjectType.newObject().name("Article")
+                .field(GraphQLFieldDefinition.newFieldDefinition().name("headline").type(Scalars.GraphQLString))
+                .field(GraphQLFieldDefinition.newFieldDefinition().name("status").type(status))
+                .build();
+        GraphQLObjectType query = GraphQLObjectType.newObject().name("Query")
+                .field(GraphQLFieldDefinition.newFieldDefinition().name("articles")
+                        .type(GraphQLList.list(article))
+                        .arguments(generator.generatePaginationArguments(configuration)))
+                .build();
+        GraphQLCodeRegistry codeRegistry = GraphQLCodeRegistry.newCodeRegistry()
+                .dataFetcher(FieldCoordinates.coordinates("Query", "articles"), articles)
+                .dataFetcher(FieldCoordinates.coordinates("Article", "headline"),
+                        (graphql.schema.DataFetcher<Object>) env -> env.<Article>getSource().getTitle())
+                .build();
+        return GraphQLSchema.newSchema().query(query).codeRegistry(codeRegistry).build();
+    }
+
+    private static PaginationConfiguration configuration() {
+        PaginationConfiguration configuration = new PaginationConfiguration("ArticleConnection", "Article", Article.class);
+        configuration.setType(PaginationType.OFFSET_BASED);
+        configuration.setPageSize(20);
+        configuration.setGenerateFilters(true);
+        configuration.setGenerateSorting(true);
+        configuration.setMaxFilterComplexity(6);
+        return configuration;
+    }
+
+    @Configuration
+    @EntityScan(basePackageClasses = FilterSpecificationCompilerTest.class)
+    @EnableJpaRepositories(basePackageClasses = FilterSpecificationCompilerTest.class, considerNestedRepositories = true)
+    static class JpaConfiguration {
+    }
+
+    interface ArticleRepository extends JpaRepository<Article, Long>, JpaSpecificationExecutor<Article> {
+    }
+
+    enum Status {
+        DRAFT,
+        PUBLISHED
+    }
+
+    static class Product {
+        @GraphQLId
+        private UUID id;
+        @GraphQLField
+        private BigDecimal price;
+    }
+
+    @Entity
+    static class Article {
+        @Id
+        @GraphQLId
+        private Long id;
+        @GraphQLField(name = "headline")
+        private String title;
+        @GraphQLField
+        private int views;
+        @GraphQLField
+        @Enumerated(EnumType.STRING)
+        private Status status;
+        private String internalNotes;
+
+        protected Article() {
+        }
+
+        Article(Long id, String title, int views, Status status) {
+            this.id = id;
+            this.title = title;
+            this.views = views;
+            this.status = status;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+    }
+}
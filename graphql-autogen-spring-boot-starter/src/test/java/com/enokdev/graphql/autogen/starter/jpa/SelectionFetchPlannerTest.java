@@ -0,0 +1,222 @@
+package com.enokdev.graphql.autogen.starter.jpa;
+
+import com.enokdev.graphql.autogen.annotation.GraphQLField;
+import com.enokdev.graphql.autogen.annotation.GraphQLPagination.CursorStrategy;
+import com.enokdev.graphql.autogen.generator.PaginationGenerator.PaginationConfiguration;
+import com.enokdev.graphql.autogen.starter.pagination.Connection;
+import com.enokdev.graphql.autogen.starter.pagination.CursorCodec;
+import com.enokdev.graphql.autogen.starter.pagination.KeysetPageRequest;
+import com.enokdev.graphql.autogen.starter.pagination.KeysetPaginator;
+import com.enokdev.graphql.autogen.starter.pagination.TotalCountProvider;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.schema.DataFetcher;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.PersistenceUnitUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SelectionFetchPlannerTest {
+
+    private static final String SDL = """
+            type Query {
+              posts: [Post]
+              postConnection: PostConnection
+            }
+            type PostConnection {
+              edges: [PostEdge]
+              totalCount: Int
+            }
+            type PostEdge {
+              node: Post
+              cursor: String
+            }
+            type Post {
+              id: ID
+              headline: String
+              author: Author
+              comments: [String]
+            }
+            type Author {
+              id: ID
+              name: String
+            }
+            """;
+
+    private final SelectionFetchPlanner planner = new SelectionFetchPlanner();
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(DataSourceAutoConfiguration.class,
+                    HibernateJpaAutoConfiguration.class, JpaRepositoriesAutoConfiguration.class))
+            .withUserConfiguration(JpaConfiguration.class)
+            .withPropertyValues("spring.datasource.generate-unique-name=true");
+
+    @Test
+    void mapsSelectedFieldsToAttributePaths() {
+        AtomicReference<List<String>> paths = new AtomicReference<>();
+        GraphQL graphQL = graphQL(env -> {
+            paths.set(planner.fetchPaths(Post.class, env.getSelectionSet()));
+            return List.of();
+        }, env -> null);
+
+        graphQL.execute("{ posts { headline author { name } comments __typename } }");
+
+        assertThat(paths.get()).containsExactly("title", "author", "author.name");
+    }
+
+    @Test
+    void fetchJoinsSelectedAssociationsOfConnectionNodes() {
+        contextRunner.run(context -> {
+            PostRepository repository = context.getBean(PostRepository.class);
+            AuthorRepository authors = context.getBean(AuthorRepository.class);
+            PersistenceUnitUtil persistenceUtil = context.getBean(EntityManagerFactory.class).getPersistenceUnitUtil();
+            Author author = authors.save(new Author(1L, "Alice"));
+            List<Post> posts = new ArrayList<>();
+            for (long id = 1; id <= 3; id++) {
+                posts.add(new Post(id, "Post " + id, author));
+            }
+            repository.saveAll(posts);
+
+            KeysetPaginator paginator = new KeysetPaginator(TotalCountProvider.exact(), new CursorCodec(), planner);
+            AtomicReference<Connection<Post>> page = new AtomicReference<>();
+            GraphQL graphQL = graphQL(env -> List.of(), env -> {
+                page.set(paginator.paginate(repository, null,
+                        KeysetPageRequest.from(env, Sort.unsorted(), configuration())));
+                return page.get();
+            });
+
+            ExecutionResult result = graphQL.execute("{ postConnection { edges { node { headline author { name } } } } }");
+
+            assertThat(result.getErrors()).isEmpty();
+            assertThat(result.getData().toString()).contains("Alice");
+            assertThat(page.get().getNodes()).hasSize(3)
+                    .allMatch(post -> persistenceUtil.isLoaded(post, "author"));
+
+            Connection<Post> withoutPlan = new KeysetPaginator().paginate(repository, null,
+                    KeysetPageRequest.of(10, null, null, null, Sort.unsorted(), configuration()));
+            assertThat(withoutPlan.getNodes()).noneMatch(post -> persistenceUtil.isLoaded(post, "author"));
+        });
+    }
+
+    private static GraphQL graphQL(DataFetcher<?> posts, DataFetcher<?> postConnection) {
+        RuntimeWiring wiring = RuntimeWiring.newRuntimeWiring()
+                .type("Query", builder -> builder
+                        .dataFetcher("posts", posts)
+                        .dataFetcher("postConnection", postConnection))
+                .type("Post", builder -> builder
+                        .dataFetcher("headline", env -> env.<Post>getSource().getTitle()))
+                .build();
+        return GraphQL.newGraphQL(new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(SDL), wiring))
+                .build();
+    }
+
+    private static PaginationConfiguration configuration() {
+        PaginationConfiguration configuration = new PaginationConfiguration("PostConnection", "Post", Post.class);
+        configuration.setPageSize(10);
+        configuration.setMaxPageSize(20);
+        configuration.setCursorStrategy(CursorStrategy.BASE64_ID);
+        return configuration;
+    }
+
+    @Configuration
+    @EntityScan(basePackageClasses = SelectionFetchPlannerTest.class)
+    @EnableJpaRepositories(basePackageClasses = SelectionFetchPlannerTest.class, considerNestedRepositories = true)
+    static class JpaConfiguration {
+    }
+
+    interface PostRepository extends JpaRepository<Post, Long>, JpaSpecificationExecutor<Post> {
+    }
+
+    interface AuthorRepository extends JpaRepository<Author, Long> {
+    }
+
+    @Entity
+    static class Post {
+        @Id
+        private Long id;
+        @GraphQLField(name = "headline")
+        private String title;
+        @ManyToOne(fetch = FetchType.LAZY)
+        private Author author;
+        @OneToMany
+        private List<Comment> comments = new ArrayList<>();
+
+        protected Post() {
+        }
+
+        Post(Long id, String title, Author author) {
+            this.id = id;
+            this.title = title;
+            this.author = author;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public Author getAuthor() {
+            return author;
+        }
+
+        public List<Comment> getComments() {
+            return comments;
+        }
+    }
+
+    @Entity
+    static class Author {
+        @Id
+        private Long id;
+        private String name;
+
+        protected Author() {
+        }
+
+        Author(Long id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    @Entity
+    static class Comment {
+        @Id
+        private Long id;
+    }
+}
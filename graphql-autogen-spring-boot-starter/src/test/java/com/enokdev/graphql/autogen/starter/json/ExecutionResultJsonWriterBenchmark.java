@@ -0,0 +1,86 @@
+package com.enokdev.graphql.autogen.starter.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import graphql.ExecutionResult;
+import graphql.ExecutionResultImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link ExecutionResultJsonWriter} with the default Jackson serialization of the
+ * specification map, for a list of 1,000 posts as completed by graphql-java.
+ *
+ * <p>Run the {@link #main(String[])} method from the test classpath, adding {@code -prof gc}
+ * to compare the allocation rates.</p>
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExecutionResultJsonWriterBenchmark {
+
+    private static final int POSTS = 1000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ExecutionResultJsonWriter writer = new ExecutionResultJsonWriter(objectMapper);
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream(256 * 1024);
+    private ExecutionResult result;
+
+    @Setup
+    public void setUp() {
+        List<Map<String, Object>> posts = new ArrayList<>(POSTS);
+        for (int i = 0; i < POSTS; i++) {
+            Map<String, Object> post = new LinkedHashMap<>();
+            post.put("id", UUID.nameUUIDFromBytes(new byte[]{(byte) i, (byte) (i >> 8)}).toString());
+            post.put("title", "Post number " + i + " about GraphQL serialization");
+            post.put("views", i * 31);
+            post.put("score", i / 7.0);
+            post.put("published", i % 3 != 0);
+            post.put("createdAt", LocalDateTime.of(2025, 1, 1, 0, 0).plusMinutes(i).toString());
+            post.put("tags", List.of("graphql", "java", "performance"));
+            posts.add(post);
+        }
+        result = ExecutionResultImpl.newExecutionResult().data(Map.of("posts", posts)).build();
+    }
+
+    @Benchmark
+    public int jackson() throws IOException {
+        output.reset();
+        objectMapper.writeValue(output, result.toSpecification());
+        return output.size();
+    }
+
+    @Benchmark
+    public int directWriter() throws IOException {
+        output.reset();
+        writer.write(result, output);
+        return output.size();
+    }
+
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(args.length > 0 ? args : new String[]{ExecutionResultJsonWriterBenchmark.class.getSimpleName()});
+    }
+}
@@ -0,0 +1,99 @@
+package com.enokdev.graphql.autogen.starter.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExecutionResultJsonWriterTest {
+
+    private static final String SDL = """
+            type Query {
+              posts: [Post]
+              broken: String
+            }
+            type Post {
+              id: ID
+              title: String
+              views: Int
+              score: Float
+              published: Boolean
+              tags: [String]
+            }
+            """;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ExecutionResultJsonWriter writer = new ExecutionResultJsonWriter(objectMapper);
+
+    @Test
+    void writesTheSameJsonAsJackson() throws Exception {
+        String longTitle = "é".repeat(ExecutionResultJsonWriter.BUFFER_SIZE);
+        GraphQL graphQL = GraphQL.newGraphQL(new SchemaGenerator().makeExecutableSchema(
+                        new SchemaParser().parse(SDL),
+                        RuntimeWiring.newRuntimeWiring()
+                                .type("Query", builder -> builder
+                                        .dataFetcher("posts", env -> List.of(
+                                                Map.of("id", 1L, "title", "Quote \" slash \\ tab \t bell \u0007",
+                                                        "views", Integer.MIN_VALUE, "score", 0.1, "published", true,
+                                                        "tags", List.of("日本語", "emoji 😀")),
+                                                Map.of("id", "p-2", "title", longTitle, "views", 0, "score", 1e21,
+                                                        "published", false)))
+                                        .dataFetcher("broken", env -> {
+                                            throw new IllegalStateException("Broken");
+                                        }))
+                                .build()))
+                .build();
+
+        ExecutionResult result = graphQL.execute("{ posts { id title views score published tags } broken }")
+                .transform(builder -> builder.addExtension("cost", Map.of("total", 12)));
+
+        byte[] expected = objectMapper.writeValueAsBytes(result.toSpecification());
+        assertThat(result.getErrors()).hasSize(1);
+        assertThat(writer.toBytes(result)).isEqualTo(expected);
+        ByteArrayOutputStream specification = new ByteArrayOutputStream();
+        writer.writeSpecification(result.toSpecification(), specification);
+        assertThat(specification.toByteArray()).isEqualTo(expected);
+    }
+
+    @Test
+    void formatsScalarValuesAsTheirStringRepresentation() throws Exception {
+        List<Object> values = List.of(
+                LocalDateTime.of(2025, 3, 9, 7, 5),
+                LocalDateTime.of(2025, 12, 31, 23, 59, 59, 120_000_000),
+                LocalDate.of(812, 1, 2),
+                LocalTime.of(0, 0, 1, 5),
+                LocalTime.of(13, 30, 0, 123_456_000),
+                UUID.fromString("0f1e2d3c-4b5a-6978-8796-a5b4c3d2e1f0"),
+                Long.MIN_VALUE,
+                Long.MAX_VALUE,
+                0.0,
+                -0.0,
+                42.0,
+                -9_999_999.0,
+                1e7,
+                2.5);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        writer.writeSpecification(Map.of("data", values), output);
+
+        String expected = values.stream()
+                .map(value -> value instanceof Number ? value.toString() : "\"" + value + "\"")
+                .reduce((left, right) -> left + "," + right)
+                .orElseThrow();
+        assertThat(output.toString(StandardCharsets.UTF_8)).isEqualTo("{\"data\":[" + expected + "]}");
+    }
+}
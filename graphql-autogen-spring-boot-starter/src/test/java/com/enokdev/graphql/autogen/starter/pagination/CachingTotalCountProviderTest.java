@@ -0,0 +1,48 @@
+package com.enokdev.graphql.autogen.starter.pagination;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CachingTotalCountProviderTest {
+
+    private final AtomicLong countQueries = new AtomicLong();
+
+    @Test
+    void cachesUnfilteredCountsUntilEvicted() {
+        CachingTotalCountProvider provider = new CachingTotalCountProvider(Duration.ofMinutes(5));
+
+        assertThat(provider.count("PostConnection", null, this::countQuery)).isEqualTo(1);
+        assertThat(provider.count("PostConnection", null, this::countQuery)).isEqualTo(1);
+        assertThat(provider.count("UserConnection", null, this::countQuery)).isEqualTo(2);
+
+        provider.evict("PostConnection");
+        assertThat(provider.count("PostConnection", null, this::countQuery)).isEqualTo(3);
+    }
+
+    @Test
+    void countsFilteredConnectionsExactly() {
+        CachingTotalCountProvider provider = new CachingTotalCountProvider(Duration.ofMinutes(5));
+        Specification<Object> filter = (root, query, cb) -> cb.conjunction();
+
+        provider.count("PostConnection", filter, this::countQuery);
+        provider.count("PostConnection", filter, this::countQuery);
+
+        assertThat(countQueries).hasValue(2);
+    }
+
+    @Test
+    void rejectsNonPositiveTimeToLive() {
+        assertThatThrownBy(() -> new CachingTotalCountProvider(Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private long countQuery() {
+        return countQueries.incrementAndGet();
+    }
+}
@@ -0,0 +1,112 @@
+package com.enokdev.graphql.autogen.starter.pagination;
+
+import com.enokdev.graphql.autogen.annotation.GraphQLPagination.CursorStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link CursorCodec} with the naive string-concatenation cursor encoding for a
+ * page of 100 edges.
+ *
+ * <p>Run the {@link #main(String[])} method from the test classpath, adding {@code -prof gc}
+ * to compare the allocation rates.</p>
+ *
+ * @author GraphQL AutoGen Team
+ * @since 1.1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CursorCodecBenchmark {
+
+    private static final int EDGES = 100;
+
+    private final CursorCodec codec = new CursorCodec();
+    private final long[] ids = new long[EDGES];
+    private final LocalDateTime[] timestamps = new LocalDateTime[EDGES];
+    private String[] naiveCursors;
+    private String[] codecCursors;
+
+    @Setup
+    public void setUp() {
+        naiveCursors = new String[EDGES];
+        codecCursors = new String[EDGES];
+        for (int i = 0; i < EDGES; i++) {
+            ids[i] = 1_000_000L + i;
+            timestamps[i] = LocalDateTime.of(2025, 1, 1, 0, 0).plusSeconds(i * 37L);
+            naiveCursors[i] = naiveId(ids[i]);
+            codecCursors[i] = codec.encodeId(CursorStrategy.BASE64_ID, ids[i]);
+        }
+    }
+
+    @Benchmark
+    public void naiveEncodeId(Blackhole blackhole) {
+        for (long id : ids) {
+            blackhole.consume(naiveId(id));
+        }
+    }
+
+    @Benchmark
+    public void codecEncodeId(Blackhole blackhole) {
+        for (long id : ids) {
+            blackhole.consume(codec.encodeId(CursorStrategy.BASE64_ID, id));
+        }
+    }
+
+    @Benchmark
+    public void naiveDecodeId(Blackhole blackhole) {
+        for (String cursor : naiveCursors) {
+            String raw = new String(Base64.getDecoder().decode(cursor), StandardCharsets.UTF_8);
+            blackhole.consume(Long.parseLong(raw.substring(raw.indexOf(':') + 1)));
+        }
+    }
+
+    @Benchmark
+    public void codecDecodeId(Blackhole blackhole) {
+        for (String cursor : codecCursors) {
+            blackhole.consume(codec.decodeId(CursorStrategy.BASE64_ID, cursor));
+        }
+    }
+
+    @Benchmark
+    public void naiveEncodeTimestamp(Blackhole blackhole) {
+        for (int i = 0; i < EDGES; i++) {
+            String raw = timestamps[i].toInstant(ZoneOffset.UTC).toEpochMilli() + ":" + ids[i];
+            blackhole.consume(Base64.getEncoder().encodeToString(raw.getBytes()));
+        }
+    }
+
+    @Benchmark
+    public void codecEncodeTimestamp(Blackhole blackhole) {
+        for (int i = 0; i < EDGES; i++) {
+            blackhole.consume(codec.encode(CursorStrategy.TIMESTAMP, List.of(timestamps[i], ids[i])));
+        }
+    }
+
+    private static String naiveId(long id) {
+        return Base64.getEncoder().encodeToString(("id:" + id).getBytes());
+    }
+
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(args.length > 0 ? args : new String[]{CursorCodecBenchmark.class.getSimpleName()});
+    }
+}
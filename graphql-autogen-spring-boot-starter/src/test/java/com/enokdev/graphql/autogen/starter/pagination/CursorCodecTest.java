@@ -0,0 +1,104 @@
+package com.enokdev.graphql.autogen.starter.pagination;
+
+import com.enokdev.graphql.autogen.annotation.GraphQLPagination.CursorStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CursorCodecTest {
+
+    private static final byte[] KEY = "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.UTF_8);
+
+    private final CursorCodec codec = new CursorCodec();
+    private final CursorCodec signingCodec = new CursorCodec(KEY);
+
+    @Test
+    void roundTripsIdCursors() {
+        for (CursorCodec cursorCodec : List.of(codec, signingCodec)) {
+            for (long id : new long[]{0L, 7L, -42L, 1_234_567_890_123L, Long.MAX_VALUE, Long.MIN_VALUE}) {
+                assertThat(cursorCodec.decodeId(CursorStrategy.BASE64_ID,
+                        cursorCodec.encodeId(CursorStrategy.BASE64_ID, id))).isEqualTo(id);
+                assertThat(cursorCodec.decodeId(CursorStrategy.PLAIN_ID,
+                        cursorCodec.encodeId(CursorStrategy.PLAIN_ID, id))).isEqualTo(id);
+            }
+        }
+        assertThat(codec.encodeId(CursorStrategy.PLAIN_ID, 1234L)).isEqualTo("1234");
+        assertThat(codec.encode(CursorStrategy.BASE64_ID, List.of(1234L)))
+                .isEqualTo(codec.encodeId(CursorStrategy.BASE64_ID, 1234L))
+                .matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void roundTripsCompositeAndTimestampCursors() {
+        LocalDateTime publishedAt = LocalDateTime.of(2025, 3, 1, 10, 15, 30, 123_456_789);
+
+        String timestamp = signingCodec.encode(CursorStrategy.TIMESTAMP, List.of(publishedAt, 42L));
+        assertThat(signingCodec.decode(CursorStrategy.TIMESTAMP, timestamp, 2))
+                .containsExactly(Instant.parse("2025-03-01T10:15:30.123456789Z"), 42L);
+
+        String composite = codec.encode(CursorStrategy.BASE64_COMPOSITE, List.of("Grüße 🚀", 3, "a:b|c"));
+        assertThat(codec.decode(CursorStrategy.BASE64_COMPOSITE, composite, 3))
+                .containsExactly("Grüße 🚀", 3L, "a:b|c");
+    }
+
+    @Test
+    void rejectsCursorsOfAnotherStrategy() {
+        String cursor = codec.encode(CursorStrategy.BASE64_COMPOSITE, List.of(1L));
+
+        assertThatThrownBy(() -> codec.decode(CursorStrategy.BASE64_ID, cursor, 1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid cursor");
+    }
+
+    @Test
+    void rejectsMalformedCursors() {
+        for (String cursor : new String[]{"", "not a cursor", "AAAA", "A", "AQ=="}) {
+            assertThatThrownBy(() -> codec.decode(CursorStrategy.BASE64_COMPOSITE, cursor, 1))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("Invalid cursor");
+        }
+        assertThatThrownBy(() -> codec.decodeId(CursorStrategy.PLAIN_ID, "12a"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsTamperedOrUnsignedCursorsWhenSigning() {
+        String cursor = signingCodec.encodeId(CursorStrategy.BASE64_ID, 10L);
+        char last = cursor.charAt(cursor.length() - 1);
+        String tampered = cursor.substring(0, cursor.length() - 1) + (last == 'A' ? 'B' : 'A');
+
+        assertThatThrownBy(() -> signingCodec.decodeId(CursorStrategy.BASE64_ID, tampered))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("signature");
+        assertThatThrownBy(() -> signingCodec.decodeId(CursorStrategy.BASE64_ID,
+                codec.encodeId(CursorStrategy.BASE64_ID, 10L)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> signingCodec.decodeId(CursorStrategy.PLAIN_ID, "11."
+                + signingCodec.encodeId(CursorStrategy.PLAIN_ID, 10L).substring(3)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("signature");
+    }
+
+    @Test
+    void rejectsCursorsLongerThanTheMaximumLength() {
+        String oversized = "A".repeat(CursorCodec.MAX_CURSOR_LENGTH + 1);
+
+        for (CursorStrategy strategy : List.of(CursorStrategy.PLAIN_ID, CursorStrategy.BASE64_ID,
+                CursorStrategy.BASE64_COMPOSITE, CursorStrategy.TIMESTAMP)) {
+            assertThatThrownBy(() -> signingCodec.decode(strategy, oversized, 1))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("at most " + CursorCodec.MAX_CURSOR_LENGTH);
+        }
+        assertThatThrownBy(() -> codec.encode(CursorStrategy.BASE64_COMPOSITE, List.of("x".repeat(4000))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("too large");
+        String longest = codec.encode(CursorStrategy.BASE64_COMPOSITE, List.of("x".repeat(3000)));
+        assertThat(codec.decode(CursorStrategy.BASE64_COMPOSITE, longest, 1)).containsExactly("x".repeat(3000));
+    }
+}
@@ -0,0 +1,201 @@
+package com.enokdev.graphql.autogen.starter.pagination;
+
+import com.enokdev.graphql.autogen.annotation.GraphQLPagination.CursorStrategy;
+import com.enokdev.graphql.autogen.generator.PaginationGenerator.PaginationConfiguration;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetPaginatorTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 12, 0, 0, 123_456_000);
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(DataSourceAutoConfiguration.class,
+                    HibernateJpaAutoConfiguration.class, JpaRepositoriesAutoConfiguration.class))
+            .withUserConfiguration(JpaConfiguration.class)
+            .withPropertyValues("spring.datasource.generate-unique-name=true");
+
+    private final KeysetPaginator paginator = new KeysetPaginator();
+
+    private void withArticles(Consumer<ArticleRepository> test) {
+        contextRunner.run(context -> {
+            ArticleRepository repository = context.getBean(ArticleRepository.class);
+            List<Article> articles = new ArrayList<>();
+            for (long id = 1; id <= 25; id++) {
+                // pairs of articles share the same timestamp to exercise the id tie-breaker
+                articles.add(new Article(id, "Article " + id, START.plusMinutes(id / 2)));
+            }
+            repository.saveAll(articles);
+            test.accept(repository);
+        });
+    }
+
+    @Test
+    void walksForwardThroughAllPagesWithTimestampCursors() {
+        withArticles(this::walkForward);
+    }
+
+    @Test
+    void walksBackwardWithCompositeCursors() {
+        withArticles(this::walkBackward);
+    }
+
+    @Test
+    void stopsAtTheEndAndClampsToMaxPageSize() {
+        withArticles(this::walkToTheEnd);
+    }
+
+    @Test
+    void countsOnlyWhenTotalCountIsRequested() {
+        withArticles(this::countOnDemand);
+    }
+
+    @Test
+    void rejectsTamperedCursor() {
+        withArticles(this::rejectTamperedCursor);
+    }
+
+    private void walkForward(ArticleRepository repository) {
+        PaginationConfiguration configuration = configuration(CursorStrategy.TIMESTAMP);
+        Sort sort = Sort.by(Sort.Direction.DESC, "publishedAt");
+
+        List<Long> seen = new ArrayList<>();
+        String after = null;
+        Connection<Article> page;
+        do {
+            page = paginator.paginate(repository, null, KeysetPageRequest.of(10, after, null, null, sort, configuration));
+            page.getNodes().forEach(article -> seen.add(article.getId()));
+            after = page.getPageInfo().getEndCursor();
+        } while (page.getPageInfo().isHasNextPage());
+
+        List<Long> expected = repository.findAll(sort.and(Sort.by(Sort.Direction.DESC, "id")))
+                .stream().map(Article::getId).toList();
+        assertThat(seen).containsExactlyElementsOf(expected);
+    }
+
+    private void walkBackward(ArticleRepository repository) {
+        PaginationConfiguration configuration = configuration(CursorStrategy.BASE64_COMPOSITE);
+        Sort sort = Sort.by("title");
+
+        Connection<Article> last = paginator.paginate(repository, null,
+                KeysetPageRequest.of(null, null, 5, null, sort, configuration));
+        Connection<Article> previous = paginator.paginate(repository, null,
+                KeysetPageRequest.of(null, null, 5, last.getPageInfo().getStartCursor(), sort, configuration));
+
+        assertThat(last.getNodes()).extracting(Article::getTitle)
+                .containsExactly("Article 5", "Article 6", "Article 7", "Article 8", "Article 9");
+        assertThat(last.getPageInfo().isHasPreviousPage()).isTrue();
+        assertThat(previous.getNodes()).extracting(Article::getTitle)
+                .containsExactly("Article 23", "Article 24", "Article 25", "Article 3", "Article 4");
+    }
+
+    private void walkToTheEnd(ArticleRepository repository) {
+        PaginationConfiguration configuration = configuration(CursorStrategy.BASE64_ID);
+
+        Connection<Article> page = paginator.paginate(repository, null,
+                KeysetPageRequest.of(500, null, null, null, Sort.unsorted(), configuration));
+
+        assertThat(page.getEdges()).hasSize(20);
+        assertThat(page.getPageInfo().isHasNextPage()).isTrue();
+
+        Connection<Article> tail = paginator.paginate(repository, null,
+                KeysetPageRequest.of(20, page.getPageInfo().getEndCursor(), null, null, Sort.unsorted(), configuration));
+        assertThat(tail.getNodes()).extracting(Article::getId).containsExactly(21L, 22L, 23L, 24L, 25L);
+        assertThat(tail.getPageInfo().isHasNextPage()).isFalse();
+    }
+
+    private void countOnDemand(ArticleRepository repository) {
+        AtomicInteger counts = new AtomicInteger();
+        KeysetPaginator countingPaginator = new KeysetPaginator((connectionName, specification, exactCount) -> {
+            counts.incrementAndGet();
+            return exactCount.getAsLong();
+        });
+        KeysetPageRequest request = KeysetPageRequest.of(5, null, null, null, Sort.unsorted(),
+                configuration(CursorStrategy.BASE64_ID));
+
+        Connection<Article> withoutCount = countingPaginator.paginate(repository, null, request);
+        assertThat(withoutCount.getTotalCount()).isNull();
+        assertThat(counts).hasValue(0);
+
+        Connection<Article> withCount = countingPaginator.paginate(repository, null, request.withTotalCount(true));
+        assertThat(withCount.getTotalCount()).isEqualTo(25L);
+        assertThat(withCount.getEdges()).hasSize(5);
+        assertThat(counts).hasValue(1);
+    }
+
+    private void rejectTamperedCursor(ArticleRepository repository) {
+        PaginationConfiguration configuration = configuration(CursorStrategy.BASE64_COMPOSITE);
+
+        assertThatThrownBy(() -> paginator.paginate(repository, null,
+                KeysetPageRequest.of(5, "not-a-cursor", null, null, Sort.by("title"), configuration)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid cursor");
+    }
+
+    private static PaginationConfiguration configuration(CursorStrategy strategy) {
+        PaginationConfiguration configuration = new PaginationConfiguration("ArticleConnection", "Article", Article.class);
+        configuration.setPageSize(10);
+        configuration.setMaxPageSize(20);
+        configuration.setCursorStrategy(strategy);
+        return configuration;
+    }
+
+    @Configuration
+    @EntityScan(basePackageClasses = KeysetPaginatorTest.class)
+    @EnableJpaRepositories(basePackageClasses = KeysetPaginatorTest.class, considerNestedRepositories = true)
+    static class JpaConfiguration {
+    }
+
+    interface ArticleRepository extends JpaRepository<Article, Long>, JpaSpecificationExecutor<Article> {
+    }
+
+    @Entity
+    static class Article {
+        @Id
+        private Long id;
+        private String title;
+        private LocalDateTime publishedAt;
+
+        protected Article() {
+        }
+
+        Article(Long id, String title, LocalDateTime publishedAt) {
+            this.id = id;
+            this.title = title;
+            this.publishedAt = publishedAt;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public LocalDateTime getPublishedAt() {
+            return publishedAt;
+        }
+    }
+}
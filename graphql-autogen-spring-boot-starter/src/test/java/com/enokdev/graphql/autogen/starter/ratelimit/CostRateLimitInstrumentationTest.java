@@ -0,0 +1,127 @@
+package com.enokdev.graphql.autogen.starter.ratelimit;
+
+import com.enokdev.graphql.autogen.starter.execution.FieldComplexityWeights;
+import com.enokdev.graphql.autogen.starter.execution.QueryComplexityAnalyzer;
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.GraphQLError;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import org.junit.jupiter.api.Test;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.LinkedMultiValueMap;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.security.Principal;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CostRateLimitInstrumentationTest {
+
+    @Test
+    void refillsBucketsPerClient() {
+        AtomicLong clock = new AtomicLong();
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, 5, 100, clock::get);
+
+        assertThat(limiter.tryAcquire("a", 8)).isZero();
+        // 4 more tokens are missing, refilled at 5 per second
+        assertThat(limiter.tryAcquire("a", 6)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(800));
+        assertThat(limiter.tryAcquire("b", 10)).isZero();
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        assertThat(limiter.getAvailableTokens("a")).isEqualTo(7);
+        assertThat(limiter.tryAcquire("a", 6)).isZero();
+        // costs above the capacity are charged as a full bucket rather than never granted
+        assertThat(limiter.tryAcquire("c", 1000)).isZero();
+        assertThat(limiter.getAvailableTokens("c")).isZero();
+        assertThat(limiter.getClientCount()).isEqualTo(3);
+    }
+
+    @Test
+    void replacesTheLeastRecentlyActiveClientsBeyondTheMaximum() {
+        AtomicLong clock = new AtomicLong();
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, 1, 2, clock::get);
+
+        limiter.tryAcquire("a", 10);
+        limiter.tryAcquire("b", 10);
+        limiter.tryAcquire("a", 0);
+        limiter.tryAcquire("c", 10);
+
+        assertThat(limiter.getClientCount()).isEqualTo(2);
+        assertThat(limiter.getAvailableTokens("a")).isZero();
+        assertThat(limiter.getAvailableTokens("b")).isEqualTo(10);
+        assertThat(limiter.getAvailableTokens("c")).isZero();
+    }
+
+    @Test
+    void trustsTheClientHeaderOnlyFromTrustedProxies() {
+        ClientIdentityResolver byDefault = ClientIdentityResolver.principalOrRemoteAddress();
+        ClientIdentityResolver proxied = ClientIdentityResolver.trustedHeader("X-Client-Id", Set.of("10.0.0.1"));
+        Principal alice = () -> "alice";
+
+        assertThat(byDefault.resolve(request("203.0.113.7", "spoofed", null))).isEqualTo("203.0.113.7");
+        assertThat(byDefault.resolve(request("203.0.113.7", "spoofed", alice))).isEqualTo("principal:alice");
+        assertThat(proxied.resolve(request("203.0.113.7", "spoofed", null))).isEqualTo("203.0.113.7");
+        assertThat(proxied.resolve(request("10.0.0.1", "client-1", null))).isEqualTo("header:client-1");
+        assertThat(proxied.resolve(request("10.0.0.1", null, null))).isEqualTo("10.0.0.1");
+        assertThat(proxied.resolve(request("10.0.0.1", "client-1", alice))).isEqualTo("principal:alice");
+    }
+
+    @Test
+    void rejectsOperationsOnceTheClientBucketIsEmpty() {
+        AtomicLong clock = new AtomicLong();
+        CostRateLimitInstrumentation instrumentation = new CostRateLimitInstrumentation(
+                new QueryComplexityAnalyzer(new FieldComplexityWeights(Map.of("Query.search", 4))),
+                new TokenBucketRateLimiter(10, 2, 100, clock::get));
+        GraphQL graphQL = GraphQL.newGraphQL(new SchemaGenerator().makeExecutableSchema(
+                        new SchemaParser().parse("type Query { search: String }"),
+                        RuntimeWiring.newRuntimeWiring()
+                                .type("Query", builder -> builder.dataFetcher("search", env -> "found"))
+                                .build()))
+                .instrumentation(instrumentation)
+                .build();
+
+        assertThat(execute(graphQL, "a").getErrors()).isEmpty();
+        assertThat(execute(graphQL, "a").getErrors()).isEmpty();
+        ExecutionResult rejected = execute(graphQL, "a");
+        ExecutionResult otherClient = execute(graphQL, "b");
+
+        assertThat(rejected.<Object>getData()).isNull();
+        assertThat(rejected.getErrors()).singleElement().extracting(GraphQLError::getExtensions)
+                .satisfies(extensions -> {
+                    assertThat(extensions.get("code")).isEqualTo("TOO_MANY_REQUESTS");
+                    assertThat(extensions.get("retryAfter")).isEqualTo(1L);
+                    assertThat(extensions.get("cost")).isEqualTo(4L);
+                });
+        assertThat(otherClient.getErrors()).isEmpty();
+    }
+
+    private static WebGraphQlRequest request(String remoteAddress, String clientHeader, Principal principal) {
+        HttpHeaders headers = new HttpHeaders();
+        if (clientHeader != null) {
+            headers.add("X-Client-Id", clientHeader);
+        }
+        Map<String, Object> attributes = new HashMap<>();
+        if (principal != null) {
+            attributes.put(ClientIdentityResolver.PRINCIPAL_ATTRIBUTE, principal);
+        }
+        return new WebGraphQlRequest(URI.create("http://localhost/graphql"), headers, new LinkedMultiValueMap<>(),
+                new InetSocketAddress(remoteAddress, 443), attributes, Map.of("query", "{ search }"), "1", Locale.ROOT);
+    }
+
+    private static ExecutionResult execute(GraphQL graphQL, String clientId) {
+        return graphQL.execute(ExecutionInput.newExecutionInput("{ search }")
+                .graphQLContext(Map.of(CostRateLimitInstrumentation.CLIENT_ID_KEY, clientId)));
+    }
+}
@@ -0,0 +1,173 @@
+package com.enokdev.graphql.autogen.starter.streaming;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import graphql.schema.DataFetcher;
+import org.assertj.core.api.InstanceOfAssertFactories;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.graphql.execution.BatchLoaderRegistry;
+import org.springframework.graphql.execution.DataFetcherExceptionResolver;
+import org.springframework.graphql.execution.DefaultBatchLoaderRegistry;
+import org.springframework.graphql.execution.DefaultExecutionGraphQlService;
+import org.springframework.graphql.execution.GraphQlSource;
+import org.springframework.graphql.server.WebGraphQlHandler;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import reactor.core.publisher.Flux;
+
+import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StreamingExecutionTest {
+
+    private static final String SDL = """
+            type Query {
+              authors: [Author]
+              version: String
+            }
+            type Author {
+              name: String
+              initial: String
+            }
+            """;
+
+    private static final StreamingFields FIELDS = new StreamingFields(Set.of("authors"));
+
+    private final AtomicInteger executions = new AtomicInteger();
+    private final List<Integer> initialBatches = new CopyOnWriteArrayList<>();
+
+    @Test
+    void writesStreamElementsChunkByChunkAndClosesTheStream() throws Exception {
+        AtomicInteger resolverCalls = new AtomicInteger();
+        AtomicBoolean closed = new AtomicBoolean();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        List<String> writtenBeforeLastRead = new CopyOnWriteArrayList<>();
+        StreamingResponseFilter filter = filter(env -> {
+            resolverCalls.incrementAndGet();
+            return IntStream.range(0, 5)
+                    .peek(i -> {
+                        if (i == 4) {
+                            writtenBeforeLastRead.add(contentOf(response));
+                        }
+                    })
+                    .mapToObj(i -> Map.of("name", "author" + i))
+                    .onClose(() -> closed.set(true));
+        });
+
+        filter.doFilter(request("{\"query\": \"{ writers: authors { name } }\"}"), response, new MockFilterChain());
+
+        assertThat(response.getContentType()).startsWith("application/json");
+        assertThat(response.getContentAsString()).isEqualTo("{\"data\":{\"writers\":[{\"name\":\"author0\"},"
+                + "{\"name\":\"author1\"},{\"name\":\"author2\"},{\"name\":\"author3\"},{\"name\":\"author4\"}]}}");
+        assertThat(writtenBeforeLastRead).singleElement().asString().endsWith("{\"name\":\"author3\"}");
+        assertThat(resolverCalls).hasValue(1);
+        assertThat(executions).hasValue(1);
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    void requestsFluxElementsOneChunkAtATime() throws Exception {
+        List<Long> requested = new CopyOnWriteArrayList<>();
+        StreamingResponseFilter filter = filter(env -> Flux.range(0, 5)
+                .doOnRequest(requested::add)
+                .map(i -> Map.of("name", i == 3 ? "broken" : "author" + i)));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request("{\"query\": \"{ authors { name } }\"}"), response, new MockFilterChain());
+
+        Map<String, Object> body = new ObjectMapper().readValue(response.getContentAsByteArray(), new TypeReference<>() {
+        });
+        assertThat(body.get("data")).asInstanceOf(InstanceOfAssertFactories.MAP)
+                .extractingByKey("authors").asInstanceOf(InstanceOfAssertFactories.LIST).hasSize(5);
+        assertThat(body.get("errors")).asInstanceOf(InstanceOfAssertFactories.LIST).singleElement()
+                .satisfies(error -> assertThat(((Map<?, ?>) error).get("path")).isEqualTo(List.of("authors", 3, "name")));
+        assertThat(requested).allMatch(count -> count <= 2);
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void dispatchesDataLoadersForEachChunk() throws Exception {
+        StreamingResponseFilter filter = filter(env -> IntStream.range(0, 5).mapToObj(i -> Map.of("name", "author" + i)));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request("{\"query\": \"{ authors { initial } }\"}"), response, new MockFilterChain());
+
+        assertThat(response.getContentAsString()).isEqualTo("{\"data\":{\"authors\":[{\"initial\":\"A0\"},"
+                + "{\"initial\":\"A1\"},{\"initial\":\"A2\"},{\"initial\":\"A3\"},{\"initial\":\"A4\"}]}}");
+        assertThat(initialBatches).containsExactly(2, 2, 1);
+    }
+
+    @Test
+    void leavesOtherQueriesToTheGraphQLHandler() throws Exception {
+        StreamingResponseFilter filter = filter(env -> Flux.empty());
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletRequest request = request("{\"query\": \"{ authors { name } version }\"}");
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(chain.getRequest().getInputStream().readAllBytes()).isEqualTo(request.getContentAsByteArray());
+    }
+
+    private StreamingResponseFilter filter(DataFetcher<?> authors) {
+        GraphQlSource graphQlSource = GraphQlSource.schemaResourceBuilder()
+                .schemaResources(new ByteArrayResource(SDL.getBytes(StandardCharsets.UTF_8)))
+                .configureRuntimeWiring(wiring -> wiring
+                        .type("Query", builder -> builder.dataFetcher("authors", authors))
+                        .type("Author", builder -> builder
+                                .dataFetcher("name", env -> {
+                                    String name = (String) ((Map<?, ?>) env.getSource()).get("name");
+                                    if (name.equals("broken")) {
+                                        throw new IllegalStateException("Unreadable name");
+                                    }
+                                    return name;
+                                })
+                                .dataFetcher("initial", env -> env.getDataLoader("initials")
+                                        .load(((Map<?, ?>) env.getSource()).get("name")))))
+                .typeVisitors(List.of(new StreamingTypeVisitor(FIELDS)))
+                .configureGraphQl(graphQl -> graphQl.queryExecutionStrategy(
+                        new StreamingExecutionStrategy(DataFetcherExceptionResolver.createExceptionHandler(List.of()))))
+                .build();
+        BatchLoaderRegistry batchLoaders = new DefaultBatchLoaderRegistry();
+        batchLoaders.forTypePair(String.class, String.class).withName("initials").registerBatchLoader((names, env) -> {
+            initialBatches.add(names.size());
+            return Flux.fromIterable(names).map(name -> "A" + name.substring("author".length()));
+        });
+        DefaultExecutionGraphQlService service = new DefaultExecutionGraphQlService(graphQlSource);
+        service.addDataLoaderRegistrar(batchLoaders);
+        WebGraphQlHandler handler = WebGraphQlHandler.builder(service)
+                .interceptor((request, chain) -> {
+                    executions.incrementAndGet();
+                    return chain.next(request);
+                })
+                .build();
+        return new StreamingResponseFilter("/graphql", new StreamingExecution(() -> handler, new ObjectMapper(), FIELDS, 2), FIELDS);
+    }
+
+    private static String contentOf(MockHttpServletResponse response) {
+        try {
+            return response.getContentAsString();
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static MockHttpServletRequest request(String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/graphql");
+        request.addHeader("Accept", "application/json");
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
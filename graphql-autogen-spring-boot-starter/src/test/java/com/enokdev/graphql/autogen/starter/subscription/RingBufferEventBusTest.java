@@ -0,0 +1,157 @@
+package com.enokdev.graphql.autogen.starter.subscription;
+
+import com.enokdev.graphql.autogen.annotation.GraphQLEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RingBufferEventBusTest {
+
+    private static final int PRODUCERS = 4;
+    private static final int EVENTS_PER_PRODUCER = 5_000;
+
+    private final List<RingBufferEventBus> buses = new ArrayList<>();
+
+    @AfterEach
+    void closeBuses() {
+        buses.forEach(RingBufferEventBus::close);
+    }
+
+    @Test
+    void deliversEveryEventInProducerOrderOnConsumerThreads() throws InterruptedException {
+        SubscriptionRegistry registry = new SubscriptionRegistry();
+        Map<Integer, List<Integer>> received = new ConcurrentHashMap<>();
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        registry.subscribe(Tick.class, Map.of()).subscribe(tick -> {
+            threads.add(Thread.currentThread().getName());
+            received.computeIfAbsent(tick.producer, p -> new CopyOnWriteArrayList<>()).add(tick.sequence);
+        });
+        RingBufferEventBus bus = start(registry, null, 16, 1);
+
+        produce(bus);
+
+        awaitUntil(() -> received.values().stream().mapToInt(List::size).sum() == PRODUCERS * EVENTS_PER_PRODUCER);
+        for (List<Integer> sequences : received.values()) {
+            assertThat(sequences).isSorted().hasSize(EVENTS_PER_PRODUCER);
+        }
+        assertThat(threads).containsExactly("graphql-event-bus-0");
+        assertThat(bus.getPendingEvents()).isZero();
+    }
+
+    @Test
+    void dispatchesEachEventOnceWithSeveralConsumers() throws InterruptedException {
+        SubscriptionRegistry registry = new SubscriptionRegistry();
+        Set<Long> received = ConcurrentHashMap.newKeySet();
+        AtomicInteger deliveries = new AtomicInteger();
+        registry.subscribe(Tick.class, Map.of()).subscribe(tick -> {
+            received.add((long) tick.producer * EVENTS_PER_PRODUCER + tick.sequence);
+            deliveries.incrementAndGet();
+        });
+        RingBufferEventBus bus = start(registry, null, 64, 3);
+
+        produce(bus);
+
+        awaitUntil(() -> deliveries.get() >= PRODUCERS * EVENTS_PER_PRODUCER);
+        assertThat(received).hasSize(PRODUCERS * EVENTS_PER_PRODUCER);
+        assertThat(deliveries).hasValue(PRODUCERS * EVENTS_PER_PRODUCER);
+    }
+
+    @Test
+    void relaysLocalEventsToOtherNodesOnce() throws InterruptedException {
+        SubscriptionRegistry nodeA = new SubscriptionRegistry();
+        SubscriptionRegistry nodeB = new SubscriptionRegistry();
+        List<Tick> receivedByA = new CopyOnWriteArrayList<>();
+        List<Tick> receivedByB = new CopyOnWriteArrayList<>();
+        nodeA.subscribe(Tick.class, Map.of()).subscribe(receivedByA::add);
+        nodeB.subscribe(Tick.class, Map.of()).subscribe(receivedByB::add);
+        LoopbackEventBusAdapter adapterA = new LoopbackEventBusAdapter();
+        RingBufferEventBus busA = start(nodeA, adapterA, 8, 1);
+        RingBufferEventBus busB = start(nodeB, adapterA.newPeer(), 8, 1);
+
+        busA.publish(new Tick(0, 1));
+        busB.publish(new Tick(1, 1));
+
+        awaitUntil(() -> receivedByA.size() == 2 && receivedByB.size() == 2);
+        Thread.sleep(50);
+        assertThat(receivedByA).extracting(tick -> tick.producer).containsExactlyInAnyOrder(0, 1);
+        assertThat(receivedByB).extracting(tick -> tick.producer).containsExactlyInAnyOrder(0, 1);
+    }
+
+    @Test
+    void keepsConsumingAfterASubscriberThrowsAnError() throws InterruptedException {
+        AtomicInteger delivered = new AtomicInteger();
+        SubscriptionRegistry registry = new SubscriptionRegistry() {
+            @Override
+            public int publish(Object event) {
+                if (((Tick) event).sequence == 0) {
+                    throw new StackOverflowError("subscriber failure");
+                }
+                delivered.incrementAndGet();
+                return 1;
+            }
+        };
+        RingBufferEventBus bus = start(registry, null, 4, 1);
+
+        Thread producer = Thread.ofPlatform().start(() -> {
+            for (int sequence = 0; sequence < 20; sequence++) {
+                bus.publish(new Tick(0, sequence));
+            }
+        });
+
+        awaitUntil(() -> delivered.get() == 19);
+        producer.join();
+        assertThat(bus.getPendingEvents()).isZero();
+    }
+
+    private RingBufferEventBus start(SubscriptionRegistry registry, EventBusAdapter adapter, int capacity, int consumers) {
+        RingBufferEventBus bus = new RingBufferEventBus(registry, adapter, capacity, consumers, 8);
+        bus.start();
+        buses.add(bus);
+        return bus;
+    }
+
+    private static void produce(RingBufferEventBus bus) throws InterruptedException {
+        List<Thread> producers = new ArrayList<>();
+        for (int producer = 0; producer < PRODUCERS; producer++) {
+            int id = producer;
+            producers.add(Thread.ofPlatform().start(() -> {
+                for (int sequence = 0; sequence < EVENTS_PER_PRODUCER; sequence++) {
+                    bus.publish(new Tick(id, sequence));
+                }
+            }));
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("timed out").isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    @GraphQLEvent
+    static class Tick {
+        private final int producer;
+        private final int sequence;
+
+        Tick(int producer, int sequence) {
+            this.producer = producer;
+            this.sequence = sequence;
+        }
+    }
+}
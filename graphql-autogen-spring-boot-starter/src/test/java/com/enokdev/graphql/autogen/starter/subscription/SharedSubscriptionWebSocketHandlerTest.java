@@ -0,0 +1,284 @@
+package com.enokdev.graphql.autogen.starter.subscription;
+
+import com.enokdev.graphql.autogen.annotation.GraphQLEvent;
+import com.enokdev.graphql.autogen.annotation.GraphQLSubscription.OverflowPolicy;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.graphql.execution.DefaultExecutionGraphQlService;
+import org.springframework.graphql.execution.GraphQlSource;
+import org.springframework.graphql.server.WebGraphQlHandler;
+import org.springframework.graphql.server.WebSocketGraphQlInterceptor;
+import org.springframework.graphql.server.WebSocketSessionInfo;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.socket.CloseStatus;
+import org.springframework.web.reactive.socket.HandshakeInfo;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.WebSocketSession;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SharedSubscriptionWebSocketHandlerTest {
+
+    private static final String SDL = """
+            type Query {
+              _dummy: String
+            }
+            type Subscription {
+              priceChanged(symbol: String!): PriceChanged
+              countdown: Int
+            }
+            type PriceChanged {
+              symbol: String
+              price: Float
+            }
+            """;
+
+    private static final String PRICES = "{\"id\":\"1\",\"type\":\"subscribe\","
+            + "\"payload\":{\"query\":\"subscription { priceChanged(symbol: \\\"ACME\\\") { price } }\"}}";
+
+    private final SubscriptionRegistry registry = new SubscriptionRegistry();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SubscriptionBroadcaster broadcaster = new SubscriptionBroadcaster(() -> {
+        throw new IllegalStateException("Subscriptions run through the WebGraphQlHandler");
+    }, objectMapper);
+    private final WebGraphQlHandler graphQlHandler = WebGraphQlHandler.builder(
+                    new DefaultExecutionGraphQlService(GraphQlSource.builder(schema()).build()))
+            .interceptor(new TokenInterceptor())
+            .build();
+    private final SharedSubscriptionWebSocketHandler handler = new SharedSubscriptionWebSocketHandler(broadcaster,
+            () -> graphQlHandler, objectMapper, 16, OverflowPolicy.DROP_OLDEST, new SubscriptionBufferMetrics());
+
+    @Test
+    void acknowledgesConnectionsAcceptedByTheInterceptors() {
+        TestSession accepted = connect("alice");
+        TestSession rejected = connect("mallory");
+
+        accepted.receive("{\"type\":\"connection_init\",\"payload\":{\"token\":\"secret\"}}");
+        rejected.receive("{\"type\":\"connection_init\",\"payload\":{\"token\":\"guess\"}}");
+
+        assertThat(accepted.sent).containsExactly("{\"type\":\"connection_ack\"}");
+        assertThat(rejected.sent).isEmpty();
+        assertThat(rejected.closeStatus.getCode()).isEqualTo(4403);
+    }
+
+    @Test
+    void rejectsSubscriptionsBeforeTheConnectionIsAcknowledged() {
+        TestSession session = connect("alice");
+
+        session.receive(PRICES);
+
+        assertThat(session.closeStatus.getCode()).isEqualTo(4401);
+        assertThat(registry.getSubscriberCount()).isZero();
+    }
+
+    @Test
+    void partitionsGroupsByPrincipal() {
+        TestSession alice = initialised("alice");
+        TestSession aliceAgain = initialised("alice");
+        TestSession bob = initialised("bob");
+
+        alice.receive(PRICES);
+        aliceAgain.receive(PRICES);
+        bob.receive(PRICES);
+
+        assertThat(broadcaster.getGroupCount()).isEqualTo(2);
+        assertThat(registry.getSubscriberCount()).isEqualTo(2);
+
+        registry.publish(new PriceChanged("ACME", 12.5));
+
+        String next = "{\"id\":\"1\",\"type\":\"next\",\"payload\":{\"data\":{\"priceChanged\":{\"price\":12.5}}}}";
+        assertThat(alice.sent).endsWith(next);
+        assertThat(aliceAgain.sent).endsWith(next);
+        assertThat(bob.sent).endsWith(next);
+    }
+
+    @Test
+    void completesOperationsFromEitherSide() throws Exception {
+        TestSession session = initialised("alice");
+
+        session.receive(PRICES);
+        session.receive("{\"type\":\"complete\",\"id\":\"1\"}");
+        session.receive("{\"id\":\"2\",\"type\":\"subscribe\",\"payload\":{\"query\":\"subscription { countdown }\"}}");
+
+        assertThat(registry.getSubscriberCount()).isZero();
+        assertThat(broadcaster.getGroupCount()).isZero();
+        assertThat(session.sent).hasSize(4).startsWith("{\"type\":\"connection_ack\"}",
+                "{\"id\":\"2\",\"type\":\"next\",\"payload\":{\"data\":{\"countdown\":2}}}",
+                "{\"id\":\"2\",\"type\":\"next\",\"payload\":{\"data\":{\"countdown\":1}}}");
+        assertThat(objectMapper.readTree(session.sent.get(3)))
+                .isEqualTo(objectMapper.readTree("{\"id\":\"2\",\"type\":\"complete\"}"));
+        assertThat(session.closeStatus).isNull();
+    }
+
+    private TestSession initialised(String principal) {
+        TestSession session = connect(principal);
+        session.receive("{\"type\":\"connection_init\",\"payload\":{\"token\":\"secret\"}}");
+        assertThat(session.sent).containsExactly("{\"type\":\"connection_ack\"}");
+        return session;
+    }
+
+    private TestSession connect(String principal) {
+        TestSession session = new TestSession(principal);
+        handler.handle(session).subscribe();
+        return session;
+    }
+
+    private GraphQLSchema schema() {
+        RuntimeWiring wiring = RuntimeWiring.newRuntimeWiring()
+                .type("Subscription", builder -> builder
+                        .dataFetcher("priceChanged",
+                                env -> registry.subscribe(PriceChanged.class, Map.of("symbol", env.getArgument("symbol"))))
+                        .dataFetcher("countdown", env -> Flux.just(2, 1)))
+                .build();
+        return new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(SDL), wiring);
+    }
+
+    /**
+     * Accepts the connections initialised with the shared secret.
+     */
+    private static final class TokenInterceptor implements WebSocketGraphQlInterceptor {
+
+        @Override
+        public Mono<Object> handleConnectionInitialization(WebSocketSessionInfo sessionInfo,
+                                                           Map<String, Object> connectionInitPayload) {
+            if (!"secret".equals(connectionInitPayload.get("token"))) {
+                return Mono.error(new IllegalStateException("Invalid token"));
+            }
+            return Mono.empty();
+        }
+    }
+
+    /**
+     * A WebSocket session fed and inspected by the test.
+     */
+    private static final class TestSession implements WebSocketSession {
+        private final DataBufferFactory bufferFactory = DefaultDataBufferFactory.sharedInstance;
+        private final Sinks.Many<WebSocketMessage> inbound = Sinks.many().unicast().onBackpressureBuffer();
+        private final List<String> sent = new CopyOnWriteArrayList<>();
+        private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+        private final HandshakeInfo handshakeInfo;
+        private volatile CloseStatus closeStatus;
+
+        TestSession(String principal) {
+            Principal user = () -> principal;
+            this.handshakeInfo = new HandshakeInfo(URI.create("ws://localhost/subscriptions"), new HttpHeaders(),
+                    Mono.just(user), "graphql-transport-ws");
+        }
+
+        void receive(String text) {
+            inbound.tryEmitNext(textMessage(text));
+        }
+
+        @Override
+        public String getId() {
+            return Integer.toHexString(System.identityHashCode(this));
+        }
+
+        @Override
+        public HandshakeInfo getHandshakeInfo() {
+            return handshakeInfo;
+        }
+
+        @Override
+        public DataBufferFactory bufferFactory() {
+            return bufferFactory;
+        }
+
+        @Override
+        public Map<String, Object> getAttributes() {
+            return attributes;
+        }
+
+        @Override
+        public Flux<WebSocketMessage> receive() {
+            return inbound.asFlux();
+        }
+
+        @Override
+        public Mono<Void> send(Publisher<WebSocketMessage> messages) {
+            return Flux.from(messages)
+                    .doOnNext(message -> sent.add(message.getPayloadAsText()))
+                    .then();
+        }
+
+        @Override
+        public boolean isOpen() {
+            return closeStatus == null;
+        }
+
+        @Override
+        public Mono<Void> close(CloseStatus status) {
+            closeStatus = status;
+            inbound.tryEmitComplete();
+            return Mono.empty();
+        }
+
+        @Override
+        public Mono<CloseStatus> closeStatus() {
+            return Mono.justOrEmpty(closeStatus);
+        }
+
+        @Override
+        public WebSocketMessage textMessage(String payload) {
+            return message(WebSocketMessage.Type.TEXT, bufferFactory.wrap(payload.getBytes(StandardCharsets.UTF_8)));
+        }
+
+        @Override
+        public WebSocketMessage binaryMessage(Function<DataBufferFactory, DataBuffer> payloadFactory) {
+            return message(WebSocketMessage.Type.BINARY, payloadFactory.apply(bufferFactory));
+        }
+
+        @Override
+        public WebSocketMessage pingMessage(Function<DataBufferFactory, DataBuffer> payloadFactory) {
+            return message(WebSocketMessage.Type.PING, payloadFactory.apply(bufferFactory));
+        }
+
+        @Override
+        public WebSocketMessage pongMessage(Function<DataBufferFactory, DataBuffer> payloadFactory) {
+            return message(WebSocketMessage.Type.PONG, payloadFactory.apply(bufferFactory));
+        }
+
+        private static WebSocketMessage message(WebSocketMessage.Type type, DataBuffer payload) {
+            return new WebSocketMessage(type, payload);
+        }
+    }
+
+    @GraphQLEvent
+    static class PriceChanged {
+        private final String symbol;
+        private final double price;
+
+        PriceChanged(String symbol, double price) {
+            this.symbol = symbol;
+            this.price = price;
+        }
+
+        public String getSymbol() {
+            return symbol;
+        }
+
+        public double getPrice() {
+            return price;
+        }
+    }
+}
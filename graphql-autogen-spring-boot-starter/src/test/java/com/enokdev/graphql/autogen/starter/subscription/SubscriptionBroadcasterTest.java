@@ -0,0 +1,127 @@
+package com.enokdev.graphql.autogen.starter.subscription;
+
+import com.enokdev.graphql.autogen.annotation.GraphQLEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import graphql.GraphQL;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.Disposable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SubscriptionBroadcasterTest {
+
+    private static final String SDL = """
+            type Query {
+              _dummy: String
+            }
+            type Subscription {
+              priceChanged(symbol: String!): PriceChanged
+            }
+            type PriceChanged {
+              symbol: String
+              price: Float
+            }
+            """;
+
+    private final SubscriptionRegistry registry = new SubscriptionRegistry();
+    private final AtomicInteger priceFetches = new AtomicInteger();
+    private final SubscriptionBroadcaster broadcaster = new SubscriptionBroadcaster(this::graphQL, new ObjectMapper());
+
+    @Test
+    void executesAndSerializesOncePerGroup() {
+        List<SharedPayload> first = new CopyOnWriteArrayList<>();
+        List<SharedPayload> second = new CopyOnWriteArrayList<>();
+        List<SharedPayload> other = new CopyOnWriteArrayList<>();
+        broadcaster.subscribe("subscription { priceChanged(symbol: \"ACME\") { price } }",
+                null, null, null).subscribe(first::add);
+        broadcaster.subscribe("subscription {\n  priceChanged(symbol: \"ACME\") {\n    price\n  }\n}",
+                null, null, null).subscribe(second::add);
+        broadcaster.subscribe("subscription { priceChanged(symbol: \"INIT\") { price } }",
+                null, null, null).subscribe(other::add);
+
+        assertThat(broadcaster.getGroupCount()).isEqualTo(2);
+        assertThat(registry.getSubscriberCount()).isEqualTo(2);
+
+        registry.publish(new PriceChanged("ACME", 12.5));
+
+        assertThat(priceFetches).hasValue(1);
+        assertThat(first).hasSize(1);
+        assertThat(second).hasSize(1);
+        assertThat(first.get(0)).isSameAs(second.get(0));
+        assertThat(first.get(0)).hasToString("{\"data\":{\"priceChanged\":{\"price\":12.5}}}");
+        assertThat(other).isEmpty();
+    }
+
+    @Test
+    void groupsByVariablesAndStopsWithTheLastSubscriber() {
+        String document = "subscription Prices($symbol: String!) { priceChanged(symbol: $symbol) { symbol } }";
+        Disposable first = broadcaster.subscribe(document, "Prices", Map.of("symbol", "ACME"), null).subscribe();
+        Disposable second = broadcaster.subscribe(document, "Prices", Map.of("symbol", "ACME"), null).subscribe();
+        Disposable tenant = broadcaster.subscribe(document, "Prices", Map.of("symbol", "ACME"), "tenant-b").subscribe();
+
+        assertThat(broadcaster.getGroupCount()).isEqualTo(2);
+
+        first.dispose();
+        assertThat(registry.getSubscriberCount()).isEqualTo(2);
+        second.dispose();
+        tenant.dispose();
+
+        assertThat(registry.getSubscriberCount()).isZero();
+        assertThat(broadcaster.getGroupCount()).isZero();
+    }
+
+    @Test
+    void wrapsSharedPayloadInTransportFrames() {
+        SharedPayload payload = new SharedPayload("{\"data\":{}}".getBytes(StandardCharsets.UTF_8));
+        byte[] prefix = "{\"id\":\"1\",\"type\":\"next\",\"payload\":".getBytes(StandardCharsets.UTF_8);
+
+        DataBuffer frame = SharedSubscriptionWebSocketHandler.nextFrame(DefaultDataBufferFactory.sharedInstance,
+                prefix, payload);
+
+        assertThat(frame.toString(StandardCharsets.UTF_8))
+                .isEqualTo("{\"id\":\"1\",\"type\":\"next\",\"payload\":{\"data\":{}}}");
+    }
+
+    private GraphQL graphQL() {
+        RuntimeWiring wiring = RuntimeWiring.newRuntimeWiring()
+                .type("Subscription", builder -> builder.dataFetcher("priceChanged",
+                        env -> registry.subscribe(PriceChanged.class, Map.of("symbol", env.getArgument("symbol")))))
+                .type("PriceChanged", builder -> builder.dataFetcher("price", env -> {
+                    priceFetches.incrementAndGet();
+                    return env.<PriceChanged>getSource().getPrice();
+                }))
+                .build();
+        return GraphQL.newGraphQL(new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(SDL), wiring))
+                .build();
+    }
+
+    @GraphQLEvent
+    static class PriceChanged {
+        private final String symbol;
+        private final double price;
+
+        PriceChanged(String symbol, double price) {
+            this.symbol = symbol;
+            this.price = price;
+        }
+
+        public String getSymbol() {
+            return symbol;
+        }
+
+        public double getPrice() {
+            return price;
+        }
+    }
+}
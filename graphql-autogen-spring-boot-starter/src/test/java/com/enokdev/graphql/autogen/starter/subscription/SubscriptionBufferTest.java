@@ -0,0 +1,132 @@
+package com.enokdev.graphql.autogen.starter.subscription;
+
+import com.enokdev.graphql.autogen.annotation.GraphQLEvent;
+import com.enokdev.graphql.autogen.annotation.GraphQLId;
+import com.enokdev.graphql.autogen.annotation.GraphQLSubscription.OverflowPolicy;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.BaseSubscriber;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SubscriptionBufferTest {
+
+    private final SubscriptionBufferMetrics metrics = new SubscriptionBufferMetrics();
+    private final SubscriptionRegistry registry = new SubscriptionRegistry(3, OverflowPolicy.DROP_OLDEST, metrics);
+
+    @Test
+    void dropsOldestEventsOfSlowSubscribers() {
+        SlowSubscriber subscriber = subscribe(OverflowPolicy.DEFAULT);
+
+        publish("a", 1, "a", 2, "a", 3, "a", 4, "a", 5);
+        assertThat(metrics.getBufferedEvents()).isEqualTo(3);
+
+        subscriber.request(10);
+
+        assertThat(subscriber.versions()).containsExactly(3, 4, 5);
+        assertThat(metrics.getDroppedEvents()).isEqualTo(2);
+        assertThat(metrics.getBufferedEvents()).isZero();
+    }
+
+    @Test
+    void dropsNewestEventsOfSlowSubscribers() {
+        SlowSubscriber subscriber = subscribe(OverflowPolicy.DROP_NEWEST);
+
+        publish("a", 1, "a", 2, "a", 3, "a", 4, "a", 5);
+        subscriber.request(10);
+
+        assertThat(subscriber.versions()).containsExactly(1, 2, 3);
+        assertThat(metrics.getDroppedEvents()).isEqualTo(2);
+    }
+
+    @Test
+    void conflatesPendingEventsWithTheSameId() {
+        SlowSubscriber subscriber = subscribe(OverflowPolicy.CONFLATE);
+
+        publish("a", 1, "b", 1, "a", 2, "c", 1, "a", 3, "d", 1);
+        subscriber.request(10);
+
+        assertThat(subscriber.received).extracting(event -> event.id + event.version)
+                .containsExactly("b1", "c1", "d1");
+        assertThat(metrics.getConflatedEvents()).isEqualTo(2);
+        assertThat(metrics.getDroppedEvents()).isEqualTo(1);
+    }
+
+    @Test
+    void disconnectsSubscribersThatOverflow() {
+        SlowSubscriber subscriber = subscribe(OverflowPolicy.DISCONNECT);
+
+        publish("a", 1, "a", 2, "a", 3, "a", 4);
+
+        assertThat(subscriber.error).isInstanceOf(SubscriptionOverflowException.class);
+        assertThat(metrics.getOverflowDisconnects()).isEqualTo(1);
+        assertThat(metrics.getBufferedEvents()).isZero();
+        assertThat(registry.getSubscriberCount()).isZero();
+    }
+
+    @Test
+    void emitsDirectlyWhileTheSubscriberKeepsUp() {
+        SlowSubscriber subscriber = subscribe(OverflowPolicy.DISCONNECT);
+        subscriber.request(Long.MAX_VALUE);
+
+        for (int version = 1; version <= 10; version++) {
+            publish("a", version);
+        }
+
+        assertThat(subscriber.received).hasSize(10);
+        assertThat(subscriber.error).isNull();
+        assertThat(metrics.getBufferedEvents()).isZero();
+    }
+
+    private SlowSubscriber subscribe(OverflowPolicy overflow) {
+        SlowSubscriber subscriber = new SlowSubscriber();
+        registry.subscribe(DocumentChanged.class, Map.of(), 0, overflow).subscribe(subscriber);
+        return subscriber;
+    }
+
+    private void publish(Object... idsAndVersions) {
+        for (int i = 0; i < idsAndVersions.length; i += 2) {
+            registry.publish(new DocumentChanged((String) idsAndVersions[i], (Integer) idsAndVersions[i + 1]));
+        }
+    }
+
+    private static final class SlowSubscriber extends BaseSubscriber<DocumentChanged> {
+        private final List<DocumentChanged> received = new CopyOnWriteArrayList<>();
+        private volatile Throwable error;
+
+        @Override
+        protected void hookOnSubscribe(Subscription subscription) {
+            // request nothing until the test says so
+        }
+
+        @Override
+        protected void hookOnNext(DocumentChanged value) {
+            received.add(value);
+        }
+
+        @Override
+        protected void hookOnError(Throwable throwable) {
+            error = throwable;
+        }
+
+        List<Integer> versions() {
+            return received.stream().map(event -> event.version).toList();
+        }
+    }
+
+    @GraphQLEvent
+    static class DocumentChanged {
+        @GraphQLId
+        private final String id;
+        private final int version;
+
+        DocumentChanged(String id, int version) {
+            this.id = id;
+            this.version = version;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.enokdev.graphql.autogen.starter.subscription;
+
+import com.enokdev.graphql.autogen.annotation.GraphQLController;
+import com.enokdev.graphql.autogen.annotation.GraphQLEvent;
+import com.enokdev.graphql.autogen.annotation.GraphQLSubscription;
+import com.enokdev.graphql.autogen.annotation.GraphQLSubscriptionFilter;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SubscriptionRegistryTest {
+
+    private static final String SDL = """
+            type Query {
+              _dummy: String
+            }
+            type Subscription {
+              commentAdded(postId: ID!): CommentAdded
+            }
+            type CommentAdded {
+              postId: ID
+              text: String
+            }
+            """;
+
+    private final SubscriptionRegistry registry = new SubscriptionRegistry();
+
+    @Test
+    void deliversEventsOnlyToMatchingSubscribers() {
+        List<String> first = new CopyOnWriteArrayList<>();
+        List<String> second = new CopyOnWriteArrayList<>();
+        List<String> all = new CopyOnWriteArrayList<>();
+        registry.subscribe(CommentAdded.class, Map.of("postId", "1")).subscribe(event -> first.add(event.getText()));
+        registry.subscribe(CommentAdded.class, Map.of("postId", "2")).subscribe(event -> second.add(event.getText()));
+        registry.subscribe(CommentAdded.class, filter("postId", null)).subscribe(event -> all.add(event.getText()));
+
+        assertThat(registry.publish(new CommentAdded(1L, "a"))).isEqualTo(2);
+        assertThat(registry.publish(new CommentAdded(2L, "b"))).isEqualTo(2);
+        assertThat(registry.publish(new CommentAdded(3L, "c"))).isEqualTo(1);
+        assertThat(registry.publish("not an event")).isZero();
+
+        assertThat(first).containsExactly("a");
+        assertThat(second).containsExactly("b");
+        assertThat(all).containsExactly("a", "b", "c");
+    }
+
+    @Test
+    void unregistersCancelledSubscriptions() {
+        Disposable subscription = registry.subscribe(CommentAdded.class, Map.of("postId", 1L)).subscribe();
+        assertThat(registry.getSubscriberCount()).isEqualTo(1);
+        assertThat(registry.hasSubscribers(CommentAdded.class)).isTrue();
+
+        subscription.dispose();
+
+        assertThat(registry.getSubscriberCount()).isZero();
+        assertThat(registry.hasSubscribers(CommentAdded.class)).isFalse();
+        assertThat(registry.publish(new CommentAdded(1L, "a"))).isZero();
+    }
+
+    @Test
+    void rejectsFiltersOnUnknownProperties() {
+        assertThatThrownBy(() -> registry.subscribe(CommentAdded.class, Map.of("authorId", "1")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("has no property authorId");
+    }
+
+    @Test
+    void servesSubscriptionFieldsWithPublishedApplicationEvents() {
+        new ApplicationContextRunner()
+                .withBean(SubscriptionRegistry.class, () -> registry)
+                .withBean(GraphQLEventListener.class, () -> new GraphQLEventListener(registry))
+                .withBean(SubscriptionRuntimeWiringConfigurer.class)
+                .withBean(CommentController.class)
+                .run(context -> {
+                    RuntimeWiring.Builder wiring = RuntimeWiring.newRuntimeWiring();
+                    context.getBean(SubscriptionRuntimeWiringConfigurer.class).configure(wiring);
+                    GraphQL graphQL = GraphQL.newGraphQL(new SchemaGenerator()
+                            .makeExecutableSchema(new SchemaParser().parse(SDL), wiring.build())).build();
+
+                    ExecutionResult result = graphQL.execute("subscription { commentAdded(postId: 7) { text } }");
+                    assertThat(result.getErrors()).isEmpty();
+                    List<Object> received = new CopyOnWriteArrayList<>();
+                    Publisher<ExecutionResult> stream = result.getData();
+                    Flux.from(stream).subscribe(item -> received.add(item.getData()));
+
+                    context.publishEvent(new CommentAdded(7L, "Nice post"));
+                    context.publishEvent(new CommentAdded(8L, "Elsewhere"));
+
+                    assertThat(received).containsExactly(Map.of("commentAdded", Map.of("text", "Nice post")));
+                });
+    }
+
+    private static Map<String, Object> filter(String name, Object value) {
+        Map<String, Object> filter = new HashMap<>();
+        filter.put(name, value);
+        return filter;
+    }
+
+    @GraphQLEvent
+    static class CommentAdded {
+        private final Long postId;
+        private final String text;
+
+        CommentAdded(Long postId, String text) {
+            this.postId = postId;
+            this.text = text;
+        }
+
+        public Long getPostId() {
+            return postId;
+        }
+
+        public String getText() {
+            return text;
+        }
+    }
+
+    @GraphQLController
+    static class CommentController {
+
+        @GraphQLSubscription
+        public CommentAdded commentAdded(@GraphQLSubscriptionFilter(name = "postId") String postId) {
+            return null;
+        }
+    }
+}